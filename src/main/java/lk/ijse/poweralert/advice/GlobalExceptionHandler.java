@@ -31,28 +31,28 @@ public class GlobalExceptionHandler {
                 errors.put(error.getField(), error.getDefaultMessage())
         );
 
-        ResponseDTO responseDTO = new ResponseDTO(400, "Validation Error", errors);
+        ResponseDTO responseDTO = ResponseDTO.of(400, "Validation Error", errors);
         return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
     }
 
     // Handle entity not found exceptions
     @ExceptionHandler({EntityNotFoundException.class, NoSuchElementException.class})
     public ResponseEntity<ResponseDTO> handleEntityNotFoundException(Exception ex) {
-        ResponseDTO responseDTO = new ResponseDTO(404, ex.getMessage(), null);
+        ResponseDTO responseDTO = ResponseDTO.of(404, ex.getMessage());
         return new ResponseEntity<>(responseDTO, HttpStatus.NOT_FOUND);
     }
 
     // Handle authentication exceptions
     @ExceptionHandler({AuthenticationException.class, BadCredentialsException.class})
     public ResponseEntity<ResponseDTO> handleAuthenticationException(Exception ex) {
-        ResponseDTO responseDTO = new ResponseDTO(401, "Authentication failed: " + ex.getMessage(), null);
+        ResponseDTO responseDTO = ResponseDTO.of(401, "Authentication failed: " + ex.getMessage());
         return new ResponseEntity<>(responseDTO, HttpStatus.UNAUTHORIZED);
     }
 
     // Handle access denied exceptions
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ResponseDTO> handleAccessDeniedException(AccessDeniedException ex) {
-        ResponseDTO responseDTO = new ResponseDTO(403, "Access denied: " + ex.getMessage(), null);
+        ResponseDTO responseDTO = ResponseDTO.of(403, "Access denied: " + ex.getMessage());
         return new ResponseEntity<>(responseDTO, HttpStatus.FORBIDDEN);
     }
 
@@ -64,7 +64,7 @@ public class GlobalExceptionHandler {
                 errors.put(violation.getPropertyPath().toString(), violation.getMessage())
         );
 
-        ResponseDTO responseDTO = new ResponseDTO(400, "Constraint Violation", errors);
+        ResponseDTO responseDTO = ResponseDTO.of(400, "Constraint Violation", errors);
         return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
     }
 
@@ -72,14 +72,14 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ResponseDTO> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
         String message = ex.getMostSpecificCause().getMessage();
-        ResponseDTO responseDTO = new ResponseDTO(409, "Data integrity violation: " + message, null);
+        ResponseDTO responseDTO = ResponseDTO.of(409, "Data integrity violation: " + message);
         return new ResponseEntity<>(responseDTO, HttpStatus.CONFLICT);
     }
 
     // Handle missing request parameters
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<ResponseDTO> handleMissingParams(MissingServletRequestParameterException ex) {
-        ResponseDTO responseDTO = new ResponseDTO(400, "Missing parameter: " + ex.getParameterName(), null);
+        ResponseDTO responseDTO = ResponseDTO.of(400, "Missing parameter: " + ex.getParameterName());
         return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
     }
 
@@ -88,14 +88,14 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ResponseDTO> handleMethodArgumentTypeMismatch(MethodArgumentTypeMismatchException ex) {
         String message = String.format("The parameter '%s' should be of type '%s'",
                 ex.getName(), ex.getRequiredType().getSimpleName());
-        ResponseDTO responseDTO = new ResponseDTO(400, message, null);
+        ResponseDTO responseDTO = ResponseDTO.of(400, message);
         return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
     }
 
     // Fallback for all other exceptions
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ResponseDTO> handleGenericException(Exception ex) {
-        ResponseDTO responseDTO = new ResponseDTO(500, "An unexpected error occurred: " + ex.getMessage(), null);
+        ResponseDTO responseDTO = ResponseDTO.of(500, "An unexpected error occurred: " + ex.getMessage());
         return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
\ No newline at end of file
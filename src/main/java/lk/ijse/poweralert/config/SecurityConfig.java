@@ -69,6 +69,8 @@ public class SecurityConfig {
                                 "/api/public/check-phone",
                                 "/api/provider/public/utility-providers",
                                 "/api/public/utility-providers",
+                                "/tiles/**",
+                                "/ws/**",
                                 "/login",
                                 "/css/**",
                                 "/js/**",
@@ -101,12 +103,16 @@ public class SecurityConfig {
                 "Accept",
                 "Origin",
                 "Access-Control-Request-Method",
-                "Access-Control-Request-Headers"
+                "Access-Control-Request-Headers",
+                "If-None-Match",
+                "If-Modified-Since"
         ));
         configuration.setExposedHeaders(Arrays.asList(
                 "Authorization",
                 "Access-Control-Allow-Origin",
-                "Access-Control-Allow-Credentials"
+                "Access-Control-Allow-Credentials",
+                "ETag",
+                "Last-Modified"
         ));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
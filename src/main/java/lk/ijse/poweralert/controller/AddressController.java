@@ -26,9 +26,6 @@ public class AddressController {
     @Autowired
     private AddressService addressService;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
     /** Get all addresses for the current user*/
     @GetMapping
     public ResponseEntity<ResponseDTO> getCurrentUserAddresses() {
@@ -37,18 +34,14 @@ public class AddressController {
 
             List<AddressDTO> addresses = addressService.getCurrentUserAddresses();
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Addresses retrieved successfully");
-            responseDTO.setData(addresses);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Addresses retrieved successfully", addresses), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving addresses: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -60,18 +53,14 @@ public class AddressController {
 
             AddressDTO address = addressService.getAddressById(id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Address retrieved successfully");
-            responseDTO.setData(address);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Address retrieved successfully", address), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving address with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -83,18 +72,18 @@ public class AddressController {
 
             AddressDTO savedAddress = addressService.addAddress(addressDTO);
 
-            responseDTO.setCode(VarList.Created);
-            responseDTO.setMessage("Address added successfully");
-            responseDTO.setData(savedAddress);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Created, "Address added successfully", savedAddress), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid address: {}", e.getMessage());
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Bad_Request, e.getMessage()), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error adding address: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -108,18 +97,18 @@ public class AddressController {
 
             AddressDTO updatedAddress = addressService.updateAddress(id, addressDTO);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Address updated successfully");
-            responseDTO.setData(updatedAddress);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Address updated successfully", updatedAddress), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid address update for ID {}: {}", id, e.getMessage());
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Bad_Request, e.getMessage()), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error updating address with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -131,18 +120,13 @@ public class AddressController {
 
             boolean deleted = addressService.deleteAddress(id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Address deleted successfully");
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.OK, "Address deleted successfully"), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error deleting address with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 }
\ No newline at end of file
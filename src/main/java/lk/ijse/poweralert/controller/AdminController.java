@@ -38,9 +38,6 @@ public class AdminController {
     @Autowired
     private UserService userService;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
     @Autowired
     private AdvanceNotificationJob advanceNotificationJob;
 
@@ -71,18 +68,15 @@ public class AdminController {
 
             logger.info("Admin user registered successfully: {}", registeredUser.getEmail());
 
-            responseDTO.setCode(VarList.Created);
-            responseDTO.setMessage("Admin user registered successfully");
-            responseDTO.setData(registeredUser);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Created, "Admin user registered successfully", registeredUser),
+                    HttpStatus.CREATED);
         } catch (Exception e) {
             logger.error("Error registering admin user: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -97,26 +91,22 @@ public class AdminController {
                         .map(DefaultMessageSourceResolvable::getDefaultMessage)
                         .collect(Collectors.toList());
 
-                responseDTO.setCode(VarList.Bad_Request);
-                responseDTO.setMessage("Validation failed: " + String.join(", ", errors));
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Bad_Request, "Validation failed: " + String.join(", ", errors)),
+                        HttpStatus.BAD_REQUEST);
             }
 
             // Process the request
             UserDTO registeredUser = userService.registerUser(userCreateDTO);
-            responseDTO.setCode(VarList.Created);
-            responseDTO.setMessage("User registered successfully");
-            responseDTO.setData(registeredUser);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Created, "User registered successfully", registeredUser),
+                    HttpStatus.CREATED);
         } catch (Exception e) {
             logger.error("Error registering user: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -132,18 +122,14 @@ public class AdminController {
                     logger.debug("User ID: {}, Username: {}, Active: {}",
                             user.getId(), user.getUsername(), user.isActive()));
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Users retrieved successfully");
-            responseDTO.setData(users);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Users retrieved successfully", users), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving users: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -154,18 +140,13 @@ public class AdminController {
 
             UserDTO user = userService.getUserById(id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("User retrieved successfully");
-            responseDTO.setData(user);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.OK, "User retrieved successfully", user), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving user with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -176,18 +157,14 @@ public class AdminController {
 
             UserDTO deactivatedUser = userService.deactivateUser(id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("User deactivated successfully");
-            responseDTO.setData(deactivatedUser);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "User deactivated successfully", deactivatedUser), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error deactivating user with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -199,19 +176,14 @@ public class AdminController {
 
             advanceNotificationJob.sendAdvanceNotifications();
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Advance notifications job triggered successfully");
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Advance notifications job triggered successfully"), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error triggering advance notifications job: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -225,18 +197,14 @@ public class AdminController {
 
             UserDTO updatedUser = userService.updateUser(userDTO);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("User updated successfully");
-            responseDTO.setData(updatedUser);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "User updated successfully", updatedUser), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error updating user with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -252,18 +220,14 @@ public class AdminController {
             boolean newStatus = !user.isActive();
             UserDTO updatedUser = userService.updateUserStatus(id, newStatus);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("User status updated successfully");
-            responseDTO.setData(updatedUser);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "User status updated successfully", updatedUser), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error toggling user status with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -276,24 +240,19 @@ public class AdminController {
             String newPassword = generateRandomPassword(); // Implement this method
             UserDTO updatedUser = userService.resetUserPassword(id, newPassword);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("User password reset successfully");
-
             // Create a map to hold the user and new password
             Map<String, Object> responseMap = new HashMap<>();
             responseMap.put("user", updatedUser);
             responseMap.put("newPassword", newPassword);
 
-            responseDTO.setData(responseMap);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "User password reset successfully", responseMap), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error resetting password for user with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
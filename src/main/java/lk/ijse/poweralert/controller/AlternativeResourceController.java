@@ -30,9 +30,6 @@ public class AlternativeResourceController {
     @Autowired
     private AlternativeResourceService alternativeResourceService;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
     /**
      * Get all alternative resources (public)
      */
@@ -43,18 +40,15 @@ public class AlternativeResourceController {
 
             List<AlternativeResourceDTO> resources = alternativeResourceService.getAllResources();
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Alternative resources retrieved successfully");
-            responseDTO.setData(resources);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Alternative resources retrieved successfully", resources),
+                    HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving alternative resources: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -68,18 +62,14 @@ public class AlternativeResourceController {
 
             AlternativeResourceDTO resource = alternativeResourceService.getResourceById(id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Alternative resource retrieved successfully");
-            responseDTO.setData(resource);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Alternative resource retrieved successfully", resource), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving alternative resource with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -93,18 +83,15 @@ public class AlternativeResourceController {
 
             List<AlternativeResourceDTO> resources = alternativeResourceService.getResourcesByArea(areaId);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Alternative resources for area retrieved successfully");
-            responseDTO.setData(resources);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Alternative resources for area retrieved successfully", resources),
+                    HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving alternative resources for area ID {}: {}", areaId, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -119,18 +106,15 @@ public class AlternativeResourceController {
 
             AlternativeResourceDTO savedResource = alternativeResourceService.addResource(resourceDTO);
 
-            responseDTO.setCode(VarList.Created);
-            responseDTO.setMessage("Alternative resource added successfully");
-            responseDTO.setData(savedResource);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Created, "Alternative resource added successfully", savedResource),
+                    HttpStatus.CREATED);
         } catch (Exception e) {
             logger.error("Error adding alternative resource: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -150,18 +134,15 @@ public class AlternativeResourceController {
 
             AlternativeResourceDTO updatedResource = alternativeResourceService.updateResource(resourceDTO);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Alternative resource updated successfully");
-            responseDTO.setData(updatedResource);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Alternative resource updated successfully", updatedResource),
+                    HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error updating alternative resource with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -176,18 +157,14 @@ public class AlternativeResourceController {
 
             boolean deleted = alternativeResourceService.deleteResource(id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Alternative resource deleted successfully");
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Alternative resource deleted successfully"), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error deleting alternative resource with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
     // Add these endpoints to your existing controller
@@ -204,34 +181,26 @@ public class AlternativeResourceController {
             logger.debug("Uploading image for alternative resource with ID: {}", id);
 
             if (file.isEmpty()) {
-                responseDTO.setCode(VarList.Bad_Request);
-                responseDTO.setMessage("Please select a file to upload");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Bad_Request, "Please select a file to upload"), HttpStatus.BAD_REQUEST);
             }
 
             // Validate file type
             if (!file.getContentType().startsWith("image/")) {
-                responseDTO.setCode(VarList.Bad_Request);
-                responseDTO.setMessage("Only image files are allowed");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Bad_Request, "Only image files are allowed"), HttpStatus.BAD_REQUEST);
             }
 
             AlternativeResourceDTO updatedResource = alternativeResourceService.uploadResourceImage(id, file);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Image uploaded successfully");
-            responseDTO.setData(updatedResource);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Image uploaded successfully", updatedResource), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error uploading image for resource with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -270,18 +239,13 @@ public class AlternativeResourceController {
 
             boolean deleted = alternativeResourceService.deleteResourceImage(id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Image deleted successfully");
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.OK, "Image deleted successfully"), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error deleting image for resource with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 }
\ No newline at end of file
@@ -5,6 +5,9 @@ import lk.ijse.poweralert.dto.AreaDTO;
 import lk.ijse.poweralert.dto.ResponseDTO;
 import lk.ijse.poweralert.dto.UtilityProviderDTO;
 import lk.ijse.poweralert.service.AreaService;
+import lk.ijse.poweralert.service.DataVersionService;
+import lk.ijse.poweralert.service.DataVersionService.Version;
+import lk.ijse.poweralert.util.ConditionalRequests;
 import lk.ijse.poweralert.util.VarList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +16,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -27,55 +31,71 @@ public class AreaController {
     private AreaService areaService;
 
     @Autowired
-    private ResponseDTO responseDTO;
+    private DataVersionService dataVersionService;
 
     /**
      * Get all areas (public)
+     * Optional zoom or tolerance selects a pre-simplified boundary
      */
     @GetMapping("/public/areas")
-    public ResponseEntity<ResponseDTO> getAllAreas() {
+    public ResponseEntity<ResponseDTO> getAllAreas(
+            @RequestParam(required = false) Integer zoom,
+            @RequestParam(required = false) Double tolerance,
+            WebRequest webRequest) {
         try {
-            logger.debug("Fetching all areas");
+            Version version = dataVersionService.getVersion(DataVersionService.AREAS);
+            Version providers = dataVersionService.getVersion(DataVersionService.UTILITY_PROVIDERS);
+            if (webRequest.checkNotModified(
+                    ConditionalRequests.etag("areas", "v" + version.version(), "p" + providers.version()),
+                    ConditionalRequests.latest(version.lastModifiedMillis(), providers.lastModifiedMillis()))) {
+                return null;
+            }
 
-            List<AreaDTO> areas = areaService.getAllAreas();
+            logger.debug("Fetching all areas");
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Areas retrieved successfully");
-            responseDTO.setData(areas);
+            List<AreaDTO> areas = areaService.getAllAreas(zoom, tolerance);
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Areas retrieved successfully", areas), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving areas: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
     /**
      * Get a specific area by ID (public)
+     * Optional zoom or tolerance selects a pre-simplified boundary
      */
     @GetMapping("/public/areas/{id}")
-    public ResponseEntity<ResponseDTO> getAreaById(@PathVariable Long id) {
+    public ResponseEntity<ResponseDTO> getAreaById(
+            @PathVariable Long id,
+            @RequestParam(required = false) Integer zoom,
+            @RequestParam(required = false) Double tolerance,
+            WebRequest webRequest) {
         try {
-            logger.debug("Fetching area with ID: {}", id);
+            Version version = dataVersionService.getVersion(DataVersionService.AREAS);
+            Version providers = dataVersionService.getVersion(DataVersionService.UTILITY_PROVIDERS);
+            if (webRequest.checkNotModified(
+                    ConditionalRequests.etag("area", id, "v" + version.version(), "p" + providers.version()),
+                    ConditionalRequests.latest(version.lastModifiedMillis(), providers.lastModifiedMillis()))) {
+                return null;
+            }
 
-            AreaDTO area = areaService.getAreaById(id);
+            logger.debug("Fetching area with ID: {}", id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Area retrieved successfully");
-            responseDTO.setData(area);
+            AreaDTO area = areaService.getAreaById(id, zoom, tolerance);
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.OK, "Area retrieved successfully", area), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving area with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -90,18 +110,14 @@ public class AreaController {
 
             AreaDTO createdArea = areaService.createArea(areaDTO);
 
-            responseDTO.setCode(VarList.Created);
-            responseDTO.setMessage("Area created successfully");
-            responseDTO.setData(createdArea);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Created, "Area created successfully", createdArea), HttpStatus.CREATED);
         } catch (Exception e) {
             logger.error("Error creating area: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -121,18 +137,14 @@ public class AreaController {
 
             AreaDTO updatedArea = areaService.updateArea(areaDTO);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Area updated successfully");
-            responseDTO.setData(updatedArea);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Area updated successfully", updatedArea), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error updating area with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -147,18 +159,13 @@ public class AreaController {
 
             boolean deleted = areaService.deleteArea(id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Area deleted successfully");
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.OK, "Area deleted successfully"), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error deleting area with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -172,18 +179,14 @@ public class AreaController {
 
             List<UtilityProviderDTO> providers = areaService.getUtilityProvidersForArea(id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Utility providers retrieved successfully");
-            responseDTO.setData(providers);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Utility providers retrieved successfully", providers), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving utility providers for area ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -200,19 +203,16 @@ public class AreaController {
 
             AreaDTO updatedArea = areaService.linkUtilityProviderToArea(areaId, providerId);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Utility provider linked to area successfully");
-            responseDTO.setData(updatedArea);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Utility provider linked to area successfully", updatedArea),
+                    HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error linking utility provider ID: {} to area ID: {}: {}",
                     providerId, areaId, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -229,19 +229,16 @@ public class AreaController {
 
             AreaDTO updatedArea = areaService.unlinkUtilityProviderFromArea(areaId, providerId);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Utility provider unlinked from area successfully");
-            responseDTO.setData(updatedArea);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Utility provider unlinked from area successfully", updatedArea),
+                    HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error unlinking utility provider ID: {} from area ID: {}: {}",
                     providerId, areaId, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 }
\ No newline at end of file
@@ -33,9 +33,6 @@ public class AuditLogController {
     @Autowired
     private AuditLogService auditLogService;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
     /**
      * Get all audit logs with pagination
      */
@@ -58,18 +55,14 @@ public class AuditLogController {
             response.put("totalItems", auditLogs.getTotalElements());
             response.put("totalPages", auditLogs.getTotalPages());
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Audit logs retrieved successfully");
-            responseDTO.setData(response);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Audit logs retrieved successfully", response), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving audit logs: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -96,18 +89,14 @@ public class AuditLogController {
             response.put("totalItems", auditLogs.getTotalElements());
             response.put("totalPages", auditLogs.getTotalPages());
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Audit logs for user retrieved successfully");
-            responseDTO.setData(response);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Audit logs for user retrieved successfully", response), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving audit logs for user {}: {}", userId, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -136,19 +125,16 @@ public class AuditLogController {
             response.put("totalItems", auditLogs.getTotalElements());
             response.put("totalPages", auditLogs.getTotalPages());
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Audit logs for entity retrieved successfully");
-            responseDTO.setData(response);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Audit logs for entity retrieved successfully", response),
+                    HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving audit logs for entity type {} and ID {}: {}",
                     entityType, entityId, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -166,18 +152,14 @@ public class AuditLogController {
 
             Map<String, Object> summary = auditLogService.getAuditLogsSummary(fromDate, toDate);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Audit logs summary retrieved successfully");
-            responseDTO.setData(summary);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Audit logs summary retrieved successfully", summary), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving audit logs summary: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 }
\ No newline at end of file
@@ -36,9 +36,6 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
     @Autowired
     private EmailService emailService;
 
@@ -68,11 +65,6 @@ public class AuthController {
             authDTO.setUsername(userDTO.getUsername());
             authDTO.setUserId(userDTO.getId());
 
-            // Set response DTO
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Authentication successful");
-            responseDTO.setData(authDTO);
-
             // Update last login
             userService.updateLastLogin(userDTO.getEmail());
 
@@ -86,20 +78,17 @@ public class AuthController {
             User user = userService.getUserEntityByUsername(userDTO.getUsername());
             emailService.sendLoginNotificationEmail(user, ipAddress, device, location);
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.OK, "Authentication successful", authDTO), HttpStatus.OK);
 
         } catch (BadCredentialsException e) {
             logger.error("Authentication failed: Invalid credentials");
-            responseDTO.setCode(VarList.Unauthorized);
-            responseDTO.setMessage("Invalid credentials");
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.UNAUTHORIZED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Unauthorized, "Invalid credentials"), HttpStatus.UNAUTHORIZED);
         } catch (Exception e) {
             logger.error("Login error: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -123,10 +112,8 @@ public class AuthController {
         try {
             // Check if user already exists
             if (userService.existsByEmail(userCreateDTO.getEmail())) {
-                responseDTO.setCode(VarList.Conflict);
-                responseDTO.setMessage("Email is already registered");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.CONFLICT);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Conflict, "Email is already registered"), HttpStatus.CONFLICT);
             }
 
             if (userCreateDTO.getRole() == AppEnums.Role.ADMIN) {
@@ -147,17 +134,13 @@ public class AuthController {
             authDTO.setUsername(userCreateDTO.getUsername());
 
             // Set response DTO
-            responseDTO.setCode(VarList.Created);
-            responseDTO.setMessage("User registered successfully");
-            responseDTO.setData(authDTO);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Created, "User registered successfully", authDTO), HttpStatus.CREATED);
 
         } catch (Exception e) {
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
     @GetMapping("/check")
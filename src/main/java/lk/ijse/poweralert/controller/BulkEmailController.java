@@ -33,9 +33,6 @@ public class BulkEmailController {
     @Autowired
     private EmailService emailService;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
     /** Send email to all active users   */
     @PostMapping("/all")
     public ResponseEntity<ResponseDTO> sendEmailToAllUsers(@Valid @RequestBody EmailRequest request) {
@@ -51,17 +48,12 @@ public class BulkEmailController {
             Map<String, Object> data = new HashMap<>();
             data.put("emailsSent", sentCount);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Emails sent successfully");
-            responseDTO.setData(data);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.OK, "Emails sent successfully", data), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error sending emails to all users: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -83,17 +75,13 @@ public class BulkEmailController {
             Map<String, Object> data = new HashMap<>();
             data.put("emailsSent", sentCount);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Emails sent to users in area successfully");
-            responseDTO.setData(data);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Emails sent to users in area successfully", data), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error sending emails to users in area {}: {}", areaId, e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -102,10 +90,9 @@ public class BulkEmailController {
     public ResponseEntity<ResponseDTO> checkEmailStatus(@PathVariable String jobId) {
         // This is a placeholder for a more sophisticated job tracking system
         // In a real implementation, you would store job IDs and track their status
-        responseDTO.setCode(VarList.Not_Implemented);
-        responseDTO.setMessage("Email job status tracking not implemented yet");
-        responseDTO.setData(null);
-        return new ResponseEntity<>(responseDTO, HttpStatus.NOT_IMPLEMENTED);
+        return new ResponseEntity<>(
+                ResponseDTO.of(VarList.Not_Implemented, "Email job status tracking not implemented yet"),
+                HttpStatus.NOT_IMPLEMENTED);
     }
 
     /** Request body for sending emails  */
@@ -164,17 +151,11 @@ public class BulkEmailController {
                     language != null ? language : "en");
 
             // If no exception was thrown, consider it a success
-            responseDTO.setCode(200);
-            responseDTO.setMessage("Test template email sent successfully");
-            responseDTO.setData(null);
-            return ResponseEntity.ok(responseDTO);
+            return ResponseEntity.ok(ResponseDTO.of(200, "Test template email sent successfully"));
 
         } catch (Exception e) {
             logger.error("Error sending test template email: {}", e.getMessage(), e);
-            responseDTO.setCode(500);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return ResponseEntity.status(500).body(responseDTO);
+            return ResponseEntity.status(500).body(ResponseDTO.of(500, "Error: " + e.getMessage()));
         }
     }
 }
\ No newline at end of file
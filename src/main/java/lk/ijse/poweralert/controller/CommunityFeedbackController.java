@@ -25,9 +25,6 @@ public class CommunityFeedbackController {
     @Autowired
     private CommunityFeedbackService communityFeedbackService;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
     /**
      * Get all feedback for a specific outage
      */
@@ -38,18 +35,14 @@ public class CommunityFeedbackController {
 
             List<CommunityFeedbackDTO> feedbackList = communityFeedbackService.getFeedbackByOutageId(outageId);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Feedback retrieved successfully");
-            responseDTO.setData(feedbackList);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Feedback retrieved successfully", feedbackList), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving feedback for outage ID {}: {}", outageId, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -70,18 +63,15 @@ public class CommunityFeedbackController {
 
             CommunityFeedbackDTO savedFeedback = communityFeedbackService.submitFeedback(feedbackDTO);
 
-            responseDTO.setCode(VarList.Created);
-            responseDTO.setMessage("Feedback submitted successfully");
-            responseDTO.setData(savedFeedback);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Created, "Feedback submitted successfully", savedFeedback),
+                    HttpStatus.CREATED);
         } catch (Exception e) {
             logger.error("Error submitting feedback for outage ID {}: {}", outageId, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -97,18 +87,14 @@ public class CommunityFeedbackController {
 
             List<CommunityFeedbackDTO> feedbackList = communityFeedbackService.getFeedbackByCurrentUser();
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("User feedback retrieved successfully");
-            responseDTO.setData(feedbackList);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "User feedback retrieved successfully", feedbackList), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving feedback for current user: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package lk.ijse.poweralert.controller;
+
+import lk.ijse.poweralert.dto.ResponseDTO;
+import lk.ijse.poweralert.service.CsvExportService;
+import lk.ijse.poweralert.util.VarList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * REST controller for streaming CSV exports
+ */
+@RestController
+@RequestMapping("/api/admin/exports")
+@PreAuthorize("hasAuthority('ROLE_ADMIN')")
+@CrossOrigin
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+    private static final MediaType CSV_MEDIA_TYPE = MediaType.parseMediaType("text/csv; charset=UTF-8");
+    private static final MediaType GZIP_MEDIA_TYPE = MediaType.parseMediaType("application/gzip");
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private CsvExportService csvExportService;
+
+    /**
+     * Export outages starting within an optional date range
+     */
+    @GetMapping("/outages")
+    public ResponseEntity<?> exportOutages(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        if (isInvalidRange(fromDate, toDate)) {
+            return invalidRange();
+        }
+        return stream("outages", gzip, out -> csvExportService.exportOutages(out, fromDate, toDate));
+    }
+
+    /**
+     * Export outage history, optionally for one year or month
+     */
+    @GetMapping("/outage-history")
+    public ResponseEntity<?> exportOutageHistory(
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) Integer month,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        if (month != null && (month < 1 || month > 12)) {
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Bad_Request, "Month must be between 1 and 12"),
+                    HttpStatus.BAD_REQUEST);
+        }
+        return stream("outage-history", gzip, out -> csvExportService.exportOutageHistory(out, year, month));
+    }
+
+    /**
+     * Export notifications created within an optional date range
+     */
+    @GetMapping("/notifications")
+    public ResponseEntity<?> exportNotifications(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        if (isInvalidRange(fromDate, toDate)) {
+            return invalidRange();
+        }
+        return stream("notifications", gzip, out -> csvExportService.exportNotifications(out, fromDate, toDate));
+    }
+
+    /**
+     * Export audit logs written within an optional date range
+     */
+    @GetMapping("/audit-logs")
+    public ResponseEntity<?> exportAuditLogs(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        if (isInvalidRange(fromDate, toDate)) {
+            return invalidRange();
+        }
+        return stream("audit-logs", gzip, out -> csvExportService.exportAuditLogs(out, fromDate, toDate));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, boolean gzip, Export export) {
+        logger.info("Streaming {} export (gzip: {})", name, gzip);
+
+        StreamingResponseBody body = out -> {
+            long rows;
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                rows = export.writeTo(compressed);
+                compressed.finish();
+            } else {
+                rows = export.writeTo(out);
+            }
+            logger.info("Exported {} {} rows", rows, name);
+        };
+
+        String filename = name + "-" + LocalDate.now() + (gzip ? ".csv.gz" : ".csv");
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP_MEDIA_TYPE : CSV_MEDIA_TYPE)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private static boolean isInvalidRange(LocalDate fromDate, LocalDate toDate) {
+        return fromDate != null && toDate != null && fromDate.isAfter(toDate);
+    }
+
+    private static ResponseEntity<ResponseDTO> invalidRange() {
+        return new ResponseEntity<>(ResponseDTO.of(VarList.Bad_Request, "From date must not be after to date"),
+                HttpStatus.BAD_REQUEST);
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        long writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -45,9 +45,6 @@ public class ForgotPasswordController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
     /**
      * Request a password reset code
      */
@@ -62,10 +59,9 @@ public class ForgotPasswordController {
             if (userOptional.isEmpty()) {
                 // Don't reveal that the email doesn't exist for security reasons
                 logger.warn("Password reset requested for non-existent email: {}", request.getEmail());
-                responseDTO.setCode(VarList.OK);
-                responseDTO.setMessage("If your email is registered, you will receive password reset instructions.");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.OK, "If your email is registered, you will receive password reset instructions."),
+                        HttpStatus.OK);
             }
 
             User user = userOptional.get();
@@ -83,17 +79,15 @@ public class ForgotPasswordController {
             // Send password reset email with code
             sendPasswordResetEmail(user.getEmail(), user.getUsername(), verificationCode);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("If your email is registered, you will receive password reset instructions.");
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "If your email is registered, you will receive password reset instructions."),
+                    HttpStatus.OK);
 
         } catch (Exception e) {
             logger.error("Error in password reset request: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error processing password reset request");
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error processing password reset request"),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -109,26 +103,21 @@ public class ForgotPasswordController {
 
             if (resetCode == null || resetCode.isExpired() || !resetCode.getCode().equals(request.getCode())) {
                 logger.warn("Invalid or expired password reset code for email: {}", request.getEmail());
-                responseDTO.setCode(VarList.Bad_Request);
-                responseDTO.setMessage("Invalid or expired verification code");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Bad_Request, "Invalid or expired verification code"),
+                        HttpStatus.BAD_REQUEST);
             }
 
             // Mark the code as verified but keep it in the map for the reset step
             resetCode.setVerified(true);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Code verified successfully");
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.OK, "Code verified successfully"), HttpStatus.OK);
 
         } catch (Exception e) {
             logger.error("Error verifying reset code: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error verifying code");
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error verifying code"),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -145,10 +134,9 @@ public class ForgotPasswordController {
 
             if (resetCode == null || resetCode.isExpired() || !resetCode.isVerified() || !resetCode.getCode().equals(request.getCode())) {
                 logger.warn("Invalid, unverified, or expired password reset code");
-                responseDTO.setCode(VarList.Bad_Request);
-                responseDTO.setMessage("Invalid, unverified, or expired verification code");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Bad_Request, "Invalid, unverified, or expired verification code"),
+                        HttpStatus.BAD_REQUEST);
             }
 
             // Find user
@@ -156,10 +144,7 @@ public class ForgotPasswordController {
 
             if (userOptional.isEmpty()) {
                 logger.warn("User not found for reset code");
-                responseDTO.setCode(VarList.Not_Found);
-                responseDTO.setMessage("User not found");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.NOT_FOUND);
+                return new ResponseEntity<>(ResponseDTO.of(VarList.Not_Found, "User not found"), HttpStatus.NOT_FOUND);
             }
 
             User user = userOptional.get();
@@ -173,17 +158,14 @@ public class ForgotPasswordController {
 
             logger.info("Password reset successful for user ID: {}", user.getId());
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Password has been reset successfully");
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Password has been reset successfully"), HttpStatus.OK);
 
         } catch (Exception e) {
             logger.error("Error in password reset: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error resetting password");
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error resetting password"),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -2,7 +2,12 @@ package lk.ijse.poweralert.controller;
 
 import com.mapbox.geojson.Point;
 import com.mapbox.geojson.Polygon;
+import lk.ijse.poweralert.dto.AreaLocationDTO;
+import lk.ijse.poweralert.dto.NearbyResourceDTO;
 import lk.ijse.poweralert.dto.ResponseDTO;
+import lk.ijse.poweralert.enums.AppEnums.ResourceType;
+import lk.ijse.poweralert.service.AlternativeResourceService;
+import lk.ijse.poweralert.service.AreaLocatorService;
 import lk.ijse.poweralert.service.GeographicService;
 import lk.ijse.poweralert.util.GeoJsonUtil;
 import lk.ijse.poweralert.util.VarList;
@@ -26,12 +31,16 @@ import java.util.Map;
 public class GeographicController {
 
     private static final Logger logger = LoggerFactory.getLogger(GeographicController.class);
+    private static final int MAX_NEAREST_RESOURCES = 50;
 
     @Autowired
     private GeographicService geographicService;
 
     @Autowired
-    private ResponseDTO responseDTO;
+    private AlternativeResourceService alternativeResourceService;
+
+    @Autowired
+    private AreaLocatorService areaLocatorService;
 
     /**
      * Geocode an address to coordinates
@@ -44,25 +53,19 @@ public class GeographicController {
             Map<String, Double> coordinates = geographicService.geocodeAddress(address);
 
             if (coordinates == null) {
-                responseDTO.setCode(VarList.Not_Found);
-                responseDTO.setMessage("No coordinates found for this address");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.NOT_FOUND);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Not_Found, "No coordinates found for this address"),
+                        HttpStatus.NOT_FOUND);
             }
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Address geocoded successfully");
-            responseDTO.setData(coordinates);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Address geocoded successfully", coordinates), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error geocoding address: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -79,28 +82,49 @@ public class GeographicController {
             String address = geographicService.reverseGeocode(latitude, longitude);
 
             if (address == null) {
-                responseDTO.setCode(VarList.Not_Found);
-                responseDTO.setMessage("No address found for these coordinates");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.NOT_FOUND);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Not_Found, "No address found for these coordinates"),
+                        HttpStatus.NOT_FOUND);
             }
 
             Map<String, String> result = new HashMap<>();
             result.put("address", address);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Coordinates reverse geocoded successfully");
-            responseDTO.setData(result);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Coordinates reverse geocoded successfully", result), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error reverse geocoding: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Resolve coordinates to the area containing them, or the area with the nearest centroid
+     */
+    @GetMapping("/locate-area")
+    public ResponseEntity<ResponseDTO> locateArea(
+            @RequestParam double latitude,
+            @RequestParam double longitude) {
+        try {
+            logger.info("Locating area for coordinates: {}, {}", latitude, longitude);
+
+            AreaLocationDTO area = areaLocatorService.locate(latitude, longitude);
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            if (area == null) {
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Not_Found, "No area found for these coordinates"), HttpStatus.NOT_FOUND);
+            }
+
+            return new ResponseEntity<>(ResponseDTO.of(VarList.OK, "Area located successfully", area), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error locating area: {}", e.getMessage(), e);
+
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -124,10 +148,9 @@ public class GeographicController {
             }
 
             if (mapUrl == null) {
-                responseDTO.setCode(VarList.Bad_Request);
-                responseDTO.setMessage("Could not generate map from provided GeoJSON");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Bad_Request, "Could not generate map from provided GeoJSON"),
+                        HttpStatus.BAD_REQUEST);
             }
 
             Map<String, Object> result = new HashMap<>();
@@ -138,19 +161,14 @@ public class GeographicController {
                 result.put("style", style);
             }
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Static map URL generated successfully");
-            responseDTO.setData(result);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Static map URL generated successfully", result), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error generating static map URL: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -172,19 +190,14 @@ public class GeographicController {
             result.put("longitude", longitude);
             result.put("isInOutageArea", isInArea);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Location checked successfully");
-            responseDTO.setData(result);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Location checked successfully", result), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error checking location in outage area: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -200,22 +213,49 @@ public class GeographicController {
         try {
             logger.info("Finding nearby resources within {}km of {}, {}", radiusKm, latitude, longitude);
 
-            List<Map<String, Object>> resources = geographicService.findNearbyResources(
+            List<NearbyResourceDTO> resources = geographicService.findNearbyResources(
                     latitude, longitude, radiusKm, resourceType);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Nearby resources found successfully");
-            responseDTO.setData(resources);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Nearby resources found successfully", resources), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error finding nearby resources: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Find the k nearest alternative resources, optionally of one type
+     */
+    @GetMapping("/nearest-resources")
+    public ResponseEntity<ResponseDTO> findNearestResources(
+            @RequestParam double latitude,
+            @RequestParam double longitude,
+            @RequestParam(defaultValue = "5") int k,
+            @RequestParam(required = false) ResourceType resourceType) {
+        try {
+            logger.info("Finding {} nearest resources to {}, {}", k, latitude, longitude);
+
+            if (k < 1 || k > MAX_NEAREST_RESOURCES) {
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Bad_Request, "k must be between 1 and " + MAX_NEAREST_RESOURCES),
+                        HttpStatus.BAD_REQUEST);
+            }
+
+            List<NearbyResourceDTO> resources = alternativeResourceService.findNearestResources(
+                    latitude, longitude, k, resourceType);
+
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Nearest resources found successfully", resources), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error finding nearest resources: {}", e.getMessage(), e);
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -238,19 +278,14 @@ public class GeographicController {
             result.put("endPoint", Map.of("latitude", lat2, "longitude", lon2));
             result.put("distanceKm", Math.round(distance * 100) / 100.0); // Round to 2 decimal places
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Distance calculated successfully");
-            responseDTO.setData(result);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Distance calculated successfully", result), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error calculating distance: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -265,10 +300,9 @@ public class GeographicController {
             Polygon polygon = geographicService.geoJsonToPolygon(geoJson);
 
             if (polygon == null) {
-                responseDTO.setCode(VarList.Bad_Request);
-                responseDTO.setMessage("Invalid GeoJSON format or not a polygon");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Bad_Request, "Invalid GeoJSON format or not a polygon"),
+                        HttpStatus.BAD_REQUEST);
             }
 
             // Calculate additional information about the polygon
@@ -291,19 +325,14 @@ public class GeographicController {
                 ));
             }
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("GeoJSON converted to Polygon successfully");
-            responseDTO.setData(result);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "GeoJSON converted to Polygon successfully", result), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error converting GeoJSON to Polygon: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -321,10 +350,9 @@ public class GeographicController {
             Polygon polygon = geographicService.geoJsonToPolygon(geoJson);
 
             if (polygon == null) {
-                responseDTO.setCode(VarList.Bad_Request);
-                responseDTO.setMessage("Invalid GeoJSON format or not a polygon");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Bad_Request, "Invalid GeoJSON format or not a polygon"),
+                        HttpStatus.BAD_REQUEST);
             }
 
             // Get original point count
@@ -347,19 +375,14 @@ public class GeographicController {
             result.put("reductionPercentage",
                     Math.round((1 - ((double) simplifiedPointCount / originalPointCount)) * 100) + "%");
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("GeoJSON simplified successfully");
-            responseDTO.setData(result);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "GeoJSON simplified successfully", result), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error simplifying GeoJSON: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -389,19 +412,14 @@ public class GeographicController {
                     "fillOpacity", fillOpacity
             ));
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("GeoJSON styled successfully");
-            responseDTO.setData(result);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "GeoJSON styled successfully", result), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error styling GeoJSON: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 }
\ No newline at end of file
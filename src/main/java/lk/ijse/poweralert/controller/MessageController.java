@@ -2,9 +2,8 @@ package lk.ijse.poweralert.controller;
 
 import lk.ijse.poweralert.dto.MessageDTO;
 import lk.ijse.poweralert.dto.ResponseDTO;
-import lk.ijse.poweralert.entity.User;
-import lk.ijse.poweralert.repository.UserRepository;
 import lk.ijse.poweralert.service.MessageService;
+import lk.ijse.poweralert.util.UserPrincipal;
 import lk.ijse.poweralert.util.VarList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,27 +27,14 @@ public class MessageController {
     @Autowired
     private MessageService messageService;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
-    @Autowired
-    private UserRepository userRepository;
-
-    // Get current user ID from authentication
-    private Long getCurrentUserId() {
+    // Get current user from authentication; the principal already carries id and role
+    private UserPrincipal getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof UserPrincipal principal)) {
             throw new RuntimeException("User not authenticated");
         }
-
-        // Get username from authentication
-        String username = authentication.getName();
-
-        // Get user from repository using username
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found: " + username));
-
-        return user.getId();
+        return principal;
     }
 
     @GetMapping
@@ -56,19 +42,14 @@ public class MessageController {
         try {
             List<MessageDTO> messages = messageService.getRecentMessages(100);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Messages retrieved successfully");
-            responseDTO.setData(messages);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Messages retrieved successfully", messages), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving messages: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -77,29 +58,23 @@ public class MessageController {
         try {
             String content = payload.get("content");
             if (content == null || content.trim().isEmpty()) {
-                responseDTO.setCode(VarList.Bad_Request);
-                responseDTO.setMessage("Message content is required");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Bad_Request, "Message content is required"), HttpStatus.BAD_REQUEST);
             }
 
-            Long currentUserId = getCurrentUserId();
+            UserPrincipal currentUser = getCurrentUser();
 
-            MessageDTO sentMessage = messageService.sendMessage(content, currentUserId);
+            MessageDTO sentMessage = messageService.sendMessage(content, currentUser.getId(),
+                    currentUser.getUsername(), currentUser.getRole());
 
-            responseDTO.setCode(VarList.Created);
-            responseDTO.setMessage("Message sent successfully");
-            responseDTO.setData(sentMessage);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Created, "Message sent successfully", sentMessage), HttpStatus.CREATED);
         } catch (Exception e) {
             logger.error("Error sending message: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 }
\ No newline at end of file
@@ -18,9 +18,6 @@ public class MessageTestController {
     @Autowired
     private MessageSource messageSource;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
     @GetMapping("/messages")
     public ResponseEntity<ResponseDTO> testMessages(
             @RequestParam(defaultValue = "en") String language,
@@ -74,10 +71,6 @@ public class MessageTestController {
                 locale);
         messages.put("restoreOutage", restoreMsg);
 
-        responseDTO.setCode(200);
-        responseDTO.setMessage("Messages retrieved successfully in " + language);
-        responseDTO.setData(messages);
-
-        return ResponseEntity.ok(responseDTO);
+        return ResponseEntity.ok(ResponseDTO.of(200, "Messages retrieved successfully in " + language, messages));
     }
 }
\ No newline at end of file
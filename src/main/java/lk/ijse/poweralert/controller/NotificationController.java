@@ -1,5 +1,6 @@
 package lk.ijse.poweralert.controller;
 
+import lk.ijse.poweralert.dto.CursorPageDTO;
 import lk.ijse.poweralert.dto.NotificationDTO;
 import lk.ijse.poweralert.dto.ResponseDTO;
 import lk.ijse.poweralert.entity.Notification;
@@ -8,11 +9,13 @@ import lk.ijse.poweralert.enums.AppEnums.NotificationStatus;
 import lk.ijse.poweralert.repository.NotificationRepository;
 import lk.ijse.poweralert.service.NotificationService;
 import lk.ijse.poweralert.service.UserService;
+import lk.ijse.poweralert.util.KeysetCursor;
 import lk.ijse.poweralert.util.VarList;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -50,41 +53,44 @@ public class NotificationController {
     @Autowired
     private ModelMapper modelMapper;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
     /**
      * Get all notifications for the current user
      */
     @GetMapping("/user/notifications")
     @PreAuthorize("hasAnyAuthority('ROLE_USER', 'ROLE_ADMIN', 'ROLE_UTILITY_PROVIDER')")
-    public ResponseEntity<ResponseDTO> getUserNotifications() {
+    public ResponseEntity<ResponseDTO> getUserNotifications(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit) {
         try {
             logger.info("Fetching notifications for current user");
+            KeysetCursor after = KeysetCursor.decode(cursor);
+            int pageSize = CursorPageDTO.resolveLimit(limit);
 
             // Get current user
             User user = getCurrentUser();
 
-            // Get notifications
-            List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(user.getId());
+            // Get one page of notifications, plus one row to tell whether more exist
+            List<Notification> notifications = after == null
+                    ? notificationRepository.findPageByUser(user.getId(), Limit.of(pageSize + 1))
+                    : notificationRepository.findPageByUserAfter(user.getId(), after.time(), after.id(), Limit.of(pageSize + 1));
 
             // Convert to DTOs
-            List<NotificationDTO> notificationDTOs = notifications.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Notifications retrieved successfully");
-            responseDTO.setData(notificationDTOs);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            CursorPageDTO<NotificationDTO> notificationDTOs = CursorPageDTO.of(notifications, pageSize,
+                    notification -> new KeysetCursor(notification.getCreatedAt(), notification.getId()),
+                    page -> page.stream()
+                            .map(this::convertToDTO)
+                            .collect(Collectors.toList()));
+
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Notifications retrieved successfully", notificationDTOs),
+                    HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Bad_Request, e.getMessage()), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error retrieving notifications: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -109,10 +115,9 @@ public class NotificationController {
                 logger.warn("User {} attempted to access notification {} belonging to user {}",
                         user.getId(), id, notification.getUser().getId());
 
-                responseDTO.setCode(VarList.Forbidden);
-                responseDTO.setMessage("You don't have permission to access this notification");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.FORBIDDEN);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Forbidden, "You don't have permission to access this notification"),
+                        HttpStatus.FORBIDDEN);
             }
 
             // Update status to DELIVERED if it was SENT
@@ -124,25 +129,19 @@ public class NotificationController {
                 logger.info("Notification {} marked as delivered", id);
             }
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Notification marked as read");
-            responseDTO.setData(convertToDTO(notification));
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Notification marked as read", convertToDTO(notification)),
+                    HttpStatus.OK);
         } catch (EntityNotFoundException e) {
             logger.error("Notification not found: {}", e.getMessage());
 
-            responseDTO.setCode(VarList.Not_Found);
-            responseDTO.setMessage(e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Not_Found, e.getMessage()), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             logger.error("Error marking notification as read: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -167,35 +166,26 @@ public class NotificationController {
                 logger.warn("User {} attempted to delete notification {} belonging to user {}",
                         user.getId(), id, notification.getUser().getId());
 
-                responseDTO.setCode(VarList.Forbidden);
-                responseDTO.setMessage("You don't have permission to delete this notification");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.FORBIDDEN);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Forbidden, "You don't have permission to delete this notification"),
+                        HttpStatus.FORBIDDEN);
             }
 
             // Delete notification
             notificationRepository.delete(notification);
             logger.info("Notification {} deleted successfully", id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Notification deleted successfully");
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.OK, "Notification deleted successfully"), HttpStatus.OK);
         } catch (EntityNotFoundException e) {
             logger.error("Notification not found: {}", e.getMessage());
 
-            responseDTO.setCode(VarList.Not_Found);
-            responseDTO.setMessage(e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Not_Found, e.getMessage()), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             logger.error("Error deleting notification: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -218,12 +208,9 @@ public class NotificationController {
             CompletableFuture<Boolean> future = notificationService.sendTestNotification(user, request.getMessage());
 
             // Create an intermediate response
-            responseDTO.setCode(VarList.Accepted);
-            responseDTO.setMessage("Test notification request submitted");
             Map<String, Object> data = new HashMap<>();
             data.put("status", "PROCESSING");
             data.put("userId", user.getId());
-            responseDTO.setData(data);
 
             // Add a completion handler to log the result
             future.whenComplete((sent, exception) -> {
@@ -236,21 +223,18 @@ public class NotificationController {
                 }
             });
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.ACCEPTED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Accepted, "Test notification request submitted", data), HttpStatus.ACCEPTED);
         } catch (EntityNotFoundException e) {
             logger.error("User not found: {}", e.getMessage());
 
-            responseDTO.setCode(VarList.Not_Found);
-            responseDTO.setMessage(e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Not_Found, e.getMessage()), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             logger.error("Error sending test notification: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -275,18 +259,15 @@ public class NotificationController {
                     .map(this::convertToDTO)
                     .collect(Collectors.toList());
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Unread notifications retrieved successfully");
-            responseDTO.setData(notificationDTOs);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Unread notifications retrieved successfully", notificationDTOs),
+                    HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving unread notifications: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -316,18 +297,15 @@ public class NotificationController {
             notificationRepository.saveAll(notifications);
             logger.info("Marked {} notifications as read for user {}", notifications.size(), user.getId());
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage(notifications.size() + " notifications marked as read");
-            responseDTO.setData(Map.of("count", notifications.size()));
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, notifications.size() + " notifications marked as read", Map.of("count", notifications.size())),
+                    HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error marking all notifications as read: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
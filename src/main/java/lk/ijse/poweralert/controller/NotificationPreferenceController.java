@@ -30,9 +30,6 @@ public class NotificationPreferenceController {
     @Autowired
     private NotificationPreferenceService notificationPreferenceService;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
     /**
      * Get all notification preferences for the current user
      */
@@ -43,18 +40,15 @@ public class NotificationPreferenceController {
 
             List<NotificationPreferenceDTO> preferences = notificationPreferenceService.getCurrentUserPreferences();
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Notification preferences retrieved successfully");
-            responseDTO.setData(preferences);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Notification preferences retrieved successfully", preferences),
+                    HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving notification preferences: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -68,25 +62,19 @@ public class NotificationPreferenceController {
 
             NotificationPreferenceDTO preference = notificationPreferenceService.getPreferenceById(id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Notification preference retrieved successfully");
-            responseDTO.setData(preference);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Notification preference retrieved successfully", preference),
+                    HttpStatus.OK);
         } catch (EntityNotFoundException e) {
             logger.error("Notification preference not found: {}", e.getMessage());
 
-            responseDTO.setCode(VarList.Not_Found);
-            responseDTO.setMessage(e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Not_Found, e.getMessage()), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             logger.error("Error retrieving notification preference: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -100,18 +88,15 @@ public class NotificationPreferenceController {
 
             NotificationPreferenceDTO savedPreference = notificationPreferenceService.addPreference(preferenceDTO);
 
-            responseDTO.setCode(VarList.Created);
-            responseDTO.setMessage("Notification preference added successfully");
-            responseDTO.setData(savedPreference);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Created, "Notification preference added successfully", savedPreference),
+                    HttpStatus.CREATED);
         } catch (Exception e) {
             logger.error("Error adding notification preference: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -130,25 +115,19 @@ public class NotificationPreferenceController {
 
             NotificationPreferenceDTO updatedPreference = notificationPreferenceService.updatePreference(preferenceDTO);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Notification preference updated successfully");
-            responseDTO.setData(updatedPreference);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Notification preference updated successfully", updatedPreference),
+                    HttpStatus.OK);
         } catch (EntityNotFoundException e) {
             logger.error("Notification preference not found: {}", e.getMessage());
 
-            responseDTO.setCode(VarList.Not_Found);
-            responseDTO.setMessage(e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Not_Found, e.getMessage()), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             logger.error("Error updating notification preference: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -162,25 +141,18 @@ public class NotificationPreferenceController {
 
             boolean deleted = notificationPreferenceService.deletePreference(id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Notification preference deleted successfully");
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Notification preference deleted successfully"), HttpStatus.OK);
         } catch (EntityNotFoundException e) {
             logger.error("Notification preference not found: {}", e.getMessage());
 
-            responseDTO.setCode(VarList.Not_Found);
-            responseDTO.setMessage(e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Not_Found, e.getMessage()), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             logger.error("Error deleting notification preference: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 }
\ No newline at end of file
@@ -2,20 +2,35 @@ package lk.ijse.poweralert.controller;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import lk.ijse.poweralert.dto.CursorPageDTO;
 import lk.ijse.poweralert.dto.OutageCreateDTO;
 import lk.ijse.poweralert.dto.OutageDTO;
+import lk.ijse.poweralert.dto.OutageSearchResultDTO;
 import lk.ijse.poweralert.dto.OutageUpdateDTO;
 import lk.ijse.poweralert.dto.ResponseDTO;
+import lk.ijse.poweralert.service.ActiveOutageSnapshotService;
+import lk.ijse.poweralert.service.DataVersionService;
+import lk.ijse.poweralert.service.DataVersionService.Version;
+import lk.ijse.poweralert.enums.AppEnums.OutageType;
+import lk.ijse.poweralert.service.OutageSearchService;
 import lk.ijse.poweralert.service.OutageService;
+import lk.ijse.poweralert.service.OutageStreamService;
+import lk.ijse.poweralert.util.ActiveOutageSnapshot;
+import lk.ijse.poweralert.util.ConditionalRequests;
+import lk.ijse.poweralert.util.UserPrincipal;
 import lk.ijse.poweralert.util.VarList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -30,60 +45,142 @@ public class OutageController {
     private OutageService outageService;
 
     @Autowired
-    private ResponseDTO responseDTO;
+    private ActiveOutageSnapshotService activeOutageSnapshotService;
 
-    // Public endpoint to get all active outages
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private OutageStreamService outageStreamService;
+
+    @Autowired
+    private OutageSearchService outageSearchService;
+
+    // Public endpoint to get all active outages, served from the pre-serialized snapshot
     @GetMapping("/public/outages/active")
-    @Transactional(readOnly = true)
-    public ResponseEntity<ResponseDTO> getAllActiveOutages() {
+    public ResponseEntity<?> getAllActiveOutages(WebRequest webRequest) {
         try {
-            List<OutageDTO> outages = outageService.getAllActiveOutages();
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Active outages retrieved successfully");
-            responseDTO.setData(outages);
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            ActiveOutageSnapshot snapshot = activeOutageSnapshotService.getSnapshot();
+            if (webRequest.checkNotModified(snapshot.getEtag(), snapshot.getLastModified().toEpochMilli())) {
+                return null;
+            }
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(snapshot.getJson());
         } catch (Exception e) {
             logger.error("Error retrieving active outages: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Public Server-Sent Events stream of active outage changes; EventSource resumes via Last-Event-ID
+    @GetMapping("/public/outages/stream")
+    public ResponseEntity<?> streamOutages(@RequestParam(required = false) Long areaId,
+                                           @RequestParam(required = false) String district,
+                                           @RequestParam(required = false) OutageType type,
+                                           @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        try {
+            SseEmitter emitter = outageStreamService.subscribe(
+                    new OutageStreamService.Filter(areaId, district, type), lastEventId);
+            return ResponseEntity.ok(emitter);
+        } catch (IllegalStateException e) {
+            logger.warn("Rejected outage stream subscriber: {}", e.getMessage());
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Service_Unavailable, e.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+        } catch (Exception e) {
+            logger.error("Error opening outage stream: {}", e.getMessage(), e);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
-    // Public endpoint to get outage by ID
+    // Public full-text search over outages and area names; prefix matching supports type-ahead
+    @GetMapping("/public/outages/search")
+    public ResponseEntity<ResponseDTO> searchOutages(@RequestParam("q") String query,
+                                                     @RequestParam(required = false) Integer limit) {
+        try {
+            OutageSearchResultDTO result = outageSearchService.search(query, limit);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Search completed successfully", result), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Bad_Request, e.getMessage()), HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("Error searching outages: {}", e.getMessage(), e);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    // Public endpoint to get outage by ID; active outages are validated and served from the snapshot
     @GetMapping("/public/outages/{id}")
-    public ResponseEntity<ResponseDTO> getOutageById(@PathVariable Long id) {
+    public ResponseEntity<ResponseDTO> getOutageById(@PathVariable Long id, WebRequest webRequest) {
         try {
-            OutageDTO outage = outageService.getOutageById(id);
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Outage retrieved successfully");
-            responseDTO.setData(outage);
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            ActiveOutageSnapshot snapshot = activeOutageSnapshotService.getSnapshot();
+            OutageDTO active = snapshot.getOutage(id);
+            String etag;
+            long lastModified;
+            if (active != null) {
+                // Validate against the snapshot the body comes from, not the node's newer versions
+                long updatedAt = ConditionalRequests.toEpochMillis(active.getUpdatedAt());
+                etag = ConditionalRequests.etag("outage", id, updatedAt, "a" + snapshot.getAreasVersion(),
+                        "p" + snapshot.getProvidersVersion());
+                lastModified = ConditionalRequests.latest(updatedAt, snapshot.getLastModified().toEpochMilli());
+            } else {
+                Version areas = dataVersionService.getVersion(DataVersionService.AREAS);
+                Version providers = dataVersionService.getVersion(DataVersionService.UTILITY_PROVIDERS);
+                Version outages = dataVersionService.getVersion(DataVersionService.OUTAGES);
+                etag = ConditionalRequests.etag("outage", id, "v" + outages.version(), "a" + areas.version(),
+                        "p" + providers.version());
+                lastModified = ConditionalRequests.latest(outages.lastModifiedMillis(), areas.lastModifiedMillis(),
+                        providers.lastModifiedMillis());
+            }
+            if (webRequest.checkNotModified(etag, lastModified)) {
+                return null;
+            }
+
+            OutageDTO outage = active != null ? active : outageService.getOutageById(id);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Outage retrieved successfully", outage), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving outage with ID {}: {}", id, e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
     // Public endpoint to get outages by area
     @GetMapping("/public/outages/area/{areaId}")
-    public ResponseEntity<ResponseDTO> getOutagesByArea(@PathVariable Long areaId) {
+    public ResponseEntity<ResponseDTO> getOutagesByArea(@PathVariable Long areaId,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit,
+                                                        WebRequest webRequest) {
         try {
-            List<OutageDTO> outages = outageService.getOutagesByArea(areaId);
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Outages for area retrieved successfully");
-            responseDTO.setData(outages);
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            Version outageVersion = dataVersionService.getVersion(DataVersionService.OUTAGES);
+            Version areaVersion = dataVersionService.getVersion(DataVersionService.AREAS);
+            Version providerVersion = dataVersionService.getVersion(DataVersionService.UTILITY_PROVIDERS);
+            String etag = ConditionalRequests.etag("area", areaId, "outages",
+                    "v" + outageVersion.version(), "a" + areaVersion.version(), "p" + providerVersion.version(),
+                    cursor == null ? "first" : cursor, CursorPageDTO.resolveLimit(limit));
+            if (webRequest.checkNotModified(etag, ConditionalRequests.latest(outageVersion.lastModifiedMillis(),
+                    areaVersion.lastModifiedMillis(), providerVersion.lastModifiedMillis()))) {
+                return null;
+            }
+
+            CursorPageDTO<OutageDTO> outages = outageService.getOutagesByArea(areaId, cursor, limit);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Outages for area retrieved successfully", outages), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Bad_Request, e.getMessage()), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error retrieving outages for area {}: {}", areaId, e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -93,16 +190,13 @@ public class OutageController {
     public ResponseEntity<ResponseDTO> createOutage(@Valid @RequestBody OutageCreateDTO outageCreateDTO) {
         try {
             OutageDTO createdOutage = outageService.createOutage(outageCreateDTO);
-            responseDTO.setCode(VarList.Created);
-            responseDTO.setMessage("Outage created successfully");
-            responseDTO.setData(createdOutage);
-            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Created, "Outage created successfully", createdOutage), HttpStatus.CREATED);
         } catch (Exception e) {
             logger.error("Error creating outage: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -113,16 +207,13 @@ public class OutageController {
         try {
             logger.debug("Creating outage via admin endpoint");
             OutageDTO createdOutage = outageService.createOutage(outageCreateDTO);
-            responseDTO.setCode(VarList.Created);
-            responseDTO.setMessage("Outage created successfully");
-            responseDTO.setData(createdOutage);
-            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Created, "Outage created successfully", createdOutage), HttpStatus.CREATED);
         } catch (Exception e) {
             logger.error("Error creating outage: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -134,16 +225,13 @@ public class OutageController {
             @Valid @RequestBody OutageCreateDTO outageCreateDTO) {
         try {
             OutageDTO updatedOutage = outageService.updateOutage(id, outageCreateDTO);
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Outage updated successfully");
-            responseDTO.setData(updatedOutage);
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Outage updated successfully", updatedOutage), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error updating outage with ID {}: {}", id, e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -157,36 +245,25 @@ public class OutageController {
             outageUpdateDTO.setOutageId(id);
 
             if (outageUpdateDTO.getUpdateInfo() == null || outageUpdateDTO.getUpdateInfo().trim().isEmpty()) {
-                responseDTO.setCode(VarList.Bad_Request);
-                responseDTO.setMessage("Update information is required");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Bad_Request, "Update information is required"), HttpStatus.BAD_REQUEST);
             }
 
             OutageDTO updatedOutage = outageService.addOutageUpdate(outageUpdateDTO);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Outage update added successfully");
-            responseDTO.setData(updatedOutage);
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Outage update added successfully", updatedOutage), HttpStatus.OK);
         } catch (EntityNotFoundException e) {
             logger.error("Outage not found with ID {}: {}", id, e.getMessage());
-            responseDTO.setCode(VarList.Not_Found);
-            responseDTO.setMessage(e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Not_Found, e.getMessage()), HttpStatus.NOT_FOUND);
         } catch (IllegalStateException e) {
             logger.error("Cannot update outage with ID {}: {}", id, e.getMessage());
-            responseDTO.setCode(VarList.Bad_Request);
-            responseDTO.setMessage(e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Bad_Request, e.getMessage()), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error adding update to outage with ID {}: {}", id, e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -196,54 +273,73 @@ public class OutageController {
     public ResponseEntity<ResponseDTO> cancelOutage(@PathVariable Long id) {
         try {
             OutageDTO cancelledOutage = outageService.cancelOutage(id);
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Outage cancelled successfully");
-            responseDTO.setData(cancelledOutage);
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Outage cancelled successfully", cancelledOutage), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error cancelling outage with ID {}: {}", id, e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
     // User endpoint to get outages for user's area
     @GetMapping("/user/outages")
     @PreAuthorize("hasAnyAuthority('ROLE_USER', 'ROLE_ADMIN')")
-    public ResponseEntity<ResponseDTO> getOutagesForUser() {
+    public ResponseEntity<ResponseDTO> getOutagesForUser(Authentication authentication, WebRequest webRequest) {
         try {
+            // The feed is the user's outage ids resolved against the active outage snapshot, so it
+            // changes with the user's membership and with the snapshot it is read from
+            if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+                ActiveOutageSnapshot snapshot = activeOutageSnapshotService.getSnapshot();
+                Version feedVersion = dataVersionService.getVersion(DataVersionService.USER_FEEDS);
+                String etag = ConditionalRequests.etag("user", principal.getId(), "outages",
+                        snapshot.getEtag().replace("\"", ""), "f" + feedVersion.version());
+                if (webRequest.checkNotModified(etag, ConditionalRequests.latest(
+                        snapshot.getLastModified().toEpochMilli(), feedVersion.lastModifiedMillis()))) {
+                    return null;
+                }
+            }
+
             List<OutageDTO> outages = outageService.getOutagesForCurrentUser();
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("User's outages retrieved successfully");
-            responseDTO.setData(outages);
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "User's outages retrieved successfully", outages), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving outages for current user: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
     // Public endpoint to get all outages
     @GetMapping("/public/outages/all")
     @Transactional(readOnly = true)
-    public ResponseEntity<ResponseDTO> getAllOutages() {
+    public ResponseEntity<ResponseDTO> getAllOutages(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer limit,
+                                                     WebRequest webRequest) {
         try {
-            List<OutageDTO> outages = outageService.getAllOutages();
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("All outages retrieved successfully");
-            responseDTO.setData(outages);
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            Version outageVersion = dataVersionService.getVersion(DataVersionService.OUTAGES);
+            Version areaVersion = dataVersionService.getVersion(DataVersionService.AREAS);
+            Version providerVersion = dataVersionService.getVersion(DataVersionService.UTILITY_PROVIDERS);
+            String etag = ConditionalRequests.etag("all", "outages",
+                    "v" + outageVersion.version(), "a" + areaVersion.version(), "p" + providerVersion.version(),
+                    cursor == null ? "first" : cursor, CursorPageDTO.resolveLimit(limit));
+            if (webRequest.checkNotModified(etag, ConditionalRequests.latest(outageVersion.lastModifiedMillis(),
+                    areaVersion.lastModifiedMillis(), providerVersion.lastModifiedMillis()))) {
+                return null;
+            }
+
+            CursorPageDTO<OutageDTO> outages = outageService.getAllOutages(cursor, limit);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "All outages retrieved successfully", outages), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Bad_Request, e.getMessage()), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error retrieving all outages: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 }
\ No newline at end of file
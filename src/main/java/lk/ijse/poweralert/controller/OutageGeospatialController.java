@@ -2,17 +2,27 @@ package lk.ijse.poweralert.controller;
 
 import lk.ijse.poweralert.dto.OutageGeospatialDTO;
 import lk.ijse.poweralert.dto.ResponseDTO;
+import lk.ijse.poweralert.service.DataVersionService;
+import lk.ijse.poweralert.service.DataVersionService.Version;
+import lk.ijse.poweralert.service.OutageAffectedAddressService;
 import lk.ijse.poweralert.service.OutageGeospatialService;
+import lk.ijse.poweralert.util.ConditionalRequests;
+import lk.ijse.poweralert.util.GeoJsonStreamWriter;
 import lk.ijse.poweralert.util.VarList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,12 +36,19 @@ import java.util.Map;
 public class OutageGeospatialController {
 
     private static final Logger logger = LoggerFactory.getLogger(OutageGeospatialController.class);
+    private static final MediaType GEOJSON_MEDIA_TYPE = MediaType.parseMediaType("application/geo+json");
 
     @Autowired
     private OutageGeospatialService outageGeospatialService;
 
     @Autowired
-    private ResponseDTO responseDTO;
+    private OutageAffectedAddressService outageAffectedAddressService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Value("${app.geo.batch-check.max-points:100000}")
+    private int maxBatchPoints;
 
     /**
      * Save geospatial data for an outage
@@ -45,46 +62,124 @@ public class OutageGeospatialController {
 
             OutageGeospatialDTO savedData = outageGeospatialService.saveGeospatialData(outageGeospatialDTO);
 
-            responseDTO.setCode(VarList.Created);
-            responseDTO.setMessage("Geospatial data saved successfully");
-            responseDTO.setData(savedData);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Created, "Geospatial data saved successfully", savedData),
+                    HttpStatus.CREATED);
         } catch (Exception e) {
             logger.error("Error saving geospatial data: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
     /**
      * Get geospatial data for an outage
+     * Optional zoom or tolerance selects a pre-simplified polygon
      * Public endpoint
      */
     @GetMapping("/{outageId}")
-    public ResponseEntity<ResponseDTO> getGeospatialData(@PathVariable Long outageId) {
+    public ResponseEntity<ResponseDTO> getGeospatialData(
+            @PathVariable Long outageId,
+            @RequestParam(required = false) Integer zoom,
+            @RequestParam(required = false) Double tolerance,
+            WebRequest webRequest) {
         try {
-            logger.info("Getting geospatial data for outage ID: {}", outageId);
+            Version outages = dataVersionService.getVersion(DataVersionService.OUTAGES);
+            Version geospatial = dataVersionService.getVersion(DataVersionService.OUTAGE_GEOSPATIAL);
+            String etag = ConditionalRequests.etag("geo", outageId, "o" + outages.version(), "g" + geospatial.version());
+            if (webRequest.checkNotModified(etag, ConditionalRequests.latest(
+                    outages.lastModifiedMillis(), geospatial.lastModifiedMillis()))) {
+                return null;
+            }
 
-            OutageGeospatialDTO geospatialData = outageGeospatialService.getGeospatialDataForOutage(outageId);
+            logger.info("Getting geospatial data for outage ID: {}", outageId);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Geospatial data retrieved successfully");
-            responseDTO.setData(geospatialData);
+            OutageGeospatialDTO geospatialData = outageGeospatialService.getGeospatialDataForOutage(
+                    outageId, zoom, tolerance);
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Geospatial data retrieved successfully", geospatialData),
+                    HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error getting geospatial data for outage ID {}: {}", outageId, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Stream all scheduled and ongoing outages as one styled GeoJSON FeatureCollection
+     * Colours default per status unless a fill colour is given
+     * Public endpoint
+     */
+    @GetMapping(value = "/active", produces = "application/geo+json")
+    public ResponseEntity<StreamingResponseBody> streamActiveOutages(
+            @RequestParam(required = false) Integer zoom,
+            @RequestParam(required = false) Double tolerance,
+            @RequestParam(required = false) String fillColor,
+            @RequestParam(defaultValue = "#000000") String strokeColor,
+            @RequestParam(defaultValue = "2.0") double strokeWidth,
+            @RequestParam(defaultValue = "0.5") double fillOpacity,
+            WebRequest webRequest) {
+        // Features carry outage and area properties, so both versions validate the stream
+        Version outages = dataVersionService.getVersion(DataVersionService.OUTAGES);
+        Version areas = dataVersionService.getVersion(DataVersionService.AREAS);
+        String etag = ConditionalRequests.etag("geo-active", "o" + outages.version(), "a" + areas.version());
+        if (webRequest.checkNotModified(etag, ConditionalRequests.latest(
+                outages.lastModifiedMillis(), areas.lastModifiedMillis()))) {
+            return null;
+        }
+
+        logger.info("Streaming active outages as GeoJSON");
+
+        GeoJsonStreamWriter.Style style = fillColor == null ? null
+                : new GeoJsonStreamWriter.Style(fillColor, strokeColor, strokeWidth, fillOpacity);
+
+        StreamingResponseBody body = out -> {
+            int features = outageGeospatialService.writeActiveOutagesGeoJson(out, zoom, tolerance, style);
+            logger.debug("Streamed {} active outage features", features);
+        };
+
+        return ResponseEntity.ok()
+                .contentType(GEOJSON_MEDIA_TYPE)
+                .body(body);
+    }
+
+    /**
+     * Get the number of households and users affected by an outage
+     * Requires admin or utility provider roles
+     */
+    @GetMapping("/{outageId}/impact")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN', 'ROLE_UTILITY_PROVIDER')")
+    public ResponseEntity<ResponseDTO> getOutageImpact(@PathVariable Long outageId, WebRequest webRequest) {
+        try {
+            Version outages = dataVersionService.getVersion(DataVersionService.OUTAGES);
+            Version geospatial = dataVersionService.getVersion(DataVersionService.OUTAGE_GEOSPATIAL);
+            String etag = ConditionalRequests.etag("impact", outageId, "o" + outages.version(), "g" + geospatial.version());
+            if (webRequest.checkNotModified(etag, ConditionalRequests.latest(
+                    outages.lastModifiedMillis(), geospatial.lastModifiedMillis()))) {
+                return null;
+            }
+
+            logger.info("Getting impact for outage ID: {}", outageId);
+
+            Map<String, Object> impact = new HashMap<>();
+            impact.put("outageId", outageId);
+            impact.put("affectedAddresses", outageAffectedAddressService.countAffectedAddresses(outageId));
+            impact.put("affectedUsers", outageAffectedAddressService.countAffectedUsers(outageId));
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Outage impact retrieved successfully", impact), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error getting impact for outage ID {}: {}", outageId, e.getMessage(), e);
+
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -105,19 +200,14 @@ public class OutageGeospatialController {
 
             OutageGeospatialDTO updatedData = outageGeospatialService.updateGeospatialData(outageGeospatialDTO);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Geospatial data updated successfully");
-            responseDTO.setData(updatedData);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Geospatial data updated successfully", updatedData), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error updating geospatial data for outage ID {}: {}", outageId, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -133,19 +223,14 @@ public class OutageGeospatialController {
 
             boolean deleted = outageGeospatialService.deleteGeospatialData(outageId);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Geospatial data deleted successfully");
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Geospatial data deleted successfully"), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error deleting geospatial data for outage ID {}: {}", outageId, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -167,19 +252,14 @@ public class OutageGeospatialController {
             result.put("longitude", longitude);
             result.put("outageIds", outageIds);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Outages found successfully");
-            responseDTO.setData(result);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Outages found successfully", result), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error finding outages containing point: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -202,19 +282,127 @@ public class OutageGeospatialController {
             result.put("affectedStatus", affectedStatus);
             result.put("isAffected", affectedStatus.containsValue(true));
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Address checked successfully");
-            responseDTO.setData(result);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Address checked successfully", result), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error checking address for active outages: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Check many addresses against active outages in one call
+     * Body is a JSON array of [latitude, longitude] pairs
+     */
+    @PostMapping(value = "/check-addresses", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ResponseDTO> checkAddressesForActiveOutages(
+            @RequestBody List<double[]> points,
+            @RequestParam(defaultValue = "true") boolean spatialSort) {
+        try {
+            logger.info("Batch checking {} addresses for active outages", points.size());
+
+            if (points.size() > maxBatchPoints) {
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Payload_Too_Large, "At most " + maxBatchPoints + " points can be checked per request"),
+                        HttpStatus.PAYLOAD_TOO_LARGE);
+            }
+
+            double[] latitudes = new double[points.size()];
+            double[] longitudes = new double[points.size()];
+            for (int i = 0; i < points.size(); i++) {
+                double[] point = points.get(i);
+                if (point == null || point.length < 2) {
+                    return new ResponseEntity<>(
+                            ResponseDTO.of(VarList.Bad_Request, "Point " + i + " must be a [latitude, longitude] pair"),
+                            HttpStatus.BAD_REQUEST);
+                }
+                latitudes[i] = point[0];
+                longitudes[i] = point[1];
+            }
+
+            long[][] outageIds = outageGeospatialService.findActiveOutagesContainingPoints(
+                    latitudes, longitudes, spatialSort);
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            int affectedCount = 0;
+            for (long[] ids : outageIds) {
+                if (ids.length > 0) {
+                    affectedCount++;
+                }
+            }
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("pointCount", outageIds.length);
+            result.put("affectedCount", affectedCount);
+            result.put("outageIds", outageIds);
+
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Addresses checked successfully", result), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error batch checking addresses for active outages: {}", e.getMessage(), e);
+
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Compact binary variant of the batch address check.
+     * Request: big-endian (latitude, longitude) double pairs.
+     * Response: for each point, an int count followed by that many long outage IDs.
+     */
+    @PostMapping(value = "/check-addresses",
+            consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> checkAddressesForActiveOutagesBinary(
+            @RequestBody byte[] body,
+            @RequestParam(defaultValue = "true") boolean spatialSort) {
+        if (body.length % 16 != 0) {
+            logger.warn("Rejected binary batch check with {} bytes", body.length);
+            return ResponseEntity.badRequest().build();
+        }
+
+        int count = body.length / 16;
+        if (count > maxBatchPoints) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        try {
+            logger.info("Binary batch checking {} addresses for active outages", count);
+
+            ByteBuffer input = ByteBuffer.wrap(body);
+            double[] latitudes = new double[count];
+            double[] longitudes = new double[count];
+            for (int i = 0; i < count; i++) {
+                latitudes[i] = input.getDouble();
+                longitudes[i] = input.getDouble();
+            }
+
+            long[][] outageIds = outageGeospatialService.findActiveOutagesContainingPoints(
+                    latitudes, longitudes, spatialSort);
+
+            int size = 0;
+            for (long[] ids : outageIds) {
+                size += Integer.BYTES + ids.length * Long.BYTES;
+            }
+
+            ByteBuffer output = ByteBuffer.allocate(size);
+            for (long[] ids : outageIds) {
+                output.putInt(ids.length);
+                for (long id : ids) {
+                    output.putLong(id);
+                }
+            }
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .body(output.array());
+        } catch (Exception e) {
+            logger.error("Error binary batch checking addresses for active outages: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
@@ -233,19 +421,14 @@ public class OutageGeospatialController {
             result.put("outageId", outageId.toString());
             result.put("staticMapUrl", staticMapUrl);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Static map generated successfully");
-            responseDTO.setData(result);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Static map generated successfully", result), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error generating static map for outage ID {}: {}", outageId, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -261,34 +444,26 @@ public class OutageGeospatialController {
 
             String geoJson = request.get("geoJson");
             if (geoJson == null || geoJson.isEmpty()) {
-                responseDTO.setCode(VarList.Bad_Request);
-                responseDTO.setMessage("GeoJSON is required");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Bad_Request, "GeoJSON is required"), HttpStatus.BAD_REQUEST);
             }
 
             Map<String, Double> boundingBox = outageGeospatialService.computeBoundingBox(geoJson);
 
             if (boundingBox == null) {
-                responseDTO.setCode(VarList.Bad_Request);
-                responseDTO.setMessage("Could not compute bounding box from provided GeoJSON");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Bad_Request, "Could not compute bounding box from provided GeoJSON"),
+                        HttpStatus.BAD_REQUEST);
             }
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Bounding box computed successfully");
-            responseDTO.setData(boundingBox);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Bounding box computed successfully", boundingBox), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error computing bounding box: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package lk.ijse.poweralert.controller;
 
+import lk.ijse.poweralert.dto.CursorPageDTO;
 import lk.ijse.poweralert.dto.OutageHistoryDTO;
 import lk.ijse.poweralert.dto.ResponseDTO;
 import lk.ijse.poweralert.enums.AppEnums.OutageType;
 import lk.ijse.poweralert.service.OutageHistoryService;
+import lk.ijse.poweralert.service.OutageStatisticsService;
 import lk.ijse.poweralert.util.VarList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,7 +30,7 @@ public class OutageHistoryController {
     private OutageHistoryService outageHistoryService;
 
     @Autowired
-    private ResponseDTO responseDTO;
+    private OutageStatisticsService outageStatisticsService;
 
     /**
      * Get all historical outage data
@@ -36,22 +38,22 @@ public class OutageHistoryController {
     @GetMapping("/public/outage-history")
     public ResponseEntity<ResponseDTO> getAllOutageHistory(
             @RequestParam(required = false) Integer year,
-            @RequestParam(required = false) Integer month) {
+            @RequestParam(required = false) Integer month,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
         try {
             logger.info("Fetching all outage history data");
-            List<OutageHistoryDTO> historyList = outageHistoryService.getAllOutageHistory(year, month);
-
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Outage history retrieved successfully");
-            responseDTO.setData(historyList);
+            CursorPageDTO<OutageHistoryDTO> historyList = outageHistoryService.getAllOutageHistory(year, month, cursor, limit);
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Outage history retrieved successfully", historyList), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Bad_Request, e.getMessage()), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error retrieving outage history: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -67,17 +69,14 @@ public class OutageHistoryController {
             logger.info("Fetching outage history for area ID: {}", areaId);
             List<OutageHistoryDTO> historyList = outageHistoryService.getOutageHistoryByArea(areaId, year, month);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Area outage history retrieved successfully");
-            responseDTO.setData(historyList);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Area outage history retrieved successfully", historyList),
+                    HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving area outage history: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -94,23 +93,18 @@ public class OutageHistoryController {
             OutageType outageType = OutageType.valueOf(type.toUpperCase());
             List<OutageHistoryDTO> historyList = outageHistoryService.getOutageHistoryByType(outageType, year, month);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Type outage history retrieved successfully");
-            responseDTO.setData(historyList);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Type outage history retrieved successfully", historyList),
+                    HttpStatus.OK);
         } catch (IllegalArgumentException e) {
             logger.error("Invalid outage type: {}", type);
-            responseDTO.setCode(VarList.Bad_Request);
-            responseDTO.setMessage("Invalid outage type: " + type);
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.BAD_REQUEST);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Bad_Request, "Invalid outage type: " + type), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error retrieving type outage history: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -122,19 +116,15 @@ public class OutageHistoryController {
     public ResponseEntity<ResponseDTO> getOutageStatistics() {
         try {
             logger.info("Fetching outage statistics for admin dashboard");
-            Map<String, Object> statistics = outageHistoryService.getOutageStatistics();
-
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Outage statistics retrieved successfully");
-            responseDTO.setData(statistics);
+            Map<String, Object> statistics = outageStatisticsService.getStatistics();
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Outage statistics retrieved successfully", statistics), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving outage statistics: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 }
\ No newline at end of file
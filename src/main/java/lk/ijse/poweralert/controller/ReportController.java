@@ -21,12 +21,10 @@ public class ReportController {
     private static final Logger logger = LoggerFactory.getLogger(ReportController.class);
 
     private final ReportService reportService;
-    private final ResponseDTO responseDTO;
 
     @Autowired
-    public ReportController(ReportService reportService, ResponseDTO responseDTO) {
+    public ReportController(ReportService reportService) {
         this.reportService = reportService;
-        this.responseDTO = responseDTO;
     }
 
     @GetMapping("/reports")
@@ -43,18 +41,18 @@ public class ReportController {
 
             Map<String, Object> reportData = reportService.generateReport(fromDate, toDate, outageType, areaId);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Report generated successfully");
-            responseDTO.setData(reportData);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Report generated successfully", reportData), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid report request: {}", e.getMessage());
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Bad_Request, e.getMessage()), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error generating report: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 }
\ No newline at end of file
@@ -36,9 +36,6 @@ public class UserDeviceController {
     @Autowired
     private UserService userService;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
     /** Register a new device for the current user   */
     @PostMapping
     public ResponseEntity<ResponseDTO> registerDevice(@Valid @RequestBody DeviceRegistrationRequest request) {
@@ -63,17 +60,14 @@ public class UserDeviceController {
             responseData.put("deviceType", device.getDeviceType());
             responseData.put("isActive", device.isActive());
 
-            responseDTO.setCode(VarList.Created);
-            responseDTO.setMessage("Device registered successfully");
-            responseDTO.setData(responseData);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Created, "Device registered successfully", responseData),
+                    HttpStatus.CREATED);
         } catch (Exception e) {
             logger.error("Error registering device: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -87,17 +81,13 @@ public class UserDeviceController {
 
             List<UserDevice> devices = userDeviceService.getActiveDevices(userId);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Active devices retrieved successfully");
-            responseDTO.setData(devices);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Active devices retrieved successfully", devices), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error fetching active devices: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -114,10 +104,9 @@ public class UserDeviceController {
             UserDevice device = userDeviceService.getDeviceById(deviceId);
 
             if (!device.getUser().getId().equals(userId)) {
-                responseDTO.setCode(VarList.Forbidden);
-                responseDTO.setMessage("You do not have permission to update this device");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.FORBIDDEN);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Forbidden, "You do not have permission to update this device"),
+                        HttpStatus.FORBIDDEN);
             }
 
             device = userDeviceService.updateDevice(deviceId, request.getFcmToken(), true);
@@ -128,17 +117,13 @@ public class UserDeviceController {
             responseData.put("isActive", device.isActive());
             responseData.put("updatedAt", device.getUpdatedAt());
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Device updated successfully");
-            responseDTO.setData(responseData);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Device updated successfully", responseData), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error updating device: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -152,25 +137,19 @@ public class UserDeviceController {
             UserDevice device = userDeviceService.getDeviceById(deviceId);
 
             if (!device.getUser().getId().equals(userId)) {
-                responseDTO.setCode(VarList.Forbidden);
-                responseDTO.setMessage("You do not have permission to deactivate this device");
-                responseDTO.setData(null);
-                return new ResponseEntity<>(responseDTO, HttpStatus.FORBIDDEN);
+                return new ResponseEntity<>(
+                        ResponseDTO.of(VarList.Forbidden, "You do not have permission to deactivate this device"),
+                        HttpStatus.FORBIDDEN);
             }
 
             boolean deactivated = userDeviceService.deactivateDevice(deviceId);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Device deactivated successfully");
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.OK, "Device deactivated successfully"), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error deactivating device: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -187,17 +166,13 @@ public class UserDeviceController {
             Map<String, Object> responseData = new HashMap<>();
             responseData.put("deactivatedCount", count);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("All devices deactivated successfully");
-            responseDTO.setData(responseData);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "All devices deactivated successfully", responseData), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error deactivating all devices: {}", e.getMessage(), e);
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
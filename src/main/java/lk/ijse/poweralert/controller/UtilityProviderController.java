@@ -37,9 +37,6 @@ public class UtilityProviderController {
     @Autowired
     private UtilityProviderService utilityProviderService;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
     @PostMapping("/register")
     @PreAuthorize("hasAuthority('ROLE_ADMIN')")
     public ResponseEntity<ResponseDTO> registerUtilityProvider(@Valid @RequestBody ProviderRegistrationDTO registrationDTO) {
@@ -77,18 +74,15 @@ public class UtilityProviderController {
             responseData.put("user", registeredUser);
             responseData.put("provider", savedProvider);
 
-            responseDTO.setCode(VarList.Created);
-            responseDTO.setMessage("Utility provider registered successfully");
-            responseDTO.setData(responseData);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.CREATED);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Created, "Utility provider registered successfully", responseData),
+                    HttpStatus.CREATED);
         } catch (Exception e) {
             logger.error("Error registering utility provider: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
     /** Get all utility providers    */
@@ -100,18 +94,14 @@ public class UtilityProviderController {
 
             List<UtilityProviderDTO> providers = utilityProviderService.getAllUtilityProviders();
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Utility providers retrieved successfully");
-            responseDTO.setData(providers);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Utility providers retrieved successfully", providers), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving utility providers: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -124,18 +114,14 @@ public class UtilityProviderController {
 
             UtilityProviderDTO provider = utilityProviderService.getUtilityProviderById(id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Utility provider retrieved successfully");
-            responseDTO.setData(provider);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Utility provider retrieved successfully", provider), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving utility provider with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -156,41 +142,37 @@ public class UtilityProviderController {
 
             UtilityProviderDTO updatedProvider = utilityProviderService.updateUtilityProvider(utilityProviderDTO);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Utility provider updated successfully");
-            responseDTO.setData(updatedProvider);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Utility provider updated successfully", updatedProvider),
+                    HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error updating utility provider with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
     /** Get outages for a utility provider   */
     @GetMapping("/outages")
     @PreAuthorize("hasAuthority('ROLE_UTILITY_PROVIDER')")
-    public ResponseEntity<ResponseDTO> getProviderOutages() {
+    public ResponseEntity<ResponseDTO> getProviderOutages(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer limit) {
         try {
             logger.debug("Fetching outages for current utility provider");
 
-            List<OutageDTO> outages = utilityProviderService.getOutagesForCurrentProvider();
-
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Provider outages retrieved successfully");
-            responseDTO.setData(outages);
+            CursorPageDTO<OutageDTO> outages = utilityProviderService.getOutagesForCurrentProvider(cursor, limit);
 
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Provider outages retrieved successfully", outages), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Bad_Request, e.getMessage()), HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error retrieving outages for provider: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -201,18 +183,14 @@ public class UtilityProviderController {
 
             List<UtilityProviderDTO> providers = utilityProviderService.getAllUtilityProviders();
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Utility providers retrieved successfully");
-            responseDTO.setData(providers);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Utility providers retrieved successfully", providers), HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving utility providers: {}", e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
@@ -222,24 +200,17 @@ public class UtilityProviderController {
         try {
             boolean deleted = utilityProviderService.deleteUtilityProvider(id);
 
-            responseDTO.setCode(VarList.OK);
-            responseDTO.setMessage("Utility provider deleted successfully");
-            responseDTO.setData(null);
-
-            return new ResponseEntity<>(responseDTO, HttpStatus.OK);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.OK, "Utility provider deleted successfully"), HttpStatus.OK);
         } catch (EntityNotFoundException e) {
-            responseDTO.setCode(VarList.Not_Found);
-            responseDTO.setMessage(e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.NOT_FOUND);
+            return new ResponseEntity<>(ResponseDTO.of(VarList.Not_Found, e.getMessage()), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             // Log the full stack trace for debugging
             logger.error("Error deleting utility provider with ID {}: {}", id, e.getMessage(), e);
 
-            responseDTO.setCode(VarList.Internal_Server_Error);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return new ResponseEntity<>(responseDTO, HttpStatus.INTERNAL_SERVER_ERROR);
+            return new ResponseEntity<>(
+                    ResponseDTO.of(VarList.Internal_Server_Error, "Error: " + e.getMessage()),
+                    HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
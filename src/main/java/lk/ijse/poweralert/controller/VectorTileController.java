@@ -0,0 +1,49 @@
+package lk.ijse.poweralert.controller;
+
+import lk.ijse.poweralert.service.VectorTileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * REST controller serving Mapbox Vector Tiles of active outages and area boundaries
+ */
+@RestController
+@RequestMapping("/tiles")
+@CrossOrigin
+public class VectorTileController {
+
+    private static final Logger logger = LoggerFactory.getLogger(VectorTileController.class);
+    private static final MediaType MVT_MEDIA_TYPE = MediaType.parseMediaType("application/vnd.mapbox-vector-tile");
+
+    @Autowired
+    private VectorTileService vectorTileService;
+
+    /**
+     * Get a vector tile with "outages" and "areas" polygon layers
+     * An empty body means no features fall in the tile
+     */
+    @GetMapping("/{z}/{x}/{y}.mvt")
+    public ResponseEntity<byte[]> getTile(@PathVariable int z, @PathVariable int x, @PathVariable int y) {
+        try {
+            byte[] tile = vectorTileService.getTile(z, x, y);
+
+            return ResponseEntity.ok()
+                    .contentType(MVT_MEDIA_TYPE)
+                    .cacheControl(CacheControl.maxAge(60, TimeUnit.SECONDS))
+                    .body(tile);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("Error rendering tile {}/{}/{}: {}", z, x, y, e.getMessage(), e);
+            return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -38,9 +38,6 @@ public class TestController {
     @Autowired
     private EmailService emailService;
 
-    @Autowired
-    private ResponseDTO responseDTO;
-
     @Autowired
     private FreeMarkerConfigurer freemarkerConfig;
 
@@ -105,16 +102,10 @@ public class TestController {
             result.append("Email enabled: ").append(emailService.isEnabled()).append("\n");
             result.append("From email: ").append(emailService.getFromEmail()).append("\n");
 
-            responseDTO.setCode(200);
-            responseDTO.setMessage("Email diagnostic completed");
-            responseDTO.setData(result.toString());
-            return ResponseEntity.ok(responseDTO);
+            return ResponseEntity.ok(ResponseDTO.of(200, "Email diagnostic completed", result.toString()));
         } catch (Exception e) {
             logger.error("Error during diagnostic: ", e);
-            responseDTO.setCode(500);
-            responseDTO.setMessage("Error during diagnostic: " + e.getMessage());
-            responseDTO.setData(null);
-            return ResponseEntity.status(500).body(responseDTO);
+            return ResponseEntity.status(500).body(ResponseDTO.of(500, "Error during diagnostic: " + e.getMessage()));
         }
     }
 
@@ -183,16 +174,10 @@ public class TestController {
             configInfo.put("defaultEncoding", freemarkerConfig.getConfiguration().getDefaultEncoding());
             configInfo.put("templateResults", templateResults);
 
-            responseDTO.setCode(200);
-            responseDTO.setMessage("Template debug information");
-            responseDTO.setData(configInfo);
-            return ResponseEntity.ok(responseDTO);
+            return ResponseEntity.ok(ResponseDTO.of(200, "Template debug information", configInfo));
         } catch (Exception e) {
             logger.error("Template debug error: {}", e.getMessage(), e);
-            responseDTO.setCode(500);
-            responseDTO.setMessage("Error during template debugging: " + e.getMessage());
-            responseDTO.setData(null);
-            return ResponseEntity.status(500).body(responseDTO);
+            return ResponseEntity.status(500).body(ResponseDTO.of(500, "Error during template debugging: " + e.getMessage()));
         }
     }
 
@@ -309,16 +294,10 @@ public class TestController {
                 return false;
             });
 
-            responseDTO.setCode(200);
-            responseDTO.setMessage("Advance notice test email queued successfully");
-            responseDTO.setData(templateModel);
-            return ResponseEntity.ok(responseDTO);
+            return ResponseEntity.ok(ResponseDTO.of(200, "Advance notice test email queued successfully", templateModel));
         } catch (Exception e) {
             logger.error("Error sending advance notice test email: {}", e.getMessage(), e);
-            responseDTO.setCode(500);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-            return ResponseEntity.status(500).body(responseDTO);
+            return ResponseEntity.status(500).body(ResponseDTO.of(500, "Error: " + e.getMessage()));
         }
     }
 
@@ -329,19 +308,11 @@ public class TestController {
 
             advanceNotificationJob.sendAdvanceNotifications();
 
-            responseDTO.setCode(200);
-            responseDTO.setMessage("Advance notifications job triggered successfully");
-            responseDTO.setData(null);
-
-            return ResponseEntity.ok(responseDTO);
+            return ResponseEntity.ok(ResponseDTO.of(200, "Advance notifications job triggered successfully"));
         } catch (Exception e) {
             logger.error("Error triggering advance notifications job: {}", e.getMessage(), e);
 
-            responseDTO.setCode(500);
-            responseDTO.setMessage("Error: " + e.getMessage());
-            responseDTO.setData(null);
-
-            return ResponseEntity.status(500).body(responseDTO);
+            return ResponseEntity.status(500).body(ResponseDTO.of(500, "Error: " + e.getMessage()));
         }
     }
 }
\ No newline at end of file
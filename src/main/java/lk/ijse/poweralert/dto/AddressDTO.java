@@ -23,7 +23,7 @@ public class AddressDTO {
     @NotBlank(message = "City is required")
     private String city;
 
-    @NotBlank(message = "District is required")
+    // Resolved from the coordinates when left blank
     private String district;
 
     private String postalCode;
@@ -0,0 +1,18 @@
+package lk.ijse.poweralert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lightweight address projection used by spatial lookups, without loading the owning user
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AddressLocationDTO {
+    private Long id;
+    private Long userId;
+    private Double latitude;
+    private Double longitude;
+}
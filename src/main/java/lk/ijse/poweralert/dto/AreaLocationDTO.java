@@ -0,0 +1,21 @@
+package lk.ijse.poweralert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Area resolved for a coordinate by the local area locator
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AreaLocationDTO {
+    private Long areaId;
+    private String name;
+    private String city;
+    private String district;
+    /** True if the point is inside the area boundary, false for a nearest-centroid match */
+    private boolean withinBoundary;
+    private double distanceKm;
+}
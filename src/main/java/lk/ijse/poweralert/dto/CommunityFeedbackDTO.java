@@ -33,4 +33,5 @@ public class CommunityFeedbackDTO {
     private LocalDateTime createdAt;
     private Double latitude;
     private Double longitude;
+    private Long areaId;
 }
\ No newline at end of file
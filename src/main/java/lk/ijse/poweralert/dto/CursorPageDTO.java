@@ -0,0 +1,54 @@
+package lk.ijse.poweralert.dto;
+
+import lk.ijse.poweralert.util.KeysetCursor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated listing; pass nextCursor back to get the following page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private List<T> items;
+
+    // Null on the last page
+    private String nextCursor;
+
+    private boolean hasMore;
+
+    /**
+     * Clamp a requested page size to [1, MAX_LIMIT], defaulting to DEFAULT_LIMIT
+     */
+    public static int resolveLimit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.max(1, Math.min(MAX_LIMIT, requested));
+    }
+
+    /**
+     * Build a page from rows fetched with limit + 1, the extra row only signalling that more exist
+     *
+     * @param rows the fetched rows, in listing order
+     * @param limit the page size
+     * @param key the keyset position of a row
+     * @param mapper converts the rows kept on the page
+     */
+    public static <E, T> CursorPageDTO<T> of(List<E> rows, int limit, Function<E, KeysetCursor> key,
+                                             Function<List<E>, List<T>> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> page = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? key.apply(page.get(page.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(mapper.apply(page), nextCursor, hasMore);
+    }
+}
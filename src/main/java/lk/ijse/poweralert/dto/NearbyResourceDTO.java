@@ -0,0 +1,29 @@
+package lk.ijse.poweralert.dto;
+
+import lk.ijse.poweralert.enums.AppEnums.ResourceType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alternative resource found near a location, without image data
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyResourceDTO {
+    private Long id;
+    private String name;
+    private ResourceType type;
+    private String address;
+    private Double latitude;
+    private Double longitude;
+    private String operatingHours;
+    private String contactNumber;
+    private Double distance;
+
+    public NearbyResourceDTO(Long id, String name, ResourceType type, String address, Double latitude,
+                             Double longitude, String operatingHours, String contactNumber) {
+        this(id, name, type, address, latitude, longitude, operatingHours, contactNumber, null);
+    }
+}
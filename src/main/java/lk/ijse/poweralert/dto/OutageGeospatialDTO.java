@@ -30,6 +30,9 @@ public class OutageGeospatialDTO {
     private Double boundingBoxEast;
     private Double boundingBoxWest;
 
+    // Computed from the affected addresses; ignored on input
+    private Integer affectedHouseholdCount;
+    private Integer affectedUserCount;
     private Integer affectedPopulationEstimate;
     private String staticMapUrl;
 
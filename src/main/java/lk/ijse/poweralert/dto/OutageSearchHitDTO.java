@@ -0,0 +1,32 @@
+package lk.ijse.poweralert.dto;
+
+import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
+import lk.ijse.poweralert.enums.AppEnums.OutageType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutageSearchHitDTO {
+    private Long id;
+    private OutageType type;
+    private OutageStatus status;
+    private LocalDateTime startTime;
+    private LocalDateTime estimatedEndTime;
+    private LocalDateTime actualEndTime;
+    private String reason;
+    private Long areaId;
+    private String areaName;
+    private String district;
+    private Long utilityProviderId;
+    private String utilityProviderName;
+
+    // Text relevance weighted by status and recency; only meaningful within one result
+    private double score;
+}
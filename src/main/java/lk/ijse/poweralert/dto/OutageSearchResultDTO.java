@@ -0,0 +1,17 @@
+package lk.ijse.poweralert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutageSearchResultDTO {
+    private List<OutageSearchHitDTO> outages;
+
+    // Areas whose name, city or district match, for type-ahead
+    private List<AreaSummaryDTO> areas;
+}
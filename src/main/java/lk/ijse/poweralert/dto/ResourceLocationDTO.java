@@ -0,0 +1,19 @@
+package lk.ijse.poweralert.dto;
+
+import lk.ijse.poweralert.enums.AppEnums.ResourceType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lightweight alternative resource projection used to build the nearest-resource index
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResourceLocationDTO {
+    private Long id;
+    private ResourceType type;
+    private Double latitude;
+    private Double longitude;
+}
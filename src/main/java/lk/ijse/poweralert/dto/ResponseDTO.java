@@ -1,16 +1,16 @@
 package lk.ijse.poweralert.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-import org.springframework.stereotype.Component;
+/**
+ * Response envelope returned by the controllers. Immutable, so each response is built
+ * for its own request and can be shared between threads.
+ */
+public record ResponseDTO(int code, String message, Object data) {
 
-@AllArgsConstructor
-@NoArgsConstructor
-@Data
-@Component
-public class ResponseDTO {
-    private int code;
-    private String message;
-    private Object data;
-}
\ No newline at end of file
+    public static ResponseDTO of(int code, String message, Object data) {
+        return new ResponseDTO(code, message, data);
+    }
+
+    public static ResponseDTO of(int code, String message) {
+        return new ResponseDTO(code, message, null);
+    }
+}
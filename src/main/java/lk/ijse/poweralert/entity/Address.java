@@ -1,6 +1,7 @@
 package lk.ijse.poweralert.entity;
 
 import jakarta.persistence.*;
+import lk.ijse.poweralert.util.GeoHashUtil;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,7 +9,9 @@ import lombok.NoArgsConstructor;
 
 
 @Entity
-@Table(name = "addresses")
+@Table(name = "addresses", indexes = {
+        @Index(name = "idx_addresses_geohash", columnList = "geohash")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,6 +45,18 @@ public class Address {
     @Column(nullable = false)
     private Double longitude;
 
+    // Geohash grid cell of the coordinates, computed on write for spatial lookups
+    @Column(name = "geohash", length = 12)
+    private String geohash;
+
     @Column(name = "is_primary", nullable = false)
     private boolean isPrimary;
+
+    // Set on every write path so new and moved addresses are found by geohash lookups right away
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        geohash = latitude == null || longitude == null ? null
+                : GeoHashUtil.encode(latitude, longitude, GeoHashUtil.ADDRESS_PRECISION);
+    }
 }
\ No newline at end of file
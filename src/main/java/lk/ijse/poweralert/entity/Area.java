@@ -1,14 +1,23 @@
 package lk.ijse.poweralert.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import lk.ijse.poweralert.util.GeometryCodec;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Entity
 @Table(name = "areas")
@@ -39,6 +48,23 @@ public class Area {
     @Column(name = "boundary_json", columnDefinition = "TEXT")
     private String boundaryJson;
 
+    // WKB copy of boundaryJson, encoded on save; lazy so entity reads fetch the geometry only once,
+    // geometry consumers read it with AreaRepository.findBoundaryWkbById on a cache miss
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "boundary_wkb", columnDefinition = "MEDIUMBLOB")
+    private byte[] boundaryWkb;
+
+    // Set when boundaryJson changes, so the save hook re-encodes without loading the old WKB
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean boundaryChanged;
+
     @JsonBackReference
     @ManyToMany(mappedBy = "serviceAreas")
     private List<UtilityProvider> utilityProviders = new ArrayList<>();
@@ -53,4 +79,33 @@ public class Area {
 
     @Column
     private Double longitude;
-}
\ No newline at end of file
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Timestamp used to version cached boundary geometry
+    @PrePersist
+    protected void onCreate() {
+        updatedAt = LocalDateTime.now();
+        boundaryWkb = GeometryCodec.geoJsonToWkb(boundaryJson);
+        boundaryChanged = false;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+        if (boundaryChanged) {
+            boundaryWkb = GeometryCodec.geoJsonToWkb(boundaryJson);
+            boundaryChanged = false;
+        }
+    }
+
+    // Drop the stale WKB so readers fall back to the new JSON until the save hook re-encodes it
+    public void setBoundaryJson(String boundaryJson) {
+        if (!Objects.equals(this.boundaryJson, boundaryJson)) {
+            this.boundaryWkb = null;
+            this.boundaryChanged = true;
+        }
+        this.boundaryJson = boundaryJson;
+    }
+}
@@ -43,4 +43,8 @@ public class CommunityFeedback {
 
     private Double longitude;
 
+    // Area containing the feedback location, resolved locally on submit
+    @Column(name = "area_id")
+    private Long areaId;
+
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package lk.ijse.poweralert.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Counter bumped in the same transaction as every write to a data set, so nodes
+ * holding in-memory copies of that data can tell whether theirs is current
+ */
+@Entity
+@Table(name = "data_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataVersion {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,44 @@
+package lk.ijse.poweralert.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted geocoding result. Forward lookups are keyed by the normalized address,
+ * reverse lookups by quantized coordinates; found = false records a negative result.
+ */
+@Entity
+@Table(name = "geocode_cache",
+        uniqueConstraints = @UniqueConstraint(name = "uk_geocode_cache_key", columnNames = "cache_key"),
+        indexes = @Index(name = "idx_geocode_cache_expires", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeocodeCacheEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "cache_key", nullable = false, length = 191)
+    private String cacheKey;
+
+    @Column(nullable = false)
+    private boolean found;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(name = "place_name", length = 512)
+    private String placeName;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -1,18 +1,31 @@
 package lk.ijse.poweralert.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
 import lk.ijse.poweralert.enums.AppEnums.OutageType;
+import lk.ijse.poweralert.util.GeometryCodec;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 @Entity
-@Table(name = "outages")
+@Table(name = "outages", indexes = {
+        @Index(name = "idx_outages_start_time", columnList = "start_time, id"),
+        @Index(name = "idx_outages_area_start_time", columnList = "area_id, start_time, id"),
+        @Index(name = "idx_outages_provider_start_time", columnList = "utility_provider_id, start_time, id"),
+        @Index(name = "idx_outages_updated_at", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -45,6 +58,23 @@ public class Outage {
     @Column(name = "geographical_area_json", columnDefinition = "TEXT")
     private String geographicalAreaJson;
 
+    // WKB copy of geographicalAreaJson, encoded on save; lazy so entity reads fetch the geometry only once,
+    // geometry consumers read it with OutageRepository.findGeographicalAreaWkbById on a cache miss
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "geographical_area_wkb", columnDefinition = "MEDIUMBLOB")
+    private byte[] geographicalAreaWkb;
+
+    // Set when geographicalAreaJson changes, so the save hook re-encodes without loading the old WKB
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean geographicalAreaChanged;
+
     private String reason;
 
     @Column(name = "additional_info")
@@ -68,4 +98,27 @@ public class Outage {
 
     @OneToMany(mappedBy = "outage")
     private List<CommunityFeedback> feedbacks;
-}
\ No newline at end of file
+
+    @PrePersist
+    protected void onCreate() {
+        geographicalAreaWkb = GeometryCodec.geoJsonToWkb(geographicalAreaJson);
+        geographicalAreaChanged = false;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        if (geographicalAreaChanged) {
+            geographicalAreaWkb = GeometryCodec.geoJsonToWkb(geographicalAreaJson);
+            geographicalAreaChanged = false;
+        }
+    }
+
+    // Drop the stale WKB so readers fall back to the new JSON until the save hook re-encodes it
+    public void setGeographicalAreaJson(String geographicalAreaJson) {
+        if (!Objects.equals(this.geographicalAreaJson, geographicalAreaJson)) {
+            this.geographicalAreaWkb = null;
+            this.geographicalAreaChanged = true;
+        }
+        this.geographicalAreaJson = geographicalAreaJson;
+    }
+}
@@ -0,0 +1,41 @@
+package lk.ijse.poweralert.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Materialized mapping of outages to the addresses (and their users) they affect.
+ * Plain ID columns keep reads and bulk rebuilds free of entity loading.
+ */
+@Entity
+@Table(name = "outage_affected_address",
+        uniqueConstraints = @UniqueConstraint(name = "uk_outage_affected_address",
+                columnNames = {"outage_id", "address_id"}),
+        indexes = {
+                @Index(name = "idx_outage_affected_address_address", columnList = "address_id"),
+                @Index(name = "idx_outage_affected_address_user", columnList = "user_id, outage_id")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutageAffectedAddress {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "outage_id", nullable = false)
+    private Long outageId;
+
+    @Column(name = "address_id", nullable = false)
+    private Long addressId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,10 +1,19 @@
 package lk.ijse.poweralert.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import lk.ijse.poweralert.util.GeometryCodec;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
 import java.time.LocalDateTime;
+import java.util.Objects;
 
 /**
  * Entity to store geospatial data for outages
@@ -26,6 +35,23 @@ public class OutageGeospatialData {
     @Column(name = "geo_json", columnDefinition = "TEXT", nullable = false)
     private String geoJson;
 
+    // WKB copy of geoJson, encoded on save; lazy so entity reads fetch the geometry only once,
+    // geometry consumers read it with OutageGeospatialRepository.findGeoWkbByOutageId on a cache miss
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "geo_wkb", columnDefinition = "MEDIUMBLOB")
+    private byte[] geoWkb;
+
+    // Set when geoJson changes, so the save hook re-encodes without loading the old WKB
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean geoJsonChanged;
+
     @Column(name = "center_latitude")
     private Double centerLatitude;
 
@@ -44,6 +70,13 @@ public class OutageGeospatialData {
     @Column(name = "bounding_box_west")
     private Double boundingBoxWest;
 
+    // Affected counts are maintained with the outage_affected_address materialization
+    @Column(name = "affected_household_count")
+    private Integer affectedHouseholdCount;
+
+    @Column(name = "affected_user_count")
+    private Integer affectedUserCount;
+
     @Column(name = "affected_population_estimate")
     private Integer affectedPopulationEstimate;
 
@@ -61,11 +94,26 @@ public class OutageGeospatialData {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        geoWkb = GeometryCodec.geoJsonToWkb(geoJson);
+        geoJsonChanged = false;
     }
 
     // Pre-update hook to update timestamp
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        if (geoJsonChanged) {
+            geoWkb = GeometryCodec.geoJsonToWkb(geoJson);
+            geoJsonChanged = false;
+        }
+    }
+
+    // Drop the stale WKB so readers fall back to the new JSON until the save hook re-encodes it
+    public void setGeoJson(String geoJson) {
+        if (!Objects.equals(this.geoJson, geoJson)) {
+            this.geoWkb = null;
+            this.geoJsonChanged = true;
+        }
+        this.geoJson = geoJson;
     }
-}
\ No newline at end of file
+}
@@ -9,7 +9,11 @@ import lombok.NoArgsConstructor;
 
 
 @Entity
-@Table(name = "outage_history")
+@Table(name = "outage_history", indexes = {
+        @Index(name = "idx_outage_history_period", columnList = "year, month, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_outage_history_key", columnNames = {"area_id", "type", "year", "month"})
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,40 @@
+package lk.ijse.poweralert.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One level of the precomputed simplification pyramid of an outage or area polygon
+ */
+@Entity
+@Table(name = "simplified_geometries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_simplified_geometry_level",
+                columnNames = {"owner_type", "owner_id", "level"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimplifiedGeometry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "owner_type", nullable = false, length = 16)
+    private String ownerType;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(nullable = false)
+    private int level;
+
+    @Column(nullable = false)
+    private double tolerance;
+
+    @Column(name = "point_count", nullable = false)
+    private int pointCount;
+
+    @Column(name = "geo_json", columnDefinition = "MEDIUMTEXT", nullable = false)
+    private String geoJson;
+}
@@ -0,0 +1,33 @@
+package lk.ijse.poweralert.event;
+
+import lk.ijse.poweralert.dto.OutageDTO;
+import lk.ijse.poweralert.util.ActiveOutageSnapshot;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event raised whenever the active outage snapshot is replaced, whether by a local
+ * patch or by a rebuild after a change on another node. Published in snapshot order.
+ */
+public class ActiveOutagesChangedEvent extends ApplicationEvent {
+
+    private final ActiveOutageSnapshot snapshot;
+    private final OutageDTO latest;
+
+    /**
+     * @param latest the freshly loaded outage when the snapshot was patched for a single
+     *               outage, or null after a rebuild
+     */
+    public ActiveOutagesChangedEvent(Object source, ActiveOutageSnapshot snapshot, OutageDTO latest) {
+        super(source);
+        this.snapshot = snapshot;
+        this.latest = latest;
+    }
+
+    public ActiveOutageSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public OutageDTO getLatest() {
+        return latest;
+    }
+}
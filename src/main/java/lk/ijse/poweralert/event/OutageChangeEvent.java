@@ -0,0 +1,31 @@
+package lk.ijse.poweralert.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Event raised whenever an outage or its geometry is written.
+ * Listeners that keep in-memory views of outages should react to it after commit.
+ */
+public class OutageChangeEvent extends ApplicationEvent {
+
+    public enum ChangeType {
+        CREATED, UPDATED, CANCELLED, GEOMETRY_CHANGED
+    }
+
+    private final Long outageId;
+    private final ChangeType changeType;
+
+    public OutageChangeEvent(Object source, Long outageId, ChangeType changeType) {
+        super(source);
+        this.outageId = outageId;
+        this.changeType = changeType;
+    }
+
+    public Long getOutageId() {
+        return outageId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+}
@@ -0,0 +1,29 @@
+package lk.ijse.poweralert.event;
+
+import lk.ijse.poweralert.event.OutageChangeEvent.ChangeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publisher for outage change events used to keep in-memory outage views current
+ */
+@Component
+public class OutageChangePublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutageChangePublisher.class);
+    private final ApplicationEventPublisher eventPublisher;
+
+    public OutageChangePublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Publish an outage change event
+     */
+    public void publish(Object source, Long outageId, ChangeType changeType) {
+        logger.debug("Publishing outage {} event for outage ID: {}", changeType, outageId);
+        eventPublisher.publishEvent(new OutageChangeEvent(source, outageId, changeType));
+    }
+}
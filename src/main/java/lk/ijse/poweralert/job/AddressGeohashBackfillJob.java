@@ -0,0 +1,47 @@
+package lk.ijse.poweralert.job;
+
+import lk.ijse.poweralert.service.AddressService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Batch job that assigns geohash cells to addresses saved before the column existed
+ */
+@Component
+public class AddressGeohashBackfillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(AddressGeohashBackfillJob.class);
+
+    @Autowired
+    private AddressService addressService;
+
+    @Value("${app.geo.geohash-backfill.batch-size:500}")
+    private int batchSize;
+
+    /**
+     * Backfill missing geohashes in batches, one transaction per batch
+     * Runs shortly after startup and then every hour
+     */
+    @Scheduled(initialDelay = 30000, fixedDelay = 3600000)
+    public void backfillGeohashes() {
+        int total = 0;
+
+        try {
+            int updated;
+            do {
+                updated = addressService.backfillGeohashes(batchSize);
+                total += updated;
+            } while (updated == batchSize);
+
+            if (total > 0) {
+                logger.info("Backfilled geohashes for {} addresses", total);
+            }
+        } catch (Exception e) {
+            logger.error("Error backfilling address geohashes after {} addresses: {}", total, e.getMessage(), e);
+        }
+    }
+}
@@ -12,6 +12,7 @@ import lk.ijse.poweralert.repository.NotificationRepository;
 import lk.ijse.poweralert.repository.OutageRepository;
 import lk.ijse.poweralert.repository.UserRepository;
 import lk.ijse.poweralert.service.EmailService;
+import lk.ijse.poweralert.service.OutageAffectedAddressService;
 import lk.ijse.poweralert.service.PushNotificationService;
 import lk.ijse.poweralert.service.SmsService;
 import lk.ijse.poweralert.service.UserDeviceService;
@@ -50,6 +51,9 @@ public class AdvanceNotificationJob {
     @Autowired
     private NotificationRepository notificationRepository;
 
+    @Autowired
+    private OutageAffectedAddressService outageAffectedAddressService;
+
     @Autowired
     private NotificationPreferenceRepository notificationPreferenceRepository;
 
@@ -136,9 +140,7 @@ public class AdvanceNotificationJob {
      * @return List of affected users
      */
     private List<User> findAffectedUsers(Outage outage) {
-        // For now, find users by district matching the affected area's district
-        // In a production system, use more sophisticated geospatial queries
-        return userRepository.findUsersInDistrict(outage.getAffectedArea().getDistrict());
+        return userRepository.findAllById(outageAffectedAddressService.getAffectedUserIds(outage));
     }
 
     /**
@@ -0,0 +1,72 @@
+package lk.ijse.poweralert.job;
+
+import lk.ijse.poweralert.service.ActiveOutageSnapshotService;
+import lk.ijse.poweralert.service.AreaLocatorService;
+import lk.ijse.poweralert.service.DataVersionService;
+import lk.ijse.poweralert.service.MessageService;
+import lk.ijse.poweralert.service.OutageGeospatialService;
+import lk.ijse.poweralert.service.OutageSearchService;
+import lk.ijse.poweralert.service.OutageStatisticsService;
+import lk.ijse.poweralert.service.UserOutageFeedService;
+import lk.ijse.poweralert.service.VectorTileService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job that picks up changes made on other nodes by reloading the shared data versions,
+ * then brings the active outage snapshot, the chat buffer, the search index, the cached
+ * user outage feeds, the dashboard statistics, the area and active outage spatial indexes
+ * and the vector tile cache up to date
+ */
+@Component
+public class DataVersionCheckJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataVersionCheckJob.class);
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ActiveOutageSnapshotService activeOutageSnapshotService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private OutageSearchService outageSearchService;
+
+    @Autowired
+    private UserOutageFeedService userOutageFeedService;
+
+    @Autowired
+    private OutageStatisticsService outageStatisticsService;
+
+    @Autowired
+    private AreaLocatorService areaLocatorService;
+
+    @Autowired
+    private OutageGeospatialService outageGeospatialService;
+
+    @Autowired
+    private VectorTileService vectorTileService;
+
+    @Scheduled(initialDelay = 30000, fixedDelayString = "${app.data-version.check-ms:5000}")
+    public void checkVersions() {
+        try {
+            dataVersionService.refresh();
+            activeOutageSnapshotService.checkVersion();
+            messageService.checkVersion();
+            outageSearchService.checkVersion();
+            userOutageFeedService.checkVersion();
+            outageStatisticsService.checkVersion();
+            areaLocatorService.checkVersion();
+            outageGeospatialService.checkVersion();
+            vectorTileService.checkVersion();
+        } catch (Exception e) {
+            logger.error("Error checking data versions: {}", e.getMessage(), e);
+        }
+    }
+}
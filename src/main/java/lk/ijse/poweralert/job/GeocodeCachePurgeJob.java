@@ -0,0 +1,32 @@
+package lk.ijse.poweralert.job;
+
+import lk.ijse.poweralert.service.GeocodingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Daily job that removes expired geocoding results
+ */
+@Component
+public class GeocodeCachePurgeJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeocodeCachePurgeJob.class);
+
+    @Autowired
+    private GeocodingService geocodingService;
+
+    @Scheduled(initialDelay = 120000, fixedDelay = 86400000)
+    public void purgeExpired() {
+        try {
+            int removed = geocodingService.purgeExpired();
+            if (removed > 0) {
+                logger.info("Removed {} expired geocoding cache entries", removed);
+            }
+        } catch (Exception e) {
+            logger.error("Error purging geocoding cache: {}", e.getMessage(), e);
+        }
+    }
+}
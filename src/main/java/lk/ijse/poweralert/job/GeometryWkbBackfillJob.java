@@ -0,0 +1,39 @@
+package lk.ijse.poweralert.job;
+
+import lk.ijse.poweralert.service.GeometryEncodingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Batch job that encodes binary geometry for outages and areas saved before the WKB columns existed
+ */
+@Component
+public class GeometryWkbBackfillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeometryWkbBackfillJob.class);
+
+    @Autowired
+    private GeometryEncodingService geometryEncodingService;
+
+    @Value("${app.geo.wkb-backfill.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * Runs shortly after startup and then daily
+     */
+    @Scheduled(initialDelay = 45000, fixedDelay = 86400000)
+    public void backfillBinaryGeometry() {
+        try {
+            int encoded = geometryEncodingService.backfillBinaryGeometry(batchSize);
+            if (encoded > 0) {
+                logger.info("Encoded binary geometry for {} rows", encoded);
+            }
+        } catch (Exception e) {
+            logger.error("Error backfilling binary geometry: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package lk.ijse.poweralert.job;
+
+import lk.ijse.poweralert.service.OutageAffectedAddressService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Batch job that rebuilds the outage affected address materialization for all
+ * active outages, one transaction per outage spread over a small worker pool
+ */
+@Component
+public class OutageAffectedAddressJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutageAffectedAddressJob.class);
+
+    @Autowired
+    private OutageAffectedAddressService outageAffectedAddressService;
+
+    @Value("${app.geo.affected-address.parallelism:4}")
+    private int parallelism;
+
+    /**
+     * Rebuild the affected addresses of every active outage
+     * Runs after the geohash backfill on startup and then once a day
+     */
+    @Scheduled(initialDelay = 60000, fixedDelay = 86400000)
+    public void rebuildAllActive() {
+        List<Long> outageIds = outageAffectedAddressService.getActiveOutageIds();
+        if (outageIds.isEmpty()) {
+            return;
+        }
+
+        logger.info("Rebuilding affected addresses for {} active outages", outageIds.size());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, outageIds.size())));
+
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (Long outageId : outageIds) {
+                results.add(executor.submit(() -> outageAffectedAddressService.rebuildForOutage(outageId)));
+            }
+
+            long rows = 0;
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    rows += results.get(i).get();
+                } catch (Exception e) {
+                    logger.error("Error rebuilding affected addresses for outage ID {}: {}",
+                            outageIds.get(i), e.getMessage(), e);
+                }
+            }
+
+            logger.info("Rebuilt {} affected address rows", rows);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package lk.ijse.poweralert.job;
+
+import lk.ijse.poweralert.service.OutageHistoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job that writes queued outage history changes
+ */
+@Component
+public class OutageHistoryFlushJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutageHistoryFlushJob.class);
+
+    @Autowired
+    private OutageHistoryService outageHistoryService;
+
+    @Scheduled(fixedDelayString = "${app.history.flush-ms:5000}")
+    public void flush() {
+        try {
+            outageHistoryService.flushPendingChanges();
+        } catch (Exception e) {
+            logger.error("Error flushing outage history: {}", e.getMessage(), e);
+        }
+    }
+}
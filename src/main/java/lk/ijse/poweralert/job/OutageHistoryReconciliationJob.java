@@ -0,0 +1,30 @@
+package lk.ijse.poweralert.job;
+
+import lk.ijse.poweralert.service.OutageHistoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job that checks outage history against the outages and repairs rows that drifted,
+ * e.g. through changes lost in a crash before they were flushed
+ */
+@Component
+public class OutageHistoryReconciliationJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutageHistoryReconciliationJob.class);
+
+    @Autowired
+    private OutageHistoryService outageHistoryService;
+
+    @Scheduled(cron = "${app.history.reconcile-cron:0 15 * * * *}")
+    public void reconcile() {
+        try {
+            outageHistoryService.reconcile();
+        } catch (Exception e) {
+            logger.error("Error reconciling outage history: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package lk.ijse.poweralert.job;
+
+import lk.ijse.poweralert.service.OutageStreamService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Job that keeps outage stream connections alive through idle periods
+ */
+@Component
+public class OutageStreamHeartbeatJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutageStreamHeartbeatJob.class);
+
+    @Autowired
+    private OutageStreamService outageStreamService;
+
+    @Scheduled(fixedDelayString = "${app.outage-stream.heartbeat-ms:15000}")
+    public void sendHeartbeat() {
+        try {
+            outageStreamService.sendHeartbeat();
+        } catch (Exception e) {
+            logger.error("Error sending outage stream heartbeat: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package lk.ijse.poweralert.repository;
 
+import lk.ijse.poweralert.dto.AddressLocationDTO;
 import lk.ijse.poweralert.entity.Address;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -21,4 +25,26 @@ public interface AddressRepository extends JpaRepository<Address, Long> {
 
     /** Check if an address exists for the user  */
     boolean existsByIdAndUserId(Long id, Long userId);
+
+    /** Find address locations inside a geohash cell (prefix match uses the geohash index) */
+    @Query("SELECT new lk.ijse.poweralert.dto.AddressLocationDTO(a.id, a.user.id, a.latitude, a.longitude) " +
+            "FROM Address a WHERE a.geohash LIKE CONCAT(:prefix, '%')")
+    List<AddressLocationDTO> findLocationsByGeohashPrefix(@Param("prefix") String geohashPrefix);
+
+    /** Find address locations in a district */
+    @Query("SELECT new lk.ijse.poweralert.dto.AddressLocationDTO(a.id, a.user.id, a.latitude, a.longitude) " +
+            "FROM Address a WHERE a.district = :district")
+    List<AddressLocationDTO> findLocationsByDistrict(@Param("district") String district);
+
+    /** Find locations of addresses without a geohash inside a bounding box (the IS NULL test uses the geohash index) */
+    @Query("SELECT new lk.ijse.poweralert.dto.AddressLocationDTO(a.id, a.user.id, a.latitude, a.longitude) " +
+            "FROM Address a WHERE a.geohash IS NULL AND a.latitude BETWEEN :minLat AND :maxLat " +
+            "AND a.longitude BETWEEN :minLon AND :maxLon")
+    List<AddressLocationDTO> findLocationsWithoutGeohashInBox(@Param("minLat") double minLatitude,
+                                                              @Param("maxLat") double maxLatitude,
+                                                              @Param("minLon") double minLongitude,
+                                                              @Param("maxLon") double maxLongitude);
+
+    /** Find a batch of addresses that have not been assigned a geohash yet */
+    List<Address> findByGeohashIsNullOrderByIdAsc(Pageable pageable);
 }
\ No newline at end of file
@@ -1,10 +1,15 @@
 package lk.ijse.poweralert.repository;
 
+import lk.ijse.poweralert.dto.NearbyResourceDTO;
+import lk.ijse.poweralert.dto.ResourceLocationDTO;
 import lk.ijse.poweralert.entity.AlternativeResource;
 import lk.ijse.poweralert.enums.AppEnums.ResourceType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -39,9 +44,20 @@ public interface AlternativeResourceRepository extends JpaRepository<Alternative
     List<AlternativeResource> findByTypeAndAreaIdAndIsActiveTrue(ResourceType type, Long areaId);
 
     /**
-     * Find active alternative resources within a certain distance from coordinates
-     * Using native query for geospatial calculations
+     * Find the locations of all active resources, without loading image data
+     * @return list of active resource locations
      */
-    // This would typically involve a native query with the haversine formula
-    // or a spatial function if your database supports it
+    @Query("SELECT new lk.ijse.poweralert.dto.ResourceLocationDTO(r.id, r.type, r.latitude, r.longitude) " +
+            "FROM AlternativeResource r WHERE r.isActive = true")
+    List<ResourceLocationDTO> findActiveLocations();
+
+    /**
+     * Find display details of resources by ID, without loading image data
+     * @param ids the resource IDs
+     * @return list of resource details, distance unset
+     */
+    @Query("SELECT new lk.ijse.poweralert.dto.NearbyResourceDTO(r.id, r.name, r.type, r.address, " +
+            "r.latitude, r.longitude, r.operatingHours, r.contactNumber) " +
+            "FROM AlternativeResource r WHERE r.id IN :ids")
+    List<NearbyResourceDTO> findNearbyDetailsByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package lk.ijse.poweralert.repository;
 
 import lk.ijse.poweralert.entity.Area;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -9,4 +12,13 @@ import java.util.List;
 @Repository
 public interface AreaRepository extends JpaRepository<Area, Long> {
     List<Area> findAllById(Iterable<Long> ids);
+
+    /** Find all areas with their utility providers fetched in the same query */
+    @EntityGraph(attributePaths = "utilityProviders")
+    @Query("SELECT a FROM Area a ORDER BY a.id")
+    List<Area> findAllWithUtilityProviders();
+
+    /** Read the stored WKB boundary of an area, which entity reads leave unloaded */
+    @Query("SELECT a.boundaryWkb FROM Area a WHERE a.id = :id")
+    byte[] findBoundaryWkbById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package lk.ijse.poweralert.repository;
+
+import lk.ijse.poweralert.entity.DataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface DataVersionRepository extends JpaRepository<DataVersion, String> {
+
+    /** Get the current version of a data set */
+    @Query("SELECT d.version FROM DataVersion d WHERE d.name = :name")
+    Optional<Long> findVersionByName(@Param("name") String name);
+
+    /** Increment the version of a data set, creating it at 1; the row stays locked until the caller commits */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO data_versions (name, version, updated_at) VALUES (:name, 1, :now) " +
+            "ON DUPLICATE KEY UPDATE version = version + 1, updated_at = :now", nativeQuery = true)
+    int increment(@Param("name") String name, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,25 @@
+package lk.ijse.poweralert.repository;
+
+import lk.ijse.poweralert.entity.GeocodeCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface GeocodeCacheRepository extends JpaRepository<GeocodeCacheEntry, Long> {
+
+    /** Find a cached result by its key */
+    Optional<GeocodeCacheEntry> findByCacheKey(String cacheKey);
+
+    /** Remove results that expired before the given time */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM GeocodeCacheEntry g WHERE g.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
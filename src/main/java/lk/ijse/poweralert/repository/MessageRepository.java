@@ -1,6 +1,7 @@
 package lk.ijse.poweralert.repository;
 
 import lk.ijse.poweralert.entity.Message;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,6 +13,6 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     // Find all messages ordered by sent time
     List<Message> findAllByOrderBySentAtAsc();
 
-    // Find latest messages limited by count
-    List<Message> findTop100ByOrderBySentAtDesc();
+    // Find latest messages, newest first, limited by count
+    List<Message> findByOrderByIdDesc(Limit limit);
 }
\ No newline at end of file
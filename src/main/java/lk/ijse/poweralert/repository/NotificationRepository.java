@@ -3,7 +3,11 @@ package lk.ijse.poweralert.repository;
 import lk.ijse.poweralert.entity.Notification;
 import lk.ijse.poweralert.enums.AppEnums;
 import lk.ijse.poweralert.enums.AppEnums.NotificationStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -12,8 +16,18 @@ import java.util.List;
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    /** Find notifications for a user    */
-    List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
+    /** First page of a user's notifications, newest first */
+    @EntityGraph(attributePaths = {"outage", "user"})
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageByUser(@Param("userId") Long userId, Limit limit);
+
+    /** Page of a user's notifications after a (createdAt, id) cursor */
+    @EntityGraph(attributePaths = {"outage", "user"})
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findPageByUserAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id, Limit limit);
 
     /** Find notifications by status */
     List<Notification> findByStatus(NotificationStatus status);
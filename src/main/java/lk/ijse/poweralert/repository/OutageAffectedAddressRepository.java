@@ -0,0 +1,55 @@
+package lk.ijse.poweralert.repository;
+
+import lk.ijse.poweralert.entity.OutageAffectedAddress;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutageAffectedAddressRepository extends JpaRepository<OutageAffectedAddress, Long> {
+
+    /** Check whether an outage has been materialized */
+    boolean existsByOutageId(Long outageId);
+
+    /** Count affected addresses (households) of an outage */
+    long countByOutageId(Long outageId);
+
+    /** Count distinct affected users of an outage */
+    @Query("SELECT COUNT(DISTINCT a.userId) FROM OutageAffectedAddress a WHERE a.outageId = :outageId")
+    long countUsersByOutageId(@Param("outageId") Long outageId);
+
+    /** Find IDs of outages an address is materialized for */
+    @Query("SELECT a.outageId FROM OutageAffectedAddress a WHERE a.addressId = :addressId")
+    List<Long> findOutageIdsByAddressId(@Param("addressId") Long addressId);
+
+    /** Find IDs of users affected by an outage */
+    @Query("SELECT DISTINCT a.userId FROM OutageAffectedAddress a WHERE a.outageId = :outageId")
+    List<Long> findUserIdsByOutageId(@Param("outageId") Long outageId);
+
+    /** Find the owner of a materialized address */
+    @Query("SELECT DISTINCT a.userId FROM OutageAffectedAddress a WHERE a.addressId = :addressId")
+    List<Long> findUserIdsByAddressId(@Param("addressId") Long addressId);
+
+    /** Find IDs of outages affecting a user, over all of the user's addresses */
+    @Query("SELECT DISTINCT a.outageId FROM OutageAffectedAddress a WHERE a.userId = :userId")
+    List<Long> findOutageIdsByUserId(@Param("userId") Long userId);
+
+    /** Find IDs of active users affected by an outage */
+    @Query("SELECT DISTINCT a.userId FROM OutageAffectedAddress a, User u " +
+            "WHERE u.id = a.userId AND u.isActive = true AND a.outageId = :outageId")
+    List<Long> findActiveUserIdsByOutageId(@Param("outageId") Long outageId);
+
+    /** Remove all rows of an outage */
+    @Modifying
+    @Query("DELETE FROM OutageAffectedAddress a WHERE a.outageId = :outageId")
+    int deleteByOutageId(@Param("outageId") Long outageId);
+
+    /** Remove all rows of an address */
+    @Modifying
+    @Query("DELETE FROM OutageAffectedAddress a WHERE a.addressId = :addressId")
+    int deleteByAddressId(@Param("addressId") Long addressId);
+}
@@ -19,6 +19,10 @@ public interface OutageGeospatialRepository extends JpaRepository<OutageGeospati
      */
     Optional<OutageGeospatialData> findByOutageId(Long outageId);
 
+    /** Read the stored WKB geometry of an outage's geospatial data, which entity reads leave unloaded */
+    @Query("SELECT g.geoWkb FROM OutageGeospatialData g WHERE g.outage.id = :outageId")
+    byte[] findGeoWkbByOutageId(@Param("outageId") Long outageId);
+
     /**
      * Find outages that contain a specific point (latitude, longitude)
      * This is a basic implementation that relies on the bounding box
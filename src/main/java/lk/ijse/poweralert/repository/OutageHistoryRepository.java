@@ -2,22 +2,36 @@ package lk.ijse.poweralert.repository;
 
 import lk.ijse.poweralert.entity.OutageHistory;
 import lk.ijse.poweralert.enums.AppEnums.OutageType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
 
 @Repository
 public interface OutageHistoryRepository extends JpaRepository<OutageHistory, Long> {
 
-    /** Find outage history by area, type, year and month */
-    Optional<OutageHistory> findByAreaIdAndTypeAndYearAndMonth(
-            Long areaId, OutageType type, int year, int month);
+    /** First page of outage history ordered by (year, month, id) descending, optionally filtered */
+    @EntityGraph(attributePaths = "area")
+    @Query("SELECT oh FROM OutageHistory oh " +
+            "WHERE (:year IS NULL OR oh.year = :year) AND (:month IS NULL OR oh.month = :month) " +
+            "ORDER BY oh.year DESC, oh.month DESC, oh.id DESC")
+    List<OutageHistory> findPage(@Param("year") Integer year, @Param("month") Integer month, Limit limit);
+
+    /** Page of outage history after a (year, month, id) cursor */
+    @EntityGraph(attributePaths = "area")
+    @Query("SELECT oh FROM OutageHistory oh " +
+            "WHERE (:year IS NULL OR oh.year = :year) AND (:month IS NULL OR oh.month = :month) " +
+            "AND (oh.year < :afterYear OR (oh.year = :afterYear AND (oh.month < :afterMonth " +
+            "OR (oh.month = :afterMonth AND oh.id < :afterId)))) " +
+            "ORDER BY oh.year DESC, oh.month DESC, oh.id DESC")
+    List<OutageHistory> findPageAfter(@Param("year") Integer year, @Param("month") Integer month,
+                                      @Param("afterYear") int afterYear, @Param("afterMonth") int afterMonth,
+                                      @Param("afterId") Long afterId, Limit limit);
 
     /** Find all outage history for a given year and month */
     List<OutageHistory> findByYearAndMonth(int year, int month);
@@ -42,15 +56,4 @@ public interface OutageHistoryRepository extends JpaRepository<OutageHistory, Lo
 
     /** Find outage history by type, year and month */
     List<OutageHistory> findByTypeAndYearAndMonth(OutageType type, int year, int month);
-
-    /** Get top areas with most outages for a given year */
-    @Query(value = "SELECT a.id as areaId, a.name as areaName, a.district as district, " +
-            "SUM(oh.outage_count) as totalOutages, SUM(oh.total_outage_hours) as totalHours " +
-            "FROM outage_history oh " +
-            "JOIN areas a ON oh.area_id = a.id " +
-            "WHERE oh.year = :year " +
-            "GROUP BY a.id, a.name, a.district " +
-            "ORDER BY totalOutages DESC " +
-            "LIMIT :limit", nativeQuery = true)
-    List<Map<String, Object>> findAreasWithMostOutages(@Param("year") int year, @Param("limit") int limit);
 }
\ No newline at end of file
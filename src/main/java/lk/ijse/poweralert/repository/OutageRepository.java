@@ -1,9 +1,10 @@
 package lk.ijse.poweralert.repository;
 
-import lk.ijse.poweralert.entity.Address;
 import lk.ijse.poweralert.entity.Outage;
 import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
 import lk.ijse.poweralert.enums.AppEnums.OutageType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -16,10 +17,46 @@ import java.util.Optional;
 @Repository
 public interface OutageRepository extends JpaRepository<Outage, Long> {
 
-    /** Find outages by status */
+    /** Find outages by status, with area and provider fetched in the same query */
+    @EntityGraph(attributePaths = {"affectedArea", "utilityProvider"})
     List<Outage> findByStatusIn(List<OutageStatus> statuses);
 
+    // Keyset pages ordered by (startTime, id) descending; each has a first-page and an after-cursor form
+
+    /** First page of all outages, with area and provider fetched in the same query */
+    @EntityGraph(attributePaths = {"affectedArea", "utilityProvider"})
+    @Query("SELECT o FROM Outage o ORDER BY o.startTime DESC, o.id DESC")
+    List<Outage> findPage(Limit limit);
+
+    /** Page of all outages after a cursor */
+    @EntityGraph(attributePaths = {"affectedArea", "utilityProvider"})
+    @Query("SELECT o FROM Outage o WHERE (o.startTime < :startTime OR (o.startTime = :startTime AND o.id < :id)) ORDER BY o.startTime DESC, o.id DESC")
+    List<Outage> findPageAfter(@Param("startTime") LocalDateTime startTime, @Param("id") Long id, Limit limit);
+
+    /** First page of the outages of an area */
+    @EntityGraph(attributePaths = {"affectedArea", "utilityProvider"})
+    @Query("SELECT o FROM Outage o WHERE o.affectedArea.id = :areaId ORDER BY o.startTime DESC, o.id DESC")
+    List<Outage> findPageByArea(@Param("areaId") Long areaId, Limit limit);
+
+    /** Page of the outages of an area after a cursor */
+    @EntityGraph(attributePaths = {"affectedArea", "utilityProvider"})
+    @Query("SELECT o FROM Outage o WHERE o.affectedArea.id = :areaId AND (o.startTime < :startTime OR (o.startTime = :startTime AND o.id < :id)) ORDER BY o.startTime DESC, o.id DESC")
+    List<Outage> findPageByAreaAfter(@Param("areaId") Long areaId, @Param("startTime") LocalDateTime startTime,
+                                     @Param("id") Long id, Limit limit);
+
+    /** First page of the outages of a utility provider */
+    @EntityGraph(attributePaths = {"affectedArea", "utilityProvider"})
+    @Query("SELECT o FROM Outage o WHERE o.utilityProvider.id = :providerId ORDER BY o.startTime DESC, o.id DESC")
+    List<Outage> findPageByProvider(@Param("providerId") Long providerId, Limit limit);
+
+    /** Page of the outages of a utility provider after a cursor */
+    @EntityGraph(attributePaths = {"affectedArea", "utilityProvider"})
+    @Query("SELECT o FROM Outage o WHERE o.utilityProvider.id = :providerId AND (o.startTime < :startTime OR (o.startTime = :startTime AND o.id < :id)) ORDER BY o.startTime DESC, o.id DESC")
+    List<Outage> findPageByProviderAfter(@Param("providerId") Long providerId, @Param("startTime") LocalDateTime startTime,
+                                         @Param("id") Long id, Limit limit);
+
     /** Find outages for a specific area */
+    @EntityGraph(attributePaths = {"affectedArea", "utilityProvider"})
     List<Outage> findByAffectedAreaIdOrderByStartTimeDesc(Long areaId);
 
     /** Find upcoming outages for a specific area */
@@ -30,23 +67,9 @@ public interface OutageRepository extends JpaRepository<Outage, Long> {
     List<Outage> findByStartTimeBetweenAndStatus(
             LocalDateTime startTimeFrom, LocalDateTime startTimeTo, OutageStatus status);
 
-    /** Find outages that affect the given addresses */
-    @Query("SELECT o FROM Outage o " +
-            "JOIN o.affectedArea a " +
-            "WHERE o.status IN :statuses " +
-            "AND EXISTS (SELECT 1 FROM Address addr WHERE addr IN :addresses AND addr.district = a.district) " +
-            "ORDER BY o.startTime DESC")
-    List<Outage> findOutagesForAddresses(@Param("addresses") List<Address> addresses, @Param("statuses") List<OutageStatus> statuses);
-
-    /** Find outages by utility provider */
-    List<Outage> findByUtilityProviderIdOrderByStartTimeDesc(Long providerId);
-
     /** Count outages by status */
     long countByStatusIn(List<OutageStatus> statuses);
 
-    /** Count outages by type */
-    long countByType(OutageType type);
-
     /** Get average restoration time (in hours) for completed outages */
     @Query(value = "SELECT AVG(TIMESTAMPDIFF(SECOND, o.start_time, o.actual_end_time)) / 3600.0 " +
             "FROM outages o " +
@@ -67,9 +90,6 @@ public interface OutageRepository extends JpaRepository<Outage, Long> {
     @Query("SELECT o FROM Outage o WHERE o.status = 'COMPLETED' AND o.actualEndTime IS NOT NULL")
     List<Outage> findCompletedOutagesWithEndTime();
 
-    /** Find completed outages with actual end time */
-    List<Outage> findByStatusAndActualEndTimeIsNotNull(OutageStatus status);
-
     /**
      * Find outages by status and with start time after specified time
      */
@@ -79,4 +99,48 @@ public interface OutageRepository extends JpaRepository<Outage, Long> {
 
     @Query("SELECT o FROM Outage o LEFT JOIN FETCH o.updates")
     List<Outage> findAllWithUpdates();
+
+    // Search index rows: scalar columns only, so loading every outage never touches areas or geometry
+
+    /** Page of search rows ordered by id, after the given id */
+    @Query("SELECT o.id AS id, o.type AS type, o.status AS status, o.startTime AS startTime, " +
+            "o.estimatedEndTime AS estimatedEndTime, o.actualEndTime AS actualEndTime, o.updatedAt AS updatedAt, " +
+            "o.reason AS reason, o.additionalInfo AS additionalInfo, " +
+            "o.affectedArea.id AS areaId, o.utilityProvider.id AS providerId FROM Outage o " +
+            "WHERE o.id > :afterId ORDER BY o.id")
+    List<SearchRow> findSearchRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    /** Search rows of outages written at or after the given time */
+    @Query("SELECT o.id AS id, o.type AS type, o.status AS status, o.startTime AS startTime, " +
+            "o.estimatedEndTime AS estimatedEndTime, o.actualEndTime AS actualEndTime, o.updatedAt AS updatedAt, " +
+            "o.reason AS reason, o.additionalInfo AS additionalInfo, " +
+            "o.affectedArea.id AS areaId, o.utilityProvider.id AS providerId FROM Outage o " +
+            "WHERE o.updatedAt >= :since")
+    List<SearchRow> findSearchRowsUpdatedSince(@Param("since") LocalDateTime since);
+
+    /** Read the stored WKB area of an outage, which entity reads leave unloaded */
+    @Query("SELECT o.geographicalAreaWkb FROM Outage o WHERE o.id = :id")
+    byte[] findGeographicalAreaWkbById(@Param("id") Long id);
+
+    /** Search row of one outage */
+    @Query("SELECT o.id AS id, o.type AS type, o.status AS status, o.startTime AS startTime, " +
+            "o.estimatedEndTime AS estimatedEndTime, o.actualEndTime AS actualEndTime, o.updatedAt AS updatedAt, " +
+            "o.reason AS reason, o.additionalInfo AS additionalInfo, " +
+            "o.affectedArea.id AS areaId, o.utilityProvider.id AS providerId FROM Outage o " +
+            "WHERE o.id = :id")
+    Optional<SearchRow> findSearchRowById(@Param("id") Long id);
+
+    interface SearchRow {
+        Long getId();
+        OutageType getType();
+        OutageStatus getStatus();
+        LocalDateTime getStartTime();
+        LocalDateTime getEstimatedEndTime();
+        LocalDateTime getActualEndTime();
+        LocalDateTime getUpdatedAt();
+        String getReason();
+        String getAdditionalInfo();
+        Long getAreaId();
+        Long getProviderId();
+    }
 }
\ No newline at end of file
@@ -2,8 +2,11 @@ package lk.ijse.poweralert.repository;
 
 import lk.ijse.poweralert.entity.OutageUpdate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +14,8 @@ public interface OutageUpdateRepository extends JpaRepository<OutageUpdate, Long
 
     /** Find updates for a specific outage   */
     List<OutageUpdate> findByOutageIdOrderByCreatedAtDesc(Long outageId);
+
+    /** Find the updates of several outages in one query, oldest first */
+    @Query("SELECT u FROM OutageUpdate u WHERE u.outage.id IN :outageIds ORDER BY u.createdAt, u.id")
+    List<OutageUpdate> findByOutageIds(@Param("outageIds") Collection<Long> outageIds);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package lk.ijse.poweralert.repository;
+
+import lk.ijse.poweralert.entity.SimplifiedGeometry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SimplifiedGeometryRepository extends JpaRepository<SimplifiedGeometry, Long> {
+
+    /** Find one pyramid level of an owner */
+    Optional<SimplifiedGeometry> findByOwnerTypeAndOwnerIdAndLevel(String ownerType, Long ownerId, int level);
+
+    /** Find one pyramid level of all owners of a type */
+    List<SimplifiedGeometry> findByOwnerTypeAndLevel(String ownerType, int level);
+
+    /** Remove the whole pyramid of an owner */
+    @Modifying
+    @Query("DELETE FROM SimplifiedGeometry s WHERE s.ownerType = :ownerType AND s.ownerId = :ownerId")
+    int deleteByOwner(@Param("ownerType") String ownerType, @Param("ownerId") Long ownerId);
+}
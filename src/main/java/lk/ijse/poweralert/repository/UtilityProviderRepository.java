@@ -9,8 +9,8 @@ import java.util.List;
 
 @Repository
 public interface UtilityProviderRepository extends JpaRepository<UtilityProvider, Long> {
-    // In UtilityProviderRepository.java
-    @Query("SELECT p FROM UtilityProvider p LEFT JOIN FETCH p.serviceAreas")
+    /** Find all providers with their service areas fetched in the same query */
+    @Query("SELECT DISTINCT p FROM UtilityProvider p LEFT JOIN FETCH p.serviceAreas ORDER BY p.id")
     List<UtilityProvider> findAllWithServiceAreas();
 
 }
\ No newline at end of file
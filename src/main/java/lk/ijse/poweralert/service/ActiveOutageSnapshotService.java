@@ -0,0 +1,18 @@
+package lk.ijse.poweralert.service;
+
+import lk.ijse.poweralert.util.ActiveOutageSnapshot;
+
+public interface ActiveOutageSnapshotService {
+
+    /**
+     * Get the current snapshot of active outages, loading it on first use.
+     * Outage writes on this node patch the snapshot after commit.
+     */
+    ActiveOutageSnapshot getSnapshot();
+
+    /**
+     * Compare the snapshot with the node's copies of the outage, area and utility provider data
+     * versions and rebuild it if any of them moved, or if it is older than the configured maximum age
+     */
+    void checkVersion();
+}
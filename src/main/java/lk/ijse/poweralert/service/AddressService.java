@@ -1,6 +1,8 @@
 package lk.ijse.poweralert.service;
 
 import lk.ijse.poweralert.dto.AddressDTO;
+import lk.ijse.poweralert.dto.AddressLocationDTO;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
 
 import java.util.List;
 
@@ -20,4 +22,13 @@ public interface AddressService {
 
     /** Delete an address   */
     boolean deleteAddress(Long id);
+
+    /** Find all addresses within a radius, using geohash cells before the exact distance check  */
+    List<AddressLocationDTO> findAddressesWithinRadius(double latitude, double longitude, double radiusKm);
+
+    /** Find all addresses inside a geometry, using geohash cells before the exact containment check  */
+    List<AddressLocationDTO> findAddressesInGeometry(PreparedGeometry geometry);
+
+    /** Assign geohashes to a batch of addresses that have none, returning the number updated  */
+    int backfillGeohashes(int batchSize);
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package lk.ijse.poweralert.service;
 
 import lk.ijse.poweralert.dto.AlternativeResourceDTO;
+import lk.ijse.poweralert.dto.NearbyResourceDTO;
 import lk.ijse.poweralert.dto.ResourceImageDTO;
+import lk.ijse.poweralert.enums.AppEnums.ResourceType;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -20,4 +22,8 @@ public interface AlternativeResourceService {
     AlternativeResourceDTO uploadResourceImage(Long resourceId, MultipartFile file) throws IOException;
     ResourceImageDTO getResourceImage(Long resourceId);
     boolean deleteResourceImage(Long resourceId);
+
+    // Nearest resource search over the in-memory location index, type may be null
+    List<NearbyResourceDTO> findResourcesWithinRadius(double latitude, double longitude, double radiusKm, ResourceType type);
+    List<NearbyResourceDTO> findNearestResources(double latitude, double longitude, int k, ResourceType type);
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package lk.ijse.poweralert.service;
+
+import lk.ijse.poweralert.dto.AreaLocationDTO;
+import lk.ijse.poweralert.entity.Area;
+import lk.ijse.poweralert.util.AreaSpatialIndex.AreaItem;
+import org.locationtech.jts.geom.Envelope;
+
+import java.util.List;
+
+public interface AreaLocatorService {
+
+    /**
+     * Resolve coordinates to an area from the in-memory index of area boundaries,
+     * falling back to the area with the nearest centroid
+     *
+     * @param latitude the latitude
+     * @param longitude the longitude
+     * @return the area, or null if no boundary contains the point and no centroid is near enough
+     */
+    AreaLocationDTO locate(double latitude, double longitude);
+
+    /**
+     * Find areas whose boundary may overlap a lon/lat envelope, from the same in-memory index
+     *
+     * @param envelope the envelope, e.g. the bounds of a map tile
+     * @return candidate areas with a boundary
+     */
+    List<AreaItem> findAreasIntersecting(Envelope envelope);
+
+    /**
+     * Update the index for a created or updated area once the transaction commits
+     */
+    void refreshAreaAfterCommit(Area area);
+
+    /**
+     * Remove a deleted area from the index once the transaction commits
+     */
+    void removeAreaAfterCommit(Long areaId);
+
+    /**
+     * Rebuild the index if areas changed since the last check, possibly on another node
+     */
+    void checkVersion();
+}
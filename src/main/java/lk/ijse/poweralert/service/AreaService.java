@@ -20,6 +20,23 @@ public interface AreaService {
      */
     AreaDTO getAreaById(Long id);
 
+    /**
+     * Get all areas with boundaries taken from the simplification pyramid
+     * @param zoom map zoom level, optional
+     * @param tolerance simplification tolerance in degrees, optional
+     * @return list of all areas
+     */
+    List<AreaDTO> getAllAreas(Integer zoom, Double tolerance);
+
+    /**
+     * Get area by ID with its boundary taken from the simplification pyramid
+     * @param id the area ID
+     * @param zoom map zoom level, optional
+     * @param tolerance simplification tolerance in degrees, optional
+     * @return the area with the given ID
+     */
+    AreaDTO getAreaById(Long id, Integer zoom, Double tolerance);
+
     /**
      * Create a new area
      * @param areaDTO the area to create
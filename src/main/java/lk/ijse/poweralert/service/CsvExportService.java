@@ -0,0 +1,36 @@
+package lk.ijse.poweralert.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Streams tables as CSV with a header row. Rows are read from a streaming cursor and
+ * written as they arrive; the stream is flushed but not closed.
+ */
+public interface CsvExportService {
+
+    /**
+     * Export outages, optionally limited to those starting between two dates (inclusive)
+     * @return the number of rows written
+     */
+    long exportOutages(OutputStream out, LocalDate fromDate, LocalDate toDate) throws IOException;
+
+    /**
+     * Export outage history, optionally filtered by year and month
+     * @return the number of rows written
+     */
+    long exportOutageHistory(OutputStream out, Integer year, Integer month) throws IOException;
+
+    /**
+     * Export notifications, optionally limited to those created between two dates (inclusive)
+     * @return the number of rows written
+     */
+    long exportNotifications(OutputStream out, LocalDate fromDate, LocalDate toDate) throws IOException;
+
+    /**
+     * Export audit logs, optionally limited to those logged between two dates (inclusive)
+     * @return the number of rows written
+     */
+    long exportAuditLogs(OutputStream out, LocalDate fromDate, LocalDate toDate) throws IOException;
+}
@@ -0,0 +1,86 @@
+package lk.ijse.poweralert.service;
+
+import lk.ijse.poweralert.util.ConditionalRequests;
+
+import java.time.LocalDateTime;
+import java.util.function.LongConsumer;
+
+/**
+ * Shared per-data-set version counters kept in the data_versions table. Writers bump
+ * a counter once their transaction has committed; readers compare node-local copies
+ * to decide whether cached views and client copies are still current.
+ */
+public interface DataVersionService {
+
+    /** Outages, including status, updates and geometry */
+    String OUTAGES = "outages";
+
+    /** Outage geospatial data, including the affected counts */
+    String OUTAGE_GEOSPATIAL = "outage_geospatial";
+
+    /** Areas and their utility provider links */
+    String AREAS = "areas";
+
+    /** Utility providers and their service area links, embedded in area and outage views */
+    String UTILITY_PROVIDERS = "utility_providers";
+
+    /** Community chat messages */
+    String MESSAGES = "messages";
+
+    /** Which users each outage affects, as materialized from their addresses */
+    String USER_FEEDS = "user_feeds";
+
+    /** Outage changes that affect the dashboard statistics */
+    String OUTAGE_STATISTICS = "outage_statistics";
+
+    /**
+     * Increment a version once the current transaction commits, in a short transaction of its own,
+     * so writers never hold the shared row lock; nothing is incremented on rollback
+     */
+    void increment(String name);
+
+    /**
+     * Increment a version as {@link #increment(String)} and then hand the new version to a callback,
+     * which runs after the node-local copy has moved
+     */
+    void increment(String name, LongConsumer afterIncrement);
+
+    /**
+     * Whether this node has increments of a version that are registered but not yet applied. Data read
+     * meanwhile may already include a write whose version has not moved.
+     */
+    boolean hasPendingIncrements(String name);
+
+    /**
+     * Get the node-local copy of a version. Changes committed on this node are visible
+     * at once, changes from other nodes after the next {@link #refresh()}.
+     */
+    Version getVersion(String name);
+
+    /**
+     * Read a version from the database
+     */
+    Version readVersion(String name);
+
+    /**
+     * Reload the node-local copies from the database
+     */
+    void refresh();
+
+    /**
+     * A data set version
+     * @param version the counter, 0 if the data set was never written
+     * @param updatedAt time of the last increment, or null
+     */
+    record Version(long version, LocalDateTime updatedAt) {
+
+        public static final Version NONE = new Version(0, null);
+
+        /**
+         * Last increment as epoch milliseconds, or -1 if unknown
+         */
+        public long lastModifiedMillis() {
+            return ConditionalRequests.toEpochMillis(updatedAt);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package lk.ijse.poweralert.service;
+
+/**
+ * Backend that resolves addresses and coordinates, chosen with app.geo.geocoding.provider:
+ * "mapbox" (the default) or "local", which answers from the areas table without network access.
+ * Implementations return null when nothing matches and throw when the lookup itself fails,
+ * so that failures are never cached as "not found".
+ */
+public interface GeocodingProvider {
+
+    /**
+     * Geocode an address
+     *
+     * @param address the address
+     * @return the best match, or null if there is none
+     */
+    Location geocode(String address);
+
+    /**
+     * Reverse geocode coordinates
+     *
+     * @param latitude the latitude
+     * @param longitude the longitude
+     * @return the place name of the best match, or null if there is none
+     */
+    String reverseGeocode(double latitude, double longitude);
+
+    /**
+     * Coordinates of a geocoding match
+     */
+    record Location(double latitude, double longitude) {
+    }
+}
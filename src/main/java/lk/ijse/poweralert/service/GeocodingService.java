@@ -0,0 +1,34 @@
+package lk.ijse.poweralert.service;
+
+import java.util.Map;
+
+public interface GeocodingService {
+
+    /**
+     * Geocode an address, served from the cache when possible
+     *
+     * @param address the address
+     * @return map containing latitude and longitude, or null if the address is unknown
+     *         or the provider is unavailable
+     */
+    Map<String, Double> geocode(String address);
+
+    /**
+     * Reverse geocode coordinates, served from the cache when possible.
+     * Coordinates are quantized to roughly 10 m cells before lookup.
+     *
+     * @return the place name, or null if none is known or the provider is unavailable
+     */
+    String reverseGeocode(double latitude, double longitude);
+
+    /**
+     * Remove expired results from the persistent cache
+     * @return number of rows removed
+     */
+    int purgeExpired();
+
+    /**
+     * @return hit, miss and size counters
+     */
+    Map<String, Long> getStats();
+}
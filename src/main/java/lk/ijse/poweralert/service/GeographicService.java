@@ -2,9 +2,12 @@ package lk.ijse.poweralert.service;
 
 import com.mapbox.geojson.Point;
 import com.mapbox.geojson.Polygon;
+import lk.ijse.poweralert.dto.NearbyResourceDTO;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * Service interface for geographic operations
@@ -30,6 +33,30 @@ public interface GeographicService {
      */
     boolean isAddressInOutageArea(double latitude, double longitude, String outageAreaJson);
 
+    /**
+     * Get the prepared geometry for a GeoJSON polygon from the geometry cache
+     *
+     * @param kind the owner kind, one of the GeometryCache.KIND_* constants
+     * @param id the owner ID
+     * @param version the owner version (usually updatedAt)
+     * @param geoJson the GeoJSON to parse on a cache miss
+     * @return the prepared geometry, or null if the GeoJSON is not a polygon
+     */
+    PreparedGeometry getPreparedGeometry(String kind, Long id, Object version, String geoJson);
+
+    /**
+     * Get the prepared geometry of a stored polygon from the geometry cache, decoding its
+     * binary form on a cache miss and parsing the GeoJSON only when no binary form is stored
+     *
+     * @param kind the owner kind, one of the GeometryCache.KIND_* constants
+     * @param id the owner ID
+     * @param version the owner version (usually updatedAt)
+     * @param wkb reads the stored WKB, which may be null; only called on a cache miss
+     * @param geoJson the stored GeoJSON, used when no WKB is stored
+     * @return the prepared geometry, or null if neither form holds a polygon
+     */
+    PreparedGeometry getPreparedGeometry(String kind, Long id, Object version, Supplier<byte[]> wkb, String geoJson);
+
     /**
      * Convert GeoJSON string to a Polygon object
      *
@@ -65,9 +92,9 @@ public interface GeographicService {
      * @param longitude the longitude of the location
      * @param radiusKm the search radius in kilometers
      * @param resourceType the type of resource to find (optional)
-     * @return list of nearby resources
+     * @return list of nearby resources, nearest first
      */
-    List<Map<String, Object>> findNearbyResources(double latitude, double longitude, double radiusKm, String resourceType);
+    List<NearbyResourceDTO> findNearbyResources(double latitude, double longitude, double radiusKm, String resourceType);
 
     /**
      * Calculate the distance between two points on Earth
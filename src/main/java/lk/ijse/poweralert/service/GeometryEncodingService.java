@@ -0,0 +1,13 @@
+package lk.ijse.poweralert.service;
+
+public interface GeometryEncodingService {
+
+    /**
+     * Encode the binary geometry of outages, outage geospatial data and areas saved
+     * before the WKB columns existed
+     *
+     * @param batchSize rows read and updated per batch
+     * @return number of rows encoded
+     */
+    int backfillBinaryGeometry(int batchSize);
+}
@@ -0,0 +1,24 @@
+package lk.ijse.poweralert.service;
+
+import java.util.Map;
+
+public interface GeometryPyramidService {
+
+    String OWNER_OUTAGE = "OUTAGE";
+    String OWNER_AREA = "AREA";
+
+    /** Precompute the simplification pyramid of a polygon, or drop it when the GeoJSON is null  */
+    void rebuild(String ownerType, Long ownerId, String geoJson);
+
+    /**
+     * Pick the pyramid level for a zoom or tolerance; zoom wins when both are given
+     * @return level index, or -1 for the original geometry
+     */
+    int resolveLevel(Integer zoom, Double tolerance);
+
+    /** Get the GeoJSON of an owner at a level, falling back to simplifying the original on a miss  */
+    String getGeoJson(String ownerType, Long ownerId, String originalGeoJson, int level);
+
+    /** Get the stored GeoJSON of all owners of a type at a level, keyed by owner ID  */
+    Map<Long, String> getGeoJsonByOwner(String ownerType, int level);
+}
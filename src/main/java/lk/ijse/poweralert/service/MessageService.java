@@ -5,12 +5,18 @@ import java.util.List;
 
 public interface MessageService {
 
+    // STOMP destination new messages are pushed to
+    String MESSAGE_TOPIC = "/topic/messages";
+
     // Get all messages
     List<MessageDTO> getAllMessages();
 
-    // Get recent messages
+    // Get recent messages, oldest first, from the in-memory buffer
     List<MessageDTO> getRecentMessages(int limit);
 
-    // Send a message
-    MessageDTO sendMessage(String content, Long userId);
-}
\ No newline at end of file
+    // Send a message; it is stored, then buffered and pushed to MESSAGE_TOPIC after commit
+    MessageDTO sendMessage(String content, Long userId, String username, String userRole);
+
+    // Pick up messages posted on other nodes, pushing the ones not seen yet
+    void checkVersion();
+}
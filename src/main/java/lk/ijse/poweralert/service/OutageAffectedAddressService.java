@@ -0,0 +1,51 @@
+package lk.ijse.poweralert.service;
+
+import lk.ijse.poweralert.entity.Address;
+import lk.ijse.poweralert.entity.Outage;
+
+import java.util.List;
+
+public interface OutageAffectedAddressService {
+
+    /** Recompute the affected addresses of an outage, returning the number of rows written  */
+    int rebuildForOutage(Long outageId);
+
+    /** Recompute the affected addresses of all active outages in an area  */
+    void rebuildForArea(Long areaId);
+
+    /** Rebuild the affected addresses of an outage in the background once the current transaction commits  */
+    void rebuildForOutageAfterCommit(Long outageId);
+
+    /** Rebuild the affected addresses of an area's active outages in the background once the current transaction commits  */
+    void rebuildForAreaAfterCommit(Long areaId);
+
+    /** Recompute which active outages affect an added or moved address  */
+    void refreshAddress(Address address);
+
+    /** Remove an address from the materialization  */
+    void removeAddress(Long addressId);
+
+    /** Get the IDs of active outages, used by the bulk rebuild job  */
+    List<Long> getActiveOutageIds();
+
+    /** Get the IDs of active users affected by an outage  */
+    List<Long> getAffectedUserIds(Outage outage);
+
+    /** Count households (addresses) affected by an outage  */
+    long countAffectedAddresses(Long outageId);
+
+    /** Count distinct users affected by an outage  */
+    long countAffectedUsers(Long outageId);
+
+    /** Count the households, users and estimated residents affected by an outage  */
+    AffectedCounts getAffectedCounts(Long outageId);
+
+    /**
+     * Impact of an outage, as stored on its geospatial data
+     * @param households affected addresses
+     * @param users distinct users owning those addresses
+     * @param population households scaled by the average household size
+     */
+    record AffectedCounts(int households, int users, int population) {
+    }
+}
@@ -2,7 +2,12 @@ package lk.ijse.poweralert.service;
 
 import lk.ijse.poweralert.dto.OutageGeospatialDTO;
 import lk.ijse.poweralert.entity.Outage;
+import lk.ijse.poweralert.util.GeoJsonStreamWriter;
+import lk.ijse.poweralert.util.OutageSpatialIndex;
+import org.locationtech.jts.geom.Envelope;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +30,15 @@ public interface OutageGeospatialService {
      */
     OutageGeospatialDTO getGeospatialDataForOutage(Long outageId);
 
+    /**
+     * Get geospatial data for an outage with GeoJSON taken from the simplification pyramid
+     * @param outageId the outage ID
+     * @param zoom map zoom level, optional
+     * @param tolerance simplification tolerance in degrees, optional
+     * @return the geospatial data
+     */
+    OutageGeospatialDTO getGeospatialDataForOutage(Long outageId, Integer zoom, Double tolerance);
+
     /**
      * Update geospatial data for an outage
      * @param outageGeospatialDTO the data to update
@@ -55,6 +69,42 @@ public interface OutageGeospatialService {
      */
     Map<Long, Boolean> checkAddressForActiveOutages(Double latitude, Double longitude);
 
+    /**
+     * Find the active outages containing each of many points using the shared
+     * spatial index of active outage geometries
+     * @param latitudes point latitudes
+     * @param longitudes point longitudes, same length as latitudes
+     * @param spatialSort process points along a space-filling curve for cache locality
+     * @return affecting outage IDs per point, aligned with the input order
+     */
+    long[][] findActiveOutagesContainingPoints(double[] latitudes, double[] longitudes, boolean spatialSort);
+
+    /**
+     * Find active outages whose geometry may overlap a lon/lat envelope, using the shared
+     * spatial index of active outage geometries
+     * @param envelope the envelope, e.g. the bounds of a map tile
+     * @return candidate outages with their prepared geometry
+     */
+    List<OutageSpatialIndex.Item> findActiveOutagesIntersecting(Envelope envelope);
+
+    /**
+     * Drop the active outage spatial index if outages or their geometry changed since the last check
+     */
+    void checkVersion();
+
+    /**
+     * Stream a GeoJSON FeatureCollection of all scheduled and ongoing outages.
+     * Stored geometry text is copied straight to the output with outage and style
+     * properties injected per feature.
+     * @param out the target stream, left open
+     * @param zoom map zoom level selecting a simplified geometry, optional
+     * @param tolerance simplification tolerance in degrees, optional
+     * @param style style for every feature, or null for the per-status default
+     * @return number of features written
+     */
+    int writeActiveOutagesGeoJson(OutputStream out, Integer zoom, Double tolerance,
+                                  GeoJsonStreamWriter.Style style) throws IOException;
+
     /**
      * Generate or update the static map URL for an outage
      * @param outageId the outage ID
@@ -1,17 +1,19 @@
 package lk.ijse.poweralert.service;
 
+import lk.ijse.poweralert.dto.CursorPageDTO;
 import lk.ijse.poweralert.dto.OutageHistoryDTO;
+import lk.ijse.poweralert.entity.Outage;
+import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
 import lk.ijse.poweralert.enums.AppEnums.OutageType;
 
 import java.util.List;
-import java.util.Map;
 
 public interface OutageHistoryService {
 
     /**
-     * Get all outage history data with optional year and month filters
+     * Get a page of outage history, latest period first, with optional year and month filters
      */
-    List<OutageHistoryDTO> getAllOutageHistory(Integer year, Integer month);
+    CursorPageDTO<OutageHistoryDTO> getAllOutageHistory(Integer year, Integer month, String cursor, Integer limit);
 
     /**
      * Get outage history for a specific area with optional year and month filters
@@ -24,12 +26,43 @@ public interface OutageHistoryService {
     List<OutageHistoryDTO> getOutageHistoryByType(OutageType outageType, Integer year, Integer month);
 
     /**
-     * Get outage statistics for admin dashboard
+     * Get what an outage adds to its history row and the dashboard statistics; take it before
+     * changing the outage
+     * @return the contribution, or null if the outage has no area, type or start time
      */
-    Map<String, Object> getOutageStatistics();
+    Contribution contributionOf(Outage outage);
 
     /**
-     * Update outage history when outage is completed
+     * Record, inside the writing transaction, that an outage was created or changed.
+     * The difference to its previous contribution is queued after commit and written by
+     * {@link #flushPendingChanges()}; the dashboard statistics are patched with it
+     * @param before the contribution taken before the change, or null for a new outage
      */
-    void updateOutageHistory(Long outageId);
+    void recordChange(Contribution before, Outage outage);
+
+    /**
+     * Write queued history changes as batched upserts
+     * @return the number of history rows written
+     */
+    int flushPendingChanges();
+
+    /**
+     * Compare stored history with totals computed from the outages and correct rows that
+     * stayed off by the same amount since the previous run
+     * @return the number of history rows corrected
+     */
+    int reconcile();
+
+    /**
+     * An outage's share of the history row for its area, type and start month:
+     * one outage, plus its restoration hours once completed
+     * @param restorationHours hours from start to actual end, or null if not completed
+     */
+    record Contribution(long areaId, OutageType type, OutageStatus status, int year, int month,
+                        Double restorationHours) {
+
+        public double hours() {
+            return restorationHours != null ? restorationHours : 0;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package lk.ijse.poweralert.service;
+
+import lk.ijse.poweralert.dto.OutageSearchResultDTO;
+
+public interface OutageSearchService {
+
+    int DEFAULT_LIMIT = 20;
+    int MAX_LIMIT = 100;
+
+    /**
+     * Search outages by type, reason, additional info, area and provider, and areas by
+     * name, city and district, from the in-memory index. Every query word must match;
+     * words of two or more characters also match as prefixes, for type-ahead. Outages
+     * are ranked by text relevance weighted by status and recency.
+     *
+     * @param limit maximum results per list, null for the default
+     * @throws IllegalArgumentException if the query has no searchable words
+     */
+    OutageSearchResultDTO search(String query, Integer limit);
+
+    /**
+     * Apply outage and area changes made on other nodes
+     */
+    void checkVersion();
+}
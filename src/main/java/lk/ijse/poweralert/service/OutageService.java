@@ -1,5 +1,6 @@
 package lk.ijse.poweralert.service;
 
+import lk.ijse.poweralert.dto.CursorPageDTO;
 import lk.ijse.poweralert.dto.OutageCreateDTO;
 import lk.ijse.poweralert.dto.OutageDTO;
 import lk.ijse.poweralert.dto.OutageUpdateDTO;
@@ -17,8 +18,8 @@ public interface OutageService {
     /** Get outage by ID */
     OutageDTO getOutageById(Long id);
 
-    /** Get outages for a specific area  */
-    List<OutageDTO> getOutagesByArea(Long areaId);
+    /** Get a page of the outages of a specific area, newest first; a null cursor gives the first page */
+    CursorPageDTO<OutageDTO> getOutagesByArea(Long areaId, String cursor, Integer limit);
 
     /** Update an existing outage    */
     OutageDTO updateOutage(Long id, OutageCreateDTO outageCreateDTO);
@@ -32,6 +33,6 @@ public interface OutageService {
     /** Get outages relevant to the current authenticated user */
     List<OutageDTO> getOutagesForCurrentUser();
 
-    /** Get all outages regardless of status */
-    List<OutageDTO> getAllOutages();
+    /** Get a page of all outages regardless of status, newest first */
+    CursorPageDTO<OutageDTO> getAllOutages(String cursor, Integer limit);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package lk.ijse.poweralert.service;
+
+import lk.ijse.poweralert.service.OutageHistoryService.Contribution;
+
+import java.util.Map;
+
+public interface OutageStatisticsService {
+
+    /**
+     * Get outage statistics for the admin dashboard from the cached snapshot, including
+     * when it was built ("builtAt") and last changed ("asOf")
+     */
+    Map<String, Object> getStatistics();
+
+    /**
+     * Record, inside the writing transaction, that an outage's contribution changed;
+     * the snapshot is patched once it commits
+     * @param before the contribution before the change, or null for a new outage
+     */
+    void recordChange(Contribution before, Contribution after);
+
+    /**
+     * Drop the snapshot if outages changed on another node
+     */
+    void checkVersion();
+}
@@ -0,0 +1,52 @@
+package lk.ijse.poweralert.service;
+
+import lk.ijse.poweralert.dto.OutageDTO;
+import lk.ijse.poweralert.enums.AppEnums.OutageType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface OutageStreamService {
+
+    /**
+     * Open a Server-Sent Events stream of changes to the active outage listing.
+     * A fresh subscriber first receives a "snapshot" event with the matching active outages;
+     * after that, "added", "updated" and "removed" events carry single outages.
+     * Event ids are outage data versions, so a reconnect with Last-Event-ID replays what was missed,
+     * or falls back to a new snapshot if that is no longer buffered.
+     *
+     * @param lastEventId the Last-Event-ID sent on reconnect, or null
+     * @throws IllegalStateException if the subscriber limit is reached
+     */
+    SseEmitter subscribe(Filter filter, String lastEventId);
+
+    /**
+     * Send a comment line to every subscriber so proxies keep idle connections open
+     * and dropped clients are detected
+     */
+    void sendHeartbeat();
+
+    int getSubscriberCount();
+
+    /**
+     * Subscriber filter; null members match everything
+     */
+    record Filter(Long areaId, String district, OutageType type) {
+
+        public boolean matchesAll() {
+            return areaId == null && district == null && type == null;
+        }
+
+        public boolean matches(OutageDTO outage) {
+            if (type != null && type != outage.getType()) {
+                return false;
+            }
+            if (areaId == null && district == null) {
+                return true;
+            }
+            if (outage.getAffectedArea() == null) {
+                return false;
+            }
+            return (areaId == null || areaId.equals(outage.getAffectedArea().getId()))
+                    && (district == null || district.equalsIgnoreCase(outage.getAffectedArea().getDistrict()));
+        }
+    }
+}
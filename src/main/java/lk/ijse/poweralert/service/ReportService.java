@@ -3,5 +3,13 @@ package lk.ijse.poweralert.service;
 import java.util.Map;
 
 public interface ReportService {
+
+    /**
+     * Generate an outage report for outages starting between two dates (ISO, inclusive)
+     *
+     * @param outageType type filter; null, blank or "ALL" for every type
+     * @param areaId area filter, or null for every area
+     * @throws IllegalArgumentException for invalid dates, an invalid type or a too long period
+     */
     Map<String, Object> generateReport(String fromDate, String toDate, String outageType, Long areaId);
 }
\ No newline at end of file
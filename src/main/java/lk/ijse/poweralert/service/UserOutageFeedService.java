@@ -0,0 +1,32 @@
+package lk.ijse.poweralert.service;
+
+import lk.ijse.poweralert.dto.OutageDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface UserOutageFeedService {
+
+    /**
+     * Get the active outages affecting a user, newest first. The user's outage ids come from
+     * a bounded cache, loaded on a miss; the outages themselves from the active outage snapshot.
+     */
+    List<OutageDTO> getFeed(Long userId);
+
+    /**
+     * Record, inside the writing transaction, that the users affected by an outage changed;
+     * cached feeds of those users are patched once it commits
+     */
+    void outageUsersChanged(Long outageId, Collection<Long> usersBefore, Collection<Long> usersAfter);
+
+    /**
+     * Record, inside the writing transaction, that the outages affecting a user may have changed;
+     * the user's cached feed is dropped once it commits
+     */
+    void userOutagesChanged(Long userId);
+
+    /**
+     * Drop all cached feeds if feeds changed on another node
+     */
+    void checkVersion();
+}
@@ -1,5 +1,6 @@
 package lk.ijse.poweralert.service;
 
+import lk.ijse.poweralert.dto.CursorPageDTO;
 import lk.ijse.poweralert.dto.OutageDTO;
 import lk.ijse.poweralert.dto.UtilityProviderDTO;
 
@@ -16,8 +17,8 @@ public interface UtilityProviderService {
     /** Update utility provider details  */
     UtilityProviderDTO updateUtilityProvider(UtilityProviderDTO utilityProviderDTO);
 
-    /** Get outages for the current utility provider */
-    List<OutageDTO> getOutagesForCurrentProvider();
+    /** Get a page of the outages of the current utility provider, newest first */
+    CursorPageDTO<OutageDTO> getOutagesForCurrentProvider(String cursor, Integer limit);
 
     /** Create a new utility provider and link to a user */
     UtilityProviderDTO createUtilityProvider(UtilityProviderDTO utilityProviderDTO, Long userId);
@@ -0,0 +1,13 @@
+package lk.ijse.poweralert.service;
+
+public interface VectorTileService {
+
+    /** Get the Mapbox Vector Tile of active outages and area boundaries for an XYZ tile  */
+    byte[] getTile(int z, int x, int y);
+
+    /** Evict cached tiles touched by an area boundary, before and after the change  */
+    void evictArea(Long areaId, String boundaryJson);
+
+    /** Clear the cached tiles if outages, outage geometry or areas changed since the last check  */
+    void checkVersion();
+}
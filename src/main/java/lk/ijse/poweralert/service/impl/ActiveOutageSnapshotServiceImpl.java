@@ -0,0 +1,161 @@
+package lk.ijse.poweralert.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import lk.ijse.poweralert.dto.OutageDTO;
+import lk.ijse.poweralert.event.ActiveOutagesChangedEvent;
+import lk.ijse.poweralert.event.OutageChangeEvent;
+import lk.ijse.poweralert.service.ActiveOutageSnapshotService;
+import lk.ijse.poweralert.service.DataVersionService;
+import lk.ijse.poweralert.service.DataVersionService.Version;
+import lk.ijse.poweralert.service.OutageService;
+import lk.ijse.poweralert.util.ActiveOutageSnapshot;
+import lk.ijse.poweralert.util.ConditionalRequests;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Service
+public class ActiveOutageSnapshotServiceImpl implements ActiveOutageSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActiveOutageSnapshotServiceImpl.class);
+
+    @Autowired
+    private OutageService outageService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.outage-snapshot.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    private final TransactionTemplate readTransaction;
+
+    // Writers hold snapshotLock; readers only read the volatile reference
+    private final Object snapshotLock = new Object();
+    private volatile ActiveOutageSnapshot snapshot;
+
+    public ActiveOutageSnapshotServiceImpl(PlatformTransactionManager transactionManager) {
+        // Snapshot loads run in their own transaction so they never see a writer's stale persistence context
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public ActiveOutageSnapshot getSnapshot() {
+        ActiveOutageSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (snapshotLock) {
+            if (snapshot == null) {
+                rebuild();
+            }
+            return snapshot;
+        }
+    }
+
+    @Override
+    public void checkVersion() {
+        ActiveOutageSnapshot current = snapshot;
+        if (current == null) {
+            // Nothing loaded yet; the first reader builds it
+            return;
+        }
+
+        long version = dataVersionService.getVersion(DataVersionService.OUTAGES).version();
+        // Outages embed their area and provider, so edits to either also call for a rebuild
+        long areasVersion = dataVersionService.getVersion(DataVersionService.AREAS).version();
+        long providersVersion = dataVersionService.getVersion(DataVersionService.UTILITY_PROVIDERS).version();
+        boolean expired = Duration.between(current.getBuiltAt(), Instant.now()).getSeconds() >= maxAgeSeconds;
+        if (version != current.getVersion() || areasVersion != current.getAreasVersion()
+                || providersVersion != current.getProvidersVersion() || expired) {
+            synchronized (snapshotLock) {
+                if (snapshot == current) {
+                    logger.debug("Rebuilding active outage snapshot (version {} -> {}, areas {} -> {}, " +
+                                    "providers {} -> {}, expired: {})", current.getVersion(), version,
+                            current.getAreasVersion(), areasVersion, current.getProvidersVersion(), providersVersion,
+                            expired);
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    /**
+     * Bump the shared outage version once the write is committed, then patch the snapshot
+     */
+    @EventListener
+    public void onOutageChange(OutageChangeEvent event) {
+        dataVersionService.increment(DataVersionService.OUTAGES, version -> patch(event.getOutageId(), version));
+    }
+
+    private void patch(Long outageId, long version) {
+        try {
+            OutageDTO outage = readTransaction.execute(status -> loadOutage(outageId));
+
+            synchronized (snapshotLock) {
+                ActiveOutageSnapshot current = snapshot;
+                if (current == null) {
+                    return;
+                }
+                if (current.getVersion() == version - 1) {
+                    replace(current.with(version, outageId, outage, Instant.now(), objectMapper), outage);
+                } else {
+                    // Another write landed in between, possibly on another node
+                    rebuild();
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error patching active outage snapshot for outage ID {}: {}", outageId, e.getMessage(), e);
+            snapshot = null;
+        }
+    }
+
+    private void rebuild() {
+        // Read the version first: a write racing the load leaves the snapshot behind, never ahead
+        Version version = dataVersionService.readVersion(DataVersionService.OUTAGES);
+        Version areas = dataVersionService.readVersion(DataVersionService.AREAS);
+        Version providers = dataVersionService.readVersion(DataVersionService.UTILITY_PROVIDERS);
+        List<OutageDTO> outages = readTransaction.execute(status -> outageService.getAllActiveOutages());
+        long changedAt = ConditionalRequests.latest(version.lastModifiedMillis(), areas.lastModifiedMillis(),
+                providers.lastModifiedMillis());
+        Instant lastModified = changedAt >= 0 ? Instant.ofEpochMilli(changedAt) : Instant.now();
+        replace(ActiveOutageSnapshot.of(version.version(), areas.version(), providers.version(), outages, snapshot,
+                lastModified, objectMapper), null);
+        logger.info("Built active outage snapshot version {} with {} outages", version.version(), outages.size());
+    }
+
+    // Called with snapshotLock held, so listeners see replacements in order
+    private void replace(ActiveOutageSnapshot next, OutageDTO latest) {
+        snapshot = next;
+        eventPublisher.publishEvent(new ActiveOutagesChangedEvent(this, next, latest));
+    }
+
+    private OutageDTO loadOutage(Long outageId) {
+        try {
+            return outageService.getOutageById(outageId);
+        } catch (EntityNotFoundException e) {
+            return null;
+        }
+    }
+}
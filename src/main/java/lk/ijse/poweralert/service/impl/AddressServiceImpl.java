@@ -2,38 +2,63 @@ package lk.ijse.poweralert.service.impl;
 
 import jakarta.persistence.EntityNotFoundException;
 import lk.ijse.poweralert.dto.AddressDTO;
+import lk.ijse.poweralert.dto.AddressLocationDTO;
+import lk.ijse.poweralert.dto.AreaLocationDTO;
 import lk.ijse.poweralert.entity.Address;
 import lk.ijse.poweralert.entity.User;
 import lk.ijse.poweralert.repository.AddressRepository;
 import lk.ijse.poweralert.service.AddressService;
+import lk.ijse.poweralert.service.AreaLocatorService;
+import lk.ijse.poweralert.service.GeographicService;
+import lk.ijse.poweralert.service.OutageAffectedAddressService;
 import lk.ijse.poweralert.service.UserService;
+import lk.ijse.poweralert.util.GeoHashUtil;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 public class AddressServiceImpl implements AddressService {
 
     private static final Logger logger = LoggerFactory.getLogger(AddressServiceImpl.class);
+    private static final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
 
     private final AddressRepository addressRepository;
     private final UserService userService;
+    private final GeographicService geographicService;
     private final ModelMapper modelMapper;
 
+    @Autowired
+    private OutageAffectedAddressService outageAffectedAddressService;
+
+    @Autowired
+    private AreaLocatorService areaLocatorService;
+
     @Autowired
     public AddressServiceImpl(
             AddressRepository addressRepository,
             UserService userService,
+            GeographicService geographicService,
             ModelMapper modelMapper) {
         this.addressRepository = addressRepository;
         this.userService = userService;
+        this.geographicService = geographicService;
         this.modelMapper = modelMapper;
     }
 
@@ -48,6 +73,7 @@ public class AddressServiceImpl implements AddressService {
         // Create new address entity
         Address address = modelMapper.map(addressDTO, Address.class);
         address.setUser(user);
+        resolveMissingDistrict(address);
 
         // If this is the first address, make it primary
         if (user.getAddresses().isEmpty()) {
@@ -68,6 +94,8 @@ public class AddressServiceImpl implements AddressService {
         Address savedAddress = addressRepository.save(address);
         logger.info("Address added with ID: {}", savedAddress.getId());
 
+        outageAffectedAddressService.refreshAddress(savedAddress);
+
         return convertToDTO(savedAddress);
     }
 
@@ -122,6 +150,7 @@ public class AddressServiceImpl implements AddressService {
         address.setPostalCode(addressDTO.getPostalCode());
         address.setLatitude(addressDTO.getLatitude());
         address.setLongitude(addressDTO.getLongitude());
+        resolveMissingDistrict(address);
 
         // If setting as primary, update other addresses
         if (addressDTO.isPrimary() && !address.isPrimary()) {
@@ -138,6 +167,8 @@ public class AddressServiceImpl implements AddressService {
         Address updatedAddress = addressRepository.save(address);
         logger.info("Address updated with ID: {}", updatedAddress.getId());
 
+        outageAffectedAddressService.refreshAddress(updatedAddress);
+
         return convertToDTO(updatedAddress);
     }
 
@@ -164,12 +195,100 @@ public class AddressServiceImpl implements AddressService {
         }
 
         // Delete the address
+        outageAffectedAddressService.removeAddress(id);
         addressRepository.delete(address);
         logger.info("Address deleted with ID: {}", id);
 
         return true;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<AddressLocationDTO> findAddressesWithinRadius(double latitude, double longitude, double radiusKm) {
+        logger.debug("Finding addresses within {}km of {}, {}", radiusKm, latitude, longitude);
+
+        List<AddressLocationDTO> result = new ArrayList<>();
+        for (String cell : GeoHashUtil.coveringCells(latitude, longitude, radiusKm)) {
+            for (AddressLocationDTO address : addressRepository.findLocationsByGeohashPrefix(cell)) {
+                if (geographicService.calculateDistance(latitude, longitude,
+                        address.getLatitude(), address.getLongitude()) <= radiusKm) {
+                    result.add(address);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AddressLocationDTO> findAddressesInGeometry(PreparedGeometry geometry) {
+        Envelope envelope = geometry.getGeometry().getEnvelopeInternal();
+        logger.debug("Finding addresses inside geometry with envelope {}", envelope);
+
+        List<AddressLocationDTO> result = new ArrayList<>();
+        Set<String> cells = GeoHashUtil.coveringCells(
+                envelope.getMinY(), envelope.getMinX(), envelope.getMaxY(), envelope.getMaxX());
+
+        List<AddressLocationDTO> candidates = new ArrayList<>();
+        for (String cell : cells) {
+            candidates.addAll(addressRepository.findLocationsByGeohashPrefix(cell));
+        }
+        // Rows saved before the geohash column existed stay invisible to the prefix lookup until backfilled
+        candidates.addAll(addressRepository.findLocationsWithoutGeohashInBox(
+                envelope.getMinY(), envelope.getMaxY(), envelope.getMinX(), envelope.getMaxX()));
+
+        for (AddressLocationDTO address : candidates) {
+            Point point = geometryFactory.createPoint(new Coordinate(address.getLongitude(), address.getLatitude()));
+            if (geometry.contains(point)) {
+                result.add(address);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public int backfillGeohashes(int batchSize) {
+        List<Address> addresses = addressRepository.findByGeohashIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+
+        for (Address address : addresses) {
+            address.setGeohash(computeGeohash(address));
+        }
+        addressRepository.saveAll(addresses);
+
+        return addresses.size();
+    }
+
+    /**
+     * Compute the geohash cell for an address's coordinates
+     * @param address the address
+     * @return the geohash, or null if the address has no coordinates
+     */
+    private String computeGeohash(Address address) {
+        if (address.getLatitude() == null || address.getLongitude() == null) {
+            return null;
+        }
+        return GeoHashUtil.encode(address.getLatitude(), address.getLongitude(), GeoHashUtil.ADDRESS_PRECISION);
+    }
+
+    /**
+     * Fill in a district left blank from the area containing (or nearest to) the coordinates
+     */
+    private void resolveMissingDistrict(Address address) {
+        if (address.getDistrict() != null && !address.getDistrict().isBlank()) {
+            return;
+        }
+
+        AreaLocationDTO area = address.getLatitude() == null || address.getLongitude() == null ? null
+                : areaLocatorService.locate(address.getLatitude(), address.getLongitude());
+        if (area == null || area.getDistrict() == null) {
+            throw new IllegalArgumentException("District is required: no area found for the address coordinates");
+        }
+        address.setDistrict(area.getDistrict());
+    }
+
     /**
      * Get the current logged-in user
      * @return the user entity
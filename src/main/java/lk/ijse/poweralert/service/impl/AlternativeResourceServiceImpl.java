@@ -2,22 +2,31 @@ package lk.ijse.poweralert.service.impl;
 
 import jakarta.persistence.EntityNotFoundException;
 import lk.ijse.poweralert.dto.AlternativeResourceDTO;
+import lk.ijse.poweralert.dto.NearbyResourceDTO;
 import lk.ijse.poweralert.dto.ResourceImageDTO;
+import lk.ijse.poweralert.dto.ResourceLocationDTO;
 import lk.ijse.poweralert.entity.AlternativeResource;
 import lk.ijse.poweralert.entity.Area;
+import lk.ijse.poweralert.enums.AppEnums.ResourceType;
 import lk.ijse.poweralert.repository.AlternativeResourceRepository;
 import lk.ijse.poweralert.repository.AreaRepository;
 import lk.ijse.poweralert.service.AlternativeResourceService;
+import lk.ijse.poweralert.util.ResourceSpatialIndex;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,6 +43,11 @@ public class AlternativeResourceServiceImpl implements AlternativeResourceServic
     @Autowired
     private ModelMapper modelMapper;
 
+    // Locations of active resources, guarded by indexLock; null until first loaded
+    private final Object indexLock = new Object();
+    private Map<Long, ResourceLocationDTO> indexedLocations;
+    private volatile ResourceSpatialIndex resourceIndex;
+
     @Override
     @Transactional(readOnly = true)
     public List<AlternativeResourceDTO> getAllResources() {
@@ -91,6 +105,8 @@ public class AlternativeResourceServiceImpl implements AlternativeResourceServic
         AlternativeResource savedResource = alternativeResourceRepository.save(resource);
         logger.info("Alternative resource saved with ID: {}", savedResource.getId());
 
+        syncIndexAfterCommit(savedResource);
+
         return convertToDTO(savedResource);
     }
 
@@ -125,6 +141,8 @@ public class AlternativeResourceServiceImpl implements AlternativeResourceServic
         AlternativeResource updatedResource = alternativeResourceRepository.save(existingResource);
         logger.info("Alternative resource updated with ID: {}", updatedResource.getId());
 
+        syncIndexAfterCommit(updatedResource);
+
         return convertToDTO(updatedResource);
     }
 
@@ -140,11 +158,110 @@ public class AlternativeResourceServiceImpl implements AlternativeResourceServic
         // Soft delete by setting active to false
         resource.setActive(false);
         alternativeResourceRepository.save(resource);
+        syncIndexAfterCommit(resource);
 
         logger.info("Alternative resource soft-deleted with ID: {}", id);
         return true;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyResourceDTO> findResourcesWithinRadius(double latitude, double longitude, double radiusKm,
+                                                             ResourceType type) {
+        logger.info("Finding {} resources within {}km of {}, {}",
+                type != null ? type : "all", radiusKm, latitude, longitude);
+
+        return toNearbyResources(getResourceIndex().withinRadius(latitude, longitude, radiusKm, type));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyResourceDTO> findNearestResources(double latitude, double longitude, int k, ResourceType type) {
+        logger.info("Finding {} nearest {} resources to {}, {}", k, type != null ? type : "all", latitude, longitude);
+
+        return toNearbyResources(getResourceIndex().nearest(latitude, longitude, k, Double.POSITIVE_INFINITY, type));
+    }
+
+    /**
+     * Load display details for index hits, keeping the hit order and attaching distances
+     */
+    private List<NearbyResourceDTO> toNearbyResources(List<ResourceSpatialIndex.Hit> hits) {
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> ids = hits.stream().map(ResourceSpatialIndex.Hit::id).collect(Collectors.toList());
+        Map<Long, NearbyResourceDTO> details = alternativeResourceRepository.findNearbyDetailsByIdIn(ids).stream()
+                .collect(Collectors.toMap(NearbyResourceDTO::getId, Function.identity()));
+
+        return hits.stream()
+                .filter(hit -> details.containsKey(hit.id()))
+                .map(hit -> {
+                    NearbyResourceDTO dto = details.get(hit.id());
+                    dto.setDistance(Math.round(hit.distanceKm() * 10) / 10.0); // Round to 1 decimal place
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Get the location index, loading it on first use
+     */
+    private ResourceSpatialIndex getResourceIndex() {
+        ResourceSpatialIndex index = resourceIndex;
+        if (index != null) {
+            return index;
+        }
+
+        synchronized (indexLock) {
+            if (resourceIndex == null) {
+                indexedLocations = new HashMap<>();
+                for (ResourceLocationDTO location : alternativeResourceRepository.findActiveLocations()) {
+                    indexedLocations.put(location.getId(), location);
+                }
+                resourceIndex = ResourceSpatialIndex.build(indexedLocations.values());
+                logger.info("Built alternative resource index with {} locations", resourceIndex.size());
+            }
+            return resourceIndex;
+        }
+    }
+
+    /**
+     * Apply a resource change to the location index once the transaction commits
+     */
+    private void syncIndexAfterCommit(AlternativeResource resource) {
+        ResourceLocationDTO location = resource.isActive()
+                ? new ResourceLocationDTO(resource.getId(), resource.getType(), resource.getLatitude(), resource.getLongitude())
+                : null;
+        Long id = resource.getId();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            syncIndex(id, location);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                syncIndex(id, location);
+            }
+        });
+    }
+
+    private void syncIndex(Long id, ResourceLocationDTO location) {
+        synchronized (indexLock) {
+            if (resourceIndex == null) {
+                return; // Not loaded yet, the first query will read the committed state
+            }
+            if (location != null) {
+                indexedLocations.put(id, location);
+            } else {
+                indexedLocations.remove(id);
+            }
+            resourceIndex = ResourceSpatialIndex.build(indexedLocations.values());
+        }
+    }
+
     /**
      * Convert AlternativeResourceDTO to entity
      * @param dto the DTO to convert
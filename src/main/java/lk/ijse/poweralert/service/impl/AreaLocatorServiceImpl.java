@@ -0,0 +1,172 @@
+package lk.ijse.poweralert.service.impl;
+
+import lk.ijse.poweralert.dto.AreaLocationDTO;
+import lk.ijse.poweralert.entity.Area;
+import lk.ijse.poweralert.repository.AreaRepository;
+import lk.ijse.poweralert.service.AreaLocatorService;
+import lk.ijse.poweralert.service.DataVersionService;
+import lk.ijse.poweralert.service.GeographicService;
+import lk.ijse.poweralert.util.AreaSpatialIndex;
+import lk.ijse.poweralert.util.AreaSpatialIndex.AreaItem;
+import lk.ijse.poweralert.util.GeometryCache;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class AreaLocatorServiceImpl implements AreaLocatorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AreaLocatorServiceImpl.class);
+
+    @Autowired
+    private AreaRepository areaRepository;
+
+    @Autowired
+    private GeographicService geographicService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Value("${app.geo.area-locator.max-centroid-distance-km:25.0}")
+    private double maxCentroidDistanceKm;
+
+    // Indexed areas, guarded by indexLock; null until first loaded
+    private final Object indexLock = new Object();
+    private Map<Long, AreaItem> indexedAreas;
+    private volatile AreaSpatialIndex areaIndex;
+    // Area version seen by the last check; changes on other nodes never reach syncIndex
+    private long checkedVersion = -1;
+
+    @Override
+    public AreaLocationDTO locate(double latitude, double longitude) {
+        AreaSpatialIndex.Match match = getAreaIndex().locate(latitude, longitude, maxCentroidDistanceKm);
+        if (match == null) {
+            return null;
+        }
+
+        AreaItem area = match.area();
+        return new AreaLocationDTO(area.getAreaId(), area.getName(), area.getCity(), area.getDistrict(),
+                match.withinBoundary(), match.distanceKm());
+    }
+
+    @Override
+    public List<AreaItem> findAreasIntersecting(Envelope envelope) {
+        return getAreaIndex().findBoundariesIntersecting(envelope);
+    }
+
+    @Override
+    public void refreshAreaAfterCommit(Area area) {
+        // Read the area after commit, when its save hooks have refreshed updatedAt and the WKB
+        runAfterCommit(() -> syncIndex(area.getId(), toItem(area)));
+    }
+
+    @Override
+    public void removeAreaAfterCommit(Long areaId) {
+        runAfterCommit(() -> syncIndex(areaId, null));
+    }
+
+    @Override
+    public void checkVersion() {
+        long version = dataVersionService.getVersion(DataVersionService.AREAS).version();
+        synchronized (indexLock) {
+            if (checkedVersion >= 0 && version != checkedVersion && areaIndex != null) {
+                logger.debug("Rebuilding area locator index (version {} -> {})", checkedVersion, version);
+                load();
+            }
+            checkedVersion = version;
+        }
+    }
+
+    private AreaSpatialIndex getAreaIndex() {
+        AreaSpatialIndex index = areaIndex;
+        if (index != null) {
+            return index;
+        }
+
+        synchronized (indexLock) {
+            if (areaIndex == null) {
+                load();
+            }
+            return areaIndex;
+        }
+    }
+
+    // Called with indexLock held
+    private void load() {
+        Map<Long, AreaItem> items = new HashMap<>();
+        for (Area area : areaRepository.findAll()) {
+            AreaItem item = toItem(area);
+            if (item != null) {
+                items.put(area.getId(), item);
+            }
+        }
+        indexedAreas = items;
+        areaIndex = AreaSpatialIndex.build(indexedAreas.values());
+        logger.info("Built area locator index with {} areas", areaIndex.size());
+    }
+
+    private void syncIndex(Long areaId, AreaItem item) {
+        synchronized (indexLock) {
+            if (areaIndex == null) {
+                return; // Not loaded yet, the first lookup will read the committed state
+            }
+            if (item == null) {
+                indexedAreas.remove(areaId);
+            } else {
+                indexedAreas.put(areaId, item);
+            }
+            areaIndex = AreaSpatialIndex.build(indexedAreas.values());
+        }
+    }
+
+    private AreaItem toItem(Area area) {
+        PreparedGeometry boundary = null;
+        try {
+            boundary = geographicService.getPreparedGeometry(GeometryCache.KIND_AREA, area.getId(),
+                    area.getUpdatedAt(), () -> areaRepository.findBoundaryWkbById(area.getId()), area.getBoundaryJson());
+        } catch (Exception e) {
+            logger.warn("Invalid boundary for area ID {}: {}", area.getId(), e.getMessage());
+        }
+
+        double latitude = Double.NaN;
+        double longitude = Double.NaN;
+        if (area.getLatitude() != null && area.getLongitude() != null) {
+            latitude = area.getLatitude();
+            longitude = area.getLongitude();
+        } else if (boundary != null) {
+            Point centroid = boundary.getGeometry().getCentroid();
+            latitude = centroid.getY();
+            longitude = centroid.getX();
+        }
+
+        if (boundary == null && Double.isNaN(latitude)) {
+            return null;
+        }
+        return new AreaItem(area.getId(), area.getName(), area.getCity(), area.getDistrict(),
+                boundary, latitude, longitude);
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
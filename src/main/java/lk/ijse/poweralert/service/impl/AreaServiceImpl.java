@@ -8,7 +8,13 @@ import lk.ijse.poweralert.entity.UtilityProvider;
 import lk.ijse.poweralert.repository.AreaRepository;
 import lk.ijse.poweralert.repository.OutageRepository;
 import lk.ijse.poweralert.repository.UtilityProviderRepository;
+import lk.ijse.poweralert.service.AreaLocatorService;
 import lk.ijse.poweralert.service.AreaService;
+import lk.ijse.poweralert.service.DataVersionService;
+import lk.ijse.poweralert.service.GeometryPyramidService;
+import lk.ijse.poweralert.service.OutageAffectedAddressService;
+import lk.ijse.poweralert.service.VectorTileService;
+import lk.ijse.poweralert.util.GeometryCache;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -38,12 +45,30 @@ public class AreaServiceImpl implements AreaService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private GeometryCache geometryCache;
+
+    @Autowired
+    private OutageAffectedAddressService outageAffectedAddressService;
+
+    @Autowired
+    private VectorTileService vectorTileService;
+
+    @Autowired
+    private GeometryPyramidService geometryPyramidService;
+
+    @Autowired
+    private AreaLocatorService areaLocatorService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
     @Override
     @Transactional(readOnly = true)
     public List<AreaDTO> getAllAreas() {
         logger.info("Fetching all areas");
 
-        List<Area> areas = areaRepository.findAll();
+        List<Area> areas = areaRepository.findAllWithUtilityProviders();
 
         return areas.stream()
                 .map(this::convertToDTO)
@@ -61,6 +86,36 @@ public class AreaServiceImpl implements AreaService {
         return convertToDTO(area);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<AreaDTO> getAllAreas(Integer zoom, Double tolerance) {
+        int level = geometryPyramidService.resolveLevel(zoom, tolerance);
+        List<AreaDTO> areas = getAllAreas();
+        if (level < 0) {
+            return areas;
+        }
+
+        Map<Long, String> simplified = geometryPyramidService.getGeoJsonByOwner(GeometryPyramidService.OWNER_AREA, level);
+        for (AreaDTO area : areas) {
+            if (area.getBoundaryJson() != null) {
+                String boundary = simplified.get(area.getId());
+                area.setBoundaryJson(boundary != null ? boundary : geometryPyramidService.getGeoJson(
+                        GeometryPyramidService.OWNER_AREA, area.getId(), area.getBoundaryJson(), level));
+            }
+        }
+        return areas;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AreaDTO getAreaById(Long id, Integer zoom, Double tolerance) {
+        AreaDTO area = getAreaById(id);
+        int level = geometryPyramidService.resolveLevel(zoom, tolerance);
+        area.setBoundaryJson(geometryPyramidService.getGeoJson(
+                GeometryPyramidService.OWNER_AREA, id, area.getBoundaryJson(), level));
+        return area;
+    }
+
     @Override
     @Transactional
     public AreaDTO createArea(AreaDTO areaDTO) {
@@ -80,6 +135,11 @@ public class AreaServiceImpl implements AreaService {
         Area savedArea = areaRepository.save(area);
         logger.info("Area created with ID: {}", savedArea.getId());
 
+        vectorTileService.evictArea(savedArea.getId(), savedArea.getBoundaryJson());
+        geometryPyramidService.rebuild(GeometryPyramidService.OWNER_AREA, savedArea.getId(), savedArea.getBoundaryJson());
+        areaLocatorService.refreshAreaAfterCommit(savedArea);
+        dataVersionService.increment(DataVersionService.AREAS);
+
         return convertToDTO(savedArea);
     }
 
@@ -102,8 +162,16 @@ public class AreaServiceImpl implements AreaService {
 
         // Save updated area
         Area updatedArea = areaRepository.save(existingArea);
+        geometryCache.invalidate(GeometryCache.KIND_AREA, updatedArea.getId());
+        vectorTileService.evictArea(updatedArea.getId(), updatedArea.getBoundaryJson());
+        geometryPyramidService.rebuild(GeometryPyramidService.OWNER_AREA, updatedArea.getId(), updatedArea.getBoundaryJson());
+        areaLocatorService.refreshAreaAfterCommit(updatedArea);
         logger.info("Area updated with ID: {}", updatedArea.getId());
 
+        // Boundary or district changes alter which addresses the area's outages affect
+        outageAffectedAddressService.rebuildForAreaAfterCommit(updatedArea.getId());
+        dataVersionService.increment(DataVersionService.AREAS);
+
         return convertToDTO(updatedArea);
     }
 
@@ -128,6 +196,11 @@ public class AreaServiceImpl implements AreaService {
 
         // Delete area
         areaRepository.delete(area);
+        geometryCache.invalidate(GeometryCache.KIND_AREA, id);
+        vectorTileService.evictArea(id, area.getBoundaryJson());
+        geometryPyramidService.rebuild(GeometryPyramidService.OWNER_AREA, id, null);
+        areaLocatorService.removeAreaAfterCommit(id);
+        dataVersionService.increment(DataVersionService.AREAS);
         logger.info("Area deleted with ID: {}", id);
 
         return true;
@@ -169,6 +242,7 @@ public class AreaServiceImpl implements AreaService {
         // Link provider to area
         area.getUtilityProviders().add(provider);
         Area updatedArea = areaRepository.save(area);
+        dataVersionService.increment(DataVersionService.AREAS);
         logger.info("Utility provider linked to area");
 
         return convertToDTO(updatedArea);
@@ -196,6 +270,7 @@ public class AreaServiceImpl implements AreaService {
         // Unlink provider from area
         area.getUtilityProviders().remove(provider);
         Area updatedArea = areaRepository.save(area);
+        dataVersionService.increment(DataVersionService.AREAS);
         logger.info("Utility provider unlinked from area");
 
         return convertToDTO(updatedArea);
@@ -1,12 +1,14 @@
 package lk.ijse.poweralert.service.impl;
 
 import jakarta.persistence.EntityNotFoundException;
+import lk.ijse.poweralert.dto.AreaLocationDTO;
 import lk.ijse.poweralert.dto.CommunityFeedbackDTO;
 import lk.ijse.poweralert.entity.CommunityFeedback;
 import lk.ijse.poweralert.entity.Outage;
 import lk.ijse.poweralert.entity.User;
 import lk.ijse.poweralert.repository.CommunityFeedbackRepository;
 import lk.ijse.poweralert.repository.OutageRepository;
+import lk.ijse.poweralert.service.AreaLocatorService;
 import lk.ijse.poweralert.service.CommunityFeedbackService;
 import lk.ijse.poweralert.service.UserService;
 import org.modelmapper.ModelMapper;
@@ -38,6 +40,9 @@ public class CommunityFeedbackServiceImpl implements CommunityFeedbackService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private AreaLocatorService areaLocatorService;
+
     @Override
     @Transactional(readOnly = true)
     public List<CommunityFeedbackDTO> getFeedbackByOutageId(Long outageId) {
@@ -78,6 +83,10 @@ public class CommunityFeedbackServiceImpl implements CommunityFeedbackService {
         feedback.setCreatedAt(LocalDateTime.now());
         feedback.setLatitude(feedbackDTO.getLatitude());
         feedback.setLongitude(feedbackDTO.getLongitude());
+        if (feedbackDTO.getLatitude() != null && feedbackDTO.getLongitude() != null) {
+            AreaLocationDTO area = areaLocatorService.locate(feedbackDTO.getLatitude(), feedbackDTO.getLongitude());
+            feedback.setAreaId(area != null ? area.getAreaId() : null);
+        }
 
         // Save feedback
         CommunityFeedback savedFeedback = communityFeedbackRepository.save(feedback);
@@ -0,0 +1,198 @@
+package lk.ijse.poweralert.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lk.ijse.poweralert.service.CsvExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class CsvExportServiceImpl implements CsvExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CsvExportServiceImpl.class);
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final String OUTAGES_SQL =
+            "SELECT o.id, o.type, o.status, o.start_time, o.estimated_end_time, o.actual_end_time, " +
+            "o.area_id, a.name, a.district, o.utility_provider_id, p.name, o.reason, o.additional_info, " +
+            "o.created_at, o.updated_at FROM outages o JOIN areas a ON a.id = o.area_id " +
+            "JOIN utility_providers p ON p.id = o.utility_provider_id";
+    private static final String[] OUTAGE_COLUMNS = {"id", "type", "status", "startTime", "estimatedEndTime",
+            "actualEndTime", "areaId", "areaName", "district", "utilityProviderId", "utilityProviderName", "reason",
+            "additionalInfo", "createdAt", "updatedAt"};
+
+    private static final String OUTAGE_HISTORY_SQL =
+            "SELECT h.id, h.year, h.month, h.area_id, a.name, h.type, h.outage_count, h.total_outage_hours, " +
+            "h.average_restoration_time FROM outage_history h JOIN areas a ON a.id = h.area_id";
+    private static final String[] OUTAGE_HISTORY_COLUMNS = {"id", "year", "month", "areaId", "areaName", "type",
+            "outageCount", "totalOutageHours", "averageRestorationTime"};
+
+    private static final String NOTIFICATIONS_SQL =
+            "SELECT n.id, n.outage_id, n.user_id, u.username, n.type, n.status, n.language, n.created_at, " +
+            "n.sent_at, n.delivered_at, n.content FROM notifications n JOIN users u ON u.id = n.user_id";
+    private static final String[] NOTIFICATION_COLUMNS = {"id", "outageId", "userId", "username", "type", "status",
+            "language", "createdAt", "sentAt", "deliveredAt", "content"};
+
+    private static final String AUDIT_LOGS_SQL =
+            "SELECT l.id, l.timestamp, l.user_id, u.username, l.action, l.entity_type, l.entity_id, " +
+            "l.ip_address, l.details FROM audit_logs l LEFT JOIN users u ON u.id = l.user_id";
+    private static final String[] AUDIT_LOG_COLUMNS = {"id", "timestamp", "userId", "username", "action",
+            "entityType", "entityId", "ipAddress", "details"};
+
+    // The caller owns the stream, e.g. to finish a gzip wrapper after the last row
+    private final CsvMapper csvMapper = CsvMapper.builder()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .build();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public long exportOutages(OutputStream out, LocalDate fromDate, LocalDate toDate) throws IOException {
+        Query query = new Query(OUTAGES_SQL).between("o.start_time", fromDate, toDate).orderBy("o.id");
+        return export(out, query, OUTAGE_COLUMNS);
+    }
+
+    @Override
+    public long exportOutageHistory(OutputStream out, Integer year, Integer month) throws IOException {
+        Query query = new Query(OUTAGE_HISTORY_SQL)
+                .where("h.year", year)
+                .where("h.month", month)
+                .orderBy("h.year, h.month, h.area_id, h.type");
+        return export(out, query, OUTAGE_HISTORY_COLUMNS);
+    }
+
+    @Override
+    public long exportNotifications(OutputStream out, LocalDate fromDate, LocalDate toDate) throws IOException {
+        Query query = new Query(NOTIFICATIONS_SQL).between("n.created_at", fromDate, toDate).orderBy("n.id");
+        return export(out, query, NOTIFICATION_COLUMNS);
+    }
+
+    @Override
+    public long exportAuditLogs(OutputStream out, LocalDate fromDate, LocalDate toDate) throws IOException {
+        Query query = new Query(AUDIT_LOGS_SQL).between("l.timestamp", fromDate, toDate).orderBy("l.id");
+        return export(out, query, AUDIT_LOG_COLUMNS);
+    }
+
+    private long export(OutputStream out, Query query, String[] columns) throws IOException {
+        CsvSchema.Builder schema = CsvSchema.builder();
+        for (String column : columns) {
+            schema.addColumn(column);
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        long[] rowCount = {0};
+        try (SequenceWriter rows = csvMapper.writer(schema.build().withHeader()).writeValues(writer)) {
+            // One row buffer for the whole export; the writer copies values out as it goes
+            Object[] row = new Object[columns.length];
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(query.sql(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // Ask the MySQL driver to stream rows instead of buffering the whole result
+                ps.setFetchSize(Integer.MIN_VALUE);
+                for (int i = 0; i < query.params.size(); i++) {
+                    ps.setObject(i + 1, query.params.get(i));
+                }
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = toCsvValue(rs.getObject(i + 1));
+                }
+                try {
+                    rows.write(row);
+                } catch (IOException e) {
+                    // Usually the client went away; stop reading
+                    throw new UncheckedIOException(e);
+                }
+                rowCount[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+
+        logger.debug("Exported {} rows", rowCount[0]);
+        return rowCount[0];
+    }
+
+    private static Object toCsvValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.toString();
+        }
+        if (value instanceof String text && !text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            // Keep spreadsheets from evaluating user-supplied text as a formula
+            return "'" + text;
+        }
+        return value;
+    }
+
+    /**
+     * SQL with optional filters appended as they are given
+     */
+    private static final class Query {
+        private final StringBuilder sql;
+        private final List<Object> params = new ArrayList<>();
+        private boolean hasWhere;
+
+        Query(String select) {
+            this.sql = new StringBuilder(select);
+        }
+
+        Query where(String column, Object value) {
+            if (value != null) {
+                sql.append(hasWhere ? " AND " : " WHERE ").append(column).append(" = ?");
+                params.add(value);
+                hasWhere = true;
+            }
+            return this;
+        }
+
+        Query between(String column, LocalDate fromDate, LocalDate toDate) {
+            if (fromDate != null) {
+                sql.append(hasWhere ? " AND " : " WHERE ").append(column).append(" >= ?");
+                params.add(Timestamp.valueOf(fromDate.atStartOfDay()));
+                hasWhere = true;
+            }
+            if (toDate != null) {
+                sql.append(hasWhere ? " AND " : " WHERE ").append(column).append(" < ?");
+                params.add(Timestamp.valueOf(toDate.plusDays(1).atStartOfDay()));
+                hasWhere = true;
+            }
+            return this;
+        }
+
+        Query orderBy(String columns) {
+            sql.append(" ORDER BY ").append(columns);
+            return this;
+        }
+
+        String sql() {
+            return sql.toString();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package lk.ijse.poweralert.service.impl;
 
 import lk.ijse.poweralert.entity.User;
 import lk.ijse.poweralert.repository.UserRepository;
+import lk.ijse.poweralert.util.UserPrincipal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -53,9 +54,11 @@ public class CustomUserDetailsService implements UserDetailsService {
         logger.info("User found with role: {}", user.getRole());
 
         // Create Spring Security UserDetails object
-        return new org.springframework.security.core.userdetails.User(
+        return new UserPrincipal(
+                user.getId(),
                 user.getUsername(),
                 user.getPassword(),
+                user.getRole().name(),
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
         );
     }
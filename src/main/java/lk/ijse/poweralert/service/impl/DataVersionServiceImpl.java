@@ -0,0 +1,139 @@
+package lk.ijse.poweralert.service.impl;
+
+import lk.ijse.poweralert.entity.DataVersion;
+import lk.ijse.poweralert.repository.DataVersionRepository;
+import lk.ijse.poweralert.service.DataVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+@Service
+public class DataVersionServiceImpl implements DataVersionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataVersionServiceImpl.class);
+
+    @Autowired
+    private DataVersionRepository dataVersionRepository;
+
+    // Node-local copies; data sets missing from the table are held as Version.NONE
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    // Increments registered by open or committing transactions on this node
+    private final Map<String, AtomicInteger> pending = new ConcurrentHashMap<>();
+
+    private final TransactionTemplate incrementTransaction;
+
+    public DataVersionServiceImpl(PlatformTransactionManager transactionManager) {
+        // Increments commit on their own, so the shared row is locked for two statements only
+        this.incrementTransaction = new TransactionTemplate(transactionManager);
+        this.incrementTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void increment(String name) {
+        increment(name, version -> { });
+    }
+
+    @Override
+    public void increment(String name, LongConsumer afterIncrement) {
+        AtomicInteger count = pending.computeIfAbsent(name, key -> new AtomicInteger());
+        count.incrementAndGet();
+        runAfterCompletion(committed -> {
+            try {
+                if (committed) {
+                    apply(name, afterIncrement);
+                }
+            } finally {
+                count.decrementAndGet();
+            }
+        });
+    }
+
+    private void apply(String name, LongConsumer afterIncrement) {
+        Version version;
+        try {
+            version = incrementTransaction.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                dataVersionRepository.increment(name, now);
+                // The row is locked by this transaction until commit, so the value read is our own
+                return new Version(dataVersionRepository.findVersionByName(name).orElse(0L), now);
+            });
+        } catch (Exception e) {
+            // The write itself is committed; caches catch up on expiry or the next increment
+            logger.error("Error incrementing data version {}: {}", name, e.getMessage(), e);
+            return;
+        }
+        versions.merge(name, version, DataVersionServiceImpl::newer);
+        afterIncrement.accept(version.version());
+    }
+
+    @Override
+    public boolean hasPendingIncrements(String name) {
+        AtomicInteger count = pending.get(name);
+        return count != null && count.get() > 0;
+    }
+
+    @Override
+    public Version getVersion(String name) {
+        if (!loaded) {
+            refresh();
+        }
+        return versions.getOrDefault(name, Version.NONE);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public Version readVersion(String name) {
+        return dataVersionRepository.findById(name)
+                .map(v -> new Version(v.getVersion(), v.getUpdatedAt()))
+                .orElse(Version.NONE);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void refresh() {
+        for (DataVersion row : dataVersionRepository.findAll()) {
+            Version version = new Version(row.getVersion(), row.getUpdatedAt());
+            Version previous = versions.get(row.getName());
+            if (previous == null || version.version() > previous.version()) {
+                // A concurrent local commit may already have moved the copy past what was read
+                versions.merge(row.getName(), version, DataVersionServiceImpl::newer);
+                logger.debug("Data version {} is now {}", row.getName(), version.version());
+            }
+        }
+        loaded = true;
+    }
+
+    private static Version newer(Version a, Version b) {
+        return b.version() > a.version() ? b : a;
+    }
+
+    private void runAfterCompletion(Consumer<Boolean> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            action.accept(true);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package lk.ijse.poweralert.service.impl;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lk.ijse.poweralert.entity.GeocodeCacheEntry;
+import lk.ijse.poweralert.repository.GeocodeCacheRepository;
+import lk.ijse.poweralert.service.GeocodingProvider;
+import lk.ijse.poweralert.service.GeocodingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier geocoding cache in front of the configured {@link GeocodingProvider}:
+ * a size-bounded in-memory LRU backed by the geocode_cache table.
+ * Negative results are cached with a shorter TTL; provider failures are not cached.
+ */
+@Service
+public class GeocodingServiceImpl implements GeocodingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeocodingServiceImpl.class);
+
+    /** Reverse lookup grid in degrees, about 11 m of latitude */
+    static final double REVERSE_QUANTUM = 0.0001;
+
+    private static final int MAX_KEY_LENGTH = 191;
+
+    private final GeocodingProvider provider;
+    private final GeocodeCacheRepository geocodeCacheRepository;
+    private final Duration ttl;
+    private final Duration negativeTtl;
+    private final int maxSize;
+    private final Map<String, Result> memory;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong storeHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public GeocodingServiceImpl(GeocodingProvider provider,
+                                GeocodeCacheRepository geocodeCacheRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.geo.geocode-cache.max-size:10000}") int maxSize,
+                                @Value("${app.geo.geocode-cache.ttl-days:30}") long ttlDays,
+                                @Value("${app.geo.geocode-cache.negative-ttl-hours:6}") long negativeTtlHours) {
+        this.provider = provider;
+        this.geocodeCacheRepository = geocodeCacheRepository;
+        this.ttl = Duration.ofDays(ttlDays);
+        this.negativeTtl = Duration.ofHours(negativeTtlHours);
+        this.maxSize = maxSize;
+        this.memory = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Result> eldest) {
+                return size() > GeocodingServiceImpl.this.maxSize;
+            }
+        };
+
+        FunctionCounter.builder("poweralert.geocode.cache.memory.hits", memoryHits, AtomicLong::get)
+                .description("Geocoding results served from memory")
+                .register(meterRegistry);
+        FunctionCounter.builder("poweralert.geocode.cache.store.hits", storeHits, AtomicLong::get)
+                .description("Geocoding results served from the database")
+                .register(meterRegistry);
+        FunctionCounter.builder("poweralert.geocode.cache.misses", misses, AtomicLong::get)
+                .description("Geocoding lookups sent to the provider")
+                .register(meterRegistry);
+        FunctionCounter.builder("poweralert.geocode.cache.failures", failures, AtomicLong::get)
+                .description("Failed geocoding provider calls")
+                .register(meterRegistry);
+        Gauge.builder("poweralert.geocode.cache.size", this, GeocodingServiceImpl::memorySize)
+                .description("Geocoding results held in memory")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Map<String, Double> geocode(String address) {
+        String normalized = normalizeAddress(address);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+
+        Result result = lookup(forwardKey(normalized), () -> {
+            GeocodingProvider.Location location = provider.geocode(address.trim());
+            return location == null ? null : new Result(true, location.latitude(), location.longitude(), null, null);
+        });
+        if (result == null || !result.found) {
+            return null;
+        }
+
+        Map<String, Double> coordinates = new HashMap<>();
+        coordinates.put("latitude", result.latitude);
+        coordinates.put("longitude", result.longitude);
+        return coordinates;
+    }
+
+    @Override
+    public String reverseGeocode(double latitude, double longitude) {
+        long latCell = Math.round(latitude / REVERSE_QUANTUM);
+        long lonCell = Math.round(longitude / REVERSE_QUANTUM);
+
+        // Query the cell centre so every point of the cell shares one answer
+        Result result = lookup("R:" + latCell + ":" + lonCell, () -> {
+            String placeName = provider.reverseGeocode(latCell * REVERSE_QUANTUM, lonCell * REVERSE_QUANTUM);
+            return placeName == null ? null : new Result(true, null, null, placeName, null);
+        });
+        return result == null || !result.found ? null : result.placeName;
+    }
+
+    @Override
+    public int purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (memory) {
+            memory.values().removeIf(result -> result.isExpired(now));
+        }
+        return geocodeCacheRepository.deleteExpired(now);
+    }
+
+    @Override
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("memoryHits", memoryHits.get());
+        stats.put("storeHits", storeHits.get());
+        stats.put("misses", misses.get());
+        stats.put("failures", failures.get());
+        stats.put("size", (long) memorySize());
+        stats.put("maxSize", (long) maxSize);
+        return stats;
+    }
+
+    /**
+     * Normalize an address for use as a cache key: Unicode compatibility form,
+     * lower case, punctuation dropped and whitespace collapsed
+     */
+    static String normalizeAddress(String address) {
+        if (address == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(address, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return normalized.replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private int memorySize() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    private Result lookup(String key, ProviderCall call) {
+        LocalDateTime now = LocalDateTime.now();
+
+        synchronized (memory) {
+            Result cached = memory.get(key);
+            if (cached != null) {
+                if (!cached.isExpired(now)) {
+                    memoryHits.incrementAndGet();
+                    return cached;
+                }
+                memory.remove(key);
+            }
+        }
+
+        GeocodeCacheEntry stored = null;
+        try {
+            stored = geocodeCacheRepository.findByCacheKey(key).orElse(null);
+        } catch (Exception e) {
+            logger.warn("Could not read geocoding cache entry {}: {}", key, e.getMessage());
+        }
+        if (stored != null && stored.getExpiresAt().isAfter(now)) {
+            storeHits.incrementAndGet();
+            Result result = new Result(stored.isFound(), stored.getLatitude(), stored.getLongitude(),
+                    stored.getPlaceName(), stored.getExpiresAt());
+            remember(key, result);
+            return result;
+        }
+
+        misses.incrementAndGet();
+        Result fetched;
+        try {
+            fetched = call.fetch();
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            logger.error("Geocoding provider failed for {}: {}", key, e.getMessage());
+            return null;
+        }
+
+        LocalDateTime expiresAt = now.plus(fetched == null ? negativeTtl : ttl);
+        Result result = fetched == null
+                ? new Result(false, null, null, null, expiresAt)
+                : new Result(true, fetched.latitude, fetched.longitude, fetched.placeName, expiresAt);
+        if (!result.found) {
+            logger.warn("No geocoding results found for {}", key);
+        }
+
+        remember(key, result);
+        store(key, result, stored, now);
+        return result;
+    }
+
+    private void remember(String key, Result result) {
+        synchronized (memory) {
+            memory.put(key, result);
+        }
+    }
+
+    private void store(String key, Result result, GeocodeCacheEntry existing, LocalDateTime now) {
+        GeocodeCacheEntry entry = existing != null ? existing : new GeocodeCacheEntry();
+        entry.setCacheKey(key);
+        entry.setFound(result.found);
+        entry.setLatitude(result.latitude);
+        entry.setLongitude(result.longitude);
+        entry.setPlaceName(truncate(result.placeName));
+        entry.setCreatedAt(now);
+        entry.setExpiresAt(result.expiresAt);
+
+        try {
+            geocodeCacheRepository.save(entry);
+        } catch (DataIntegrityViolationException e) {
+            // Another request stored the same key concurrently
+            logger.debug("Geocoding cache entry {} already stored", key);
+        } catch (Exception e) {
+            logger.warn("Could not store geocoding cache entry {}: {}", key, e.getMessage());
+        }
+    }
+
+    private static String forwardKey(String normalized) {
+        String key = "F:" + normalized;
+        if (key.length() <= MAX_KEY_LENGTH) {
+            return key;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalized.getBytes(StandardCharsets.UTF_8));
+            return "F#" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= 512 ? value : value.substring(0, 512);
+    }
+
+    @FunctionalInterface
+    private interface ProviderCall {
+        Result fetch();
+    }
+
+    private record Result(boolean found, Double latitude, Double longitude, String placeName, LocalDateTime expiresAt) {
+        boolean isExpired(LocalDateTime now) {
+            return expiresAt != null && !expiresAt.isAfter(now);
+        }
+    }
+}
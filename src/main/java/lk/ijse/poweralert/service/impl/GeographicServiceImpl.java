@@ -1,27 +1,29 @@
 package lk.ijse.poweralert.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.mapbox.api.geocoding.v5.GeocodingCriteria;
-import com.mapbox.api.geocoding.v5.MapboxGeocoding;
-import com.mapbox.api.geocoding.v5.models.CarmenFeature;
-import com.mapbox.api.geocoding.v5.models.GeocodingResponse;
 import com.mapbox.api.staticmap.v1.MapboxStaticMap;
 import com.mapbox.geojson.*;
-import lk.ijse.poweralert.entity.AlternativeResource;
+import lk.ijse.poweralert.dto.NearbyResourceDTO;
 import lk.ijse.poweralert.enums.AppEnums;
-import lk.ijse.poweralert.repository.AlternativeResourceRepository;
+import lk.ijse.poweralert.service.AlternativeResourceService;
+import lk.ijse.poweralert.service.GeocodingService;
 import lk.ijse.poweralert.service.GeographicService;
+import lk.ijse.poweralert.util.GeometryCache;
+import lk.ijse.poweralert.util.GeometryCodec;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
 import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import retrofit2.Response;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -41,13 +43,16 @@ public class GeographicServiceImpl implements GeographicService {
     private String mapboxApiKey;
 
     @Autowired
-    private MapboxGeocoding.Builder mapboxGeocodingBuilder;
+    private GeocodingService geocodingService;
 
     @Autowired
     private MapboxStaticMap.Builder mapboxStaticMapBuilder;
 
     @Autowired
-    private AlternativeResourceRepository alternativeResourceRepository;
+    private AlternativeResourceService alternativeResourceService;
+
+    @Autowired
+    private GeometryCache geometryCache;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
@@ -55,27 +60,12 @@ public class GeographicServiceImpl implements GeographicService {
     @Override
     public boolean isPointInPolygon(Point point, Polygon polygon) {
         try {
-            // Convert MapBox Geometry to JTS Geometry
-            org.locationtech.jts.geom.Point jtsPoint = geometryFactory.createPoint(
-                    new Coordinate(point.longitude(), point.latitude()));
-
-            List<List<Point>> coordinates = polygon.coordinates();
-            if (coordinates.isEmpty()) {
+            org.locationtech.jts.geom.Polygon jtsPolygon = toJtsPolygon(polygon);
+            if (jtsPolygon == null) {
                 return false;
             }
 
-            List<Point> outerRing = coordinates.get(0);
-            Coordinate[] coords = new Coordinate[outerRing.size()];
-
-            for (int i = 0; i < outerRing.size(); i++) {
-                Point p = outerRing.get(i);
-                coords[i] = new Coordinate(p.longitude(), p.latitude());
-            }
-
-            org.locationtech.jts.geom.LinearRing shell = geometryFactory.createLinearRing(coords);
-            org.locationtech.jts.geom.Polygon jtsPolygon = geometryFactory.createPolygon(shell);
-
-            return jtsPolygon.contains(jtsPoint);
+            return jtsPolygon.contains(createJtsPoint(point.latitude(), point.longitude()));
         } catch (Exception e) {
             logger.error("Error checking if point is in polygon: {}", e.getMessage(), e);
             return false;
@@ -85,20 +75,79 @@ public class GeographicServiceImpl implements GeographicService {
     @Override
     public boolean isAddressInOutageArea(double latitude, double longitude, String outageAreaJson) {
         try {
-            Point point = Point.fromLngLat(longitude, latitude);
-            Polygon polygon = geoJsonToPolygon(outageAreaJson);
-
-            if (polygon == null) {
+            if (outageAreaJson == null || outageAreaJson.isEmpty()) {
                 return false;
             }
 
-            return isPointInPolygon(point, polygon);
+            // Request-supplied GeoJSON is checked once, so it is neither prepared nor cached
+            Geometry geometry = GeometryCodec.fromGeoJson(outageAreaJson);
+
+            return geometry != null && geometry.contains(createJtsPoint(latitude, longitude));
         } catch (Exception e) {
             logger.error("Error checking if address is in outage area: {}", e.getMessage(), e);
             return false;
         }
     }
 
+    @Override
+    public PreparedGeometry getPreparedGeometry(String kind, Long id, Object version, String geoJson) {
+        if (geoJson == null || geoJson.isEmpty()) {
+            return null;
+        }
+
+        // Without a version the entry could go stale, so fall back to the content itself
+        Object cacheVersion = version != null ? version : geoJson;
+
+        return geometryCache.get(kind, id, cacheVersion, () -> GeometryCodec.fromGeoJson(geoJson));
+    }
+
+    @Override
+    public PreparedGeometry getPreparedGeometry(String kind, Long id, Object version, Supplier<byte[]> wkb, String geoJson) {
+        // The WKB is encoded from the GeoJSON, so there is none to read without it
+        if (version == null || geoJson == null || geoJson.isEmpty()) {
+            return getPreparedGeometry(kind, id, version, geoJson);
+        }
+
+        return geometryCache.get(kind, id, version, () -> {
+            Geometry geometry = GeometryCodec.fromWkb(wkb.get());
+            return geometry != null ? geometry : GeometryCodec.fromGeoJson(geoJson);
+        });
+    }
+
+    /**
+     * Convert a MapBox polygon, including its holes, to a JTS polygon
+     * @param polygon the MapBox polygon
+     * @return the JTS polygon, or null if the polygon has no outer ring
+     */
+    private org.locationtech.jts.geom.Polygon toJtsPolygon(Polygon polygon) {
+        if (polygon == null || polygon.coordinates().isEmpty()) {
+            return null;
+        }
+
+        List<List<Point>> rings = polygon.coordinates();
+        LinearRing shell = toLinearRing(rings.get(0));
+
+        LinearRing[] holes = new LinearRing[rings.size() - 1];
+        for (int i = 1; i < rings.size(); i++) {
+            holes[i - 1] = toLinearRing(rings.get(i));
+        }
+
+        return geometryFactory.createPolygon(shell, holes);
+    }
+
+    private LinearRing toLinearRing(List<Point> ring) {
+        Coordinate[] coords = new Coordinate[ring.size()];
+        for (int i = 0; i < ring.size(); i++) {
+            Point p = ring.get(i);
+            coords[i] = new Coordinate(p.longitude(), p.latitude());
+        }
+        return geometryFactory.createLinearRing(coords);
+    }
+
+    private org.locationtech.jts.geom.Point createJtsPoint(double latitude, double longitude) {
+        return geometryFactory.createPoint(new Coordinate(longitude, latitude));
+    }
+
     @Override
     public Polygon geoJsonToPolygon(String geoJsonString) {
         try {
@@ -232,54 +281,19 @@ public class GeographicServiceImpl implements GeographicService {
     }
 
     @Override
-    public List<Map<String, Object>> findNearbyResources(double latitude, double longitude, double radiusKm, String resourceType) {
+    public List<NearbyResourceDTO> findNearbyResources(double latitude, double longitude, double radiusKm, String resourceType) {
         try {
-            // Get all resources
-            List<AlternativeResource> allResources = alternativeResourceRepository.findByIsActiveTrue();
-
             // Filter by resource type if specified
+            AppEnums.ResourceType type = null;
             if (resourceType != null && !resourceType.isEmpty()) {
                 try {
-                    AppEnums.ResourceType type = AppEnums.ResourceType.valueOf(resourceType.toUpperCase());
-                    allResources = allResources.stream()
-                            .filter(r -> r.getType() == type)
-                            .collect(Collectors.toList());
+                    type = AppEnums.ResourceType.valueOf(resourceType.toUpperCase());
                 } catch (IllegalArgumentException e) {
                     logger.warn("Invalid resource type: {}", resourceType);
                 }
             }
 
-            // Filter by distance
-            List<Map<String, Object>> nearbyResources = new ArrayList<>();
-
-            for (AlternativeResource resource : allResources) {
-                double distance = calculateDistance(latitude, longitude,
-                        resource.getLatitude(), resource.getLongitude());
-
-                if (distance <= radiusKm) {
-                    Map<String, Object> resourceMap = new HashMap<>();
-                    resourceMap.put("id", resource.getId());
-                    resourceMap.put("name", resource.getName());
-                    resourceMap.put("type", resource.getType().name());
-                    resourceMap.put("address", resource.getAddress());
-                    resourceMap.put("latitude", resource.getLatitude());
-                    resourceMap.put("longitude", resource.getLongitude());
-                    resourceMap.put("distance", Math.round(distance * 10) / 10.0); // Round to 1 decimal place
-                    resourceMap.put("operatingHours", resource.getOperatingHours());
-                    resourceMap.put("contactNumber", resource.getContactNumber());
-
-                    nearbyResources.add(resourceMap);
-                }
-            }
-
-            // Sort by distance
-            nearbyResources.sort((r1, r2) -> {
-                Double d1 = (Double) r1.get("distance");
-                Double d2 = (Double) r2.get("distance");
-                return d1.compareTo(d2);
-            });
-
-            return nearbyResources;
+            return alternativeResourceService.findResourcesWithinRadius(latitude, longitude, radiusKm, type);
         } catch (Exception e) {
             logger.error("Error finding nearby resources: {}", e.getMessage(), e);
             return Collections.emptyList();
@@ -303,69 +317,11 @@ public class GeographicServiceImpl implements GeographicService {
 
     @Override
     public Map<String, Double> geocodeAddress(String address) {
-        try {
-            MapboxGeocoding geocoding = mapboxGeocodingBuilder
-                    .query(address)
-                    .geocodingTypes(GeocodingCriteria.TYPE_ADDRESS)
-                    .build();
-
-            Response<GeocodingResponse> response = geocoding.executeCall();
-
-            if (!response.isSuccessful() || response.body() == null) {
-                logger.error("Geocoding request failed: {}", response.message());
-                return null;
-            }
-
-            List<CarmenFeature> results = response.body().features();
-
-            if (results.isEmpty()) {
-                logger.warn("No geocoding results found for address: {}", address);
-                return null;
-            }
-
-            // Get the first result
-            CarmenFeature feature = results.get(0);
-            Point point = (Point) feature.geometry();
-
-            Map<String, Double> coordinates = new HashMap<>();
-            coordinates.put("latitude", point.latitude());
-            coordinates.put("longitude", point.longitude());
-
-            return coordinates;
-        } catch (Exception e) {
-            logger.error("Error geocoding address: {}", e.getMessage(), e);
-            return null;
-        }
+        return geocodingService.geocode(address);
     }
 
     @Override
     public String reverseGeocode(double latitude, double longitude) {
-        try {
-            MapboxGeocoding geocoding = mapboxGeocodingBuilder
-                    .query(Point.fromLngLat(longitude, latitude))
-                    .geocodingTypes(GeocodingCriteria.TYPE_ADDRESS)
-                    .build();
-
-            Response<GeocodingResponse> response = geocoding.executeCall();
-
-            if (!response.isSuccessful() || response.body() == null) {
-                logger.error("Reverse geocoding request failed: {}", response.message());
-                return null;
-            }
-
-            List<CarmenFeature> results = response.body().features();
-
-            if (results.isEmpty()) {
-                logger.warn("No reverse geocoding results found for coordinates: {}, {}", latitude, longitude);
-                return null;
-            }
-
-            // Get the first result
-            CarmenFeature feature = results.get(0);
-            return feature.placeName();
-        } catch (Exception e) {
-            logger.error("Error reverse geocoding: {}", e.getMessage(), e);
-            return null;
-        }
+        return geocodingService.reverseGeocode(latitude, longitude);
     }
-}
\ No newline at end of file
+}
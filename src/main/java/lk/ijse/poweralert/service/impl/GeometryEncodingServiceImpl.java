@@ -0,0 +1,78 @@
+package lk.ijse.poweralert.service.impl;
+
+import lk.ijse.poweralert.service.GeometryEncodingService;
+import lk.ijse.poweralert.util.GeometryCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class GeometryEncodingServiceImpl implements GeometryEncodingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeometryEncodingServiceImpl.class);
+
+    // Table, GeoJSON column and WKB column of every entity that stores both forms
+    private static final String[][] GEOMETRY_COLUMNS = {
+            {"outages", "geographical_area_json", "geographical_area_wkb"},
+            {"outage_geospatial_data", "geo_json", "geo_wkb"},
+            {"areas", "boundary_json", "boundary_wkb"}
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int backfillBinaryGeometry(int batchSize) {
+        int total = 0;
+        for (String[] columns : GEOMETRY_COLUMNS) {
+            total += backfillTable(columns[0], columns[1], columns[2], batchSize);
+        }
+        return total;
+    }
+
+    // Plain JDBC so that updatedAt, and with it every cached geometry version, stays untouched
+    private int backfillTable(String table, String jsonColumn, String wkbColumn, int batchSize) {
+        String selectSql = "SELECT id, " + jsonColumn + " FROM " + table +
+                " WHERE " + wkbColumn + " IS NULL AND " + jsonColumn + " IS NOT NULL AND id > ? ORDER BY id LIMIT ?";
+        // A row saved since the SELECT already has WKB from its new JSON, which must not be overwritten
+        String updateSql = "UPDATE " + table + " SET " + wkbColumn + " = ? WHERE id = ? AND " +
+                wkbColumn + " IS NULL AND " + jsonColumn + " = ?";
+
+        int encoded = 0;
+        long lastId = 0;
+        List<Object[]> updates = new ArrayList<>();
+
+        while (true) {
+            List<Object[]> rows = jdbcTemplate.query(selectSql,
+                    (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2)}, lastId, batchSize);
+
+            updates.clear();
+            for (Object[] row : rows) {
+                lastId = (Long) row[0];
+                byte[] wkb = GeometryCodec.geoJsonToWkb((String) row[1]);
+                if (wkb != null) {
+                    updates.add(new Object[]{wkb, row[0], row[1]});
+                } else {
+                    logger.warn("Cannot encode geometry of {} ID {}", table, row[0]);
+                }
+            }
+            if (!updates.isEmpty()) {
+                for (int updated : jdbcTemplate.batchUpdate(updateSql, updates)) {
+                    if (updated != 0) {
+                        encoded++;
+                    }
+                }
+            }
+
+            // Rows that cannot be encoded stay NULL; the id cursor keeps them from looping
+            if (rows.size() < batchSize) {
+                return encoded;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package lk.ijse.poweralert.service.impl;
+
+import com.mapbox.geojson.Polygon;
+import lk.ijse.poweralert.entity.SimplifiedGeometry;
+import lk.ijse.poweralert.repository.SimplifiedGeometryRepository;
+import lk.ijse.poweralert.service.GeographicService;
+import lk.ijse.poweralert.service.GeometryPyramidService;
+import lk.ijse.poweralert.util.GeoJsonUtil;
+import lk.ijse.poweralert.util.GeometrySimplifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+public class GeometryPyramidServiceImpl implements GeometryPyramidService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeometryPyramidServiceImpl.class);
+
+    @Autowired
+    private SimplifiedGeometryRepository simplifiedGeometryRepository;
+
+    @Autowired
+    private GeographicService geographicService;
+
+    @Override
+    @Transactional
+    public void rebuild(String ownerType, Long ownerId, String geoJson) {
+        simplifiedGeometryRepository.deleteByOwner(ownerType, ownerId);
+
+        Polygon polygon = parse(geoJson);
+        if (polygon == null) {
+            return;
+        }
+
+        double[] tolerances = GeometrySimplifier.PYRAMID_TOLERANCES;
+        List<Polygon> levels = GeoJsonUtil.simplifyPolygonLevels(polygon, tolerances);
+
+        List<SimplifiedGeometry> rows = new ArrayList<>(levels.size());
+        for (int level = 0; level < levels.size(); level++) {
+            Polygon simplified = levels.get(level);
+            SimplifiedGeometry row = new SimplifiedGeometry();
+            row.setOwnerType(ownerType);
+            row.setOwnerId(ownerId);
+            row.setLevel(level);
+            row.setTolerance(tolerances[level]);
+            row.setPointCount(simplified.coordinates().stream().mapToInt(List::size).sum());
+            row.setGeoJson(simplified.toJson());
+            rows.add(row);
+        }
+        simplifiedGeometryRepository.saveAll(rows);
+
+        logger.debug("Built {} level geometry pyramid for {} {} ({} -> {} points)", rows.size(), ownerType, ownerId,
+                polygon.coordinates().stream().mapToInt(List::size).sum(), rows.get(rows.size() - 1).getPointCount());
+    }
+
+    @Override
+    public int resolveLevel(Integer zoom, Double tolerance) {
+        if (zoom != null) {
+            return GeometrySimplifier.levelForZoom(zoom);
+        }
+        if (tolerance != null) {
+            return GeometrySimplifier.levelForTolerance(tolerance);
+        }
+        return -1;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getGeoJson(String ownerType, Long ownerId, String originalGeoJson, int level) {
+        if (level < 0 || originalGeoJson == null) {
+            return originalGeoJson;
+        }
+
+        return simplifiedGeometryRepository.findByOwnerTypeAndOwnerIdAndLevel(ownerType, ownerId, level)
+                .map(SimplifiedGeometry::getGeoJson)
+                .orElseGet(() -> {
+                    // Written before pyramids existed; simplify this one level on the fly
+                    Polygon polygon = parse(originalGeoJson);
+                    return polygon == null ? originalGeoJson : GeoJsonUtil.simplifyPolygon(
+                            polygon, GeometrySimplifier.PYRAMID_TOLERANCES[level]).toJson();
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, String> getGeoJsonByOwner(String ownerType, int level) {
+        return simplifiedGeometryRepository.findByOwnerTypeAndLevel(ownerType, level).stream()
+                .collect(Collectors.toMap(SimplifiedGeometry::getOwnerId, SimplifiedGeometry::getGeoJson));
+    }
+
+    private Polygon parse(String geoJson) {
+        if (geoJson == null || geoJson.isEmpty()) {
+            return null;
+        }
+        try {
+            return geographicService.geoJsonToPolygon(geoJson);
+        } catch (Exception e) {
+            logger.warn("Cannot build geometry pyramid from invalid GeoJSON: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package lk.ijse.poweralert.service.impl;
+
+import lk.ijse.poweralert.entity.Area;
+import lk.ijse.poweralert.repository.AreaRepository;
+import lk.ijse.poweralert.service.GeocodingProvider;
+import lk.ijse.poweralert.util.AreaSpatialIndex;
+import lk.ijse.poweralert.util.AreaSpatialIndex.AreaItem;
+import lk.ijse.poweralert.util.GeometryCodec;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Geocoding provider that answers from the areas table instead of Mapbox, for development
+ * and tests without network access. Addresses resolve to the centre of the area whose name
+ * or city they mention; coordinates resolve to the containing or nearest area.
+ * Every call reads the areas table, which the geocoding cache in front of it absorbs.
+ */
+@Component
+@ConditionalOnProperty(name = "app.geo.geocoding.provider", havingValue = "local")
+public class LocalGeocodingProvider implements GeocodingProvider {
+
+    private final AreaRepository areaRepository;
+    private final double maxCentroidDistanceKm;
+
+    public LocalGeocodingProvider(AreaRepository areaRepository,
+                                  @Value("${app.geo.area-locator.max-centroid-distance-km:25.0}") double maxCentroidDistanceKm) {
+        this.areaRepository = areaRepository;
+        this.maxCentroidDistanceKm = maxCentroidDistanceKm;
+    }
+
+    @Override
+    public Location geocode(String address) {
+        String text = " " + GeocodingServiceImpl.normalizeAddress(address) + " ";
+
+        // The longest mentioned name wins, so "Colombo 07" beats "Colombo"
+        Location best = null;
+        int bestLength = 0;
+        for (Area area : areaRepository.findAll()) {
+            for (String name : new String[]{area.getName(), area.getCity()}) {
+                String normalized = GeocodingServiceImpl.normalizeAddress(name);
+                if (normalized.length() > bestLength && text.contains(" " + normalized + " ")) {
+                    Location centre = centreOf(area);
+                    if (centre != null) {
+                        best = centre;
+                        bestLength = normalized.length();
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String reverseGeocode(double latitude, double longitude) {
+        List<AreaItem> items = new ArrayList<>();
+        for (Area area : areaRepository.findAll()) {
+            Location centre = centreOf(area);
+            if (centre != null) {
+                items.add(new AreaItem(area.getId(), area.getName(), area.getCity(), area.getDistrict(),
+                        boundaryOf(area), centre.latitude(), centre.longitude()));
+            }
+        }
+
+        AreaSpatialIndex.Match match = AreaSpatialIndex.build(items).locate(latitude, longitude, maxCentroidDistanceKm);
+        if (match == null) {
+            return null;
+        }
+
+        AreaItem area = match.area();
+        return Stream.of(area.getName(), area.getCity(), area.getDistrict())
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.joining(", "));
+    }
+
+    private Location centreOf(Area area) {
+        if (area.getLatitude() != null && area.getLongitude() != null) {
+            return new Location(area.getLatitude(), area.getLongitude());
+        }
+        Geometry boundary = geometryOf(area);
+        if (boundary == null) {
+            return null;
+        }
+        Point centroid = boundary.getCentroid();
+        return new Location(centroid.getY(), centroid.getX());
+    }
+
+    private PreparedGeometry boundaryOf(Area area) {
+        Geometry boundary = geometryOf(area);
+        return boundary == null ? null : PreparedGeometryFactory.prepare(boundary);
+    }
+
+    private Geometry geometryOf(Area area) {
+        return GeometryCodec.fromGeoJson(area.getBoundaryJson());
+    }
+}
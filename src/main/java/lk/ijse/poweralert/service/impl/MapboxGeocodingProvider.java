@@ -0,0 +1,70 @@
+package lk.ijse.poweralert.service.impl;
+
+import com.mapbox.api.geocoding.v5.GeocodingCriteria;
+import com.mapbox.api.geocoding.v5.MapboxGeocoding;
+import com.mapbox.api.geocoding.v5.models.CarmenFeature;
+import com.mapbox.api.geocoding.v5.models.GeocodingResponse;
+import com.mapbox.geojson.Point;
+import lk.ijse.poweralert.service.GeocodingProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "app.geo.geocoding.provider", havingValue = "mapbox", matchIfMissing = true)
+public class MapboxGeocodingProvider implements GeocodingProvider {
+
+    @Autowired
+    private MapboxGeocoding.Builder mapboxGeocodingBuilder;
+
+    @Override
+    public Location geocode(String address) {
+        MapboxGeocoding geocoding;
+        synchronized (mapboxGeocodingBuilder) {
+            geocoding = mapboxGeocodingBuilder
+                    .query(address)
+                    .geocodingTypes(GeocodingCriteria.TYPE_ADDRESS)
+                    .build();
+        }
+
+        CarmenFeature feature = firstResult(geocoding);
+        if (feature == null || !(feature.geometry() instanceof Point point)) {
+            return null;
+        }
+        return new Location(point.latitude(), point.longitude());
+    }
+
+    @Override
+    public String reverseGeocode(double latitude, double longitude) {
+        MapboxGeocoding geocoding;
+        synchronized (mapboxGeocodingBuilder) {
+            geocoding = mapboxGeocodingBuilder
+                    .query(Point.fromLngLat(longitude, latitude))
+                    .geocodingTypes(GeocodingCriteria.TYPE_ADDRESS)
+                    .build();
+        }
+
+        CarmenFeature feature = firstResult(geocoding);
+        return feature == null ? null : feature.placeName();
+    }
+
+    private CarmenFeature firstResult(MapboxGeocoding geocoding) {
+        Response<GeocodingResponse> response;
+        try {
+            response = geocoding.executeCall();
+        } catch (IOException e) {
+            throw new IllegalStateException("Mapbox geocoding request failed: " + e.getMessage(), e);
+        }
+
+        if (!response.isSuccessful() || response.body() == null) {
+            throw new IllegalStateException("Mapbox geocoding request failed: " + response.code() + " " + response.message());
+        }
+
+        List<CarmenFeature> results = response.body().features();
+        return results.isEmpty() ? null : results.get(0);
+    }
+}
@@ -2,11 +2,17 @@ package lk.ijse.poweralert.service.impl;
 
 import lk.ijse.poweralert.dto.MessageDTO;
 import lk.ijse.poweralert.entity.Message;
-import lk.ijse.poweralert.entity.User;
 import lk.ijse.poweralert.repository.MessageRepository;
 import lk.ijse.poweralert.repository.UserRepository;
+import lk.ijse.poweralert.service.DataVersionService;
 import lk.ijse.poweralert.service.MessageService;
+import lk.ijse.poweralert.util.RingBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,12 +23,28 @@ import java.util.stream.Collectors;
 @Service
 public class MessageServiceImpl implements MessageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(MessageServiceImpl.class);
+
     @Autowired
     private MessageRepository messageRepository;
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Value("${app.chat.buffer-size:200}")
+    private int bufferSize;
+
+    // Recent messages, loaded on first use; appliedVersion is the message version it reflects
+    private final Object bufferLock = new Object();
+    private volatile RingBuffer<MessageDTO> recent;
+    private long appliedVersion;
+
     @Override
     @Transactional(readOnly = true)
     public List<MessageDTO> getAllMessages() {
@@ -33,48 +55,117 @@ public class MessageServiceImpl implements MessageService {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<MessageDTO> getRecentMessages(int limit) {
-        List<Message> messages = messageRepository.findTop100ByOrderBySentAtDesc();
-
-        // Reverse to get oldest first
-        List<Message> orderedMessages = messages.stream()
-                .sorted((m1, m2) -> m1.getSentAt().compareTo(m2.getSentAt()))
-                .collect(Collectors.toList());
-
-        return orderedMessages.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        RingBuffer<MessageDTO> buffer = recent;
+        if (buffer == null) {
+            synchronized (bufferLock) {
+                if (recent == null) {
+                    reload();
+                }
+                buffer = recent;
+            }
+        }
+        return buffer.latest(limit);
     }
 
     @Override
     @Transactional
-    public MessageDTO sendMessage(String content, Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
+    public MessageDTO sendMessage(String content, Long userId, String username, String userRole) {
         Message message = new Message();
         message.setContent(content);
-        message.setUser(user);
+        // The sender comes from the authenticated principal, so only a reference is needed
+        message.setUser(userRepository.getReferenceById(userId));
         message.setSentAt(LocalDateTime.now());
-        message.setUsername(user.getUsername());
-        message.setUserRole(user.getRole().name());
+        message.setUsername(username);
+        message.setUserRole(userRole);
         // Set the sender_id to match the user_id
         message.setSenderId(userId);
 
         Message savedMessage = messageRepository.save(message);
+        MessageDTO messageDTO = convertToDTO(savedMessage);
+        dataVersionService.increment(DataVersionService.MESSAGES, version -> publish(messageDTO, version));
+        return messageDTO;
+    }
+
+    @Override
+    public void checkVersion() {
+        if (recent == null) {
+            return;
+        }
+
+        long version = dataVersionService.getVersion(DataVersionService.MESSAGES).version();
+        synchronized (bufferLock) {
+            if (version > appliedVersion) {
+                catchUp();
+            }
+        }
+    }
+
+    private void publish(MessageDTO message, long version) {
+        try {
+            synchronized (bufferLock) {
+                if (recent == null) {
+                    // Nothing buffered yet; the first read loads from the database
+                    messagingTemplate.convertAndSend(MESSAGE_TOPIC, message);
+                } else if (version <= appliedVersion) {
+                    // Already picked up by a version check
+                } else if (version == appliedVersion + 1) {
+                    // A reload between the commit and the version bump may already hold the message
+                    if (!isBuffered(message.getId())) {
+                        recent.add(message);
+                    }
+                    appliedVersion = version;
+                    messagingTemplate.convertAndSend(MESSAGE_TOPIC, message);
+                } else {
+                    // Messages from another node landed in between
+                    catchUp();
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Error publishing chat message {}: {}", message.getId(), e.getMessage(), e);
+        }
+    }
+
+    // Called with bufferLock held
+    private boolean isBuffered(Long messageId) {
+        return recent.latest(recent.capacity()).stream().anyMatch(m -> m.getId().equals(messageId));
+    }
+
+    // Called with bufferLock held
+    private void catchUp() {
+        MessageDTO last = recent.last();
+        long lastId = last == null ? 0 : last.getId();
+        reload();
+        for (MessageDTO message : recent.latest(recent.capacity())) {
+            if (message.getId() > lastId) {
+                messagingTemplate.convertAndSend(MESSAGE_TOPIC, message);
+            }
+        }
+    }
+
+    // Called with bufferLock held
+    private void reload() {
+        // Read the version first so a message racing the load is picked up again, never skipped
+        long version = dataVersionService.readVersion(DataVersionService.MESSAGES).version();
+        List<MessageDTO> messages = messageRepository.findByOrderByIdDesc(Limit.of(bufferSize)).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
 
-        return convertToDTO(savedMessage);
+        RingBuffer<MessageDTO> buffer = recent != null ? recent : new RingBuffer<>(bufferSize);
+        buffer.reset(messages.reversed());
+        recent = buffer;
+        appliedVersion = version;
+        logger.debug("Loaded {} recent chat messages at version {}", messages.size(), version);
     }
 
     private MessageDTO convertToDTO(Message message) {
         return MessageDTO.builder()
                 .id(message.getId())
                 .content(message.getContent())
-                .userId(message.getUser().getId())
+                .userId(message.getSenderId())
                 .username(message.getUsername())
                 .userRole(message.getUserRole())
                 .sentAt(message.getSentAt())
                 .build();
     }
-}
\ No newline at end of file
+}
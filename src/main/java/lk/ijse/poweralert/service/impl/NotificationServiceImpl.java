@@ -59,6 +59,9 @@ public class NotificationServiceImpl implements NotificationService {
     @Autowired
     private MessageSource messageSource;
 
+    @Autowired
+    private OutageAffectedAddressService outageAffectedAddressService;
+
     @Override
     @Async
     public void sendOutageNotifications(Outage outage) {
@@ -103,15 +106,12 @@ public class NotificationServiceImpl implements NotificationService {
      * @return List of affected user IDs
      */
     private List<Long> findAffectedUserIds(Outage outage) {
-        if (outage.getAffectedArea() == null || outage.getAffectedArea().getDistrict() == null) {
-            logger.warn("Outage {} has null affected area or district", outage.getId());
+        if (outage.getAffectedArea() == null) {
+            logger.warn("Outage {} has null affected area", outage.getId());
             return Collections.emptyList();
         }
 
-        return userRepository.findUsersInDistrict(outage.getAffectedArea().getDistrict())
-                .stream()
-                .map(User::getId)
-                .collect(Collectors.toList());
+        return outageAffectedAddressService.getAffectedUserIds(outage);
     }
 
     /**
@@ -0,0 +1,396 @@
+package lk.ijse.poweralert.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lk.ijse.poweralert.dto.AddressLocationDTO;
+import lk.ijse.poweralert.entity.Address;
+import lk.ijse.poweralert.entity.Area;
+import lk.ijse.poweralert.entity.Outage;
+import lk.ijse.poweralert.entity.User;
+import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
+import lk.ijse.poweralert.repository.AddressRepository;
+import lk.ijse.poweralert.repository.AreaRepository;
+import lk.ijse.poweralert.repository.OutageAffectedAddressRepository;
+import lk.ijse.poweralert.repository.OutageRepository;
+import lk.ijse.poweralert.repository.UserRepository;
+import lk.ijse.poweralert.service.AddressService;
+import lk.ijse.poweralert.service.DataVersionService;
+import lk.ijse.poweralert.service.GeographicService;
+import lk.ijse.poweralert.service.OutageAffectedAddressService;
+import lk.ijse.poweralert.service.UserOutageFeedService;
+import lk.ijse.poweralert.util.GeometryCache;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Service
+public class OutageAffectedAddressServiceImpl implements OutageAffectedAddressService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutageAffectedAddressServiceImpl.class);
+    private static final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    private static final List<OutageStatus> ACTIVE_STATUSES = Arrays.asList(OutageStatus.SCHEDULED, OutageStatus.ONGOING);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outage_affected_address (outage_id, address_id, user_id, created_at) VALUES (?, ?, ?, ?)";
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    // Counts live on the geospatial row so reads never aggregate the mapping table. Counting and storing
+    // in one statement makes the count a locking read, so concurrent writers cannot store stale totals;
+    // rows whose counts are unchanged are left alone
+    private static final String UPDATE_COUNTS_SQL =
+            "UPDATE outage_geospatial_data g JOIN (SELECT COUNT(*) AS households, COUNT(DISTINCT user_id) AS users " +
+            "FROM outage_affected_address WHERE outage_id = ?) c ON TRUE " +
+            "SET g.affected_household_count = c.households, g.affected_user_count = c.users, " +
+            "g.affected_population_estimate = ROUND(c.households * ?) " +
+            "WHERE g.outage_id = ? AND NOT (g.affected_household_count <=> c.households " +
+            "AND g.affected_user_count <=> c.users AND g.affected_population_estimate <=> ROUND(c.households * ?))";
+
+    @Autowired
+    private OutageAffectedAddressRepository outageAffectedAddressRepository;
+
+    @Autowired
+    private OutageRepository outageRepository;
+
+    @Autowired
+    private AddressRepository addressRepository;
+
+    @Autowired
+    private AreaRepository areaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AddressService addressService;
+
+    @Autowired
+    private GeographicService geographicService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private UserOutageFeedService userOutageFeedService;
+
+    @Value("${app.geo.population.persons-per-household:3.8}")
+    private double personsPerHousehold;
+
+    private final TransactionTemplate rebuildTransaction;
+
+    // One worker, so background rebuilds of the same outage never overlap
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "affected-address-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Outages written on this node whose rebuild has not finished yet, with the number of rebuilds owed
+    private final ConcurrentHashMap<Long, Integer> pendingRebuilds = new ConcurrentHashMap<>();
+
+    public OutageAffectedAddressServiceImpl(PlatformTransactionManager transactionManager) {
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdown();
+    }
+
+    @Override
+    @Transactional
+    public int rebuildForOutage(Long outageId) {
+        Outage outage = outageRepository.findById(outageId)
+                .orElseThrow(() -> new EntityNotFoundException("Outage not found with ID: " + outageId));
+
+        List<Long> usersBefore = outageAffectedAddressRepository.findUserIdsByOutageId(outageId);
+        outageAffectedAddressRepository.deleteByOutageId(outageId);
+
+        List<AddressLocationDTO> addresses = resolveAffectedAddresses(outage);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        // Plain JDBC batches: the IDENTITY key disables Hibernate insert batching
+        jdbcTemplate.batchUpdate(INSERT_SQL, addresses, INSERT_BATCH_SIZE, (ps, address) -> {
+            ps.setLong(1, outageId);
+            ps.setLong(2, address.getId());
+            ps.setLong(3, address.getUserId());
+            ps.setTimestamp(4, now);
+        });
+
+        Set<Long> usersAfter = addresses.stream().map(AddressLocationDTO::getUserId).collect(Collectors.toSet());
+        storeCounts(outageId);
+        userOutageFeedService.outageUsersChanged(outageId, usersBefore, usersAfter);
+
+        logger.info("Materialized {} affected addresses for outage ID: {}", addresses.size(), outageId);
+        return addresses.size();
+    }
+
+    @Override
+    @Transactional
+    public void rebuildForArea(Long areaId) {
+        List<Outage> outages = outageRepository.findByAffectedAreaIdOrderByStartTimeDesc(areaId);
+
+        for (Outage outage : outages) {
+            if (ACTIVE_STATUSES.contains(outage.getStatus())) {
+                rebuildForOutage(outage.getId());
+            }
+        }
+    }
+
+    @Override
+    public void rebuildForOutageAfterCommit(Long outageId) {
+        pendingRebuilds.merge(outageId, 1, Integer::sum);
+        afterCompletion(committed -> {
+            if (!committed) {
+                finishRebuild(outageId);
+                return;
+            }
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuildTransaction.executeWithoutResult(status -> rebuildForOutage(outageId));
+                } catch (EntityNotFoundException e) {
+                    logger.debug("Outage ID {} was deleted before its affected addresses were rebuilt", outageId);
+                } catch (Exception e) {
+                    logger.error("Error rebuilding affected addresses for outage ID {}: {}", outageId, e.getMessage(), e);
+                } finally {
+                    finishRebuild(outageId);
+                }
+            });
+        });
+    }
+
+    @Override
+    public void rebuildForAreaAfterCommit(Long areaId) {
+        afterCompletion(committed -> {
+            if (!committed) {
+                return;
+            }
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuildTransaction.executeWithoutResult(status -> rebuildForArea(areaId));
+                } catch (Exception e) {
+                    logger.error("Error rebuilding affected addresses for area ID {}: {}", areaId, e.getMessage(), e);
+                }
+            });
+        });
+    }
+
+    @Override
+    @Transactional
+    public void refreshAddress(Address address) {
+        // Outages the address leaves or joins need their counts refreshed
+        Set<Long> outageIdsBefore = new HashSet<>(outageAffectedAddressRepository.findOutageIdsByAddressId(address.getId()));
+        Set<Long> outageIdsAfter = new HashSet<>();
+        outageAffectedAddressRepository.deleteByAddressId(address.getId());
+
+        // Addresses without coordinates can still be affected through their district
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>();
+        for (Outage outage : outageRepository.findByStatusIn(ACTIVE_STATUSES)) {
+            if (affects(outage, address)) {
+                rows.add(new Object[]{outage.getId(), address.getId(), address.getUser().getId(), now});
+                outageIdsAfter.add(outage.getId());
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        }
+        logger.debug("Address ID {} is affected by {} active outages", address.getId(), rows.size());
+
+        Set<Long> touchedOutageIds = new HashSet<>(outageIdsBefore);
+        touchedOutageIds.addAll(outageIdsAfter);
+        recount(touchedOutageIds);
+
+        if (!outageIdsBefore.equals(outageIdsAfter)) {
+            userOutageFeedService.userOutagesChanged(address.getUser().getId());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void removeAddress(Long addressId) {
+        List<Long> outageIds = outageAffectedAddressRepository.findOutageIdsByAddressId(addressId);
+        if (outageIds.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = outageAffectedAddressRepository.findUserIdsByAddressId(addressId);
+        outageAffectedAddressRepository.deleteByAddressId(addressId);
+        recount(outageIds);
+        userIds.forEach(userOutageFeedService::userOutagesChanged);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getActiveOutageIds() {
+        return outageRepository.findByStatusIn(ACTIVE_STATUSES).stream()
+                .map(Outage::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> getAffectedUserIds(Outage outage) {
+        if (!pendingRebuilds.containsKey(outage.getId())
+                && outageAffectedAddressRepository.existsByOutageId(outage.getId())) {
+            return outageAffectedAddressRepository.findActiveUserIdsByOutageId(outage.getId());
+        }
+
+        // Not materialized yet or about to be rebuilt, e.g. fan-out inside the transaction that wrote the outage
+        Set<Long> userIds = resolveAffectedAddresses(outage).stream()
+                .map(AddressLocationDTO::getUserId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        return userRepository.findAllById(userIds).stream()
+                .filter(User::isActive)
+                .map(User::getId)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countAffectedAddresses(Long outageId) {
+        return outageAffectedAddressRepository.countByOutageId(outageId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countAffectedUsers(Long outageId) {
+        return outageAffectedAddressRepository.countUsersByOutageId(outageId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AffectedCounts getAffectedCounts(Long outageId) {
+        return toCounts(countAffectedAddresses(outageId), countAffectedUsers(outageId));
+    }
+
+    /**
+     * Recount only the given outages; both counts are index range scans on outage_id
+     */
+    private void recount(Collection<Long> outageIds) {
+        for (Long outageId : outageIds) {
+            storeCounts(outageId);
+        }
+    }
+
+    private void storeCounts(Long outageId) {
+        // Exact decimal, so MySQL rounds halves the same way as toCounts
+        BigDecimal perHousehold = BigDecimal.valueOf(personsPerHousehold);
+        int updated = jdbcTemplate.update(UPDATE_COUNTS_SQL, outageId, perHousehold, outageId, perHousehold);
+        if (updated > 0) {
+            dataVersionService.increment(DataVersionService.OUTAGE_GEOSPATIAL);
+        }
+    }
+
+    private void finishRebuild(Long outageId) {
+        pendingRebuilds.computeIfPresent(outageId, (id, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Run an action once the current transaction completes, telling it whether the transaction
+     * committed; without a transaction it runs immediately as committed
+     */
+    private void afterCompletion(Consumer<Boolean> action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.accept(status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            action.accept(true);
+        }
+    }
+
+    private AffectedCounts toCounts(long households, long users) {
+        return new AffectedCounts((int) households, (int) users, (int) Math.round(households * personsPerHousehold));
+    }
+
+    /**
+     * Find the addresses affected by an outage: those inside the outage geometry,
+     * else inside the area boundary, else in the area's district
+     */
+    private List<AddressLocationDTO> resolveAffectedAddresses(Outage outage) {
+        PreparedGeometry geometry = getAffectedGeometry(outage);
+        if (geometry != null) {
+            return addressService.findAddressesInGeometry(geometry);
+        }
+
+        Area area = outage.getAffectedArea();
+        if (area == null || area.getDistrict() == null) {
+            logger.warn("Outage {} has no geometry and no affected district", outage.getId());
+            return List.of();
+        }
+        return addressRepository.findLocationsByDistrict(area.getDistrict());
+    }
+
+    /**
+     * Check a single address against the same rule as resolveAffectedAddresses
+     */
+    private boolean affects(Outage outage, Address address) {
+        PreparedGeometry geometry = getAffectedGeometry(outage);
+        if (geometry != null) {
+            return address.getLatitude() != null && address.getLongitude() != null
+                    && geometry.contains(geometryFactory.createPoint(
+                            new Coordinate(address.getLongitude(), address.getLatitude())));
+        }
+
+        Area area = outage.getAffectedArea();
+        return area != null && area.getDistrict() != null && area.getDistrict().equals(address.getDistrict());
+    }
+
+    private PreparedGeometry getAffectedGeometry(Outage outage) {
+        try {
+            PreparedGeometry geometry = geographicService.getPreparedGeometry(GeometryCache.KIND_OUTAGE,
+                    outage.getId(), outage.getUpdatedAt(),
+                    () -> outageRepository.findGeographicalAreaWkbById(outage.getId()),
+                    outage.getGeographicalAreaJson());
+            if (geometry != null) {
+                return geometry;
+            }
+
+            Area area = outage.getAffectedArea();
+            if (area == null) {
+                return null;
+            }
+            return geographicService.getPreparedGeometry(GeometryCache.KIND_AREA,
+                    area.getId(), area.getUpdatedAt(), () -> areaRepository.findBoundaryWkbById(area.getId()),
+                    area.getBoundaryJson());
+        } catch (Exception e) {
+            logger.error("Error parsing geometry for outage ID {}: {}", outage.getId(), e.getMessage(), e);
+            return null;
+        }
+    }
+}
@@ -8,21 +8,47 @@ import lk.ijse.poweralert.dto.OutageGeospatialDTO;
 import lk.ijse.poweralert.entity.Outage;
 import lk.ijse.poweralert.entity.OutageGeospatialData;
 import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
+import lk.ijse.poweralert.event.OutageChangeEvent;
+import lk.ijse.poweralert.event.OutageChangeEvent.ChangeType;
+import lk.ijse.poweralert.event.OutageChangePublisher;
 import lk.ijse.poweralert.repository.OutageGeospatialRepository;
 import lk.ijse.poweralert.repository.OutageRepository;
+import lk.ijse.poweralert.service.DataVersionService;
 import lk.ijse.poweralert.service.GeographicService;
+import lk.ijse.poweralert.service.GeometryPyramidService;
+import lk.ijse.poweralert.service.OutageAffectedAddressService;
 import lk.ijse.poweralert.service.OutageGeospatialService;
+import lk.ijse.poweralert.util.GeoJsonStreamWriter;
+import lk.ijse.poweralert.util.GeometryCache;
+import lk.ijse.poweralert.util.OutageSpatialIndex;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import jakarta.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +56,20 @@ public class OutageGeospatialServiceImpl implements OutageGeospatialService {
 
     private static final Logger logger = LoggerFactory.getLogger(OutageGeospatialServiceImpl.class);
 
+    // Geometry text is read as a character stream; the pyramid level is used when one is stored
+    private static final String ACTIVE_OUTAGE_GEOJSON_SQL =
+            "SELECT o.id, o.type, o.status, o.start_time, o.estimated_end_time, o.area_id, a.name AS area_name, " +
+            "COALESCE(s.geo_json, o.geographical_area_json) AS geo_json " +
+            "FROM outages o JOIN areas a ON a.id = o.area_id " +
+            "LEFT JOIN simplified_geometries s ON s.owner_type = ? AND s.owner_id = o.id AND s.level = ? " +
+            "WHERE o.status IN ('SCHEDULED', 'ONGOING') AND o.geographical_area_json IS NOT NULL " +
+            "ORDER BY o.id";
+
+    private static final GeoJsonStreamWriter.Style ONGOING_STYLE =
+            new GeoJsonStreamWriter.Style("#FF0000", "#990000", 2.0, 0.5);
+    private static final GeoJsonStreamWriter.Style SCHEDULED_STYLE =
+            new GeoJsonStreamWriter.Style("#FFA500", "#CC7A00", 2.0, 0.4);
+
     @Autowired
     private OutageGeospatialRepository outageGeospatialRepository;
 
@@ -42,6 +82,32 @@ public class OutageGeospatialServiceImpl implements OutageGeospatialService {
     @Autowired
     private ModelMapper modelMapper;
 
+    @Autowired
+    private GeometryCache geometryCache;
+
+    @Autowired
+    private OutageChangePublisher outageChangePublisher;
+
+    @Autowired
+    private OutageAffectedAddressService outageAffectedAddressService;
+
+    @Autowired
+    private GeometryPyramidService geometryPyramidService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+
+    private final Object indexLock = new Object();
+    private final AtomicLong indexGeneration = new AtomicLong();
+    private volatile OutageSpatialIndex activeOutageIndex;
+    // Versions seen by the last check; changes on other nodes never fire the local change event
+    private long[] checkedVersions;
+
     @Value("${mapbox.static-map.width:800}")
     private int staticMapWidth;
 
@@ -100,9 +166,6 @@ public class OutageGeospatialServiceImpl implements OutageGeospatialService {
             geospatialData.setBoundingBoxWest(outageGeospatialDTO.getBoundingBoxWest());
         }
 
-        // Set affected population estimate if provided
-        geospatialData.setAffectedPopulationEstimate(outageGeospatialDTO.getAffectedPopulationEstimate());
-
         // Generate static map URL if not provided
         if (outageGeospatialDTO.getStaticMapUrl() == null || outageGeospatialDTO.getStaticMapUrl().isEmpty()) {
             String staticMapUrl = geographicService.generateStaticMapUrl(
@@ -120,6 +183,12 @@ public class OutageGeospatialServiceImpl implements OutageGeospatialService {
         outage.setGeographicalAreaJson(outageGeospatialDTO.getGeoJson());
         outage.setUpdatedAt(LocalDateTime.now());
         outageRepository.save(outage);
+        outageAffectedAddressService.rebuildForOutageAfterCommit(outage.getId());
+        applyAffectedCounts(savedData);
+        geometryPyramidService.rebuild(GeometryPyramidService.OWNER_OUTAGE,
+                outage.getId(), outage.getGeographicalAreaJson());
+        outageChangePublisher.publish(this, outage.getId(), ChangeType.GEOMETRY_CHANGED);
+        dataVersionService.increment(DataVersionService.OUTAGE_GEOSPATIAL);
 
         return convertToDTO(savedData);
     }
@@ -141,6 +210,16 @@ public class OutageGeospatialServiceImpl implements OutageGeospatialService {
         return convertToDTO(geospatialData);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public OutageGeospatialDTO getGeospatialDataForOutage(Long outageId, Integer zoom, Double tolerance) {
+        OutageGeospatialDTO dto = getGeospatialDataForOutage(outageId);
+        int level = geometryPyramidService.resolveLevel(zoom, tolerance);
+        dto.setGeoJson(geometryPyramidService.getGeoJson(
+                GeometryPyramidService.OWNER_OUTAGE, outageId, dto.getGeoJson(), level));
+        return dto;
+    }
+
     @Override
     @Transactional
     public OutageGeospatialDTO updateGeospatialData(OutageGeospatialDTO outageGeospatialDTO) {
@@ -171,11 +250,6 @@ public class OutageGeospatialServiceImpl implements OutageGeospatialService {
             geospatialData.setBoundingBoxWest(boundingBox.get("west"));
         }
 
-        // Update affected population estimate if provided
-        if (outageGeospatialDTO.getAffectedPopulationEstimate() != null) {
-            geospatialData.setAffectedPopulationEstimate(outageGeospatialDTO.getAffectedPopulationEstimate());
-        }
-
         // Regenerate static map URL
         String staticMapUrl = geographicService.generateStaticMapUrl(
                 outageGeospatialDTO.getGeoJson(), staticMapWidth, staticMapHeight);
@@ -183,12 +257,19 @@ public class OutageGeospatialServiceImpl implements OutageGeospatialService {
 
         // Save entity
         OutageGeospatialData updatedData = outageGeospatialRepository.save(geospatialData);
+        geometryCache.invalidate(GeometryCache.KIND_OUTAGE_GEO, outage.getId());
         logger.info("Geospatial data updated for outage ID: {}", outage.getId());
 
         // Update the outage's geographical area JSON for backward compatibility
         outage.setGeographicalAreaJson(outageGeospatialDTO.getGeoJson());
         outage.setUpdatedAt(LocalDateTime.now());
         outageRepository.save(outage);
+        outageAffectedAddressService.rebuildForOutageAfterCommit(outage.getId());
+        applyAffectedCounts(updatedData);
+        geometryPyramidService.rebuild(GeometryPyramidService.OWNER_OUTAGE,
+                outage.getId(), outage.getGeographicalAreaJson());
+        outageChangePublisher.publish(this, outage.getId(), ChangeType.GEOMETRY_CHANGED);
+        dataVersionService.increment(DataVersionService.OUTAGE_GEOSPATIAL);
 
         return convertToDTO(updatedData);
     }
@@ -209,6 +290,7 @@ public class OutageGeospatialServiceImpl implements OutageGeospatialService {
 
         // Delete geospatial data
         outageGeospatialRepository.delete(geospatialData);
+        geometryCache.invalidate(GeometryCache.KIND_OUTAGE_GEO, outageId);
         logger.info("Geospatial data deleted for outage ID: {}", outageId);
 
         // Clear the outage's geographical area JSON for backward compatibility
@@ -217,7 +299,11 @@ public class OutageGeospatialServiceImpl implements OutageGeospatialService {
             outage.setGeographicalAreaJson(null);
             outage.setUpdatedAt(LocalDateTime.now());
             outageRepository.save(outage);
+            outageAffectedAddressService.rebuildForOutageAfterCommit(outageId);
+            geometryPyramidService.rebuild(GeometryPyramidService.OWNER_OUTAGE, outageId, null);
+            outageChangePublisher.publish(this, outageId, ChangeType.GEOMETRY_CHANGED);
         }
+        dataVersionService.increment(DataVersionService.OUTAGE_GEOSPATIAL);
 
         return true;
     }
@@ -234,19 +320,22 @@ public class OutageGeospatialServiceImpl implements OutageGeospatialService {
             return Collections.emptyList();
         }
 
-        // Then do a more precise check with actual polygon
+        // Then do a more precise check against the cached prepared polygon
         List<Long> outageIds = new ArrayList<>();
-        Point point = Point.fromLngLat(longitude, latitude);
+        org.locationtech.jts.geom.Point point = geometryFactory.createPoint(new Coordinate(longitude, latitude));
 
         for (OutageGeospatialData data : candidates) {
+            Long outageId = data.getOutage().getId();
             try {
-                Polygon polygon = geographicService.geoJsonToPolygon(data.getGeoJson());
-                if (polygon != null && geographicService.isPointInPolygon(point, polygon)) {
-                    outageIds.add(data.getOutage().getId());
+                PreparedGeometry geometry = geographicService.getPreparedGeometry(GeometryCache.KIND_OUTAGE_GEO,
+                        outageId, data.getUpdatedAt(),
+                        () -> outageGeospatialRepository.findGeoWkbByOutageId(outageId), data.getGeoJson());
+                if (geometry != null && geometry.contains(point)) {
+                    outageIds.add(outageId);
                 }
             } catch (Exception e) {
                 logger.error("Error checking point in polygon for outage ID {}: {}",
-                        data.getOutage().getId(), e.getMessage(), e);
+                        outageId, e.getMessage(), e);
             }
         }
 
@@ -267,7 +356,7 @@ public class OutageGeospatialServiceImpl implements OutageGeospatialService {
         }
 
         // Get outage IDs that contain the point
-        List<Long> affectingOutageIds = findOutagesContainingPoint(latitude, longitude);
+        Set<Long> affectingOutageIds = new HashSet<>(findOutagesContainingPoint(latitude, longitude));
 
         // Create result map
         Map<Long, Boolean> result = new HashMap<>();
@@ -278,6 +367,139 @@ public class OutageGeospatialServiceImpl implements OutageGeospatialService {
         return result;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long[][] findActiveOutagesContainingPoints(double[] latitudes, double[] longitudes, boolean spatialSort) {
+        if (latitudes.length != longitudes.length) {
+            throw new IllegalArgumentException("Latitude and longitude arrays must have the same length");
+        }
+
+        logger.info("Batch checking {} points against active outages", latitudes.length);
+        return getActiveOutageIndex().queryAll(latitudes, longitudes, spatialSort);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OutageSpatialIndex.Item> findActiveOutagesIntersecting(Envelope envelope) {
+        return getActiveOutageIndex().queryEnvelope(envelope);
+    }
+
+    /**
+     * Drop the active outage index once an outage change has been committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOutageChange(OutageChangeEvent event) {
+        indexGeneration.incrementAndGet();
+        activeOutageIndex = null;
+    }
+
+    @Override
+    public synchronized void checkVersion() {
+        long[] versions = {
+                dataVersionService.getVersion(DataVersionService.OUTAGES).version(),
+                dataVersionService.getVersion(DataVersionService.OUTAGE_GEOSPATIAL).version()
+        };
+        if (checkedVersions != null && !Arrays.equals(versions, checkedVersions)) {
+            logger.debug("Dropping active outage spatial index after a data version change");
+            indexGeneration.incrementAndGet();
+            activeOutageIndex = null;
+        }
+        checkedVersions = versions;
+    }
+
+    /**
+     * Get the shared spatial index of active outages, rebuilding it after changes
+     */
+    private OutageSpatialIndex getActiveOutageIndex() {
+        OutageSpatialIndex index = activeOutageIndex;
+        if (index != null) {
+            return index;
+        }
+
+        synchronized (indexLock) {
+            if (activeOutageIndex != null) {
+                return activeOutageIndex;
+            }
+
+            long generation = indexGeneration.get();
+            List<Outage> activeOutages = outageRepository.findByStatusIn(
+                    Arrays.asList(OutageStatus.SCHEDULED, OutageStatus.ONGOING));
+
+            Map<Long, PreparedGeometry> geometries = new HashMap<>();
+            for (Outage outage : activeOutages) {
+                PreparedGeometry geometry = geographicService.getPreparedGeometry(GeometryCache.KIND_OUTAGE,
+                        outage.getId(), outage.getUpdatedAt(),
+                        () -> outageRepository.findGeographicalAreaWkbById(outage.getId()),
+                        outage.getGeographicalAreaJson());
+                if (geometry != null) {
+                    geometries.put(outage.getId(), geometry);
+                }
+            }
+
+            index = OutageSpatialIndex.build(geometries);
+            logger.info("Built active outage spatial index with {} geometries", index.size());
+
+            // Only publish the index if no change arrived while it was being built
+            if (generation == indexGeneration.get()) {
+                activeOutageIndex = index;
+            }
+            return index;
+        }
+    }
+
+    @Override
+    public int writeActiveOutagesGeoJson(OutputStream out, Integer zoom, Double tolerance,
+                                         GeoJsonStreamWriter.Style style) throws IOException {
+        int level = geometryPyramidService.resolveLevel(zoom, tolerance);
+
+        try (GeoJsonStreamWriter writer = new GeoJsonStreamWriter(out)) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement(ACTIVE_OUTAGE_GEOJSON_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // Ask the MySQL driver to stream rows instead of buffering the whole result
+                ps.setFetchSize(Integer.MIN_VALUE);
+                ps.setString(1, GeometryPyramidService.OWNER_OUTAGE);
+                ps.setInt(2, level);
+                return ps;
+            }, (RowCallbackHandler) rs -> writeOutageFeature(writer, rs, style));
+
+            logger.debug("Streamed {} active outage features at level {}", writer.getFeatureCount(), level);
+            return writer.getFeatureCount();
+        }
+    }
+
+    private void writeOutageFeature(GeoJsonStreamWriter writer, ResultSet rs, GeoJsonStreamWriter.Style style)
+            throws SQLException {
+        long outageId = rs.getLong("id");
+        String status = rs.getString("status");
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("outageId", outageId);
+        properties.put("type", rs.getString("type"));
+        properties.put("status", status);
+        properties.put("startTime", toIsoString(rs.getTimestamp("start_time")));
+        properties.put("estimatedEndTime", toIsoString(rs.getTimestamp("estimated_end_time")));
+        properties.put("areaId", rs.getLong("area_id"));
+        properties.put("areaName", rs.getString("area_name"));
+
+        GeoJsonStreamWriter.Style featureStyle = style != null ? style
+                : OutageStatus.ONGOING.name().equals(status) ? ONGOING_STYLE : SCHEDULED_STYLE;
+
+        try (Reader geoJson = rs.getCharacterStream("geo_json")) {
+            if (geoJson != null) {
+                writer.writeFeatures(outageId, properties, featureStyle, geoJson);
+            }
+        } catch (GeoJsonStreamWriter.MalformedGeoJsonException e) {
+            logger.warn("Skipping outage ID {} in GeoJSON stream: {}", outageId, e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String toIsoString(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime().toString();
+    }
+
     @Override
     @Transactional
     public String generateStaticMapForOutage(Long outageId) {
@@ -299,6 +521,7 @@ public class OutageGeospatialServiceImpl implements OutageGeospatialService {
         // Update entity
         geospatialData.setStaticMapUrl(staticMapUrl);
         outageGeospatialRepository.save(geospatialData);
+        dataVersionService.increment(DataVersionService.OUTAGE_GEOSPATIAL);
 
         return staticMapUrl;
     }
@@ -377,6 +600,18 @@ public class OutageGeospatialServiceImpl implements OutageGeospatialService {
         }
     }
 
+    /**
+     * Copy the currently materialized counts onto the managed entity, so its flush does not
+     * clear them; the background rebuild replaces them once the new geometry is committed
+     */
+    private void applyAffectedCounts(OutageGeospatialData geospatialData) {
+        OutageAffectedAddressService.AffectedCounts counts =
+                outageAffectedAddressService.getAffectedCounts(geospatialData.getOutage().getId());
+        geospatialData.setAffectedHouseholdCount(counts.households());
+        geospatialData.setAffectedUserCount(counts.users());
+        geospatialData.setAffectedPopulationEstimate(counts.population());
+    }
+
     /**
      * Convert OutageGeospatialData entity to DTO
      * @param geospatialData the entity to convert
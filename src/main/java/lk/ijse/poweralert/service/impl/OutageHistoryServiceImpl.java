@@ -1,7 +1,7 @@
 package lk.ijse.poweralert.service.impl;
 
+import lk.ijse.poweralert.dto.CursorPageDTO;
 import lk.ijse.poweralert.dto.OutageHistoryDTO;
-import lk.ijse.poweralert.entity.Area;
 import lk.ijse.poweralert.entity.Outage;
 import lk.ijse.poweralert.entity.OutageHistory;
 import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
@@ -10,19 +10,31 @@ import lk.ijse.poweralert.repository.AreaRepository;
 import lk.ijse.poweralert.repository.OutageHistoryRepository;
 import lk.ijse.poweralert.repository.OutageRepository;
 import lk.ijse.poweralert.service.OutageHistoryService;
+import lk.ijse.poweralert.service.OutageStatisticsService;
+import lk.ijse.poweralert.util.KeysetCursor;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityNotFoundException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.YearMonth;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +42,32 @@ public class OutageHistoryServiceImpl implements OutageHistoryService {
 
     private static final Logger logger = LoggerFactory.getLogger(OutageHistoryServiceImpl.class);
 
+    // The average is assigned last, so MySQL computes it from the updated count and hours
+    private static final String UPSERT_SQL =
+            "INSERT INTO outage_history (area_id, type, year, month, outage_count, total_outage_hours, " +
+            "average_restoration_time) VALUES (?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+            "outage_count = outage_count + VALUES(outage_count), " +
+            "total_outage_hours = total_outage_hours + VALUES(total_outage_hours), " +
+            "average_restoration_time = IF(outage_count > 0, total_outage_hours / outage_count, 0)";
+    private static final int UPSERT_BATCH_SIZE = 500;
+
+    private static final String OUTAGE_TOTALS_SQL =
+            "SELECT area_id, type, YEAR(start_time) AS year, MONTH(start_time) AS month, COUNT(*) AS outage_count, " +
+            "COALESCE(SUM(CASE WHEN status = 'COMPLETED' AND actual_end_time IS NOT NULL " +
+            "THEN TIMESTAMPDIFF(SECOND, start_time, actual_end_time) END), 0) AS restoration_seconds " +
+            "FROM outages GROUP BY area_id, type, YEAR(start_time), MONTH(start_time)";
+
+    private static final String HISTORY_TOTALS_SQL =
+            "SELECT area_id, type, year, month, SUM(outage_count) AS outage_count, " +
+            "SUM(total_outage_hours) AS total_outage_hours FROM outage_history GROUP BY area_id, type, year, month";
+
+    private static final String RECONCILE_LOCK = "outage_history_reconcile";
+
+    private static final Comparator<HistoryKey> KEY_ORDER = Comparator.comparingLong(HistoryKey::areaId)
+            .thenComparing(HistoryKey::type)
+            .thenComparingInt(HistoryKey::year)
+            .thenComparingInt(HistoryKey::month);
+
     @Autowired
     private OutageHistoryRepository outageHistoryRepository;
 
@@ -42,24 +80,43 @@ public class OutageHistoryServiceImpl implements OutageHistoryService {
     @Autowired
     private ModelMapper modelMapper;
 
-    @Override
-    @Transactional(readOnly = true)
-    public List<OutageHistoryDTO> getAllOutageHistory(Integer year, Integer month) {
-        logger.info("Fetching all outage history with filters - year: {}, month: {}", year, month);
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
-        List<OutageHistory> historyList;
+    @Autowired
+    private OutageStatisticsService outageStatisticsService;
 
-        if (year != null && month != null) {
-            historyList = outageHistoryRepository.findByYearAndMonth(year, month);
-        } else if (year != null) {
-            historyList = outageHistoryRepository.findByYear(year);
-        } else {
-            historyList = outageHistoryRepository.findAll(Sort.by(Sort.Direction.DESC, "year", "month"));
-        }
+    private final TransactionTemplate writeTransaction;
 
-        return historyList.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    // Queued history changes by row
+    private final ConcurrentHashMap<HistoryKey, Delta> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    // Differences seen by the previous reconciliation run
+    private Map<HistoryKey, Delta> previousDrift = Map.of();
+
+    public OutageHistoryServiceImpl(PlatformTransactionManager transactionManager) {
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<OutageHistoryDTO> getAllOutageHistory(Integer year, Integer month, String cursor, Integer limit) {
+        logger.info("Fetching all outage history with filters - year: {}, month: {}", year, month);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.resolveLimit(limit);
+
+        // History rows have no timestamp; the cursor carries their period as the first day of the month
+        List<OutageHistory> historyList = after == null
+                ? outageHistoryRepository.findPage(year, month, Limit.of(pageSize + 1))
+                : outageHistoryRepository.findPageAfter(year, month, after.time().getYear(),
+                        after.time().getMonthValue(), after.id(), Limit.of(pageSize + 1));
+
+        return CursorPageDTO.of(historyList, pageSize,
+                history -> new KeysetCursor(LocalDateTime.of(history.getYear(), history.getMonth(), 1, 0, 0), history.getId()),
+                page -> page.stream()
+                        .map(this::convertToDTO)
+                        .collect(Collectors.toList()));
     }
 
     @Override
@@ -108,175 +165,218 @@ public class OutageHistoryServiceImpl implements OutageHistoryService {
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public Map<String, Object> getOutageStatistics() {
-        logger.info("Generating outage statistics for admin dashboard");
-
-        Map<String, Object> statistics = new HashMap<>();
-
-        // Get current year and month
-        int currentYear = LocalDateTime.now().getYear();
-        int currentMonth = LocalDateTime.now().getMonthValue();
-
-        // 1. Total outages (completed and ongoing)
-        long totalOutages = outageRepository.count();
-        statistics.put("totalOutages", totalOutages);
+    public Contribution contributionOf(Outage outage) {
+        if (outage.getAffectedArea() == null || outage.getType() == null || outage.getStartTime() == null) {
+            return null;
+        }
 
-        // 2. Active outages (scheduled and ongoing)
-        long activeOutages = outageRepository.countByStatusIn(
-                Arrays.asList(OutageStatus.SCHEDULED, OutageStatus.ONGOING));
-        statistics.put("activeOutages", activeOutages);
+        // Only completed outages have a restoration time
+        Double hours = outage.getStatus() == OutageStatus.COMPLETED && outage.getActualEndTime() != null
+                ? calculateHoursBetween(outage.getStartTime(), outage.getActualEndTime())
+                : null;
+        return new Contribution(outage.getAffectedArea().getId(), outage.getType(), outage.getStatus(),
+                outage.getStartTime().getYear(), outage.getStartTime().getMonthValue(), hours);
+    }
 
-        // 3. Outages by type
-        Map<String, Long> outagesByType = new HashMap<>();
-        for (OutageType type : OutageType.values()) {
-            long count = outageRepository.countByType(type);
-            outagesByType.put(type.name(), count);
+    @Override
+    public void recordChange(Contribution before, Outage outage) {
+        Contribution after = contributionOf(outage);
+        if (Objects.equals(before, after)) {
+            return;
         }
-        statistics.put("outagesByType", outagesByType);
 
-        // 3.5 Get average restoration time
-        Double avgRestorationTime = getAverageRestorationTime();
-        statistics.put("averageRestorationTime", avgRestorationTime);
+        outageStatisticsService.recordChange(before, after);
+        runAfterCommit(() -> {
+            if (before != null) {
+                queue(before, -1, -before.hours());
+            }
+            if (after != null) {
+                queue(after, 1, after.hours());
+            }
+        });
+    }
 
-        // 4. Recent monthly statistics (last 6 months)
-        List<Map<String, Object>> monthlyStats = new ArrayList<>();
+    @Override
+    public int flushPendingChanges() {
+        if (pending.isEmpty()) {
+            return 0;
+        }
 
-        for (int i = 0; i < 6; i++) {
-            YearMonth ym = YearMonth.of(currentYear, currentMonth).minusMonths(i);
-            int year = ym.getYear();
-            int month = ym.getMonthValue();
+        flushLock.lock();
+        try {
+            // Take each key's delta atomically; changes queued meanwhile start a new delta
+            List<Map.Entry<HistoryKey, Delta>> batch = new ArrayList<>();
+            for (HistoryKey key : pending.keySet()) {
+                Delta delta = pending.remove(key);
+                if (delta != null && !delta.isZero()) {
+                    batch.add(Map.entry(key, delta));
+                }
+            }
+            if (batch.isEmpty()) {
+                return 0;
+            }
 
-            List<OutageHistory> monthHistory = outageHistoryRepository.findByYearAndMonth(year, month);
+            try {
+                writeTransaction.executeWithoutResult(status -> upsert(batch));
+            } catch (RuntimeException e) {
+                // Requeue so the next flush retries; nothing was written
+                batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Delta::plus));
+                throw e;
+            }
 
-            Map<String, Object> monthData = new HashMap<>();
-            monthData.put("year", year);
-            monthData.put("month", month);
+            logger.debug("Flushed {} outage history rows", batch.size());
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
 
-            // Calculate totals across all areas
-            int totalCount = 0;
-            double totalHours = 0;
-            double monthAvgRestorationTime = 0;
+    @Override
+    public int reconcile() {
+        // Holding the flush lock keeps queued changes from moving into the table mid-comparison
+        flushLock.lock();
+        try {
+            flushPendingChanges();
+
+            Integer corrected = writeTransaction.execute(status -> {
+                // One node at a time, or two nodes would apply the same correction
+                Integer locked = jdbcTemplate.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, RECONCILE_LOCK);
+                if (locked == null || locked != 1) {
+                    logger.debug("Outage history reconciliation is running on another node");
+                    return 0;
+                }
+                try {
+                    return reconcileLocked();
+                } finally {
+                    jdbcTemplate.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, RECONCILE_LOCK);
+                }
+            });
+            return corrected == null ? 0 : corrected;
+        } finally {
+            flushLock.unlock();
+        }
+    }
 
-            for (OutageHistory history : monthHistory) {
-                totalCount += history.getOutageCount();
-                totalHours += history.getTotalOutageHours();
-            }
+    @PreDestroy
+    public void flushOnShutdown() {
+        try {
+            flushPendingChanges();
+        } catch (Exception e) {
+            logger.error("Error flushing outage history on shutdown: {}", e.getMessage(), e);
+        }
+    }
 
-            if (totalCount > 0) {
-                monthAvgRestorationTime = totalHours / totalCount;
+    private int reconcileLocked() {
+        Map<HistoryKey, Delta> expected = new HashMap<>();
+        jdbcTemplate.query(OUTAGE_TOTALS_SQL, rs -> {
+            expected.put(readKey(rs), new Delta(rs.getInt("outage_count"), rs.getLong("restoration_seconds") / 3600.0));
+        });
+        Map<HistoryKey, Delta> stored = new HashMap<>();
+        jdbcTemplate.query(HISTORY_TOTALS_SQL, rs -> {
+            stored.put(readKey(rs), new Delta(rs.getInt("outage_count"), rs.getDouble("total_outage_hours")));
+        });
+
+        // Changes committed here but not yet flushed are part of the outages but not of the history
+        Map<HistoryKey, Delta> drift = new HashMap<>();
+        Set<HistoryKey> keys = new HashSet<>(expected.keySet());
+        keys.addAll(stored.keySet());
+        for (HistoryKey key : keys) {
+            Delta difference = expected.getOrDefault(key, Delta.ZERO)
+                    .minus(stored.getOrDefault(key, Delta.ZERO))
+                    .minus(pending.getOrDefault(key, Delta.ZERO));
+            if (!difference.isZero()) {
+                drift.put(key, difference);
             }
+        }
 
-            monthData.put("outageCount", totalCount);
-            monthData.put("totalOutageHours", totalHours);
-            monthData.put("avgRestorationTime", monthAvgRestorationTime);
+        // Queued changes of other nodes show up as drift too, but only until their next flush;
+        // drift that is still the same one run later is real
+        List<Map.Entry<HistoryKey, Delta>> corrections = drift.entrySet().stream()
+                .filter(entry -> entry.getValue().sameAs(previousDrift.get(entry.getKey())))
+                .collect(Collectors.toList());
+        previousDrift = drift;
 
-            monthlyStats.add(monthData);
+        if (!corrections.isEmpty()) {
+            upsert(corrections);
+            corrections.forEach(entry -> drift.remove(entry.getKey()));
+            logger.warn("Corrected {} outage history rows that drifted from the outages", corrections.size());
         }
+        if (!drift.isEmpty()) {
+            logger.info("{} outage history rows differ from the outages; rechecking on the next run", drift.size());
+        }
+        return corrections.size();
+    }
 
-        statistics.put("monthlyStats", monthlyStats);
+    private void upsert(List<Map.Entry<HistoryKey, Delta>> rows) {
+        // A fixed row order keeps concurrent flushes from deadlocking on each other's rows
+        rows.sort(Map.Entry.comparingByKey(KEY_ORDER));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, UPSERT_BATCH_SIZE, (ps, row) -> {
+            HistoryKey key = row.getKey();
+            Delta delta = row.getValue();
+            ps.setLong(1, key.areaId());
+            ps.setString(2, key.type().name());
+            ps.setInt(3, key.year());
+            ps.setInt(4, key.month());
+            ps.setInt(5, delta.count());
+            ps.setDouble(6, delta.hours());
+            ps.setDouble(7, delta.count() > 0 ? delta.hours() / delta.count() : 0);
+        });
+    }
 
-        // 5. Top 5 areas with most outages (current year)
-        List<Map<String, Object>> topAreas = outageHistoryRepository.findAreasWithMostOutages(currentYear, 5);
-        statistics.put("topAreas", topAreas);
+    private void queue(Contribution contribution, int count, double hours) {
+        HistoryKey key = new HistoryKey(contribution.areaId(), contribution.type(),
+                contribution.year(), contribution.month());
+        pending.merge(key, new Delta(count, hours), Delta::plus);
+    }
 
-        return statistics;
+    private static HistoryKey readKey(ResultSet rs) throws SQLException {
+        return new HistoryKey(rs.getLong("area_id"), OutageType.valueOf(rs.getString("type")),
+                rs.getInt("year"), rs.getInt("month"));
     }
 
-    @Override
-    @Transactional
-    public void updateOutageHistory(Long outageId) {
-        logger.info("Updating outage history for outage ID: {}", outageId);
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
 
-        try {
-            // Fetch the outage
-            Outage outage = outageRepository.findById(outageId)
-                    .orElseThrow(() -> new EntityNotFoundException("Outage not found with ID: " + outageId));
-
-            // Get month and year from start time
-            int year = outage.getStartTime().getYear();
-            int month = outage.getStartTime().getMonthValue();
-            Area area = outage.getAffectedArea();
-            OutageType type = outage.getType();
-
-            // Find existing history record or create new one
-            Optional<OutageHistory> historyOptional = outageHistoryRepository
-                    .findByAreaIdAndTypeAndYearAndMonth(area.getId(), type, year, month);
-
-            OutageHistory history;
-            if (historyOptional.isPresent()) {
-                history = historyOptional.get();
-            } else {
-                history = new OutageHistory();
-                history.setArea(area);
-                history.setType(type);
-                history.setYear(year);
-                history.setMonth(month);
-                history.setOutageCount(0);
-                history.setTotalOutageHours(0);
-                history.setAverageRestorationTime(0);
-            }
+    /**
+     * Unique key of a history row
+     */
+    private record HistoryKey(long areaId, OutageType type, int year, int month) {
+    }
 
-            // Update the history based on outage status
-            switch (outage.getStatus()) {
-                case SCHEDULED:
-                    // For new scheduled outages, increment count but don't add hours yet
-                    if (history.getOutageCount() == 0) { // New record
-                        history.setOutageCount(1);
-                        logger.info("Recording new scheduled outage in history");
-                    }
-                    break;
-
-                case ONGOING:
-                    // For ongoing outages, make sure they're counted
-                    if (history.getOutageCount() == 0) { // New record
-                        history.setOutageCount(1);
-                        logger.info("Recording new ongoing outage in history");
-                    }
-                    break;
-
-                case COMPLETED:
-                    // Calculate duration for completed outages
-                    if (outage.getActualEndTime() != null) {
-                        double hours = calculateHoursBetween(outage.getStartTime(), outage.getActualEndTime());
-
-                        // Increment count if not already counted
-                        if (history.getOutageCount() == 0) {
-                            history.setOutageCount(1);
-                        }
-
-                        // Add hours to total
-                        history.setTotalOutageHours(history.getTotalOutageHours() + hours);
-
-                        // Recalculate average
-                        history.setAverageRestorationTime(history.getTotalOutageHours() / history.getOutageCount());
-
-                        logger.info("Recorded completed outage with {} hours in history", hours);
-                    }
-                    break;
-
-                case CANCELLED:
-                    // For cancelled outages, we might want to count them separately
-                    // Here we're just ensuring they appear in the history
-                    if (history.getOutageCount() == 0) { // New record
-                        history.setOutageCount(1);
-                        logger.info("Recording cancelled outage in history");
-                    }
-                    break;
-
-                default:
-                    logger.warn("Unknown outage status: {}", outage.getStatus());
-                    break;
-            }
+    /**
+     * Queued change to a history row
+     */
+    private record Delta(int count, double hours) {
 
-            // Save the history record
-            outageHistoryRepository.save(history);
-            logger.info("Updated outage history for area: {}, type: {}, month: {}, year: {}",
-                    area.getName(), type, month, year);
+        static final Delta ZERO = new Delta(0, 0);
 
-        } catch (Exception e) {
-            logger.error("Error updating outage history: {}", e.getMessage(), e);
-            throw e; // Re-throw to propagate the error
+        // Hours are sums of doubles, so compare them to well under a second
+        private static final double HOURS_TOLERANCE = 1e-4;
+
+        Delta plus(Delta other) {
+            return new Delta(count + other.count, hours + other.hours);
+        }
+
+        Delta minus(Delta other) {
+            return new Delta(count - other.count, hours - other.hours);
+        }
+
+        boolean isZero() {
+            return count == 0 && Math.abs(hours) < HOURS_TOLERANCE;
+        }
+
+        boolean sameAs(Delta other) {
+            return other != null && minus(other).isZero();
         }
     }
 
@@ -296,33 +396,4 @@ public class OutageHistoryServiceImpl implements OutageHistoryService {
         dto.setAreaId(history.getArea().getId());
         return dto;
     }
-
-    /**
-     * Calculate the average restoration time in hours
-     * @return Average time in hours
-     */
-    private Double getAverageRestorationTime() {
-        logger.info("Calculating average outage restoration time");
-
-        // Find all completed outages with actual end time
-        List<Outage> outages = outageRepository.findByStatusAndActualEndTimeIsNotNull(
-                OutageStatus.COMPLETED);
-
-        if (outages.isEmpty()) {
-            logger.info("No completed outages found with actual end time");
-            return 0.0;
-        }
-
-        double totalHours = 0.0;
-        for (Outage outage : outages) {
-            Duration duration = Duration.between(outage.getStartTime(), outage.getActualEndTime());
-            totalHours += duration.toSeconds() / 3600.0;
-        }
-
-        double average = totalHours / outages.size();
-        logger.info("Calculated average restoration time: {} hours from {} outages",
-                average, outages.size());
-
-        return average;
-    }
-}
\ No newline at end of file
+}
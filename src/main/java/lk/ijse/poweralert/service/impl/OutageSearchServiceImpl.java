@@ -0,0 +1,460 @@
+package lk.ijse.poweralert.service.impl;
+
+import lk.ijse.poweralert.dto.AreaSummaryDTO;
+import lk.ijse.poweralert.dto.OutageSearchHitDTO;
+import lk.ijse.poweralert.dto.OutageSearchResultDTO;
+import lk.ijse.poweralert.entity.Area;
+import lk.ijse.poweralert.entity.UtilityProvider;
+import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
+import lk.ijse.poweralert.enums.AppEnums.OutageType;
+import lk.ijse.poweralert.event.OutageChangeEvent;
+import lk.ijse.poweralert.repository.AreaRepository;
+import lk.ijse.poweralert.repository.OutageRepository;
+import lk.ijse.poweralert.repository.OutageRepository.SearchRow;
+import lk.ijse.poweralert.repository.UtilityProviderRepository;
+import lk.ijse.poweralert.service.DataVersionService;
+import lk.ijse.poweralert.service.OutageSearchService;
+import lk.ijse.poweralert.util.InvertedIndex;
+import lk.ijse.poweralert.util.SearchTokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps outages, areas and utility providers in inverted indexes. Outage documents hold
+ * their own text and refer to their area and provider, which are indexed once each, so a
+ * rename never reindexes outages. Local writes are applied after commit; writes on other
+ * nodes are picked up from the data versions.
+ */
+@Service
+public class OutageSearchServiceImpl implements OutageSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutageSearchServiceImpl.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final float PREFIX_WEIGHT = 0.6f;
+
+    // Field weights
+    private static final float AREA_NAME_WEIGHT = 3f;
+    private static final float REASON_WEIGHT = 2f;
+    private static final float TYPE_WEIGHT = 2f;
+    private static final float PROVIDER_WEIGHT = 2f;
+    private static final float PLACE_WEIGHT = 1.5f;
+    private static final float INFO_WEIGHT = 1f;
+
+    @Autowired
+    private OutageRepository outageRepository;
+
+    @Autowired
+    private AreaRepository areaRepository;
+
+    @Autowired
+    private UtilityProviderRepository utilityProviderRepository;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Value("${app.search.recency-half-life-days:30}")
+    private double recencyHalfLifeDays;
+
+    @Value("${app.search.update-margin-seconds:60}")
+    private long updateMarginSeconds;
+
+    private final TransactionTemplate readTransaction;
+
+    // Everything below is guarded by lock
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final InvertedIndex outageIndex = new InvertedIndex();
+    private final InvertedIndex areaIndex = new InvertedIndex();
+    private final InvertedIndex providerIndex = new InvertedIndex();
+    private final Map<Long, OutageEntry> outages = new HashMap<>();
+    private final Map<Long, AreaSummaryDTO> areas = new HashMap<>();
+    private final Map<Long, String> providerNames = new HashMap<>();
+    private final Map<Long, Set<Long>> outagesByArea = new HashMap<>();
+    private final Map<Long, Set<Long>> outagesByProvider = new HashMap<>();
+    private long appliedOutageVersion;
+    private long appliedAreaVersion;
+    private long appliedProviderVersion;
+    private LocalDateTime watermark;
+    private volatile boolean loaded;
+
+    public OutageSearchServiceImpl(PlatformTransactionManager transactionManager) {
+        // Loads run in their own transaction, also when called after a writer's commit
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public OutageSearchResultDTO search(String query, Integer limit) {
+        List<String> tokens = SearchTokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Search query has no searchable words");
+        }
+        int resultLimit = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(MAX_LIMIT, limit));
+
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> outageScores = null;
+            Map<Long, Float> areaScores = null;
+            for (String token : new HashSet<>(tokens)) {
+                boolean prefix = token.codePointCount(0, token.length()) >= MIN_PREFIX_LENGTH;
+                Map<Long, Float> areaMatches = areaIndex.match(token, prefix, PREFIX_WEIGHT);
+
+                Map<Long, Float> tokenScores = outageIndex.match(token, prefix, PREFIX_WEIGHT);
+                spread(areaMatches, outagesByArea, tokenScores);
+                spread(providerIndex.match(token, prefix, PREFIX_WEIGHT), outagesByProvider, tokenScores);
+
+                outageScores = intersect(outageScores, tokenScores);
+                areaScores = intersect(areaScores, areaMatches);
+            }
+
+            return new OutageSearchResultDTO(rankOutages(outageScores, resultLimit), rankAreas(areaScores, resultLimit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void checkVersion() {
+        if (!loaded) {
+            return;
+        }
+
+        long areaVersion = dataVersionService.getVersion(DataVersionService.AREAS).version();
+        long providerVersion = dataVersionService.getVersion(DataVersionService.UTILITY_PROVIDERS).version();
+        long outageVersion = dataVersionService.getVersion(DataVersionService.OUTAGES).version();
+
+        // Reindexing an outage moves the watermark, so read it with the applied versions under the lock
+        boolean areasMoved;
+        boolean providersMoved;
+        boolean outagesMoved;
+        LocalDateTime since;
+        lock.readLock().lock();
+        try {
+            areasMoved = areaVersion != appliedAreaVersion;
+            providersMoved = providerVersion != appliedProviderVersion;
+            outagesMoved = outageVersion != appliedOutageVersion;
+            since = watermark.minusSeconds(updateMarginSeconds);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (areasMoved) {
+            List<Area> areaList = readTransaction.execute(status -> areaRepository.findAll());
+            lock.writeLock().lock();
+            try {
+                indexAreas(areaList);
+                appliedAreaVersion = areaVersion;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        if (providersMoved) {
+            List<UtilityProvider> providerList = readTransaction.execute(status -> utilityProviderRepository.findAll());
+            lock.writeLock().lock();
+            try {
+                indexProviders(providerList);
+                appliedProviderVersion = providerVersion;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        if (outagesMoved) {
+            List<SearchRow> rows = readTransaction.execute(status -> outageRepository.findSearchRowsUpdatedSince(since));
+            lock.writeLock().lock();
+            try {
+                rows.forEach(this::indexOutage);
+                appliedOutageVersion = outageVersion;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.debug("Reindexed {} outages for search at version {}", rows.size(), outageVersion);
+        }
+    }
+
+    /**
+     * Reindex a written outage once its transaction commits
+     */
+    @EventListener
+    public void onOutageChange(OutageChangeEvent event) {
+        Long outageId = event.getOutageId();
+        runAfterCommit(() -> {
+            if (!loaded) {
+                return;
+            }
+            try {
+                SearchRow row = readTransaction.execute(status -> outageRepository.findSearchRowById(outageId).orElse(null));
+                lock.writeLock().lock();
+                try {
+                    if (row == null) {
+                        removeOutage(outageId);
+                    } else {
+                        indexOutage(row);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } catch (Exception e) {
+                logger.error("Error reindexing outage {} for search: {}", outageId, e.getMessage(), e);
+            }
+        });
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+
+            // Read the versions first: a write racing the load is applied again, never missed
+            appliedAreaVersion = dataVersionService.readVersion(DataVersionService.AREAS).version();
+            appliedProviderVersion = dataVersionService.readVersion(DataVersionService.UTILITY_PROVIDERS).version();
+            appliedOutageVersion = dataVersionService.readVersion(DataVersionService.OUTAGES).version();
+            watermark = LocalDateTime.now();
+
+            indexAreas(readTransaction.execute(status -> areaRepository.findAll()));
+            indexProviders(readTransaction.execute(status -> utilityProviderRepository.findAll()));
+
+            long afterId = 0;
+            List<SearchRow> rows;
+            do {
+                long from = afterId;
+                rows = readTransaction.execute(status -> outageRepository.findSearchRowsAfter(from, Limit.of(LOAD_BATCH_SIZE)));
+                for (SearchRow row : rows) {
+                    indexOutage(row);
+                    afterId = row.getId();
+                }
+            } while (rows.size() == LOAD_BATCH_SIZE);
+
+            loaded = true;
+            logger.info("Built outage search index with {} outages and {} areas", outages.size(), areas.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Called with the write lock held
+    private void indexAreas(List<Area> areaList) {
+        areaIndex.clear();
+        areas.clear();
+        for (Area area : areaList) {
+            Map<String, Float> terms = new HashMap<>();
+            addTerms(terms, area.getName(), AREA_NAME_WEIGHT);
+            addTerms(terms, area.getCity(), PLACE_WEIGHT);
+            addTerms(terms, area.getDistrict(), PLACE_WEIGHT);
+            areaIndex.put(area.getId(), terms);
+            areas.put(area.getId(), new AreaSummaryDTO(area.getId(), area.getName(), area.getDistrict(), area.getProvince()));
+        }
+    }
+
+    // Called with the write lock held
+    private void indexProviders(List<UtilityProvider> providerList) {
+        providerIndex.clear();
+        providerNames.clear();
+        for (UtilityProvider provider : providerList) {
+            Map<String, Float> terms = new HashMap<>();
+            addTerms(terms, provider.getName(), PROVIDER_WEIGHT);
+            providerIndex.put(provider.getId(), terms);
+            providerNames.put(provider.getId(), provider.getName());
+        }
+    }
+
+    // Called with the write lock held
+    private void indexOutage(SearchRow row) {
+        removeOutage(row.getId());
+
+        Map<String, Float> terms = new HashMap<>();
+        addTerms(terms, row.getType() != null ? row.getType().name() : null, TYPE_WEIGHT);
+        addTerms(terms, row.getReason(), REASON_WEIGHT);
+        addTerms(terms, row.getAdditionalInfo(), INFO_WEIGHT);
+        outageIndex.put(row.getId(), terms);
+
+        OutageEntry entry = new OutageEntry(row.getId(), row.getType(), row.getStatus(), row.getStartTime(),
+                row.getEstimatedEndTime(), row.getActualEndTime(), row.getUpdatedAt(), row.getReason(),
+                row.getAreaId(), row.getProviderId());
+        outages.put(entry.id(), entry);
+        outagesByArea.computeIfAbsent(entry.areaId(), id -> new HashSet<>()).add(entry.id());
+        outagesByProvider.computeIfAbsent(entry.providerId(), id -> new HashSet<>()).add(entry.id());
+
+        if (entry.updatedAt() != null && entry.updatedAt().isAfter(watermark)) {
+            watermark = entry.updatedAt();
+        }
+    }
+
+    // Called with the write lock held
+    private void removeOutage(Long outageId) {
+        OutageEntry entry = outages.remove(outageId);
+        if (entry == null) {
+            return;
+        }
+        outageIndex.remove(outageId);
+        removeReference(outagesByArea, entry.areaId(), outageId);
+        removeReference(outagesByProvider, entry.providerId(), outageId);
+    }
+
+    private static void removeReference(Map<Long, Set<Long>> references, Long key, Long outageId) {
+        Set<Long> ids = references.get(key);
+        if (ids != null) {
+            ids.remove(outageId);
+            if (ids.isEmpty()) {
+                references.remove(key);
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Float> terms, String text, float weight) {
+        for (String term : SearchTokenizer.tokenize(text)) {
+            terms.merge(term, weight, Math::max);
+        }
+    }
+
+    // Credit every outage of a matched area or provider with that match
+    private static void spread(Map<Long, Float> matches, Map<Long, Set<Long>> outagesByKey, Map<Long, Float> scores) {
+        matches.forEach((key, weight) -> {
+            Set<Long> outageIds = outagesByKey.get(key);
+            if (outageIds != null) {
+                outageIds.forEach(outageId -> scores.merge(outageId, weight, Math::max));
+            }
+        });
+    }
+
+    // Keep documents matching every token so far, summing their scores
+    private static Map<Long, Float> intersect(Map<Long, Float> scores, Map<Long, Float> tokenScores) {
+        if (scores == null) {
+            return tokenScores;
+        }
+        Map<Long, Float> result = new HashMap<>();
+        Map<Long, Float> smaller = scores.size() <= tokenScores.size() ? scores : tokenScores;
+        Map<Long, Float> larger = smaller == scores ? tokenScores : scores;
+        smaller.forEach((id, score) -> {
+            Float other = larger.get(id);
+            if (other != null) {
+                result.put(id, score + other);
+            }
+        });
+        return result;
+    }
+
+    private List<OutageSearchHitDTO> rankOutages(Map<Long, Float> scores, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        Comparator<Ranked> order = Comparator.comparingDouble(Ranked::score)
+                .thenComparing(ranked -> ranked.entry().startTime(), Comparator.nullsFirst(Comparator.naturalOrder()));
+
+        // Min-heap of the best results so far
+        PriorityQueue<Ranked> best = new PriorityQueue<>(limit + 1, order);
+        scores.forEach((outageId, textScore) -> {
+            OutageEntry entry = outages.get(outageId);
+            best.add(new Ranked(entry, textScore * statusWeight(entry.status()) * recencyWeight(entry, now)));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+
+        List<Ranked> ranked = new ArrayList<>(best);
+        ranked.sort(order.reversed());
+        return ranked.stream().map(this::toHit).toList();
+    }
+
+    private List<AreaSummaryDTO> rankAreas(Map<Long, Float> scores, int limit) {
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Float>comparingByValue().reversed()
+                        .thenComparing(entry -> areas.get(entry.getKey()).getName(), Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(limit)
+                .map(entry -> areas.get(entry.getKey()))
+                .toList();
+    }
+
+    private static double statusWeight(OutageStatus status) {
+        if (status == null) {
+            return 0.5;
+        }
+        return switch (status) {
+            case ONGOING -> 1.0;
+            case SCHEDULED -> 0.8;
+            case COMPLETED -> 0.5;
+            case CANCELLED -> 0.3;
+        };
+    }
+
+    // Halves every half-life away from now, floored at 0.5 so old exact matches still beat weak recent ones
+    private double recencyWeight(OutageEntry entry, LocalDateTime now) {
+        LocalDateTime reference = entry.actualEndTime() != null ? entry.actualEndTime() : entry.startTime();
+        if (reference == null) {
+            return 0.5;
+        }
+        double days = Math.abs(Duration.between(reference, now).toMinutes()) / (60.0 * 24);
+        return 0.5 + 0.5 * Math.pow(0.5, days / recencyHalfLifeDays);
+    }
+
+    private OutageSearchHitDTO toHit(Ranked ranked) {
+        OutageEntry entry = ranked.entry();
+        AreaSummaryDTO area = areas.get(entry.areaId());
+        return OutageSearchHitDTO.builder()
+                .id(entry.id())
+                .type(entry.type())
+                .status(entry.status())
+                .startTime(entry.startTime())
+                .estimatedEndTime(entry.estimatedEndTime())
+                .actualEndTime(entry.actualEndTime())
+                .reason(entry.reason())
+                .areaId(entry.areaId())
+                .areaName(area != null ? area.getName() : null)
+                .district(area != null ? area.getDistrict() : null)
+                .utilityProviderId(entry.providerId())
+                .utilityProviderName(providerNames.get(entry.providerId()))
+                .score(ranked.score())
+                .build();
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record OutageEntry(Long id, OutageType type, OutageStatus status, LocalDateTime startTime,
+                               LocalDateTime estimatedEndTime, LocalDateTime actualEndTime, LocalDateTime updatedAt,
+                               String reason, Long areaId, Long providerId) {
+    }
+
+    private record Ranked(OutageEntry entry, double score) {
+    }
+}
@@ -4,13 +4,19 @@ import lk.ijse.poweralert.dto.*;
 import lk.ijse.poweralert.entity.*;
 import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
 import lk.ijse.poweralert.event.NotificationEventPublisher;
+import lk.ijse.poweralert.event.OutageChangeEvent.ChangeType;
+import lk.ijse.poweralert.event.OutageChangePublisher;
 import lk.ijse.poweralert.repository.*;
 import lk.ijse.poweralert.service.*;
+import lk.ijse.poweralert.util.KeysetCursor;
+import lk.ijse.poweralert.util.UserPrincipal;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
@@ -23,6 +29,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import java.util.concurrent.CompletableFuture;
 
@@ -53,12 +60,24 @@ public class OutageServiceImpl implements OutageService {
     @Autowired
     private NotificationEventPublisher eventPublisher;
 
+    @Autowired
+    private OutageChangePublisher outageChangePublisher;
+
+    @Autowired
+    private OutageAffectedAddressService outageAffectedAddressService;
+
+    @Autowired
+    private GeometryPyramidService geometryPyramidService;
+
     @Autowired
     private WhatsAppService whatsAppService;
 
     @Autowired
     private  SmsService smsService;
 
+    @Autowired
+    private UserOutageFeedService userOutageFeedService;
+
     @Autowired
     public OutageServiceImpl(
             OutageRepository outageRepository,
@@ -121,9 +140,15 @@ public class OutageServiceImpl implements OutageService {
         outageUpdateRepository.save(initialUpdate);
         logger.info("Initial outage update recorded");
 
-        // Update outage history for the new outage
-        outageHistoryService.updateOutageHistory(savedOutage.getId());
-        logger.info("Outage history updated for new outage ID: {}", savedOutage.getId());
+        // Count the new outage in its history row once committed
+        outageHistoryService.recordChange(null, savedOutage);
+
+        // Materialized once committed; fan-out before that resolves the affected users directly
+        outageAffectedAddressService.rebuildForOutageAfterCommit(savedOutage.getId());
+        geometryPyramidService.rebuild(GeometryPyramidService.OWNER_OUTAGE,
+                savedOutage.getId(), savedOutage.getGeographicalAreaJson());
+
+        outageChangePublisher.publish(this, savedOutage.getId(), ChangeType.CREATED);
 
         // Fetch and detach a fresh copy of the outage to prevent lazy loading issues
         Long outageId = savedOutage.getId();
@@ -162,9 +187,7 @@ public class OutageServiceImpl implements OutageService {
         List<Outage> activeOutages = outageRepository.findByStatusIn(
                 List.of(OutageStatus.SCHEDULED, OutageStatus.ONGOING));
 
-        return activeOutages.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(activeOutages);
     }
 
     @Override
@@ -179,19 +202,21 @@ public class OutageServiceImpl implements OutageService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<OutageDTO> getOutagesByArea(Long areaId) {
+    public CursorPageDTO<OutageDTO> getOutagesByArea(Long areaId, String cursor, Integer limit) {
         logger.info("Fetching outages for area with ID: {}", areaId);
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.resolveLimit(limit);
 
         // Verify area exists
         if (!areaRepository.existsById(areaId)) {
             throw new EntityNotFoundException("Area not found with ID: " + areaId);
         }
 
-        List<Outage> outages = outageRepository.findByAffectedAreaIdOrderByStartTimeDesc(areaId);
+        List<Outage> outages = after == null
+                ? outageRepository.findPageByArea(areaId, Limit.of(pageSize + 1))
+                : outageRepository.findPageByAreaAfter(areaId, after.time(), after.id(), Limit.of(pageSize + 1));
 
-        return outages.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return CursorPageDTO.of(outages, pageSize, OutageServiceImpl::keyOf, this::convertToDTOs);
     }
 
     @Override
@@ -209,12 +234,15 @@ public class OutageServiceImpl implements OutageService {
         }
 
         // Store original values for comparison
+        OutageHistoryService.Contribution originalHistory = outageHistoryService.contributionOf(outage);
         OutageStatus originalStatus = outage.getStatus();
         LocalDateTime originalEstEndTime = outage.getEstimatedEndTime();
         String originalReason = outage.getReason();
         boolean statusChanged = originalStatus != outageCreateDTO.getStatus();
         boolean endTimeChanged = !originalEstEndTime.equals(outageCreateDTO.getEstimatedEndTime());
         boolean reasonChanged = originalReason != null && !originalReason.equals(outageCreateDTO.getReason());
+        boolean footprintChanged = !outage.getAffectedArea().getId().equals(outageCreateDTO.getAreaId())
+                || !Objects.equals(outage.getGeographicalAreaJson(), outageCreateDTO.getGeographicalAreaJson());
 
         // Fetch area entity if changed
         if (!outage.getAffectedArea().getId().equals(outageCreateDTO.getAreaId())) {
@@ -271,9 +299,16 @@ public class OutageServiceImpl implements OutageService {
         Outage updatedOutage = outageRepository.save(outage);
         logger.info("Outage updated with ID: {}", updatedOutage.getId());
 
-        // Update outage history
-        outageHistoryService.updateOutageHistory(updatedOutage.getId());
-        logger.info("Outage history updated for outage ID: {}", updatedOutage.getId());
+        // Move the outage between history rows if its area, type, month or hours changed
+        outageHistoryService.recordChange(originalHistory, updatedOutage);
+
+        if (footprintChanged) {
+            outageAffectedAddressService.rebuildForOutageAfterCommit(updatedOutage.getId());
+            geometryPyramidService.rebuild(GeometryPyramidService.OWNER_OUTAGE,
+                    updatedOutage.getId(), updatedOutage.getGeographicalAreaJson());
+        }
+
+        outageChangePublisher.publish(this, updatedOutage.getId(), ChangeType.UPDATED);
 
         // Get ID for notification
         Long outageId = updatedOutage.getId();
@@ -367,11 +402,9 @@ public class OutageServiceImpl implements OutageService {
         logger.info("Outage update created with ID: {}", savedUpdate.getId());
 
         // Update outage fields if needed
-        boolean outageUpdated = false;
-
+        OutageHistoryService.Contribution originalHistory = outageHistoryService.contributionOf(outage);
         if (update.getUpdatedEstimatedEndTime() != null) {
             outage.setEstimatedEndTime(update.getUpdatedEstimatedEndTime());
-            outageUpdated = true;
         }
 
         if (update.getNewStatus() != null) {
@@ -382,18 +415,16 @@ public class OutageServiceImpl implements OutageService {
             if (oldStatus != OutageStatus.COMPLETED && update.getNewStatus() == OutageStatus.COMPLETED) {
                 outage.setActualEndTime(LocalDateTime.now());
             }
-
-            outageUpdated = true;
         }
 
-        if (outageUpdated) {
-            outage.setUpdatedAt(LocalDateTime.now());
-            outage = outageRepository.save(outage);
-        }
+        // The new update is part of the outage, so it counts as a modification even without field changes
+        outage.setUpdatedAt(LocalDateTime.now());
+        outage = outageRepository.save(outage);
+
+        // Add restoration hours to the history row if the outage completed
+        outageHistoryService.recordChange(originalHistory, outage);
 
-        // Update outage history
-        outageHistoryService.updateOutageHistory(outage.getId());
-        logger.info("Outage history updated for outage ID: {}", outage.getId());
+        outageChangePublisher.publish(this, outage.getId(), ChangeType.UPDATED);
 
         // Get ID for notification
         Long outageId = outage.getId();
@@ -420,6 +451,7 @@ public class OutageServiceImpl implements OutageService {
         }
 
         // Update status to CANCELLED
+        OutageHistoryService.Contribution originalHistory = outageHistoryService.contributionOf(outage);
         outage.setStatus(OutageStatus.CANCELLED);
         outage.setUpdatedAt(LocalDateTime.now());
 
@@ -436,9 +468,10 @@ public class OutageServiceImpl implements OutageService {
         outageUpdateRepository.save(update);
         logger.info("Cancellation record created for outage ID: {}", outage.getId());
 
-        // Update outage history for the cancelled outage
-        outageHistoryService.updateOutageHistory(cancelledOutage.getId());
-        logger.info("Outage history updated for cancelled outage ID: {}", cancelledOutage.getId());
+        // Cancelled outages stay counted, so this normally leaves the history unchanged
+        outageHistoryService.recordChange(originalHistory, cancelledOutage);
+
+        outageChangePublisher.publish(this, cancelledOutage.getId(), ChangeType.CANCELLED);
 
         // Get ID for notification
         Long outageId = cancelledOutage.getId();
@@ -548,27 +581,13 @@ public class OutageServiceImpl implements OutageService {
     public List<OutageDTO> getOutagesForCurrentUser() {
         logger.info("Fetching outages for current user");
 
-        // Get current user
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userService.getUserEntityByUsername(username);
-
-        // Get user's addresses
-        List<Address> addresses = user.getAddresses();
+        // The principal carries the user ID, so the common path needs no user lookup
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long userId = authentication.getPrincipal() instanceof UserPrincipal principal
+                ? principal.getId()
+                : userService.getUserEntityByUsername(authentication.getName()).getId();
 
-        if (addresses.isEmpty()) {
-            logger.warn("User has no registered addresses");
-            return List.of();
-        }
-
-        // Get outages for user's areas based on address locations
-        List<Outage> outages = outageRepository.findOutagesForAddresses(
-                addresses,
-                List.of(OutageStatus.SCHEDULED, OutageStatus.ONGOING)
-        );
-
-        return outages.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return userOutageFeedService.getFeed(userId);
     }
 
     /**
@@ -578,8 +597,7 @@ public class OutageServiceImpl implements OutageService {
      * @return List of affected users
      */
     private List<User> findAffectedUsers(Outage outage) {
-        // For now, simple implementation that gets all users with addresses in the affected area's district
-        return userRepository.findUsersInDistrict(outage.getAffectedArea().getDistrict());
+        return userRepository.findAllById(outageAffectedAddressService.getAffectedUserIds(outage));
     }
 
     /**
@@ -749,27 +767,52 @@ public class OutageServiceImpl implements OutageService {
      * @return the outage DTO
      */
     private OutageDTO convertToDTO(Outage outage) {
-        if (outage == null) {
-            return null;
-        }
-
-        // Using ModelMapper for basic mapping
-        OutageDTO outageDTO = modelMapper.map(outage, OutageDTO.class);
+        return outage == null ? null : convertToDTO(outage, outage.getUpdates());
+    }
 
-        // If any specific mappings need manual handling, add them here
-        // For example, if nested objects need explicit mapping:
-        if (outage.getAffectedArea() != null) {
-            outageDTO.setAffectedArea(modelMapper.map(outage.getAffectedArea(), AreaDTO.class));
+    /**
+     * Convert a list of outages, loading the updates of all of them in one query.
+     * Area and provider are expected to be fetched with the outages.
+     */
+    private List<OutageDTO> convertToDTOs(List<Outage> outages) {
+        if (outages.isEmpty()) {
+            return List.of();
         }
 
-        if (outage.getUtilityProvider() != null) {
-            outageDTO.setUtilityProvider(modelMapper.map(outage.getUtilityProvider(), UtilityProviderDTO.class));
-        }
+        Map<Long, List<OutageUpdate>> updatesByOutage = outageUpdateRepository
+                .findByOutageIds(outages.stream().map(Outage::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(update -> update.getOutage().getId()));
 
-        // Map updates if needed
-        if (outage.getUpdates() != null) {
+        return outages.stream()
+                .map(outage -> convertToDTO(outage, updatesByOutage.getOrDefault(outage.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Map by hand so none of the lazy collections (outage updates, area providers, provider areas) is touched;
+     * the updates are passed in, loaded for a whole page at once
+     */
+    private OutageDTO convertToDTO(Outage outage, List<OutageUpdate> updates) {
+        OutageDTO outageDTO = OutageDTO.builder()
+                .id(outage.getId())
+                .type(outage.getType())
+                .status(outage.getStatus())
+                .startTime(outage.getStartTime())
+                .estimatedEndTime(outage.getEstimatedEndTime())
+                .actualEndTime(outage.getActualEndTime())
+                .affectedArea(convertToDTO(outage.getAffectedArea()))
+                .geographicalAreaJson(outage.getGeographicalAreaJson())
+                .reason(outage.getReason())
+                .additionalInfo(outage.getAdditionalInfo())
+                .utilityProvider(convertToDTO(outage.getUtilityProvider()))
+                .createdAt(outage.getCreatedAt())
+                .updatedAt(outage.getUpdatedAt())
+                .build();
+
+        if (updates != null) {
             outageDTO.setUpdates(
-                    outage.getUpdates().stream()
+                    updates.stream()
                             .map(update -> modelMapper.map(update, OutageUpdateDTO.class))
                             .collect(Collectors.toList())
             );
@@ -778,15 +821,51 @@ public class OutageServiceImpl implements OutageService {
         return outageDTO;
     }
 
+    private AreaDTO convertToDTO(Area area) {
+        if (area == null) {
+            return null;
+        }
+        return AreaDTO.builder()
+                .id(area.getId())
+                .name(area.getName())
+                .city(area.getCity())
+                .postalCode(area.getPostalCode())
+                .district(area.getDistrict())
+                .province(area.getProvince())
+                .boundaryJson(area.getBoundaryJson())
+                .build();
+    }
+
+    private UtilityProviderDTO convertToDTO(UtilityProvider provider) {
+        if (provider == null) {
+            return null;
+        }
+        return UtilityProviderDTO.builder()
+                .id(provider.getId())
+                .name(provider.getName())
+                .contactEmail(provider.getContactEmail())
+                .contactPhone(provider.getContactPhone())
+                .website(provider.getWebsite())
+                .type(provider.getType())
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
-    public List<OutageDTO> getAllOutages() {
+    public CursorPageDTO<OutageDTO> getAllOutages(String cursor, Integer limit) {
         logger.info("Fetching all outages regardless of status");
-        List<Outage> allOutages = outageRepository.findAll();
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.resolveLimit(limit);
 
-        return allOutages.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        List<Outage> outages = after == null
+                ? outageRepository.findPage(Limit.of(pageSize + 1))
+                : outageRepository.findPageAfter(after.time(), after.id(), Limit.of(pageSize + 1));
+
+        return CursorPageDTO.of(outages, pageSize, OutageServiceImpl::keyOf, this::convertToDTOs);
+    }
+
+    private static KeysetCursor keyOf(Outage outage) {
+        return new KeysetCursor(outage.getStartTime(), outage.getId());
     }
 
 }
\ No newline at end of file
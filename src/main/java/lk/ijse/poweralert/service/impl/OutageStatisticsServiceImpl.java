@@ -0,0 +1,169 @@
+package lk.ijse.poweralert.service.impl;
+
+import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
+import lk.ijse.poweralert.enums.AppEnums.OutageType;
+import lk.ijse.poweralert.repository.DataVersionRepository;
+import lk.ijse.poweralert.service.DataVersionService;
+import lk.ijse.poweralert.service.OutageHistoryService.Contribution;
+import lk.ijse.poweralert.service.OutageStatisticsService;
+import lk.ijse.poweralert.util.OutageStatisticsSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.Map;
+
+/**
+ * Dashboard statistics are built with one grouped query per dimension and then patched
+ * from outage changes, so a dashboard load does not touch the database. Changes are
+ * versioned like the other shared data sets; a snapshot that missed one is dropped and
+ * rebuilt on the next read.
+ */
+@Service
+public class OutageStatisticsServiceImpl implements OutageStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutageStatisticsServiceImpl.class);
+
+    private static final String RESTORATION_SECONDS =
+            "CASE WHEN o.status = 'COMPLETED' AND o.actual_end_time IS NOT NULL " +
+            "THEN TIMESTAMPDIFF(SECOND, o.start_time, o.actual_end_time) END";
+
+    private static final String STATUS_COUNTS_SQL = "SELECT status, COUNT(*) FROM outages GROUP BY status";
+
+    private static final String TYPE_COUNTS_SQL = "SELECT type, COUNT(*) FROM outages GROUP BY type";
+
+    private static final String RESTORATION_SQL =
+            "SELECT COUNT(*), COALESCE(SUM(TIMESTAMPDIFF(SECOND, start_time, actual_end_time)), 0) FROM outages " +
+            "WHERE status = 'COMPLETED' AND actual_end_time IS NOT NULL";
+
+    private static final String MONTH_TOTALS_SQL =
+            "SELECT YEAR(o.start_time), MONTH(o.start_time), COUNT(*), COALESCE(SUM(" + RESTORATION_SECONDS + "), 0) " +
+            "FROM outages o WHERE o.start_time >= ? AND o.start_time < ? " +
+            "GROUP BY YEAR(o.start_time), MONTH(o.start_time)";
+
+    // Every area is listed, so later outages in areas without any this year can be patched in
+    private static final String AREA_TOTALS_SQL =
+            "SELECT a.id, a.name, a.district, COUNT(o.id), COALESCE(SUM(" + RESTORATION_SECONDS + "), 0) " +
+            "FROM areas a LEFT JOIN outages o ON o.area_id = a.id AND o.start_time >= ? AND o.start_time < ? " +
+            "GROUP BY a.id, a.name, a.district";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private DataVersionRepository dataVersionRepository;
+
+    private final TransactionTemplate readTransaction;
+    private final Object snapshotLock = new Object();
+    private volatile OutageStatisticsSnapshot snapshot;
+
+    public OutageStatisticsServiceImpl(PlatformTransactionManager transactionManager) {
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        // One consistent read view for the version and all totals
+        this.readTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @Override
+    public Map<String, Object> getStatistics() {
+        OutageStatisticsSnapshot current = snapshot;
+        if (current != null && current.getCurrentMonth().equals(YearMonth.now())) {
+            return current.getView();
+        }
+
+        synchronized (snapshotLock) {
+            if (snapshot == null || !snapshot.getCurrentMonth().equals(YearMonth.now())) {
+                // A local change between its commit and its version bump may or may not be in the totals,
+                // and patching it in again would count it twice, so such a build is served but not kept
+                boolean pending = dataVersionService.hasPendingIncrements(DataVersionService.OUTAGE_STATISTICS);
+                OutageStatisticsSnapshot built = build();
+                if (pending) {
+                    return built.getView();
+                }
+                snapshot = built;
+            }
+            return snapshot.getView();
+        }
+    }
+
+    @Override
+    public void recordChange(Contribution before, Contribution after) {
+        dataVersionService.increment(DataVersionService.OUTAGE_STATISTICS, version -> patch(version, before, after));
+    }
+
+    @Override
+    public void checkVersion() {
+        OutageStatisticsSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+
+        long version = dataVersionService.getVersion(DataVersionService.OUTAGE_STATISTICS).version();
+        if (version > current.getVersion()) {
+            synchronized (snapshotLock) {
+                if (snapshot == current) {
+                    logger.debug("Dropping outage statistics snapshot (version {} -> {})", current.getVersion(), version);
+                    snapshot = null;
+                }
+            }
+        }
+    }
+
+    private void patch(long version, Contribution before, Contribution after) {
+        synchronized (snapshotLock) {
+            OutageStatisticsSnapshot current = snapshot;
+            if (current == null || version <= current.getVersion()) {
+                // Not built yet, or built after this change
+                return;
+            }
+            // A missed change or an area added since the build leaves nothing to patch
+            snapshot = version == current.getVersion() + 1 ? current.with(version, before, after) : null;
+        }
+    }
+
+    private OutageStatisticsSnapshot build() {
+        YearMonth currentMonth = YearMonth.now();
+        Timestamp windowStart = Timestamp.valueOf(
+                currentMonth.minusMonths(OutageStatisticsSnapshot.MONTHS - 1).atDay(1).atStartOfDay());
+        Timestamp windowEnd = Timestamp.valueOf(currentMonth.plusMonths(1).atDay(1).atStartOfDay());
+        Timestamp yearStart = Timestamp.valueOf(currentMonth.withMonth(1).atDay(1).atStartOfDay());
+        Timestamp yearEnd = Timestamp.valueOf(currentMonth.withMonth(1).plusYears(1).atDay(1).atStartOfDay());
+
+        OutageStatisticsSnapshot built = readTransaction.execute(status -> {
+            long version = dataVersionRepository.findVersionByName(DataVersionService.OUTAGE_STATISTICS).orElse(0L);
+            OutageStatisticsSnapshot.Builder builder = OutageStatisticsSnapshot.builder(version, currentMonth);
+
+            jdbcTemplate.query(STATUS_COUNTS_SQL, rs -> {
+                builder.status(OutageStatus.valueOf(rs.getString(1)), rs.getLong(2));
+            });
+            jdbcTemplate.query(TYPE_COUNTS_SQL, rs -> {
+                builder.type(OutageType.valueOf(rs.getString(1)), rs.getLong(2));
+            });
+            jdbcTemplate.query(RESTORATION_SQL, rs -> {
+                builder.restored(rs.getLong(1), rs.getLong(2) / 3600.0);
+            });
+            jdbcTemplate.query(MONTH_TOTALS_SQL, rs -> {
+                builder.month(rs.getInt(1), rs.getInt(2), rs.getLong(3), rs.getLong(4) / 3600.0);
+            }, windowStart, windowEnd);
+            jdbcTemplate.query(AREA_TOTALS_SQL, rs -> {
+                builder.area(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getLong(4), rs.getLong(5) / 3600.0);
+            }, yearStart, yearEnd);
+
+            return builder.build();
+        });
+
+        logger.info("Built outage statistics snapshot version {}", built.getVersion());
+        return built;
+    }
+}
@@ -0,0 +1,341 @@
+package lk.ijse.poweralert.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lk.ijse.poweralert.dto.OutageDTO;
+import lk.ijse.poweralert.event.ActiveOutagesChangedEvent;
+import lk.ijse.poweralert.service.ActiveOutageSnapshotService;
+import lk.ijse.poweralert.service.OutageStreamService;
+import lk.ijse.poweralert.util.ActiveOutageSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes changes to the active outage snapshot to SSE subscribers. Idle subscribers are
+ * parked async requests holding no thread; writes fan out on virtual threads, one drain
+ * per subscriber at a time so each client sees events in order.
+ */
+@Service
+public class OutageStreamServiceImpl implements OutageStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutageStreamServiceImpl.class);
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    @Autowired
+    private ActiveOutageSnapshotService activeOutageSnapshotService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.outage-stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.outage-stream.retry-ms:5000}")
+    private long retryMs;
+
+    @Value("${app.outage-stream.max-subscribers:50000}")
+    private int maxSubscribers;
+
+    @Value("${app.outage-stream.replay-size:1000}")
+    private int replaySize;
+
+    @Value("${app.outage-stream.max-pending:256}")
+    private int maxPending;
+
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Guards current, the replay buffer and subscriber registration, so a new subscriber
+    // gets every batch after its starting point exactly once
+    private final Object streamLock = new Object();
+    private volatile ActiveOutageSnapshot current;
+    private final Deque<Batch> replay = new ArrayDeque<>();
+
+    @Override
+    public SseEmitter subscribe(Filter filter, String lastEventId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Outage stream is at capacity, try again later");
+        }
+
+        if (current == null) {
+            // Load outside streamLock: building the snapshot publishes an event that takes it
+            ActiveOutageSnapshot snapshot = activeOutageSnapshotService.getSnapshot();
+            synchronized (streamLock) {
+                if (current == null) {
+                    current = snapshot;
+                }
+            }
+        }
+
+        Long resumeFrom = parseEventId(lastEventId);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, filter);
+        emitter.onCompletion(subscriber::detach);
+        emitter.onTimeout(subscriber::detach);
+        emitter.onError(e -> subscriber.detach());
+
+        subscriber.enqueue(SseEmitter.event().reconnectTime(retryMs).build());
+
+        // Snapshot events are serialized outside streamLock and prepared again in the rare case
+        // the snapshot moved meanwhile
+        ActiveOutageSnapshot prepared = null;
+        Set<DataWithMediaType> snapshotEvent = null;
+        if (resumeFrom == null) {
+            prepared = current;
+            snapshotEvent = snapshotEvent(prepared, filter);
+        }
+        while (true) {
+            synchronized (streamLock) {
+                if (resumeFrom != null && canReplayFrom(resumeFrom)) {
+                    subscriber.lastVersion = resumeFrom;
+                    replay.forEach(subscriber::offer);
+                    subscribers.add(subscriber);
+                    break;
+                }
+                if (prepared == current) {
+                    subscriber.lastVersion = prepared.getVersion();
+                    subscriber.enqueue(snapshotEvent);
+                    subscribers.add(subscriber);
+                    break;
+                }
+                prepared = current;
+            }
+            snapshotEvent = snapshotEvent(prepared, filter);
+        }
+
+        logger.debug("Outage stream subscriber added ({} open)", subscribers.size());
+        return emitter;
+    }
+
+    @Override
+    public void sendHeartbeat() {
+        subscribers.forEach(subscriber -> subscriber.enqueue(HEARTBEAT));
+    }
+
+    @Override
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Turn a snapshot replacement into per-outage events and queue them for matching subscribers
+     */
+    @EventListener
+    public void onActiveOutagesChanged(ActiveOutagesChangedEvent event) {
+        try {
+            synchronized (streamLock) {
+                ActiveOutageSnapshot previous = current;
+                ActiveOutageSnapshot next = event.getSnapshot();
+                current = next;
+                if (previous == null) {
+                    return;
+                }
+
+                List<StreamEvent> events = diff(previous, next, event.getLatest());
+                if (events.isEmpty()) {
+                    return;
+                }
+
+                Batch batch = new Batch(previous.getVersion(), next.getVersion(), events);
+                replay.addLast(batch);
+                while (replay.size() > replaySize) {
+                    replay.removeFirst();
+                }
+                subscribers.forEach(subscriber -> subscriber.offer(batch));
+            }
+        } catch (Exception e) {
+            logger.error("Error publishing outage stream events: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::close);
+        sender.shutdown();
+    }
+
+    private List<StreamEvent> diff(ActiveOutageSnapshot previous, ActiveOutageSnapshot next, OutageDTO latest) {
+        List<StreamEvent> events = new ArrayList<>();
+        for (OutageDTO outage : next.getOutages()) {
+            OutageDTO before = previous.getOutage(outage.getId());
+            if (before == null) {
+                events.add(streamEvent("added", outage, next.getVersion()));
+            } else if (!before.equals(outage)) {
+                events.add(streamEvent("updated", outage, next.getVersion()));
+            }
+        }
+        for (OutageDTO before : previous.getOutages()) {
+            if (next.getOutage(before.getId()) == null) {
+                // Prefer the loaded state, which carries the final status
+                boolean fresh = latest != null && before.getId().equals(latest.getId());
+                events.add(streamEvent("removed", fresh ? latest : before, next.getVersion()));
+            }
+        }
+        return events;
+    }
+
+    private boolean canReplayFrom(long version) {
+        if (version >= current.getVersion()) {
+            // Up to date, or ahead of this node; anything newer arrives as it is applied here
+            return true;
+        }
+        Batch oldest = replay.peekFirst();
+        return oldest != null && oldest.fromVersion() <= version;
+    }
+
+    private StreamEvent streamEvent(String name, OutageDTO outage, long version) {
+        return new StreamEvent(outage, SseEmitter.event()
+                .id(Long.toString(version))
+                .name(name)
+                .data(toJson(outage))
+                .build());
+    }
+
+    private Set<DataWithMediaType> snapshotEvent(ActiveOutageSnapshot snapshot, Filter filter) {
+        // Unfiltered subscribers share the array already serialized for the snapshot
+        String data = filter.matchesAll()
+                ? snapshot.getOutagesJson()
+                : toJson(snapshot.getOutages().stream().filter(filter::matches).toList());
+        return SseEmitter.event()
+                .id(Long.toString(snapshot.getVersion()))
+                .name("snapshot")
+                .data(data)
+                .build();
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outage stream event", e);
+        }
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            // Not one of ours; start over with a snapshot
+            return null;
+        }
+    }
+
+    /**
+     * An event serialized once and shared by every subscriber it matches
+     */
+    private record StreamEvent(OutageDTO outage, Set<DataWithMediaType> message) {
+    }
+
+    /**
+     * The events produced by one snapshot replacement
+     */
+    private record Batch(long fromVersion, long version, List<StreamEvent> events) {
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Filter filter;
+        private final Queue<Set<DataWithMediaType>> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        // Version of the last batch queued; only touched under streamLock
+        private long lastVersion;
+
+        Subscriber(SseEmitter emitter, Filter filter) {
+            this.emitter = emitter;
+            this.filter = filter;
+        }
+
+        void offer(Batch batch) {
+            if (batch.version() <= lastVersion) {
+                return;
+            }
+            lastVersion = batch.version();
+            for (StreamEvent event : batch.events()) {
+                if (filter.matches(event.outage())) {
+                    enqueue(event.message());
+                }
+            }
+        }
+
+        void enqueue(Set<DataWithMediaType> message) {
+            if (closed) {
+                return;
+            }
+            if (pendingCount.incrementAndGet() > maxPending) {
+                // Too slow to keep up; the client reconnects and resumes from its last event id
+                logger.debug("Closing outage stream subscriber with {} pending events", maxPending);
+                close();
+                return;
+            }
+            pending.add(message);
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                Set<DataWithMediaType> message;
+                while ((message = pending.poll()) != null) {
+                    pendingCount.decrementAndGet();
+                    if (closed) {
+                        continue;
+                    }
+                    try {
+                        emitter.send(message);
+                    } catch (IOException | IllegalStateException e) {
+                        logger.debug("Dropping outage stream subscriber: {}", e.getMessage());
+                        detach();
+                    }
+                }
+                draining.set(false);
+                // A message queued after the last poll but before the reset has no drain of its own
+            } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        void close() {
+            detach();
+            // Completing waits for a send in progress, so keep it off the caller's thread
+            sender.execute(() -> {
+                try {
+                    emitter.complete();
+                } catch (Exception e) {
+                    logger.debug("Error completing outage stream: {}", e.getMessage());
+                }
+            });
+        }
+
+        void detach() {
+            closed = true;
+            subscribers.remove(this);
+        }
+    }
+}
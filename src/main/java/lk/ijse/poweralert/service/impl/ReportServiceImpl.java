@@ -1,150 +1,173 @@
 package lk.ijse.poweralert.service.impl;
 
+import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
+import lk.ijse.poweralert.enums.AppEnums.OutageType;
+import lk.ijse.poweralert.service.DataVersionService;
 import lk.ijse.poweralert.service.ReportService;
-import lk.ijse.poweralert.service.OutageService;
-import lk.ijse.poweralert.service.AreaService;
+import lk.ijse.poweralert.util.OutageReportAccumulator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.List;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Reports are computed by streaming the matching outages once, together with the
+ * previous period of the same length for the trends. Recent reports are cached by
+ * filter until outages or areas change.
+ */
 @Service
 public class ReportServiceImpl implements ReportService {
 
-    private final OutageService outageService;
-    private final AreaService areaService;
+    private static final Logger logger = LoggerFactory.getLogger(ReportServiceImpl.class);
+
+    private static final String REPORT_OUTAGES_SQL =
+            "SELECT o.id, o.type, o.status, o.start_time, o.estimated_end_time, o.actual_end_time, " +
+            "o.area_id, a.name AS area_name FROM outages o JOIN areas a ON a.id = o.area_id " +
+            "WHERE o.start_time >= ? AND o.start_time < ?";
 
     @Autowired
-    public ReportServiceImpl(OutageService outageService, AreaService areaService) {
-        this.outageService = outageService;
-        this.areaService = areaService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Value("${app.report.max-days:1096}")
+    private int maxDays;
+
+    @Value("${app.report.max-outage-rows:500}")
+    private int maxOutageRows;
+
+    private final int cacheSize;
+    // LRU of reports by filter; guarded by itself
+    private final Map<ReportKey, CachedReport> cache;
+
+    public ReportServiceImpl(@Value("${app.report.cache-size:50}") int cacheSize) {
+        this.cacheSize = cacheSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ReportKey, CachedReport> eldest) {
+                return size() > ReportServiceImpl.this.cacheSize;
+            }
+        };
     }
 
     @Override
     public Map<String, Object> generateReport(String fromDate, String toDate, String outageType, Long areaId) {
-        Map<String, Object> reportData = new HashMap<>();
-
-        // Parse dates
-        LocalDate startDate = LocalDate.parse(fromDate);
-        LocalDate endDate = LocalDate.parse(toDate);
-
-        // Get outages based on filters
-        List<Object> outages = fetchOutagesWithFilters(startDate, endDate, outageType, areaId);
-
-        // Generate summary statistics
-        Map<String, Object> summary = generateSummary(outages, startDate, endDate);
-
-        // Generate trend data
-        Map<String, Object> trendData = generateTrendData(outages, startDate, endDate);
-
-        // Generate duration data
-        Map<String, Object> durationData = generateDurationData(outages);
-
-        // Assemble final report data
-        reportData.put("summary", summary);
-        reportData.put("trendData", trendData);
-        reportData.put("durationData", durationData);
-        reportData.put("outages", outages);
-
-        return reportData;
+        ReportKey key = new ReportKey(parseDate(fromDate, "fromDate"), parseDate(toDate, "toDate"),
+                parseType(outageType), areaId);
+        if (key.toDate().isBefore(key.fromDate())) {
+            throw new IllegalArgumentException("toDate must not be before fromDate");
+        }
+        if (ChronoUnit.DAYS.between(key.fromDate(), key.toDate()) >= maxDays) {
+            throw new IllegalArgumentException("Report period must not exceed " + maxDays + " days");
+        }
+
+        // Reports name areas, so they depend on both data sets
+        long outagesVersion = dataVersionService.getVersion(DataVersionService.OUTAGES).version();
+        long areasVersion = dataVersionService.getVersion(DataVersionService.AREAS).version();
+        synchronized (cache) {
+            CachedReport cached = cache.get(key);
+            if (cached != null && cached.outagesVersion() == outagesVersion && cached.areasVersion() == areasVersion) {
+                return cached.report();
+            }
+        }
+
+        Map<String, Object> report = buildReport(key);
+        synchronized (cache) {
+            cache.put(key, new CachedReport(report, outagesVersion, areasVersion));
+        }
+        return report;
     }
 
-    private List<Object> fetchOutagesWithFilters(LocalDate startDate, LocalDate endDate, String outageType, Long areaId) {
-        // Implement the logic to fetch outages based on filters
-        // This will likely use your OutageService or OutageRepository
-        // Return a list of outage objects
-
-        return new ArrayList<>(); // Placeholder - implement actual logic
+    private Map<String, Object> buildReport(ReportKey key) {
+        long days = ChronoUnit.DAYS.between(key.fromDate(), key.toDate()) + 1;
+        LocalDate previousFrom = key.fromDate().minusDays(days);
+
+        StringBuilder sql = new StringBuilder(REPORT_OUTAGES_SQL);
+        List<Object> params = new ArrayList<>();
+        params.add(Timestamp.valueOf(previousFrom.atStartOfDay()));
+        params.add(Timestamp.valueOf(key.toDate().plusDays(1).atStartOfDay()));
+        if (key.type() != null) {
+            sql.append(" AND o.type = ?");
+            params.add(key.type().name());
+        }
+        if (key.areaId() != null) {
+            sql.append(" AND o.area_id = ?");
+            params.add(key.areaId());
+        }
+        sql.append(" ORDER BY o.start_time, o.id");
+
+        OutageReportAccumulator accumulator = new OutageReportAccumulator(key.fromDate(), key.toDate(), maxOutageRows);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql.toString(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            // Ask the MySQL driver to stream rows instead of buffering the whole result
+            ps.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return ps;
+        }, (RowCallbackHandler) rs -> accumulator.add(
+                rs.getLong("id"),
+                OutageType.valueOf(rs.getString("type")),
+                OutageStatus.valueOf(rs.getString("status")),
+                toLocalDateTime(rs, "start_time"),
+                toLocalDateTime(rs, "estimated_end_time"),
+                toLocalDateTime(rs, "actual_end_time"),
+                rs.getLong("area_id"),
+                rs.getString("area_name")));
+
+        logger.info("Generated outage report from {} to {} with type {} and area {}",
+                key.fromDate(), key.toDate(), key.type(), key.areaId());
+        return accumulator.toReport();
     }
 
-    private Map<String, Object> generateSummary(List<Object> outages, LocalDate startDate, LocalDate endDate) {
-        Map<String, Object> summary = new HashMap<>();
-
-        // Calculate total outages
-        summary.put("totalOutages", outages.size());
-
-        // Calculate average duration
-        // Placeholder - implement actual calculation
-        summary.put("avgDuration", 0);
-
-        // Calculate trends
-        // Placeholder - implement actual calculation
-        summary.put("outagesTrend", 0);
-        summary.put("durationTrend", 0);
-
-        // Find most affected area
-        // Placeholder - implement actual logic
-        Map<String, Object> mostAffectedArea = new HashMap<>();
-        mostAffectedArea.put("name", "N/A");
-        mostAffectedArea.put("count", 0);
-        summary.put("mostAffectedArea", mostAffectedArea);
-
-        // Count outages by type
-        Map<String, Integer> outagesByType = new HashMap<>();
-        outagesByType.put("ELECTRICITY", 0);
-        outagesByType.put("WATER", 0);
-        outagesByType.put("GAS", 0);
-        outagesByType.put("INTERNET", 0);
-        // Placeholder - implement actual counting logic
-
-        summary.put("outagesByType", outagesByType);
-
-        return summary;
+    private static LocalDateTime toLocalDateTime(ResultSet rs, String column) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp(column);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
     }
 
-    private Map<String, Object> generateTrendData(List<Object> outages, LocalDate startDate, LocalDate endDate) {
-        Map<String, Object> trendData = new HashMap<>();
-
-        List<String> dates = new ArrayList<>();
-        List<Integer> counts = new ArrayList<>();
-
-        // Placeholder - implement actual trend calculation
-        // Example: group outages by day and count them
-
-        trendData.put("dates", dates);
-        trendData.put("counts", counts);
-
-        return trendData;
+    private static LocalDate parseDate(String value, String name) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException | NullPointerException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
     }
 
-    private Map<String, Object> generateDurationData(List<Object> outages) {
-        Map<String, Object> durationData = new HashMap<>();
-
-        List<String> categories = new ArrayList<>();
-        List<Map<String, Object>> series = new ArrayList<>();
-
-        // Placeholder - implement actual duration calculation
-        // Example: calculate average duration by outage type and area
-
-        Map<String, Object> electricitySeries = new HashMap<>();
-        electricitySeries.put("name", "Electricity");
-        electricitySeries.put("data", new ArrayList<Double>());
-
-        Map<String, Object> waterSeries = new HashMap<>();
-        waterSeries.put("name", "Water");
-        waterSeries.put("data", new ArrayList<Double>());
-
-        Map<String, Object> gasSeries = new HashMap<>();
-        gasSeries.put("name", "Gas");
-        gasSeries.put("data", new ArrayList<Double>());
-
-        Map<String, Object> internetSeries = new HashMap<>();
-        internetSeries.put("name", "Internet");
-        internetSeries.put("data", new ArrayList<Double>());
-
-        series.add(electricitySeries);
-        series.add(waterSeries);
-        series.add(gasSeries);
-        series.add(internetSeries);
+    /**
+     * @return the type, or null for no filter ("ALL" or blank)
+     */
+    private static OutageType parseType(String value) {
+        if (value == null || value.isBlank() || value.equalsIgnoreCase("ALL")) {
+            return null;
+        }
+        try {
+            return OutageType.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid outage type: " + value);
+        }
+    }
 
-        durationData.put("categories", categories);
-        durationData.put("series", series);
+    private record ReportKey(LocalDate fromDate, LocalDate toDate, OutageType type, Long areaId) {
+    }
 
-        return durationData;
+    private record CachedReport(Map<String, Object> report, long outagesVersion, long areasVersion) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,174 @@
+package lk.ijse.poweralert.service.impl;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lk.ijse.poweralert.dto.OutageDTO;
+import lk.ijse.poweralert.repository.OutageAffectedAddressRepository;
+import lk.ijse.poweralert.service.ActiveOutageSnapshotService;
+import lk.ijse.poweralert.service.DataVersionService;
+import lk.ijse.poweralert.service.UserOutageFeedService;
+import lk.ijse.poweralert.util.ActiveOutageSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user feeds hold only outage ids, so outage edits and status changes need no feed
+ * maintenance: the ids are resolved against the active outage snapshot on every read,
+ * which also drops outages that have ended. Feeds change when the materialized affected
+ * addresses do; those changes are versioned like the other shared data sets.
+ */
+@Service
+public class UserOutageFeedServiceImpl implements UserOutageFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserOutageFeedServiceImpl.class);
+
+    @Autowired
+    private OutageAffectedAddressRepository outageAffectedAddressRepository;
+
+    @Autowired
+    private ActiveOutageSnapshotService activeOutageSnapshotService;
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    private final int maxSize;
+
+    // LRU of user id to outage ids, and the feed version it reflects; both guarded by feeds
+    private final Map<Long, Set<Long>> feeds;
+    private long appliedVersion = -1;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public UserOutageFeedServiceImpl(@Value("${app.user-feed.cache-size:10000}") int maxSize,
+                                     MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.feeds = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Set<Long>> eldest) {
+                return size() > UserOutageFeedServiceImpl.this.maxSize;
+            }
+        };
+
+        FunctionCounter.builder("poweralert.user.feed.cache.hits", hits, AtomicLong::get)
+                .description("User outage feed cache hits")
+                .register(meterRegistry);
+        FunctionCounter.builder("poweralert.user.feed.cache.misses", misses, AtomicLong::get)
+                .description("User outage feed cache misses")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<OutageDTO> getFeed(Long userId) {
+        ActiveOutageSnapshot snapshot = activeOutageSnapshotService.getSnapshot();
+        return getOutageIds(userId).stream()
+                .map(snapshot::getOutage)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparing(OutageDTO::getStartTime, Comparator.nullsLast(Comparator.reverseOrder())))
+                .toList();
+    }
+
+    @Override
+    public void outageUsersChanged(Long outageId, Collection<Long> usersBefore, Collection<Long> usersAfter) {
+        Set<Long> joined = new HashSet<>(usersAfter);
+        joined.removeAll(usersBefore);
+        Set<Long> left = new HashSet<>(usersBefore);
+        left.removeAll(usersAfter);
+        if (joined.isEmpty() && left.isEmpty()) {
+            return;
+        }
+
+        dataVersionService.increment(DataVersionService.USER_FEEDS, version -> apply(version, () -> {
+            joined.forEach(userId -> patch(userId, outageId, true));
+            left.forEach(userId -> patch(userId, outageId, false));
+        }));
+    }
+
+    @Override
+    public void userOutagesChanged(Long userId) {
+        dataVersionService.increment(DataVersionService.USER_FEEDS, version -> apply(version, () -> feeds.remove(userId)));
+    }
+
+    @Override
+    public void checkVersion() {
+        long version = dataVersionService.getVersion(DataVersionService.USER_FEEDS).version();
+        synchronized (feeds) {
+            if (appliedVersion >= 0 && version > appliedVersion) {
+                logger.debug("Dropping {} cached user feeds (version {} -> {})", feeds.size(), appliedVersion, version);
+                feeds.clear();
+                appliedVersion = version;
+            }
+        }
+    }
+
+    private Set<Long> getOutageIds(Long userId) {
+        long loadVersion;
+        synchronized (feeds) {
+            Set<Long> outageIds = feeds.get(userId);
+            if (outageIds != null) {
+                hits.incrementAndGet();
+                return outageIds;
+            }
+            if (appliedVersion < 0) {
+                appliedVersion = dataVersionService.getVersion(DataVersionService.USER_FEEDS).version();
+            }
+            loadVersion = appliedVersion;
+        }
+
+        misses.incrementAndGet();
+        Set<Long> outageIds = new HashSet<>(outageAffectedAddressRepository.findOutageIdsByUserId(userId));
+
+        synchronized (feeds) {
+            // A change applied while loading may not be in what was read, so keep it uncached
+            if (appliedVersion == loadVersion) {
+                feeds.put(userId, outageIds);
+            }
+        }
+        return outageIds;
+    }
+
+    // Called with feeds locked
+    private void patch(Long userId, Long outageId, boolean affected) {
+        Set<Long> outageIds = feeds.get(userId);
+        if (outageIds == null) {
+            return;
+        }
+        // Copy on write: readers iterate the set they got without holding the lock
+        Set<Long> patched = new HashSet<>(outageIds);
+        if (affected) {
+            patched.add(outageId);
+        } else {
+            patched.remove(outageId);
+        }
+        feeds.put(userId, patched);
+    }
+
+    private void apply(long version, Runnable change) {
+        synchronized (feeds) {
+            if (appliedVersion < 0 || version <= appliedVersion) {
+                // Nothing cached yet, or already covered by a reset
+                return;
+            }
+            if (version == appliedVersion + 1) {
+                change.run();
+            } else {
+                // Another feed change landed in between, possibly on another node
+                feeds.clear();
+            }
+            appliedVersion = version;
+        }
+    }
+}
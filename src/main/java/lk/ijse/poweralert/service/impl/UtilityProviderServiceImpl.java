@@ -1,6 +1,7 @@
 package lk.ijse.poweralert.service.impl;
 
 import lk.ijse.poweralert.dto.AreaSummaryDTO;
+import lk.ijse.poweralert.dto.CursorPageDTO;
 import lk.ijse.poweralert.dto.OutageDTO;
 import lk.ijse.poweralert.dto.UtilityProviderDTO;
 import lk.ijse.poweralert.entity.Area;
@@ -12,12 +13,15 @@ import lk.ijse.poweralert.repository.AreaRepository;
 import lk.ijse.poweralert.repository.OutageRepository;
 import lk.ijse.poweralert.repository.UtilityProviderRepository;
 import lk.ijse.poweralert.repository.UserRepository;
+import lk.ijse.poweralert.service.DataVersionService;
 import lk.ijse.poweralert.service.UserService;
 import lk.ijse.poweralert.service.UtilityProviderService;
+import lk.ijse.poweralert.util.KeysetCursor;
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -50,15 +54,16 @@ public class UtilityProviderServiceImpl implements UtilityProviderService {
     @Autowired
     private AreaRepository areaRepository;
 
+    @Autowired
+    private DataVersionService dataVersionService;
+
     @Override
     @Transactional(readOnly = true)  // Add the @Transactional annotation here
     public List<UtilityProviderDTO> getAllUtilityProviders() {
         logger.info("Fetching all utility providers");
 
-        List<UtilityProvider> providers = utilityProviderRepository.findAll();
-
-        // Use the join fetch query instead if possible
-        // List<UtilityProvider> providers = utilityProviderRepository.findAllWithServiceAreas();
+        // Service areas are fetched with the providers instead of once per provider
+        List<UtilityProvider> providers = utilityProviderRepository.findAllWithServiceAreas();
 
         return providers.stream()
                 .map(this::convertToDTO)
@@ -129,6 +134,7 @@ public class UtilityProviderServiceImpl implements UtilityProviderService {
 
         // Save the provider with updated relationships
         UtilityProvider savedProvider = utilityProviderRepository.save(provider);
+        dataVersionService.increment(DataVersionService.UTILITY_PROVIDERS);
 
         logger.info("Utility provider updated successfully with ID: {}", savedProvider.getId());
 
@@ -138,8 +144,10 @@ public class UtilityProviderServiceImpl implements UtilityProviderService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<OutageDTO> getOutagesForCurrentProvider() {
+    public CursorPageDTO<OutageDTO> getOutagesForCurrentProvider(String cursor, Integer limit) {
         logger.info("Fetching outages for current utility provider");
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = CursorPageDTO.resolveLimit(limit);
 
         try {
             // Get current user
@@ -156,12 +164,16 @@ public class UtilityProviderServiceImpl implements UtilityProviderService {
             logger.debug("Found provider ID {} for user {}", providerId, username);
 
             // Get outages for this provider
-            List<Outage> outages = outageRepository.findByUtilityProviderIdOrderByStartTimeDesc(providerId);
+            List<Outage> outages = after == null
+                    ? outageRepository.findPageByProvider(providerId, Limit.of(pageSize + 1))
+                    : outageRepository.findPageByProviderAfter(providerId, after.time(), after.id(), Limit.of(pageSize + 1));
             logger.info("Found {} outages for provider ID {}", outages.size(), providerId);
 
-            return outages.stream()
-                    .map(this::convertOutageToDTO)
-                    .collect(Collectors.toList());
+            return CursorPageDTO.of(outages, pageSize,
+                    outage -> new KeysetCursor(outage.getStartTime(), outage.getId()),
+                    page -> page.stream()
+                            .map(this::convertOutageToDTO)
+                            .collect(Collectors.toList()));
         } catch (Exception e) {
             logger.error("Error fetching outages for current provider: {}", e.getMessage(), e);
             throw e;
@@ -192,6 +204,7 @@ public class UtilityProviderServiceImpl implements UtilityProviderService {
 
         // Save the provider
         UtilityProvider savedProvider = utilityProviderRepository.save(provider);
+        dataVersionService.increment(DataVersionService.UTILITY_PROVIDERS);
 
         // Update the user with a reference to the provider if you have that relationship
         // user.setUtilityProvider(savedProvider);
@@ -334,6 +347,9 @@ public class UtilityProviderServiceImpl implements UtilityProviderService {
 
         // Save the provider with updated service areas
         utilityProviderRepository.save(provider);
+        if (linkedCount > 0) {
+            dataVersionService.increment(DataVersionService.UTILITY_PROVIDERS);
+        }
 
         // Log the result
         logger.info("Successfully linked utility provider {} to {} areas", providerId, linkedCount);
@@ -370,6 +386,7 @@ public class UtilityProviderServiceImpl implements UtilityProviderService {
 
             // Delete the utility provider
             utilityProviderRepository.deleteById(id);
+            dataVersionService.increment(DataVersionService.UTILITY_PROVIDERS);
             return true;
         } catch (Exception e) {
             logger.error("Error deleting utility provider: {}", e.getMessage(), e);
@@ -0,0 +1,194 @@
+package lk.ijse.poweralert.service.impl;
+
+import lk.ijse.poweralert.dto.OutageDTO;
+import lk.ijse.poweralert.event.ActiveOutagesChangedEvent;
+import lk.ijse.poweralert.service.ActiveOutageSnapshotService;
+import lk.ijse.poweralert.service.AreaLocatorService;
+import lk.ijse.poweralert.service.DataVersionService;
+import lk.ijse.poweralert.service.OutageGeospatialService;
+import lk.ijse.poweralert.service.VectorTileService;
+import lk.ijse.poweralert.util.ActiveOutageSnapshot;
+import lk.ijse.poweralert.util.AreaSpatialIndex.AreaItem;
+import lk.ijse.poweralert.util.GeometryCodec;
+import lk.ijse.poweralert.util.OutageSpatialIndex;
+import lk.ijse.poweralert.util.TileMath;
+import lk.ijse.poweralert.util.VectorTileCache;
+import lk.ijse.poweralert.util.VectorTileEncoder;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.simplify.DouglasPeuckerSimplifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class VectorTileServiceImpl implements VectorTileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VectorTileServiceImpl.class);
+
+    public static final String LAYER_OUTAGES = "outages";
+    public static final String LAYER_AREAS = "areas";
+
+    private static final int EXTENT = VectorTileEncoder.DEFAULT_EXTENT;
+    // Clip slightly outside the tile so polygon edges don't show at tile seams
+    private static final int BUFFER = 64;
+    // Simplification tolerance in tile units
+    private static final double TOLERANCE = 1.0;
+
+    private static final GeometryFactory geometryFactory = new GeometryFactory();
+
+    @Autowired
+    private DataVersionService dataVersionService;
+
+    @Autowired
+    private AreaLocatorService areaLocatorService;
+
+    @Autowired
+    private OutageGeospatialService outageGeospatialService;
+
+    @Autowired
+    private ActiveOutageSnapshotService activeOutageSnapshotService;
+
+    @Autowired
+    private VectorTileCache tileCache;
+
+    // Last known lon/lat bounds of rendered features, so a change can evict the tiles it used to touch
+    private final Map<String, Envelope> renderedBounds = new ConcurrentHashMap<>();
+
+    // Versions seen by the last check; tiles are node-local, so changes on other nodes clear them all
+    private long[] checkedVersions;
+
+    @Override
+    public byte[] getTile(int z, int x, int y) {
+        if (!TileMath.isValidTile(z, x, y)) {
+            throw new IllegalArgumentException("Invalid tile coordinates: " + z + "/" + x + "/" + y);
+        }
+
+        return tileCache.get(z, x, y, () -> renderTile(z, x, y));
+    }
+
+    @Override
+    public void evictArea(Long areaId, String boundaryJson) {
+        Runnable eviction = () -> {
+            tileCache.invalidate(renderedBounds.remove(LAYER_AREAS + ":" + areaId));
+            tileCache.invalidate(envelopeOf(boundaryJson));
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    /**
+     * Evict tiles touched by an outage once the snapshot the tiles render from has been replaced;
+     * the active outage index is dropped before this fires, when the change commits
+     */
+    @EventListener
+    public void onActiveOutagesChanged(ActiveOutagesChangedEvent event) {
+        try {
+            OutageDTO latest = event.getLatest();
+            if (latest == null) {
+                // Rebuilt rather than patched, so any outage may have changed
+                tileCache.clear();
+                return;
+            }
+
+            tileCache.invalidate(renderedBounds.remove(LAYER_OUTAGES + ":" + latest.getId()));
+            if (ActiveOutageSnapshot.isActive(latest.getStatus())) {
+                tileCache.invalidate(envelopeOf(latest.getGeographicalAreaJson()));
+            }
+        } catch (Exception e) {
+            logger.warn("Clearing vector tiles after failed eviction: {}", e.getMessage());
+            tileCache.clear();
+        }
+    }
+
+    @Override
+    public synchronized void checkVersion() {
+        long[] versions = {
+                dataVersionService.getVersion(DataVersionService.OUTAGES).version(),
+                dataVersionService.getVersion(DataVersionService.AREAS).version(),
+                dataVersionService.getVersion(DataVersionService.OUTAGE_GEOSPATIAL).version()
+        };
+        if (checkedVersions != null && !Arrays.equals(versions, checkedVersions)) {
+            logger.debug("Clearing {} vector tiles after a data version change", tileCache.size());
+            tileCache.clear();
+        }
+        checkedVersions = versions;
+    }
+
+    private byte[] renderTile(int z, int x, int y) {
+        Envelope tileBounds = TileMath.tileEnvelope(z, x, y);
+        Geometry clip = geometryFactory.toGeometry(new Envelope(-BUFFER, EXTENT + BUFFER, -BUFFER, EXTENT + BUFFER));
+        VectorTileEncoder encoder = new VectorTileEncoder(EXTENT);
+
+        // Candidates come from the in-memory spatial indexes, so a cache miss reads no tables
+        for (AreaItem area : areaLocatorService.findAreasIntersecting(tileBounds)) {
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            attributes.put("name", area.getName());
+            attributes.put("district", area.getDistrict());
+            addFeature(encoder, LAYER_AREAS, area.getAreaId(), attributes, area.getBoundary(), tileBounds, clip, z, x, y);
+        }
+
+        ActiveOutageSnapshot snapshot = activeOutageSnapshotService.getSnapshot();
+        for (OutageSpatialIndex.Item item : outageGeospatialService.findActiveOutagesIntersecting(tileBounds)) {
+            OutageDTO outage = snapshot.getOutage(item.outageId());
+            if (outage == null) {
+                continue;
+            }
+
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            attributes.put("type", outage.getType().name());
+            attributes.put("status", outage.getStatus().name());
+            attributes.put("areaId", outage.getAffectedArea() != null ? outage.getAffectedArea().getId() : null);
+            addFeature(encoder, LAYER_OUTAGES, outage.getId(), attributes, item.geometry(), tileBounds, clip, z, x, y);
+        }
+
+        return encoder.encode();
+    }
+
+    private void addFeature(VectorTileEncoder encoder, String layer, Long id, Map<String, Object> attributes,
+                            PreparedGeometry prepared, Envelope tileBounds, Geometry clip, int z, int x, int y) {
+        Geometry geometry = prepared.getGeometry();
+        Envelope bounds = geometry.getEnvelopeInternal();
+        renderedBounds.put(layer + ":" + id, bounds);
+        if (!bounds.intersects(tileBounds)) {
+            return;
+        }
+
+        try {
+            Geometry projected = TileMath.toTileCoordinates(geometry, z, x, y, EXTENT);
+            Geometry simplified = DouglasPeuckerSimplifier.simplify(projected, TOLERANCE);
+            Geometry clipped = simplified.intersection(clip);
+            if (!clipped.isEmpty()) {
+                encoder.addPolygonFeature(layer, id, attributes, clipped);
+            }
+        } catch (Exception e) {
+            logger.warn("Skipping {} feature {} in tile {}/{}/{}: {}", layer, id, z, x, y, e.getMessage());
+        }
+    }
+
+    private Envelope envelopeOf(String geoJson) {
+        // The previous boundary is only needed for its bounds, so keep it out of the geometry cache
+        Geometry geometry = GeometryCodec.fromGeoJson(geoJson);
+        return geometry == null ? null : geometry.getEnvelopeInternal();
+    }
+}
@@ -0,0 +1,172 @@
+package lk.ijse.poweralert.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lk.ijse.poweralert.dto.OutageDTO;
+import lk.ijse.poweralert.dto.ResponseDTO;
+import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable view of the active outages together with the serialized response body
+ * of the public listing. A change produces a new snapshot; readers keep whichever
+ * instance they loaded. The DTOs are shared and must not be modified.
+ */
+public final class ActiveOutageSnapshot {
+
+    public static final String MESSAGE = "Active outages retrieved successfully";
+
+    private final long version;
+    // Area and provider versions the embedded area and provider DTOs were read at
+    private final long areasVersion;
+    private final long providersVersion;
+    private final Instant builtAt;
+    private final Instant lastModified;
+    private final Map<Long, OutageDTO> outages;
+    private final List<OutageDTO> outageList;
+    private final String outagesJson;
+    private final byte[] json;
+    private final String etag;
+
+    private ActiveOutageSnapshot(long version, long areasVersion, long providersVersion, Map<Long, OutageDTO> outages,
+                                 ActiveOutageSnapshot previous, Instant lastModified, ObjectMapper objectMapper) {
+        this.version = version;
+        this.areasVersion = areasVersion;
+        this.providersVersion = providersVersion;
+        this.builtAt = Instant.now();
+        this.outages = Collections.unmodifiableMap(outages);
+        this.outageList = List.copyOf(outages.values());
+        this.outagesJson = serialize(outageList, objectMapper);
+        this.json = serialize(ResponseDTO.of(VarList.OK, MESSAGE, new RawValue(outagesJson)), objectMapper).getBytes(
+                StandardCharsets.UTF_8);
+
+        // Strong validator: the data version plus a digest of the exact bytes served
+        String digest = digest(json);
+        this.etag = "\"active-" + version + "-" + digest + "\"";
+        // An unchanged body keeps its modification time across rebuilds
+        this.lastModified = previous != null && previous.etag.endsWith(digest + "\"")
+                ? previous.lastModified : lastModified;
+    }
+
+    /**
+     * Build a snapshot from the active outages
+     *
+     * @param version the outage data version the outages were read at
+     * @param areasVersion the area data version they were read at
+     * @param providersVersion the utility provider data version they were read at
+     * @param previous the snapshot being replaced, or null
+     * @param lastModified when one of the data versions last changed
+     */
+    public static ActiveOutageSnapshot of(long version, long areasVersion, long providersVersion,
+                                          Collection<OutageDTO> activeOutages, ActiveOutageSnapshot previous,
+                                          Instant lastModified, ObjectMapper objectMapper) {
+        // Ordered by ID, so a patched snapshot lists outages exactly as a rebuild would
+        Map<Long, OutageDTO> outages = new TreeMap<>();
+        for (OutageDTO outage : activeOutages) {
+            outages.put(outage.getId(), outage);
+        }
+        return new ActiveOutageSnapshot(version, areasVersion, providersVersion, outages, previous, lastModified,
+                objectMapper);
+    }
+
+    /**
+     * Derive a snapshot with one outage replaced, added or removed
+     *
+     * @param outageId the changed outage
+     * @param outage its current state, or null if it no longer exists
+     * @param lastModified when the change was made
+     */
+    public ActiveOutageSnapshot with(long newVersion, Long outageId, OutageDTO outage, Instant lastModified,
+                                     ObjectMapper objectMapper) {
+        Map<Long, OutageDTO> patched = new TreeMap<>(outages);
+        if (outage != null && isActive(outage.getStatus())) {
+            patched.put(outageId, outage);
+        } else {
+            patched.remove(outageId);
+        }
+        return new ActiveOutageSnapshot(newVersion, areasVersion, providersVersion, patched, this, lastModified,
+                objectMapper);
+    }
+
+    public static boolean isActive(OutageStatus status) {
+        return status == OutageStatus.SCHEDULED || status == OutageStatus.ONGOING;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getAreasVersion() {
+        return areasVersion;
+    }
+
+    public long getProvidersVersion() {
+        return providersVersion;
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Quoted strong entity tag of the serialized listing
+     */
+    public String getEtag() {
+        return etag;
+    }
+
+    public List<OutageDTO> getOutages() {
+        return outageList;
+    }
+
+    public OutageDTO getOutage(Long outageId) {
+        return outages.get(outageId);
+    }
+
+    /**
+     * The serialized outage array, as embedded in the listing body
+     */
+    public String getOutagesJson() {
+        return outagesJson;
+    }
+
+    /**
+     * The serialized response body of the active outage listing; the array is shared and must not be modified
+     */
+    public byte[] getJson() {
+        return json;
+    }
+
+    private static String digest(byte[] bytes) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String serialize(Object value, ObjectMapper objectMapper) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package lk.ijse.poweralert.util;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.index.strtree.ItemDistance;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable index resolving coordinates to areas. Points inside an area boundary
+ * resolve to that area (the smallest one when boundaries overlap); other points
+ * fall back to the area with the nearest centroid.
+ * Instances are built once and shared between request threads.
+ */
+public final class AreaSpatialIndex {
+
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+    // Centroid items are points, so planar distance in degrees never undercuts the envelope bound
+    private static final ItemDistance CENTROID_DISTANCE = (a, b) -> {
+        AreaItem x = (AreaItem) a.getItem();
+        AreaItem y = (AreaItem) b.getItem();
+        return Math.hypot(x.centroidLongitude - y.centroidLongitude, x.centroidLatitude - y.centroidLatitude);
+    };
+
+    private static final AreaSpatialIndex EMPTY = build(List.of());
+
+    private final STRtree boundaries;
+    private final STRtree centroids;
+    private final int size;
+
+    private AreaSpatialIndex(STRtree boundaries, STRtree centroids, int size) {
+        this.boundaries = boundaries;
+        this.centroids = centroids;
+        this.size = size;
+    }
+
+    public static AreaSpatialIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build an index from areas; areas with neither a boundary nor a centroid are skipped
+     */
+    public static AreaSpatialIndex build(Collection<AreaItem> areas) {
+        STRtree boundaries = new STRtree();
+        STRtree centroids = new STRtree();
+        int size = 0;
+
+        for (AreaItem area : areas) {
+            boolean indexed = false;
+            if (area.boundary != null) {
+                boundaries.insert(area.boundary.getGeometry().getEnvelopeInternal(), area);
+                indexed = true;
+            }
+            if (area.hasCentroid()) {
+                centroids.insert(new Envelope(area.centroidLongitude, area.centroidLongitude,
+                        area.centroidLatitude, area.centroidLatitude), area);
+                indexed = true;
+            }
+            if (indexed) {
+                size++;
+            }
+        }
+
+        // Build eagerly so concurrent queries never trigger the lazy build
+        boundaries.build();
+        centroids.build();
+        return new AreaSpatialIndex(boundaries, centroids, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Find areas whose boundary envelope intersects a lon/lat envelope
+     * @return candidate areas with a boundary, to be checked against it by the caller
+     */
+    @SuppressWarnings("unchecked")
+    public List<AreaItem> findBoundariesIntersecting(Envelope envelope) {
+        return size == 0 ? List.of() : boundaries.query(envelope);
+    }
+
+    /**
+     * Resolve a point to an area
+     *
+     * @param maxCentroidDistanceKm limit for the centroid fallback
+     * @return the match, or null if the point is in no boundary and no centroid is close enough
+     */
+    public Match locate(double latitude, double longitude, double maxCentroidDistanceKm) {
+        if (size == 0) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<AreaItem> candidates = boundaries.query(new Envelope(longitude, longitude, latitude, latitude));
+        if (!candidates.isEmpty()) {
+            Point point = GEOMETRY_FACTORY.createPoint(new Coordinate(longitude, latitude));
+            AreaItem best = null;
+            double bestArea = Double.POSITIVE_INFINITY;
+            for (AreaItem candidate : candidates) {
+                if (candidate.boundary.contains(point)) {
+                    double area = candidate.boundary.getGeometry().getArea();
+                    if (area < bestArea) {
+                        best = candidate;
+                        bestArea = area;
+                    }
+                }
+            }
+            if (best != null) {
+                return new Match(best, true, best.hasCentroid() ? distanceKm(best, latitude, longitude) : 0);
+            }
+        }
+
+        if (centroids.isEmpty()) {
+            return null;
+        }
+        AreaItem query = new AreaItem(0, null, null, null, null, latitude, longitude);
+        Object nearest = centroids.nearestNeighbour(new Envelope(longitude, longitude, latitude, latitude),
+                query, CENTROID_DISTANCE);
+        if (nearest == null) {
+            return null;
+        }
+
+        AreaItem area = (AreaItem) nearest;
+        double distance = distanceKm(area, latitude, longitude);
+        return distance <= maxCentroidDistanceKm ? new Match(area, false, distance) : null;
+    }
+
+    private static double distanceKm(AreaItem area, double latitude, double longitude) {
+        // Equirectangular approximation, accurate to well under 1% at area scales
+        double dLat = area.centroidLatitude - latitude;
+        double dLon = (area.centroidLongitude - longitude) * Math.cos(Math.toRadians((area.centroidLatitude + latitude) / 2));
+        return Math.hypot(dLat, dLon) * KM_PER_DEGREE_LATITUDE;
+    }
+
+    /**
+     * An indexed area
+     */
+    public static final class AreaItem {
+        private final long areaId;
+        private final String name;
+        private final String city;
+        private final String district;
+        private final PreparedGeometry boundary;
+        private final double centroidLatitude;
+        private final double centroidLongitude;
+
+        /**
+         * @param boundary the prepared boundary, or null
+         * @param centroidLatitude centroid latitude, or NaN if unknown
+         * @param centroidLongitude centroid longitude, or NaN if unknown
+         */
+        public AreaItem(long areaId, String name, String city, String district, PreparedGeometry boundary,
+                        double centroidLatitude, double centroidLongitude) {
+            this.areaId = areaId;
+            this.name = name;
+            this.city = city;
+            this.district = district;
+            this.boundary = boundary;
+            this.centroidLatitude = centroidLatitude;
+            this.centroidLongitude = centroidLongitude;
+        }
+
+        public long getAreaId() {
+            return areaId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        public String getDistrict() {
+            return district;
+        }
+
+        /**
+         * @return the prepared boundary, or null if the area is indexed by its centroid only
+         */
+        public PreparedGeometry getBoundary() {
+            return boundary;
+        }
+
+        boolean hasCentroid() {
+            return !Double.isNaN(centroidLatitude) && !Double.isNaN(centroidLongitude);
+        }
+    }
+
+    /**
+     * Result of a lookup
+     * @param area the matched area
+     * @param withinBoundary true if the point lies inside the area boundary
+     * @param distanceKm distance from the area centroid, 0 if the area has none
+     */
+    public record Match(AreaItem area, boolean withinBoundary, double distanceKm) {
+    }
+}
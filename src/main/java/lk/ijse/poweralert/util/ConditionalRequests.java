@@ -0,0 +1,40 @@
+package lk.ijse.poweralert.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.StringJoiner;
+
+/**
+ * Helpers for building validators checked with WebRequest.checkNotModified
+ */
+public class ConditionalRequests {
+
+    /**
+     * Build a quoted strong entity tag from its parts, e.g. "outage-12-v40"
+     */
+    public static String etag(Object... parts) {
+        StringJoiner joiner = new StringJoiner("-", "\"", "\"");
+        for (Object part : parts) {
+            joiner.add(String.valueOf(part));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Latest of the given epoch millisecond timestamps; -1 values are ignored
+     */
+    public static long latest(long... timestamps) {
+        long latest = -1;
+        for (long timestamp : timestamps) {
+            latest = Math.max(latest, timestamp);
+        }
+        return latest;
+    }
+
+    /**
+     * Convert a local timestamp to epoch milliseconds, or -1 for null
+     */
+    public static long toEpochMillis(LocalDateTime time) {
+        return time == null ? -1 : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,143 @@
+package lk.ijse.poweralert.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Utility class for geohash grid cells used to index address coordinates
+ */
+public class GeoHashUtil {
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+    /** Precision stored on addresses, roughly 5m x 5m cells */
+    public static final int ADDRESS_PRECISION = 9;
+
+    /** Upper bound on the number of cells returned for a covering */
+    public static final int MAX_COVERING_CELLS = 32;
+
+    /**
+     * Encode coordinates as a geohash
+     *
+     * @param latitude the latitude
+     * @param longitude the longitude
+     * @param precision number of geohash characters
+     * @return the geohash
+     */
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+
+        char[] hash = new char[precision];
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+        int length = 0;
+
+        while (length < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash[length++] = BASE32[ch];
+                bit = 0;
+                ch = 0;
+            }
+        }
+
+        return new String(hash);
+    }
+
+    /**
+     * Width of a geohash cell in degrees of longitude
+     */
+    public static double cellWidth(int precision) {
+        int lonBits = (5 * precision + 1) / 2;
+        return 360.0 / (1L << lonBits);
+    }
+
+    /**
+     * Height of a geohash cell in degrees of latitude
+     */
+    public static double cellHeight(int precision) {
+        int latBits = (5 * precision) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    /**
+     * Compute the geohash cells covering a bounding box, using the finest precision
+     * (up to ADDRESS_PRECISION) that needs no more than MAX_COVERING_CELLS cells
+     *
+     * @return set of geohash prefixes whose union covers the box
+     */
+    public static Set<String> coveringCells(double south, double west, double north, double east) {
+        for (int precision = ADDRESS_PRECISION; precision > 1; precision--) {
+            double width = cellWidth(precision);
+            double height = cellHeight(precision);
+            long columns = (long) Math.floor(east / width) - (long) Math.floor(west / width) + 1;
+            long rows = (long) Math.floor(north / height) - (long) Math.floor(south / height) + 1;
+
+            if (columns * rows <= MAX_COVERING_CELLS) {
+                return cells(south, west, north, east, precision);
+            }
+        }
+
+        return cells(south, west, north, east, 1);
+    }
+
+    /**
+     * Compute the geohash cells covering a circle
+     *
+     * @param latitude centre latitude
+     * @param longitude centre longitude
+     * @param radiusKm radius in kilometers
+     * @return set of geohash prefixes whose union covers the circle
+     */
+    public static Set<String> coveringCells(double latitude, double longitude, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE_LATITUDE;
+        double lonDelta = radiusKm / (KM_PER_DEGREE_LATITUDE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+
+        return coveringCells(latitude - latDelta, longitude - lonDelta,
+                latitude + latDelta, longitude + lonDelta);
+    }
+
+    private static Set<String> cells(double south, double west, double north, double east, int precision) {
+        double width = cellWidth(precision);
+        double height = cellHeight(precision);
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (double lat = south; ; lat += height) {
+            double rowLat = Math.min(lat, north);
+            for (double lon = west; ; lon += width) {
+                cells.add(encode(rowLat, Math.min(lon, east), precision));
+                if (lon >= east) {
+                    break;
+                }
+            }
+            if (lat >= north) {
+                break;
+            }
+        }
+
+        return cells;
+    }
+}
@@ -0,0 +1,253 @@
+package lk.ijse.poweralert.util;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes a GeoJSON FeatureCollection token by token. Stored geometries (bare geometry,
+ * Feature or FeatureCollection text) are copied from a Reader straight into the output,
+ * so memory use does not depend on polygon size. Each written feature gets the given
+ * properties plus style properties; properties of stored features are not carried over.
+ */
+public class GeoJsonStreamWriter implements Closeable {
+
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final Set<String> GEOMETRY_MEMBERS = Set.of("coordinates", "geometries");
+
+    private final JsonGenerator generator;
+    private int featureCount;
+
+    public GeoJsonStreamWriter(OutputStream out) throws IOException {
+        this.generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+        generator.writeStartObject();
+        generator.writeStringField("type", "FeatureCollection");
+        generator.writeArrayFieldStart("features");
+    }
+
+    /**
+     * Style properties injected into every feature, in the simplestyle names used by
+     * {@link GeoJsonUtil#addStyleToGeoJson}
+     */
+    public record Style(String fillColor, String strokeColor, double strokeWidth, double fillOpacity) {
+    }
+
+    /**
+     * Copy the geometries of a stored GeoJSON document as features
+     *
+     * @param id the feature id
+     * @param properties feature properties; null values are skipped
+     * @param style style properties, or null for none
+     * @param source the stored GeoJSON
+     * @return number of features written
+     */
+    public int writeFeatures(long id, Map<String, Object> properties, Style style, Reader source) throws IOException {
+        FeatureHeader header = new FeatureHeader(id, properties, style);
+        int written = 0;
+
+        try (JsonParser parser = jsonFactory.createParser(source)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return 0;
+            }
+
+            boolean bareGeometry = false;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if ("geometry".equals(field) && value == JsonToken.START_OBJECT) {
+                    // Feature: splice its geometry
+                    header.write();
+                    generator.writeFieldName("geometry");
+                    generator.copyCurrentStructure(parser);
+                    generator.writeEndObject();
+                    written++;
+                } else if ("features".equals(field) && value == JsonToken.START_ARRAY) {
+                    written += copyCollectionGeometries(parser, header);
+                } else if (bareGeometry || isGeometryMember(field, parser)) {
+                    // Bare geometry: its members become the feature's geometry object
+                    if (!bareGeometry) {
+                        header.write();
+                        generator.writeObjectFieldStart("geometry");
+                        bareGeometry = true;
+                    }
+                    generator.writeFieldName(field);
+                    generator.copyCurrentStructure(parser);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (bareGeometry) {
+                generator.writeEndObject();
+                generator.writeEndObject();
+                written++;
+            }
+        } catch (JsonParseException e) {
+            // Close whatever the broken source left open so the collection stays well-formed
+            closeToFeatureArray();
+            throw new MalformedGeoJsonException(id, e);
+        } finally {
+            featureCount += written;
+        }
+
+        return written;
+    }
+
+    public int getFeatureCount() {
+        return featureCount;
+    }
+
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    /**
+     * Finish the collection and release the generator; the underlying stream is left open
+     */
+    @Override
+    public void close() throws IOException {
+        closeToFeatureArray();
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.close();
+    }
+
+    private int copyCollectionGeometries(JsonParser parser, FeatureHeader header) throws IOException {
+        int written = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("geometry".equals(field) && value == JsonToken.START_OBJECT) {
+                    header.write();
+                    generator.writeFieldName("geometry");
+                    generator.copyCurrentStructure(parser);
+                    generator.writeEndObject();
+                    written++;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return written;
+    }
+
+    private static boolean isGeometryMember(String field, JsonParser parser) throws IOException {
+        if (GEOMETRY_MEMBERS.contains(field)) {
+            return true;
+        }
+        if ("type".equals(field) && parser.currentToken() == JsonToken.VALUE_STRING) {
+            String type = parser.getText();
+            return !"Feature".equals(type) && !"FeatureCollection".equals(type);
+        }
+        return false;
+    }
+
+    private void closeToFeatureArray() throws IOException {
+        // The features array sits at depth 2: root object, then the array
+        JsonStreamContext context = generator.getOutputContext();
+        while (depth(context) > 2) {
+            if (context.inArray()) {
+                generator.writeEndArray();
+            } else {
+                try {
+                    generator.writeEndObject();
+                } catch (JsonGenerationException e) {
+                    // A field name was written but its value never arrived
+                    generator.writeNull();
+                    generator.writeEndObject();
+                }
+            }
+            context = generator.getOutputContext();
+        }
+    }
+
+    // Write contexts do not track their nesting depth, so count the parents
+    private static int depth(JsonStreamContext context) {
+        int depth = 0;
+        for (JsonStreamContext c = context; c.getParent() != null; c = c.getParent()) {
+            depth++;
+        }
+        return depth;
+    }
+
+    /**
+     * Opens a feature object and writes everything except its geometry
+     */
+    private final class FeatureHeader {
+        private final long id;
+        private final Map<String, Object> properties;
+        private final Style style;
+
+        FeatureHeader(long id, Map<String, Object> properties, Style style) {
+            this.id = id;
+            this.properties = properties;
+            this.style = style;
+        }
+
+        void write() throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("type", "Feature");
+            generator.writeNumberField("id", id);
+            generator.writeObjectFieldStart("properties");
+            if (properties != null) {
+                for (Map.Entry<String, Object> entry : properties.entrySet()) {
+                    writeValue(entry.getKey(), entry.getValue());
+                }
+            }
+            if (style != null) {
+                writeValue("fill", style.fillColor());
+                writeValue("stroke", style.strokeColor());
+                if (style.strokeWidth() > 0) {
+                    generator.writeNumberField("stroke-width", style.strokeWidth());
+                }
+                if (style.fillOpacity() >= 0 && style.fillOpacity() <= 1) {
+                    generator.writeNumberField("fill-opacity", style.fillOpacity());
+                }
+            }
+            generator.writeEndObject();
+        }
+
+        private void writeValue(String name, Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof Number number) {
+                generator.writeFieldName(name);
+                if (number instanceof Integer || number instanceof Long) {
+                    generator.writeNumber(number.longValue());
+                } else {
+                    generator.writeNumber(number.doubleValue());
+                }
+            } else if (value instanceof Boolean bool) {
+                generator.writeBooleanField(name, bool);
+            } else {
+                generator.writeStringField(name, value.toString());
+            }
+        }
+    }
+
+    /**
+     * Thrown when a stored GeoJSON document cannot be parsed; the features written
+     * so far are closed off and the collection can still be finished
+     */
+    public static class MalformedGeoJsonException extends IOException {
+        public MalformedGeoJsonException(long id, Throwable cause) {
+            super("Malformed GeoJSON for feature " + id + ": " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -33,111 +33,78 @@ public class GeoJsonUtil {
         if (polygon == null) {
             return null;
         }
-
-        List<List<Point>> coordinates = polygon.coordinates();
-        if (coordinates.isEmpty() || coordinates.get(0).isEmpty()) {
-            return polygon;
-        }
-
-        // Simplify only the outer ring (first list of points)
-        List<Point> outerRing = coordinates.get(0);
-        List<Point> simplifiedRing = simplifyPoints(outerRing, tolerance);
-
-        // Ensure the simplified ring has at least 4 points (3 + closing point)
-        if (simplifiedRing.size() < 4) {
-            return polygon; // Return original if too few points
-        }
-
-        // Create a new polygon with simplified outer ring
-        List<List<Point>> simplifiedCoordinates = new ArrayList<>();
-        simplifiedCoordinates.add(simplifiedRing);
-
-        // Add any inner rings (holes) unchanged
-        for (int i = 1; i < coordinates.size(); i++) {
-            simplifiedCoordinates.add(coordinates.get(i));
-        }
-
-        return Polygon.fromLngLats(simplifiedCoordinates);
+        return simplifyPolygonLevels(polygon, new double[]{tolerance}).get(0);
     }
 
     /**
-     * Simplify a list of points using the Ramer-Douglas-Peucker algorithm
+     * Simplify a polygon at several tolerances, ranking its vertices only once
+     * Holes smaller than a level's tolerance are dropped from that level
      *
-     * @param points The points to simplify
-     * @param tolerance The simplification tolerance
-     * @return Simplified list of points
+     * @param polygon The polygon to simplify
+     * @param tolerances The simplification tolerances
+     * @return One simplified polygon per tolerance
      */
-    private static List<Point> simplifyPoints(List<Point> points, double tolerance) {
-        if (points.size() <= 2) {
-            return new ArrayList<>(points);
+    public static List<Polygon> simplifyPolygonLevels(Polygon polygon, double[] tolerances) {
+        List<List<Point>> rings = polygon.coordinates();
+        if (rings.isEmpty() || rings.get(0).size() <= GeometrySimplifier.MIN_RING_COORDINATES) {
+            return Collections.nCopies(tolerances.length, polygon);
         }
 
-        // Find the point with the maximum distance
-        double maxDistance = 0;
-        int index = 0;
-        for (int i = 1; i < points.size() - 1; i++) {
-            double distance = perpendicularDistance(points.get(i),
-                    points.get(0), points.get(points.size() - 1));
-            if (distance > maxDistance) {
-                maxDistance = distance;
-                index = i;
-            }
+        List<double[]> coordinates = new ArrayList<>(rings.size());
+        List<double[]> ranks = new ArrayList<>(rings.size());
+        for (List<Point> ring : rings) {
+            double[] xy = toCoordinateArray(ring);
+            coordinates.add(xy);
+            ranks.add(GeometrySimplifier.rankRing(xy));
         }
 
-        // If max distance is greater than tolerance, recursively simplify
-        List<Point> result = new ArrayList<>();
-        if (maxDistance > tolerance) {
-            // Recursive call
-            List<Point> firstPart = simplifyPoints(
-                    points.subList(0, index + 1), tolerance);
-            List<Point> secondPart = simplifyPoints(
-                    points.subList(index, points.size()), tolerance);
-
-            // Build the result list
-            result.addAll(firstPart.subList(0, firstPart.size() - 1));
-            result.addAll(secondPart);
-        } else {
-            // Below tolerance, return just the endpoints
-            result.add(points.get(0));
-            result.add(points.get(points.size() - 1));
+        List<Polygon> levels = new ArrayList<>(tolerances.length);
+        for (double tolerance : tolerances) {
+            List<List<Point>> simplified = new ArrayList<>(rings.size());
+            for (int r = 0; r < rings.size(); r++) {
+                if (r > 0 && isSmallerThan(coordinates.get(r), tolerance)) {
+                    continue;
+                }
+                simplified.add(toPoints(GeometrySimplifier.select(coordinates.get(r), ranks.get(r), tolerance,
+                        GeometrySimplifier.MIN_RING_COORDINATES)));
+            }
+            levels.add(Polygon.fromLngLats(simplified));
         }
 
-        return result;
+        return levels;
     }
 
     /**
-     * Calculate the perpendicular distance from a point to a line
-     *
-     * @param point The point
-     * @param lineStart Start of the line
-     * @param lineEnd End of the line
-     * @return Distance in degrees
+     * Flatten a ring to a [lon0, lat0, lon1, lat1, ...] array
      */
-    private static double perpendicularDistance(Point point, Point lineStart, Point lineEnd) {
-        double x = point.longitude();
-        double y = point.latitude();
-        double x1 = lineStart.longitude();
-        double y1 = lineStart.latitude();
-        double x2 = lineEnd.longitude();
-        double y2 = lineEnd.latitude();
-
-        // Line case
-        double deltaX = x2 - x1;
-        double deltaY = y2 - y1;
-
-        // Handle special case of vertical line to avoid division by zero
-        if (Math.abs(deltaX) < 1e-9) {
-            return Math.abs(x - x1);
+    public static double[] toCoordinateArray(List<Point> ring) {
+        double[] xy = new double[ring.size() * 2];
+        for (int i = 0; i < ring.size(); i++) {
+            Point point = ring.get(i);
+            xy[2 * i] = point.longitude();
+            xy[2 * i + 1] = point.latitude();
         }
+        return xy;
+    }
 
-        // Handle special case of horizontal line to avoid division by zero
-        if (Math.abs(deltaY) < 1e-9) {
-            return Math.abs(y - y1);
+    private static boolean isSmallerThan(double[] xy, double size) {
+        double minX = Double.MAX_VALUE, maxX = -Double.MAX_VALUE;
+        double minY = Double.MAX_VALUE, maxY = -Double.MAX_VALUE;
+        for (int i = 0; i < xy.length; i += 2) {
+            minX = Math.min(minX, xy[i]);
+            maxX = Math.max(maxX, xy[i]);
+            minY = Math.min(minY, xy[i + 1]);
+            maxY = Math.max(maxY, xy[i + 1]);
         }
+        return maxX - minX < size && maxY - minY < size;
+    }
 
-        // Compute shortest distance using Perpendicular distance formula
-        double normalLength = Math.sqrt(deltaX * deltaX + deltaY * deltaY);
-        return Math.abs((deltaY * x - deltaX * y + x2 * y1 - y2 * x1) / normalLength);
+    private static List<Point> toPoints(double[] xy) {
+        List<Point> points = new ArrayList<>(xy.length / 2);
+        for (int i = 0; i < xy.length; i += 2) {
+            points.add(Point.fromLngLat(xy[i], xy[i + 1]));
+        }
+        return points;
     }
 
     /**
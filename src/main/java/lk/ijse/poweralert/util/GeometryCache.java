@@ -0,0 +1,145 @@
+package lk.ijse.poweralert.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU cache of parsed and prepared JTS geometries.
+ * Entries are keyed by owner kind and id and carry the owner's version
+ * (usually its updatedAt timestamp); a version mismatch forces a rebuild.
+ */
+@Component
+public class GeometryCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeometryCache.class);
+
+    public static final String KIND_OUTAGE = "outage";
+    public static final String KIND_OUTAGE_GEO = "outage-geo";
+    public static final String KIND_AREA = "area";
+
+    private final int maxSize;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public GeometryCache(@Value("${app.geo.geometry-cache.max-size:2000}") int maxSize,
+                         MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > GeometryCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        FunctionCounter.builder("poweralert.geometry.cache.hits", hits, AtomicLong::get)
+                .description("Prepared geometry cache hits")
+                .register(meterRegistry);
+        FunctionCounter.builder("poweralert.geometry.cache.misses", misses, AtomicLong::get)
+                .description("Prepared geometry cache misses")
+                .register(meterRegistry);
+        FunctionCounter.builder("poweralert.geometry.cache.evictions", evictions, AtomicLong::get)
+                .description("Prepared geometry cache evictions")
+                .register(meterRegistry);
+        Gauge.builder("poweralert.geometry.cache.size", this, GeometryCache::size)
+                .description("Prepared geometry cache entries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the prepared geometry for an owner, building it with the loader when
+     * missing or stale
+     *
+     * @param kind the owner kind (see KIND_* constants)
+     * @param id the owner id
+     * @param version the owner version, compared with equals
+     * @param loader builds the raw geometry; may return null
+     * @return the prepared geometry, or null if the loader produced none
+     */
+    public PreparedGeometry get(String kind, Object id, Object version, Supplier<Geometry> loader) {
+        String key = kind + ":" + id;
+
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && Objects.equals(entry.version, version)) {
+                hits.incrementAndGet();
+                return entry.geometry;
+            }
+        }
+
+        misses.incrementAndGet();
+        Geometry geometry = loader.get();
+        if (geometry == null) {
+            return null;
+        }
+
+        PreparedGeometry prepared = PreparedGeometryFactory.prepare(geometry);
+        synchronized (entries) {
+            entries.put(key, new Entry(version, prepared));
+        }
+        return prepared;
+    }
+
+    /**
+     * Drop the cached geometry of an owner
+     */
+    public void invalidate(String kind, Object id) {
+        synchronized (entries) {
+            if (entries.remove(kind + ":" + id) != null) {
+                logger.debug("Invalidated cached geometry for {}:{}", kind, id);
+            }
+        }
+    }
+
+    /**
+     * Drop all cached geometries
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return hit, miss, eviction and size counters
+     */
+    public Map<String, Long> getStats() {
+        Map<String, Long> stats = new HashMap<>();
+        stats.put("hits", hits.get());
+        stats.put("misses", misses.get());
+        stats.put("evictions", evictions.get());
+        stats.put("size", (long) size());
+        stats.put("maxSize", (long) maxSize);
+        return stats;
+    }
+
+    private record Entry(Object version, PreparedGeometry geometry) {
+    }
+}
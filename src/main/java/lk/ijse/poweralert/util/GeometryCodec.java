@@ -0,0 +1,148 @@
+package lk.ijse.poweralert.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.ByteOrderValues;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts stored polygon GeoJSON to JTS geometries and to the compact WKB form
+ * persisted next to it. The GeoJSON is parsed by its "type" members (bare geometry,
+ * Feature or FeatureCollection) and all polygonal parts are kept.
+ */
+public class GeometryCodec {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeometryCodec.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    /** Geometries use longitude/latitude on WGS 84 */
+    public static final int SRID = 4326;
+
+    private static final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), SRID);
+
+    /**
+     * Encode stored GeoJSON as WKB
+     *
+     * @param geoJson the GeoJSON text
+     * @return WKB bytes, or null if the text is empty or holds no polygon
+     */
+    public static byte[] geoJsonToWkb(String geoJson) {
+        Geometry geometry = fromGeoJson(geoJson);
+        return geometry == null ? null : toWkb(geometry);
+    }
+
+    /**
+     * Parse the polygonal parts of a GeoJSON document
+     *
+     * @return a Polygon or MultiPolygon, or null if the text is empty, invalid or holds no polygon
+     */
+    public static Geometry fromGeoJson(String geoJson) {
+        if (geoJson == null || geoJson.isBlank()) {
+            return null;
+        }
+
+        try {
+            List<Polygon> polygons = new ArrayList<>();
+            collectPolygons(objectMapper.readTree(geoJson), polygons);
+
+            if (polygons.isEmpty()) {
+                return null;
+            }
+            if (polygons.size() == 1) {
+                return polygons.get(0);
+            }
+            return geometryFactory.createMultiPolygon(polygons.toArray(new Polygon[0]));
+        } catch (Exception e) {
+            logger.warn("Cannot parse GeoJSON geometry: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Encode a geometry as 2D little-endian WKB
+     */
+    public static byte[] toWkb(Geometry geometry) {
+        return new WKBWriter(2, ByteOrderValues.LITTLE_ENDIAN).write(geometry);
+    }
+
+    /**
+     * Decode WKB produced by {@link #toWkb}
+     *
+     * @return the geometry, or null for empty or corrupt input
+     */
+    public static Geometry fromWkb(byte[] wkb) {
+        if (wkb == null || wkb.length == 0) {
+            return null;
+        }
+        try {
+            Geometry geometry = new WKBReader(geometryFactory).read(wkb);
+            geometry.setSRID(SRID);
+            return geometry;
+        } catch (ParseException e) {
+            logger.warn("Cannot decode WKB geometry: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static void collectPolygons(JsonNode node, List<Polygon> out) {
+        if (node == null || !node.isObject()) {
+            return;
+        }
+
+        switch (node.path("type").asText()) {
+            case "FeatureCollection" -> node.path("features").forEach(feature -> collectPolygons(feature, out));
+            case "Feature" -> collectPolygons(node.get("geometry"), out);
+            case "GeometryCollection" -> node.path("geometries").forEach(geometry -> collectPolygons(geometry, out));
+            case "Polygon" -> {
+                Polygon polygon = toPolygon(node.path("coordinates"));
+                if (polygon != null) {
+                    out.add(polygon);
+                }
+            }
+            case "MultiPolygon" -> node.path("coordinates").forEach(rings -> {
+                Polygon polygon = toPolygon(rings);
+                if (polygon != null) {
+                    out.add(polygon);
+                }
+            });
+            default -> {
+                // Points and lines carry no area
+            }
+        }
+    }
+
+    private static Polygon toPolygon(JsonNode rings) {
+        if (!rings.isArray() || rings.isEmpty()) {
+            return null;
+        }
+
+        LinearRing shell = toRing(rings.get(0));
+        LinearRing[] holes = new LinearRing[rings.size() - 1];
+        for (int i = 1; i < rings.size(); i++) {
+            holes[i - 1] = toRing(rings.get(i));
+        }
+        return geometryFactory.createPolygon(shell, holes);
+    }
+
+    private static LinearRing toRing(JsonNode positions) {
+        Coordinate[] coordinates = new Coordinate[positions.size()];
+        for (int i = 0; i < positions.size(); i++) {
+            JsonNode position = positions.get(i);
+            coordinates[i] = new Coordinate(position.get(0).asDouble(), position.get(1).asDouble());
+        }
+        return geometryFactory.createLinearRing(coordinates);
+    }
+}
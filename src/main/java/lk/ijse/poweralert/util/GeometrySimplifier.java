@@ -0,0 +1,201 @@
+package lk.ijse.poweralert.util;
+
+import java.util.Arrays;
+
+/**
+ * Iterative Douglas-Peucker simplification over flat [x0, y0, x1, y1, ...] coordinate arrays.
+ * One pass ranks every vertex by the tolerance at which it would be dropped, so any
+ * number of simplification levels can then be cut from the same ranking in linear time.
+ */
+public class GeometrySimplifier {
+
+    /** Tolerances of the precomputed pyramid in degrees, finest first (roughly 1 m to 500 m) */
+    public static final double[] PYRAMID_TOLERANCES = {0.00001, 0.00005, 0.0001, 0.0005, 0.001, 0.005};
+
+    /** Minimum number of coordinates of a valid closed ring */
+    public static final int MIN_RING_COORDINATES = 4;
+
+    /**
+     * Rank the vertices of a closed ring (first coordinate repeated at the end).
+     * The first vertex and the vertex farthest from it are always kept.
+     *
+     * @return per-vertex tolerance above which the vertex is dropped
+     */
+    public static double[] rankRing(double[] xy) {
+        int n = xy.length / 2;
+        double[] rank = new double[n];
+        if (n <= MIN_RING_COORDINATES) {
+            Arrays.fill(rank, Double.POSITIVE_INFINITY);
+            return rank;
+        }
+
+        // Split the ring at the vertex farthest from the start, then rank both halves
+        int far = 1;
+        double farDistance = -1;
+        for (int i = 1; i < n - 1; i++) {
+            double dx = xy[2 * i] - xy[0];
+            double dy = xy[2 * i + 1] - xy[1];
+            double d = dx * dx + dy * dy;
+            if (d > farDistance) {
+                farDistance = d;
+                far = i;
+            }
+        }
+
+        rank[0] = Double.POSITIVE_INFINITY;
+        rank[far] = Double.POSITIVE_INFINITY;
+        rank[n - 1] = Double.POSITIVE_INFINITY;
+        rankRange(xy, rank, 0, far);
+        rankRange(xy, rank, far, n - 1);
+        return rank;
+    }
+
+    /**
+     * Rank the vertices of an open line; both end points are always kept
+     */
+    public static double[] rankLine(double[] xy) {
+        int n = xy.length / 2;
+        double[] rank = new double[n];
+        if (n == 0) {
+            return rank;
+        }
+        rank[0] = Double.POSITIVE_INFINITY;
+        rank[n - 1] = Double.POSITIVE_INFINITY;
+        rankRange(xy, rank, 0, n - 1);
+        return rank;
+    }
+
+    /**
+     * Keep the vertices whose rank exceeds the tolerance, lowering the cut if needed
+     * so that at least minCoordinates survive
+     */
+    public static double[] select(double[] xy, double[] rank, double tolerance, int minCoordinates) {
+        int n = rank.length;
+        double cut = tolerance;
+
+        if (countAbove(rank, cut) < Math.min(minCoordinates, n)) {
+            double[] sorted = rank.clone();
+            Arrays.sort(sorted);
+            // Strictly below the minCoordinates-th largest rank
+            cut = Math.nextDown(sorted[n - Math.min(minCoordinates, n)]);
+        }
+
+        double[] out = new double[countAbove(rank, cut) * 2];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            if (rank[i] > cut) {
+                out[k++] = xy[2 * i];
+                out[k++] = xy[2 * i + 1];
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Simplify a closed ring at one tolerance
+     */
+    public static double[] simplifyRing(double[] xy, double tolerance) {
+        return select(xy, rankRing(xy), tolerance, MIN_RING_COORDINATES);
+    }
+
+    /**
+     * Simplify an open line at one tolerance
+     */
+    public static double[] simplifyLine(double[] xy, double tolerance) {
+        return select(xy, rankLine(xy), tolerance, 2);
+    }
+
+    /**
+     * Pick the coarsest pyramid level whose tolerance is still below the requested one
+     * @return level index, or -1 when only the original geometry is accurate enough
+     */
+    public static int levelForTolerance(double tolerance) {
+        int level = -1;
+        for (int i = 0; i < PYRAMID_TOLERANCES.length; i++) {
+            if (PYRAMID_TOLERANCES[i] <= tolerance) {
+                level = i;
+            }
+        }
+        return level;
+    }
+
+    /**
+     * Pick the pyramid level for a web map zoom, allowing one pixel of error on a 256px tile
+     * @return level index, or -1 for the original geometry
+     */
+    public static int levelForZoom(int zoom) {
+        double degreesPerPixel = 360.0 / (256.0 * Math.pow(2, Math.max(0, zoom)));
+        return levelForTolerance(degreesPerPixel);
+    }
+
+    private static int countAbove(double[] rank, double cut) {
+        int count = 0;
+        for (double r : rank) {
+            if (r > cut) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // Iterative Douglas-Peucker over [from, to]; a vertex's rank is capped by its parent's
+    // so that the kept sets are nested and match a plain run at any single tolerance
+    private static void rankRange(double[] xy, double[] rank, int from, int to) {
+        int[] stack = new int[64];
+        double[] caps = new double[32];
+        int top = 0;
+
+        stack[top * 2] = from;
+        stack[top * 2 + 1] = to;
+        caps[top] = Double.POSITIVE_INFINITY;
+        top++;
+
+        while (top > 0) {
+            top--;
+            int first = stack[top * 2];
+            int last = stack[top * 2 + 1];
+            double cap = caps[top];
+            if (last - first < 2) {
+                continue;
+            }
+
+            int index = -1;
+            double max = -1;
+            for (int i = first + 1; i < last; i++) {
+                double d = segmentDistance(xy, i, first, last);
+                if (d > max) {
+                    max = d;
+                    index = i;
+                }
+            }
+
+            double r = Math.min(max, cap);
+            rank[index] = r;
+
+            if (top + 2 > caps.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+                caps = Arrays.copyOf(caps, caps.length * 2);
+            }
+            stack[top * 2] = first;
+            stack[top * 2 + 1] = index;
+            caps[top++] = r;
+            stack[top * 2] = index;
+            stack[top * 2 + 1] = last;
+            caps[top++] = r;
+        }
+    }
+
+    private static double segmentDistance(double[] xy, int p, int a, int b) {
+        double px = xy[2 * p], py = xy[2 * p + 1];
+        double ax = xy[2 * a], ay = xy[2 * a + 1];
+        double bx = xy[2 * b], by = xy[2 * b + 1];
+        double dx = bx - ax, dy = by - ay;
+        double lengthSquared = dx * dx + dy * dy;
+
+        double t = lengthSquared == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / lengthSquared;
+        t = Math.max(0, Math.min(1, t));
+        double cx = ax + t * dx - px;
+        double cy = ay + t * dy - py;
+        return Math.sqrt(cx * cx + cy * cy);
+    }
+}
@@ -0,0 +1,75 @@
+package lk.ijse.poweralert.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Term to document index with weighted postings. Terms are kept sorted so a prefix
+ * resolves to one contiguous range. Documents are replaced as a whole, so updates
+ * cost only their own terms. Not thread-safe; owners guard access.
+ */
+public class InvertedIndex {
+
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Float>> documents = new HashMap<>();
+
+    /**
+     * Index a document, replacing any earlier version of it
+     *
+     * @param terms term weights; an empty map just removes the document
+     */
+    public void put(long id, Map<String, Float> terms) {
+        remove(id);
+        if (terms.isEmpty()) {
+            return;
+        }
+        documents.put(id, Map.copyOf(terms));
+        terms.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+    }
+
+    public void remove(long id) {
+        Map<String, Float> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            Map<Long, Float> ids = postings.get(term);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    public void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    /**
+     * Find the documents holding a term
+     *
+     * @param prefix also match longer terms starting with the token
+     * @param prefixWeight factor applied to prefix-only matches
+     * @return document id to its best weight for the token
+     */
+    public Map<Long, Float> match(String token, boolean prefix, float prefixWeight) {
+        Map<Long, Float> result = new HashMap<>();
+        Map<Long, Float> exact = postings.get(token);
+        if (exact != null) {
+            result.putAll(exact);
+        }
+        if (prefix) {
+            for (Map<Long, Float> ids : postings.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+                ids.forEach((id, weight) -> result.merge(id, weight * prefixWeight, Math::max));
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+}
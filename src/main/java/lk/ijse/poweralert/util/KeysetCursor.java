@@ -0,0 +1,48 @@
+package lk.ijse.poweralert.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by (time DESC, id DESC). The next page holds the rows
+ * strictly after this key, so each page is an index range scan however deep it is.
+ * Clients receive it as an opaque URL-safe token.
+ */
+public record KeysetCursor(LocalDateTime time, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encode as an opaque token
+     */
+    public String encode() {
+        String raw = time.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token from {@link #encode()}
+     *
+     * @return the cursor, or null for a blank token (first page)
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+}
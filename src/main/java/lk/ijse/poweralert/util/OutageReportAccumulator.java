@@ -0,0 +1,227 @@
+package lk.ijse.poweralert.util;
+
+import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
+import lk.ijse.poweralert.enums.AppEnums.OutageType;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds an outage report in one pass over outages ordered by start time. Outages before
+ * the report period belong to the previous period of the same length and only feed the
+ * period-over-period trends. Memory depends on the number of days and areas, not outages;
+ * only the first rows are kept for the outage table.
+ */
+public class OutageReportAccumulator {
+
+    private static final OutageType[] TYPES = OutageType.values();
+
+    private final LocalDate fromDate;
+    private final int maxRows;
+
+    private final long[] dailyCounts;
+    private final long[] typeCounts = new long[TYPES.length];
+    private final Map<Long, AreaStats> areas = new HashMap<>();
+    private final Period current = new Period();
+    private final Period previous = new Period();
+    private final List<Map<String, Object>> rows = new ArrayList<>();
+    private boolean truncated;
+
+    /**
+     * @param fromDate first day of the report period
+     * @param toDate last day of the report period, inclusive
+     * @param maxRows how many outages to list in the report
+     */
+    public OutageReportAccumulator(LocalDate fromDate, LocalDate toDate, int maxRows) {
+        this.fromDate = fromDate;
+        this.maxRows = maxRows;
+        this.dailyCounts = new long[(int) ChronoUnit.DAYS.between(fromDate, toDate) + 1];
+    }
+
+    /**
+     * Add an outage
+     */
+    public void add(long id, OutageType type, OutageStatus status, LocalDateTime startTime,
+                    LocalDateTime estimatedEndTime, LocalDateTime actualEndTime, long areaId, String areaName) {
+        // Durations are only known for completed outages
+        Double hours = status == OutageStatus.COMPLETED && actualEndTime != null
+                ? Duration.between(startTime, actualEndTime).toSeconds() / 3600.0
+                : null;
+
+        int day = (int) ChronoUnit.DAYS.between(fromDate, startTime.toLocalDate());
+        if (day < 0) {
+            previous.add(hours);
+            return;
+        }
+
+        current.add(hours);
+        dailyCounts[day]++;
+        typeCounts[type.ordinal()]++;
+        areas.computeIfAbsent(areaId, key -> new AreaStats(areaName)).add(type, hours);
+
+        if (rows.size() < maxRows) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", id);
+            row.put("type", type);
+            row.put("status", status);
+            row.put("areaId", areaId);
+            row.put("areaName", areaName);
+            row.put("startTime", startTime);
+            row.put("estimatedEndTime", estimatedEndTime);
+            row.put("actualEndTime", actualEndTime);
+            row.put("durationHours", hours != null ? round(hours, 2) : null);
+            rows.add(row);
+        } else {
+            truncated = true;
+        }
+    }
+
+    /**
+     * Get the report: summary, trendData, durationData and the first outages
+     */
+    public Map<String, Object> toReport() {
+        Map<String, Object> report = new HashMap<>();
+        report.put("summary", summary());
+        report.put("trendData", trendData());
+        report.put("durationData", durationData());
+        report.put("outages", rows);
+        report.put("outagesTruncated", truncated);
+        return report;
+    }
+
+    private Map<String, Object> summary() {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("totalOutages", current.count);
+        summary.put("avgDuration", round(current.averageHours(), 2));
+        summary.put("outagesTrend", percentChange(previous.count, current.count));
+        summary.put("durationTrend", percentChange(previous.averageHours(), current.averageHours()));
+
+        Map<String, Object> mostAffectedArea = new HashMap<>();
+        Map.Entry<Long, AreaStats> top = areas.entrySet().stream()
+                .max(Comparator.comparingLong((Map.Entry<Long, AreaStats> entry) -> entry.getValue().count)
+                        .thenComparing(Map.Entry::getKey, Comparator.reverseOrder()))
+                .orElse(null);
+        mostAffectedArea.put("id", top != null ? top.getKey() : null);
+        mostAffectedArea.put("name", top != null ? top.getValue().name : "N/A");
+        mostAffectedArea.put("count", top != null ? top.getValue().count : 0);
+        summary.put("mostAffectedArea", mostAffectedArea);
+
+        Map<String, Long> outagesByType = new LinkedHashMap<>();
+        for (OutageType type : TYPES) {
+            outagesByType.put(type.name(), typeCounts[type.ordinal()]);
+        }
+        summary.put("outagesByType", outagesByType);
+        return summary;
+    }
+
+    private Map<String, Object> trendData() {
+        List<String> dates = new ArrayList<>(dailyCounts.length);
+        List<Long> counts = new ArrayList<>(dailyCounts.length);
+        for (int day = 0; day < dailyCounts.length; day++) {
+            dates.add(fromDate.plusDays(day).toString());
+            counts.add(dailyCounts[day]);
+        }
+
+        Map<String, Object> trendData = new HashMap<>();
+        trendData.put("dates", dates);
+        trendData.put("counts", counts);
+        return trendData;
+    }
+
+    /**
+     * Average duration in hours per area (categories) and type (series)
+     */
+    private Map<String, Object> durationData() {
+        List<AreaStats> sortedAreas = areas.values().stream()
+                .sorted(Comparator.comparing(area -> area.name, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+
+        List<String> categories = sortedAreas.stream().map(area -> area.name).toList();
+        List<Map<String, Object>> series = new ArrayList<>();
+        for (OutageType type : TYPES) {
+            List<Double> data = sortedAreas.stream()
+                    .map(area -> round(area.averageHours(type), 2))
+                    .toList();
+
+            Map<String, Object> typeSeries = new HashMap<>();
+            typeSeries.put("name", displayName(type));
+            typeSeries.put("data", data);
+            series.add(typeSeries);
+        }
+
+        Map<String, Object> durationData = new HashMap<>();
+        durationData.put("categories", categories);
+        durationData.put("series", series);
+        return durationData;
+    }
+
+    /**
+     * Change from the previous period in percent; 100 when there was nothing before
+     */
+    private static double percentChange(double previous, double current) {
+        if (previous == 0) {
+            return current > 0 ? 100.0 : 0.0;
+        }
+        return round((current - previous) / previous * 100, 1);
+    }
+
+    private static double round(double value, int decimals) {
+        double scale = Math.pow(10, decimals);
+        return Math.round(value * scale) / scale;
+    }
+
+    private static String displayName(OutageType type) {
+        String name = type.name();
+        return name.charAt(0) + name.substring(1).toLowerCase();
+    }
+
+    private static final class Period {
+        private long count;
+        private long completed;
+        private double hours;
+
+        void add(Double durationHours) {
+            count++;
+            if (durationHours != null) {
+                completed++;
+                hours += durationHours;
+            }
+        }
+
+        double averageHours() {
+            return completed > 0 ? hours / completed : 0;
+        }
+    }
+
+    private static final class AreaStats {
+        private final String name;
+        private long count;
+        private final long[] completedByType = new long[TYPES.length];
+        private final double[] hoursByType = new double[TYPES.length];
+
+        AreaStats(String name) {
+            this.name = name;
+        }
+
+        void add(OutageType type, Double durationHours) {
+            count++;
+            if (durationHours != null) {
+                completedByType[type.ordinal()]++;
+                hoursByType[type.ordinal()] += durationHours;
+            }
+        }
+
+        double averageHours(OutageType type) {
+            long completed = completedByType[type.ordinal()];
+            return completed > 0 ? hoursByType[type.ordinal()] / completed : 0;
+        }
+    }
+}
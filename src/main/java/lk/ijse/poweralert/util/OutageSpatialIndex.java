@@ -0,0 +1,157 @@
+package lk.ijse.poweralert.util;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.index.strtree.STRtree;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable STR-tree of outage geometries for bulk point-in-outage lookups.
+ * Instances are built once and shared between request threads.
+ */
+public final class OutageSpatialIndex {
+
+    private static final long[] NO_OUTAGES = new long[0];
+    private static final int PARALLEL_THRESHOLD = 4096;
+    private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+
+    private final STRtree tree;
+    private final int size;
+
+    private OutageSpatialIndex(STRtree tree, int size) {
+        this.tree = tree;
+        this.size = size;
+    }
+
+    /**
+     * Build an index from prepared outage geometries
+     * @param geometries prepared geometry per outage ID
+     * @return the built index
+     */
+    public static OutageSpatialIndex build(Map<Long, PreparedGeometry> geometries) {
+        STRtree tree = new STRtree();
+        for (Map.Entry<Long, PreparedGeometry> entry : geometries.entrySet()) {
+            PreparedGeometry geometry = entry.getValue();
+            tree.insert(geometry.getGeometry().getEnvelopeInternal(), new Item(entry.getKey(), geometry));
+        }
+        // Build eagerly so concurrent queries never trigger the lazy build
+        tree.build();
+        return new OutageSpatialIndex(tree, geometries.size());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Find outages containing a single point
+     * @return IDs of containing outages, never null
+     */
+    public long[] query(double latitude, double longitude) {
+        if (size == 0) {
+            return NO_OUTAGES;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Item> candidates = tree.query(new Envelope(longitude, longitude, latitude, latitude));
+        if (candidates.isEmpty()) {
+            return NO_OUTAGES;
+        }
+
+        Point point = GEOMETRY_FACTORY.createPoint(new Coordinate(longitude, latitude));
+        long[] ids = new long[candidates.size()];
+        int count = 0;
+        for (Item item : candidates) {
+            if (item.geometry.contains(point)) {
+                ids[count++] = item.outageId;
+            }
+        }
+
+        return count == 0 ? NO_OUTAGES : Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Find outages whose geometry envelope intersects a lon/lat envelope
+     * @return candidate outages, to be checked against their geometry by the caller
+     */
+    @SuppressWarnings("unchecked")
+    public List<Item> queryEnvelope(Envelope envelope) {
+        return size == 0 ? List.of() : tree.query(envelope);
+    }
+
+    /**
+     * Find outages containing each of many points
+     * @param latitudes point latitudes
+     * @param longitudes point longitudes, same length as latitudes
+     * @param spatialSort visit points in Z-order for better cache locality
+     * @return outage IDs per point, aligned with the input order
+     */
+    public long[][] queryAll(double[] latitudes, double[] longitudes, boolean spatialSort) {
+        int n = latitudes.length;
+        long[][] results = new long[n][];
+        int[] order = spatialSort ? mortonOrder(latitudes, longitudes) : null;
+
+        IntStream range = IntStream.range(0, n);
+        if (n >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        range.forEach(k -> {
+            int i = order != null ? order[k] : k;
+            results[i] = query(latitudes[i], longitudes[i]);
+        });
+
+        return results;
+    }
+
+    /**
+     * Order point indexes along a Z-order (Morton) curve over 15-bit quantized coordinates,
+     * keeping the 30-bit code and the index in one sortable long
+     */
+    static int[] mortonOrder(double[] latitudes, double[] longitudes) {
+        int n = latitudes.length;
+        long[] keyed = new long[n];
+        for (int i = 0; i < n; i++) {
+            int x = quantize(longitudes[i], -180.0, 180.0);
+            int y = quantize(latitudes[i], -90.0, 90.0);
+            long code = interleave(x) | (interleave(y) << 1);
+            keyed[i] = (code << 32) | i;
+        }
+
+        Arrays.sort(keyed);
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) keyed[i];
+        }
+        return order;
+    }
+
+    private static int quantize(double value, double min, double max) {
+        double clamped = Math.max(min, Math.min(max, value));
+        return (int) ((clamped - min) / (max - min) * 0x7FFF);
+    }
+
+    // Spread the low 16 bits of v so that a zero bit sits between each of them
+    private static long interleave(int v) {
+        long x = v & 0xFFFFL;
+        x = (x | (x << 8)) & 0x00FF00FFL;
+        x = (x | (x << 4)) & 0x0F0F0F0FL;
+        x = (x | (x << 2)) & 0x33333333L;
+        x = (x | (x << 1)) & 0x55555555L;
+        return x;
+    }
+
+    /**
+     * An indexed outage geometry
+     */
+    public record Item(long outageId, PreparedGeometry geometry) {
+    }
+}
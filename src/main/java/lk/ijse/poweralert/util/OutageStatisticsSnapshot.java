@@ -0,0 +1,265 @@
+package lk.ijse.poweralert.util;
+
+import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
+import lk.ijse.poweralert.enums.AppEnums.OutageType;
+import lk.ijse.poweralert.service.OutageHistoryService.Contribution;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable admin dashboard statistics. Counts are kept in arrays indexed by enum ordinal,
+ * monthly totals in arrays over the months up to the one the snapshot was built in, and
+ * area totals for that month's year. Changes produce a new snapshot.
+ */
+public final class OutageStatisticsSnapshot {
+
+    public static final int MONTHS = 6;
+    public static final int TOP_AREAS = 5;
+
+    private static final OutageStatus[] STATUSES = OutageStatus.values();
+    private static final OutageType[] TYPES = OutageType.values();
+
+    private final long version;
+    private final YearMonth currentMonth;
+    private final long[] statusCounts;
+    private final long[] typeCounts;
+    private final long restoredCount;
+    private final double restoredHours;
+    // Oldest month first, ending at currentMonth
+    private final long[] monthCounts;
+    private final double[] monthHours;
+    private final Map<Long, AreaTotals> areaTotals;
+    private final LocalDateTime builtAt;
+    private final LocalDateTime updatedAt;
+    private final Map<String, Object> view;
+
+    private OutageStatisticsSnapshot(long version, YearMonth currentMonth, long[] statusCounts, long[] typeCounts,
+                                     long restoredCount, double restoredHours, long[] monthCounts,
+                                     double[] monthHours, Map<Long, AreaTotals> areaTotals,
+                                     LocalDateTime builtAt, LocalDateTime updatedAt) {
+        this.version = version;
+        this.currentMonth = currentMonth;
+        this.statusCounts = statusCounts;
+        this.typeCounts = typeCounts;
+        this.restoredCount = restoredCount;
+        this.restoredHours = restoredHours;
+        this.monthCounts = monthCounts;
+        this.monthHours = monthHours;
+        this.areaTotals = areaTotals;
+        this.builtAt = builtAt;
+        this.updatedAt = updatedAt;
+        this.view = Collections.unmodifiableMap(toMap());
+    }
+
+    public static Builder builder(long version, YearMonth currentMonth) {
+        return new Builder(version, currentMonth);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public YearMonth getCurrentMonth() {
+        return currentMonth;
+    }
+
+    /**
+     * The statistics in the shape served to the dashboard, built once per snapshot
+     */
+    public Map<String, Object> getView() {
+        return view;
+    }
+
+    /**
+     * Apply an outage change
+     *
+     * @param before the outage's contribution before the change, or null if it is new
+     * @param after its contribution after the change
+     * @return the updated snapshot, or null if the change involves an area this snapshot does not know
+     */
+    public OutageStatisticsSnapshot with(long version, Contribution before, Contribution after) {
+        Builder next = new Builder(this);
+        next.version = version;
+        if ((before != null && !next.apply(before, -1)) || (after != null && !next.apply(after, 1))) {
+            return null;
+        }
+        return next.build(builtAt, LocalDateTime.now());
+    }
+
+    private Map<String, Object> toMap() {
+        Map<String, Object> statistics = new HashMap<>();
+
+        long total = 0;
+        for (long count : statusCounts) {
+            total += count;
+        }
+        statistics.put("totalOutages", total);
+        statistics.put("activeOutages",
+                statusCounts[OutageStatus.SCHEDULED.ordinal()] + statusCounts[OutageStatus.ONGOING.ordinal()]);
+
+        Map<String, Long> outagesByType = new HashMap<>();
+        for (OutageType type : TYPES) {
+            outagesByType.put(type.name(), typeCounts[type.ordinal()]);
+        }
+        statistics.put("outagesByType", outagesByType);
+        statistics.put("averageRestorationTime", restoredCount > 0 ? restoredHours / restoredCount : 0.0);
+
+        // Latest month first
+        List<Map<String, Object>> monthlyStats = new ArrayList<>();
+        for (int i = MONTHS - 1; i >= 0; i--) {
+            YearMonth month = currentMonth.minusMonths(MONTHS - 1 - i);
+            Map<String, Object> monthData = new HashMap<>();
+            monthData.put("year", month.getYear());
+            monthData.put("month", month.getMonthValue());
+            monthData.put("outageCount", monthCounts[i]);
+            monthData.put("totalOutageHours", monthHours[i]);
+            monthData.put("avgRestorationTime", monthCounts[i] > 0 ? monthHours[i] / monthCounts[i] : 0.0);
+            monthlyStats.add(monthData);
+        }
+        statistics.put("monthlyStats", monthlyStats);
+
+        statistics.put("topAreas", areaTotals.entrySet().stream()
+                .filter(entry -> entry.getValue().count() > 0)
+                .sorted(Comparator.comparingLong((Map.Entry<Long, AreaTotals> entry) -> entry.getValue().count())
+                        .reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .limit(TOP_AREAS)
+                .map(entry -> {
+                    Map<String, Object> area = new LinkedHashMap<>();
+                    area.put("areaId", entry.getKey());
+                    area.put("areaName", entry.getValue().name());
+                    area.put("district", entry.getValue().district());
+                    area.put("totalOutages", entry.getValue().count());
+                    area.put("totalHours", entry.getValue().hours());
+                    return area;
+                })
+                .toList());
+
+        statistics.put("builtAt", builtAt);
+        statistics.put("asOf", updatedAt);
+        return statistics;
+    }
+
+    /**
+     * An area's outages and restoration hours in the current year
+     */
+    public record AreaTotals(String name, String district, long count, double hours) {
+    }
+
+    /**
+     * Collects totals for a new snapshot
+     */
+    public static final class Builder {
+        private long version;
+        private final YearMonth currentMonth;
+        private final long[] statusCounts;
+        private final long[] typeCounts;
+        private long restoredCount;
+        private double restoredHours;
+        private final long[] monthCounts;
+        private final double[] monthHours;
+        private final Map<Long, AreaTotals> areaTotals;
+
+        private Builder(long version, YearMonth currentMonth) {
+            this.version = version;
+            this.currentMonth = currentMonth;
+            this.statusCounts = new long[STATUSES.length];
+            this.typeCounts = new long[TYPES.length];
+            this.monthCounts = new long[MONTHS];
+            this.monthHours = new double[MONTHS];
+            this.areaTotals = new HashMap<>();
+        }
+
+        private Builder(OutageStatisticsSnapshot snapshot) {
+            this.version = snapshot.version;
+            this.currentMonth = snapshot.currentMonth;
+            this.statusCounts = snapshot.statusCounts.clone();
+            this.typeCounts = snapshot.typeCounts.clone();
+            this.restoredCount = snapshot.restoredCount;
+            this.restoredHours = snapshot.restoredHours;
+            this.monthCounts = snapshot.monthCounts.clone();
+            this.monthHours = snapshot.monthHours.clone();
+            this.areaTotals = new HashMap<>(snapshot.areaTotals);
+        }
+
+        public Builder status(OutageStatus status, long count) {
+            statusCounts[status.ordinal()] += count;
+            return this;
+        }
+
+        public Builder type(OutageType type, long count) {
+            typeCounts[type.ordinal()] += count;
+            return this;
+        }
+
+        public Builder restored(long count, double hours) {
+            restoredCount += count;
+            restoredHours += hours;
+            return this;
+        }
+
+        /**
+         * Add totals for a month; months outside the window are ignored
+         */
+        public Builder month(int year, int month, long count, double hours) {
+            int index = monthIndex(year, month);
+            if (index >= 0) {
+                monthCounts[index] += count;
+                monthHours[index] += hours;
+            }
+            return this;
+        }
+
+        /**
+         * Add an area, with its totals for the current year
+         */
+        public Builder area(long areaId, String name, String district, long count, double hours) {
+            areaTotals.put(areaId, new AreaTotals(name, district, count, hours));
+            return this;
+        }
+
+        public OutageStatisticsSnapshot build() {
+            LocalDateTime now = LocalDateTime.now();
+            return build(now, now);
+        }
+
+        private OutageStatisticsSnapshot build(LocalDateTime builtAt, LocalDateTime updatedAt) {
+            return new OutageStatisticsSnapshot(version, currentMonth, statusCounts, typeCounts, restoredCount,
+                    restoredHours, monthCounts, monthHours, Map.copyOf(areaTotals), builtAt, updatedAt);
+        }
+
+        private boolean apply(Contribution contribution, int sign) {
+            double hours = contribution.hours();
+            status(contribution.status(), sign);
+            type(contribution.type(), sign);
+            if (contribution.restorationHours() != null) {
+                restored(sign, sign * hours);
+            }
+            month(contribution.year(), contribution.month(), sign, sign * hours);
+
+            if (contribution.year() == currentMonth.getYear()) {
+                AreaTotals totals = areaTotals.get(contribution.areaId());
+                if (totals == null) {
+                    return false;
+                }
+                areaTotals.put(contribution.areaId(), new AreaTotals(totals.name(), totals.district(),
+                        totals.count() + sign, totals.hours() + sign * hours));
+            }
+            return true;
+        }
+
+        private int monthIndex(int year, int month) {
+            long monthsBack = ChronoUnit.MONTHS.between(YearMonth.of(year, month), currentMonth);
+            return monthsBack >= 0 && monthsBack < MONTHS ? (int) (MONTHS - 1 - monthsBack) : -1;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package lk.ijse.poweralert.util;
+
+import lk.ijse.poweralert.dto.ResourceLocationDTO;
+import lk.ijse.poweralert.enums.AppEnums.ResourceType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Immutable KD-tree of alternative resource locations, one tree per resource type.
+ * Points are stored as unit vectors so that straight-line (chord) distance orders
+ * results exactly like great-circle distance, giving exact radius and k-nearest queries.
+ */
+public final class ResourceSpatialIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private static final ResourceSpatialIndex EMPTY = new ResourceSpatialIndex(new EnumMap<>(ResourceType.class), 0);
+
+    private final Map<ResourceType, Tree> trees;
+    private final int size;
+
+    private ResourceSpatialIndex(Map<ResourceType, Tree> trees, int size) {
+        this.trees = trees;
+        this.size = size;
+    }
+
+    public static ResourceSpatialIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build an index from resource locations; entries without coordinates are skipped
+     */
+    public static ResourceSpatialIndex build(Collection<ResourceLocationDTO> resources) {
+        Map<ResourceType, List<ResourceLocationDTO>> byType = new EnumMap<>(ResourceType.class);
+        int size = 0;
+        for (ResourceLocationDTO resource : resources) {
+            if (resource.getLatitude() == null || resource.getLongitude() == null || resource.getType() == null) {
+                continue;
+            }
+            byType.computeIfAbsent(resource.getType(), t -> new ArrayList<>()).add(resource);
+            size++;
+        }
+
+        Map<ResourceType, Tree> trees = new EnumMap<>(ResourceType.class);
+        byType.forEach((type, list) -> trees.put(type, new Tree(list)));
+        return new ResourceSpatialIndex(trees, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Find resources within a radius, nearest first
+     * @param type resource type, or null for all types
+     */
+    public List<Hit> withinRadius(double latitude, double longitude, double radiusKm, ResourceType type) {
+        double[] q = toUnitVector(latitude, longitude);
+        double maxChord2 = chord2(radiusKm);
+
+        List<Candidate> found = new ArrayList<>();
+        for (Tree tree : treesFor(type)) {
+            tree.searchRadius(q, maxChord2, 0, tree.ids.length, 0, found);
+        }
+
+        found.sort(Comparator.comparingDouble(Candidate::chord2));
+        return toHits(found);
+    }
+
+    /**
+     * Find the k nearest resources, nearest first
+     * @param maxRadiusKm optional search limit, use Double.POSITIVE_INFINITY for none
+     * @param type resource type, or null for all types
+     */
+    public List<Hit> nearest(double latitude, double longitude, int k, double maxRadiusKm, ResourceType type) {
+        if (k <= 0) {
+            return List.of();
+        }
+
+        double[] q = toUnitVector(latitude, longitude);
+        // Max-heap on distance so the current worst candidate is evicted first
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(k + 1,
+                Comparator.comparingDouble(Candidate::chord2).reversed());
+        double[] bound = {chord2(maxRadiusKm)};
+
+        for (Tree tree : treesFor(type)) {
+            tree.searchNearest(q, k, 0, tree.ids.length, 0, heap, bound);
+        }
+
+        List<Candidate> found = new ArrayList<>(heap);
+        found.sort(Comparator.comparingDouble(Candidate::chord2));
+        return toHits(found);
+    }
+
+    private Collection<Tree> treesFor(ResourceType type) {
+        if (type == null) {
+            return trees.values();
+        }
+        Tree tree = trees.get(type);
+        return tree == null ? List.of() : List.of(tree);
+    }
+
+    private static List<Hit> toHits(List<Candidate> candidates) {
+        List<Hit> hits = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            double halfChord = Math.min(1.0, Math.sqrt(candidate.chord2) / 2);
+            hits.add(new Hit(candidate.id, 2 * EARTH_RADIUS_KM * Math.asin(halfChord)));
+        }
+        return hits;
+    }
+
+    // Squared chord length on the unit sphere for a great-circle distance
+    private static double chord2(double distanceKm) {
+        if (Double.isInfinite(distanceKm) || distanceKm >= Math.PI * EARTH_RADIUS_KM) {
+            return 4.0;
+        }
+        double chord = 2 * Math.sin(Math.max(distanceKm, 0) / (2 * EARTH_RADIUS_KM));
+        return chord * chord;
+    }
+
+    private static double[] toUnitVector(double latitude, double longitude) {
+        double lat = Math.toRadians(latitude);
+        double lon = Math.toRadians(longitude);
+        double cosLat = Math.cos(lat);
+        return new double[]{cosLat * Math.cos(lon), cosLat * Math.sin(lon), Math.sin(lat)};
+    }
+
+    /**
+     * A resource found by a query
+     * @param id the resource ID
+     * @param distanceKm great-circle distance from the query point
+     */
+    public record Hit(long id, double distanceKm) {
+    }
+
+    private record Candidate(long id, double chord2) {
+    }
+
+    /**
+     * Balanced KD-tree laid out implicitly: the node of range [lo, hi) sits at its
+     * midpoint, with the left subtree in [lo, mid) and the right one in (mid, hi)
+     */
+    private static final class Tree {
+        private final long[] ids;
+        private final double[] coords;
+
+        Tree(List<ResourceLocationDTO> resources) {
+            int n = resources.size();
+            double[][] points = new double[n][];
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                ResourceLocationDTO resource = resources.get(i);
+                points[i] = toUnitVector(resource.getLatitude(), resource.getLongitude());
+                order[i] = i;
+            }
+
+            arrange(order, points, 0, n, 0);
+
+            ids = new long[n];
+            coords = new double[n * 3];
+            for (int i = 0; i < n; i++) {
+                ids[i] = resources.get(order[i]).getId();
+                System.arraycopy(points[order[i]], 0, coords, i * 3, 3);
+            }
+        }
+
+        private static void arrange(Integer[] order, double[][] points, int lo, int hi, int depth) {
+            if (hi - lo <= 1) {
+                return;
+            }
+            int axis = depth % 3;
+            Arrays.sort(order, lo, hi, Comparator.comparingDouble(i -> points[i][axis]));
+            int mid = (lo + hi) >>> 1;
+            arrange(order, points, lo, mid, depth + 1);
+            arrange(order, points, mid + 1, hi, depth + 1);
+        }
+
+        void searchRadius(double[] q, double maxChord2, int lo, int hi, int depth, List<Candidate> out) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            double d2 = distance2(q, mid);
+            if (d2 <= maxChord2) {
+                out.add(new Candidate(ids[mid], d2));
+            }
+
+            int axis = depth % 3;
+            double diff = q[axis] - coords[mid * 3 + axis];
+            if (diff <= 0) {
+                searchRadius(q, maxChord2, lo, mid, depth + 1, out);
+                if (diff * diff <= maxChord2) {
+                    searchRadius(q, maxChord2, mid + 1, hi, depth + 1, out);
+                }
+            } else {
+                searchRadius(q, maxChord2, mid + 1, hi, depth + 1, out);
+                if (diff * diff <= maxChord2) {
+                    searchRadius(q, maxChord2, lo, mid, depth + 1, out);
+                }
+            }
+        }
+
+        void searchNearest(double[] q, int k, int lo, int hi, int depth,
+                           PriorityQueue<Candidate> heap, double[] bound) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            double d2 = distance2(q, mid);
+            if (d2 <= bound[0]) {
+                heap.add(new Candidate(ids[mid], d2));
+                if (heap.size() > k) {
+                    heap.poll();
+                }
+                if (heap.size() == k) {
+                    bound[0] = heap.peek().chord2;
+                }
+            }
+
+            int axis = depth % 3;
+            double diff = q[axis] - coords[mid * 3 + axis];
+            int nearLo = diff <= 0 ? lo : mid + 1;
+            int nearHi = diff <= 0 ? mid : hi;
+            int farLo = diff <= 0 ? mid + 1 : lo;
+            int farHi = diff <= 0 ? hi : mid;
+
+            searchNearest(q, k, nearLo, nearHi, depth + 1, heap, bound);
+            if (diff * diff <= bound[0]) {
+                searchNearest(q, k, farLo, farHi, depth + 1, heap, bound);
+            }
+        }
+
+        private double distance2(double[] q, int node) {
+            int base = node * 3;
+            double dx = q[0] - coords[base];
+            double dy = q[1] - coords[base + 1];
+            double dz = q[2] - coords[base + 2];
+            return dx * dx + dy * dy + dz * dz;
+        }
+    }
+}
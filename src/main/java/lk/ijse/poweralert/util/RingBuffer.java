@@ -0,0 +1,74 @@
+package lk.ijse.poweralert.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Fixed-capacity buffer keeping the most recent items; adding to a full buffer
+ * overwrites the oldest item. Thread-safe.
+ */
+public class RingBuffer<T> {
+
+    private final Object[] items;
+    private int head;
+    private int size;
+
+    public RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.items = new Object[capacity];
+    }
+
+    public synchronized void add(T item) {
+        items[(head + size) % items.length] = item;
+        if (size < items.length) {
+            size++;
+        } else {
+            head = (head + 1) % items.length;
+        }
+    }
+
+    /**
+     * Replace the contents with the given items, oldest first; only the newest ones fit
+     */
+    public synchronized void reset(Collection<? extends T> newest) {
+        Arrays.fill(items, null);
+        head = 0;
+        size = 0;
+        newest.forEach(this::add);
+    }
+
+    /**
+     * Copy the newest items, oldest first
+     *
+     * @param limit maximum number of items
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized List<T> latest(int limit) {
+        int count = Math.max(0, Math.min(limit, size));
+        List<T> result = new ArrayList<>(count);
+        for (int i = size - count; i < size; i++) {
+            result.add((T) items[(head + i) % items.length]);
+        }
+        return result;
+    }
+
+    /**
+     * @return the newest item, or null if empty
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized T last() {
+        return size == 0 ? null : (T) items[(head + size - 1) % items.length];
+    }
+
+    public int capacity() {
+        return items.length;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,72 @@
+package lk.ijse.poweralert.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Splits English, Sinhala and Tamil text into search terms. Letters keep their combining
+ * marks, so Sinhala and Tamil vowel signs stay inside words; text is NFC-normalized and
+ * zero-width joiners are dropped, so conjuncts typed with or without them match. English
+ * words are lower-cased, stop words removed and plural endings stripped; Sinhala and Tamil
+ * words are kept whole and their inflections are reached by prefix matching.
+ */
+public final class SearchTokenizer {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{M}\\p{Nd}]+");
+    private static final Pattern JOINERS = Pattern.compile("[\\u200C\\u200D]");
+
+    private static final Set<String> ENGLISH_STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into",
+            "is", "it", "of", "on", "or", "the", "to", "was", "will", "with");
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * @return the terms of the text in order, possibly repeated; empty for blank text
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC);
+        normalized = JOINERS.matcher(normalized).replaceAll("").toLowerCase(Locale.ROOT);
+
+        List<String> terms = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            if (isLatin(token)) {
+                // Single letters are possessive or initial leftovers
+                if ((token.length() == 1 && Character.isLetter(token.charAt(0))) || ENGLISH_STOP_WORDS.contains(token)) {
+                    continue;
+                }
+                token = stemEnglish(token);
+            }
+            terms.add(token);
+        }
+        return terms;
+    }
+
+    private static boolean isLatin(String token) {
+        return token.codePoints().allMatch(c -> c < 0x0250);
+    }
+
+    private static String stemEnglish(String token) {
+        int length = token.length();
+        if (length > 4 && token.endsWith("ies")) {
+            return token.substring(0, length - 3) + "y";
+        }
+        if (length > 3 && token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us")
+                && !Character.isDigit(token.charAt(length - 2))) {
+            return token.substring(0, length - 1);
+        }
+        return token;
+    }
+}
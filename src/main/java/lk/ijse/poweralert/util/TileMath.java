@@ -0,0 +1,62 @@
+package lk.ijse.poweralert.util;
+
+import org.locationtech.jts.geom.CoordinateFilter;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Web Mercator (EPSG:3857) tile math for XYZ tiles
+ */
+public class TileMath {
+
+    public static final int MAX_ZOOM = 22;
+    public static final double MAX_LATITUDE = 85.05112878;
+
+    /**
+     * Check that tile coordinates exist at their zoom level
+     */
+    public static boolean isValidTile(int z, int x, int y) {
+        if (z < 0 || z > MAX_ZOOM) {
+            return false;
+        }
+        int tiles = 1 << z;
+        return x >= 0 && x < tiles && y >= 0 && y < tiles;
+    }
+
+    /**
+     * Lon/lat bounds of a tile
+     */
+    public static Envelope tileEnvelope(int z, int x, int y) {
+        double tiles = 1 << z;
+        double west = x / tiles * 360.0 - 180.0;
+        double east = (x + 1) / tiles * 360.0 - 180.0;
+        double north = tileLatitude(y, tiles);
+        double south = tileLatitude(y + 1, tiles);
+        return new Envelope(west, east, south, north);
+    }
+
+    /**
+     * Transform a lon/lat geometry copy into tile coordinates (0..extent, y down)
+     */
+    public static Geometry toTileCoordinates(Geometry geometry, int z, int x, int y, int extent) {
+        double scale = (double) (1 << z) * extent;
+        double offsetX = (double) x * extent;
+        double offsetY = (double) y * extent;
+
+        Geometry copy = geometry.copy();
+        copy.apply((CoordinateFilter) c -> {
+            double lat = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, c.y));
+            double sin = Math.sin(Math.toRadians(lat));
+            double mercatorY = 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+            c.x = (c.x + 180.0) / 360.0 * scale - offsetX;
+            c.y = mercatorY * scale - offsetY;
+        });
+        copy.geometryChanged();
+        return copy;
+    }
+
+    private static double tileLatitude(int y, double tiles) {
+        double n = Math.PI - 2.0 * Math.PI * y / tiles;
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+}
@@ -0,0 +1,30 @@
+package lk.ijse.poweralert.util;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Authenticated user carrying the database id and role, so handlers need not look the user up again
+ */
+public class UserPrincipal extends User {
+
+    private final Long id;
+    private final String role;
+
+    public UserPrincipal(Long id, String username, String password, String role,
+                         Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+        this.role = role;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getRole() {
+        return role;
+    }
+}
@@ -0,0 +1,121 @@
+package lk.ijse.poweralert.util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.locationtech.jts.geom.Envelope;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Size-bounded LRU cache of encoded vector tiles. Each entry remembers the
+ * lon/lat bounds of its tile so that a geometry change only evicts the tiles
+ * it touches.
+ */
+@Component
+public class VectorTileCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VectorTileCache.class);
+
+    private final int maxSize;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong generation = new AtomicLong();
+
+    public VectorTileCache(@Value("${app.geo.tile-cache.max-size:5000}") int maxSize,
+                           MeterRegistry meterRegistry) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > VectorTileCache.this.maxSize;
+            }
+        };
+
+        FunctionCounter.builder("poweralert.tile.cache.hits", hits, AtomicLong::get)
+                .description("Vector tile cache hits")
+                .register(meterRegistry);
+        FunctionCounter.builder("poweralert.tile.cache.misses", misses, AtomicLong::get)
+                .description("Vector tile cache misses")
+                .register(meterRegistry);
+        Gauge.builder("poweralert.tile.cache.size", this, VectorTileCache::size)
+                .description("Vector tile cache entries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get an encoded tile, rendering it with the loader when missing
+     */
+    public byte[] get(int z, int x, int y, Supplier<byte[]> loader) {
+        String key = z + "/" + x + "/" + y;
+
+        long startGeneration;
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                hits.incrementAndGet();
+                return entry.tile;
+            }
+            startGeneration = generation.get();
+        }
+
+        misses.incrementAndGet();
+        byte[] tile = loader.get();
+
+        synchronized (entries) {
+            // Skip caching if an invalidation ran while the tile was being rendered
+            if (startGeneration == generation.get()) {
+                entries.put(key, new Entry(TileMath.tileEnvelope(z, x, y), tile));
+            }
+        }
+        return tile;
+    }
+
+    /**
+     * Evict every tile whose bounds intersect a lon/lat envelope
+     */
+    public void invalidate(Envelope envelope) {
+        if (envelope == null || envelope.isNull()) {
+            return;
+        }
+
+        int removed = 0;
+        synchronized (entries) {
+            generation.incrementAndGet();
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().bounds.intersects(envelope)) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+        }
+        logger.debug("Evicted {} vector tiles intersecting {}", removed, envelope);
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private record Entry(Envelope bounds, byte[] tile) {
+    }
+}
@@ -0,0 +1,261 @@
+package lk.ijse.poweralert.util;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal Mapbox Vector Tile (spec v2.1) encoder for polygon layers.
+ * Geometries must already be in tile coordinates (0..extent, y down);
+ * the protobuf wire format is written directly.
+ */
+public class VectorTileEncoder {
+
+    public static final int DEFAULT_EXTENT = 4096;
+
+    private static final int GEOM_TYPE_POLYGON = 3;
+    private static final int CMD_MOVE_TO = 1;
+    private static final int CMD_LINE_TO = 2;
+    private static final int CMD_CLOSE_PATH = 7;
+
+    private final int extent;
+    private final Map<String, Layer> layers = new LinkedHashMap<>();
+
+    public VectorTileEncoder() {
+        this(DEFAULT_EXTENT);
+    }
+
+    public VectorTileEncoder(int extent) {
+        this.extent = extent;
+    }
+
+    public int getExtent() {
+        return extent;
+    }
+
+    /**
+     * Add a polygonal feature; non-polygon parts and rings that collapse after
+     * rounding are dropped
+     *
+     * @return true if anything was encoded
+     */
+    public boolean addPolygonFeature(String layerName, long id, Map<String, Object> attributes, Geometry geometry) {
+        List<Integer> commands = new ArrayList<>();
+        int[] cursor = new int[2];
+
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            Geometry part = geometry.getGeometryN(i);
+            if (part instanceof Polygon polygon && !polygon.isEmpty()) {
+                if (!encodeRing(polygon.getExteriorRing(), true, commands, cursor)) {
+                    continue;
+                }
+                for (int h = 0; h < polygon.getNumInteriorRing(); h++) {
+                    encodeRing(polygon.getInteriorRingN(h), false, commands, cursor);
+                }
+            }
+        }
+
+        if (commands.isEmpty()) {
+            return false;
+        }
+
+        Layer layer = layers.computeIfAbsent(layerName, Layer::new);
+        List<Integer> tags = new ArrayList<>();
+        attributes.forEach((key, value) -> {
+            if (value != null) {
+                tags.add(layer.keyIndex(key));
+                tags.add(layer.valueIndex(value));
+            }
+        });
+        layer.features.add(new Feature(id, tags, commands));
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return layers.isEmpty();
+    }
+
+    /**
+     * Encode all layers as a tile
+     */
+    public byte[] encode() {
+        ByteArrayOutputStream tile = new ByteArrayOutputStream();
+        for (Layer layer : layers.values()) {
+            writeMessage(tile, 3, encodeLayer(layer));
+        }
+        return tile.toByteArray();
+    }
+
+    private boolean encodeRing(LineString ring, boolean exterior, List<Integer> commands, int[] cursor) {
+        Coordinate[] coordinates = ring.getCoordinates();
+
+        // Round to the tile grid, dropping repeated points and the closing point
+        List<int[]> points = new ArrayList<>(coordinates.length);
+        for (int i = 0; i < coordinates.length - 1; i++) {
+            int x = (int) Math.round(coordinates[i].x);
+            int y = (int) Math.round(coordinates[i].y);
+            int[] last = points.isEmpty() ? null : points.get(points.size() - 1);
+            if (last == null || last[0] != x || last[1] != y) {
+                points.add(new int[]{x, y});
+            }
+        }
+        while (points.size() > 1 && points.get(0)[0] == points.get(points.size() - 1)[0]
+                && points.get(0)[1] == points.get(points.size() - 1)[1]) {
+            points.remove(points.size() - 1);
+        }
+
+        long area = signedArea(points);
+        if (points.size() < 3 || area == 0) {
+            return false;
+        }
+
+        // Exterior rings have positive area in tile coordinates, interior rings negative
+        if ((area > 0) != exterior) {
+            Collections.reverse(points);
+        }
+
+        commands.add(command(CMD_MOVE_TO, 1));
+        appendDelta(points.get(0), commands, cursor);
+        commands.add(command(CMD_LINE_TO, points.size() - 1));
+        for (int i = 1; i < points.size(); i++) {
+            appendDelta(points.get(i), commands, cursor);
+        }
+        commands.add(command(CMD_CLOSE_PATH, 1));
+        return true;
+    }
+
+    private static void appendDelta(int[] point, List<Integer> commands, int[] cursor) {
+        commands.add(zigZag(point[0] - cursor[0]));
+        commands.add(zigZag(point[1] - cursor[1]));
+        cursor[0] = point[0];
+        cursor[1] = point[1];
+    }
+
+    private static long signedArea(List<int[]> points) {
+        long sum = 0;
+        for (int i = 0; i < points.size(); i++) {
+            int[] a = points.get(i);
+            int[] b = points.get((i + 1) % points.size());
+            sum += (long) a[0] * b[1] - (long) b[0] * a[1];
+        }
+        return sum;
+    }
+
+    private static int command(int id, int count) {
+        return (id & 0x7) | (count << 3);
+    }
+
+    private static int zigZag(int n) {
+        return (n << 1) ^ (n >> 31);
+    }
+
+    private byte[] encodeLayer(Layer layer) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeVarintField(out, 15, 2);
+        writeBytesField(out, 1, layer.name.getBytes(StandardCharsets.UTF_8));
+
+        for (Feature feature : layer.features) {
+            ByteArrayOutputStream f = new ByteArrayOutputStream();
+            writeVarintField(f, 1, feature.id);
+            writePacked(f, 2, feature.tags);
+            writeVarintField(f, 3, GEOM_TYPE_POLYGON);
+            writePacked(f, 4, feature.geometry);
+            writeMessage(out, 2, f.toByteArray());
+        }
+        for (String key : layer.keys.keySet()) {
+            writeBytesField(out, 3, key.getBytes(StandardCharsets.UTF_8));
+        }
+        for (Object value : layer.values.keySet()) {
+            writeMessage(out, 4, encodeValue(value));
+        }
+        writeVarintField(out, 5, extent);
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeValue(Object value) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (value instanceof Boolean b) {
+            writeVarintField(out, 7, b ? 1 : 0);
+        } else if (value instanceof Integer || value instanceof Long) {
+            writeVarintField(out, 4, ((Number) value).longValue());
+        } else if (value instanceof Number n) {
+            writeTag(out, 3, 1);
+            long bits = Double.doubleToLongBits(n.doubleValue());
+            for (int i = 0; i < 8; i++) {
+                out.write((int) (bits >>> (8 * i)) & 0xFF);
+            }
+        } else {
+            writeBytesField(out, 1, value.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
+    private static void writePacked(ByteArrayOutputStream out, int field, List<Integer> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream packed = new ByteArrayOutputStream();
+        for (int value : values) {
+            writeVarint(packed, value & 0xFFFFFFFFL);
+        }
+        writeMessage(out, field, packed.toByteArray());
+    }
+
+    private static void writeMessage(ByteArrayOutputStream out, int field, byte[] bytes) {
+        writeBytesField(out, field, bytes);
+    }
+
+    private static void writeBytesField(ByteArrayOutputStream out, int field, byte[] bytes) {
+        writeTag(out, field, 2);
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static void writeVarintField(ByteArrayOutputStream out, int field, long value) {
+        writeTag(out, field, 0);
+        writeVarint(out, value);
+    }
+
+    private static void writeTag(ByteArrayOutputStream out, int field, int wireType) {
+        writeVarint(out, ((long) field << 3) | wireType);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static final class Layer {
+        private final String name;
+        private final Map<String, Integer> keys = new LinkedHashMap<>();
+        private final Map<Object, Integer> values = new LinkedHashMap<>();
+        private final List<Feature> features = new ArrayList<>();
+
+        Layer(String name) {
+            this.name = name;
+        }
+
+        int keyIndex(String key) {
+            return keys.computeIfAbsent(key, k -> keys.size());
+        }
+
+        int valueIndex(Object value) {
+            return values.computeIfAbsent(value, v -> values.size());
+        }
+    }
+
+    private record Feature(long id, List<Integer> tags, List<Integer> geometry) {
+    }
+}
@@ -0,0 +1,150 @@
+package lk.ijse.poweralert.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lk.ijse.poweralert.dto.AreaDTO;
+import lk.ijse.poweralert.service.AreaService;
+import lk.ijse.poweralert.service.DataVersionService;
+import lk.ijse.poweralert.service.DataVersionService.Version;
+import lk.ijse.poweralert.util.VarList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Fires many parallel requests with distinct payloads and checks that every response
+ * envelope carries its own request's code, message and data
+ */
+class AreaControllerConcurrencyTest {
+
+    private static final int REQUESTS = 600;
+    private static final int THREADS = 48;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ExecutorService executor;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        AreaService areaService = mock(AreaService.class);
+        // Echo the request back, failing every fifth one with a message of its own
+        when(areaService.createArea(any(AreaDTO.class))).thenAnswer(invocation -> {
+            AreaDTO requested = invocation.getArgument(0);
+            long id = Long.parseLong(requested.getName().substring("Area ".length()));
+            if (id % 5 == 0) {
+                throw new IllegalStateException("create failed " + id);
+            }
+            return area(id);
+        });
+        when(areaService.getAreaById(anyLong(), isNull(), isNull())).thenAnswer(invocation -> {
+            long id = invocation.getArgument(0);
+            if (id % 5 == 0) {
+                throw new IllegalStateException("lookup failed " + id);
+            }
+            return area(id);
+        });
+
+        DataVersionService dataVersionService = mock(DataVersionService.class);
+        when(dataVersionService.getVersion(anyString())).thenReturn(Version.NONE);
+
+        AreaController controller = new AreaController();
+        ReflectionTestUtils.setField(controller, "areaService", areaService);
+        ReflectionTestUtils.setField(controller, "dataVersionService", dataVersionService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void parallelResponsesDoNotMix() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+        for (int i = 1; i <= REQUESTS; i++) {
+            long id = i;
+            Callable<MockHttpServletResponse> request = () -> {
+                start.await();
+                return id % 2 == 0 ? create(id) : fetch(id);
+            };
+            responses.add(executor.submit(request));
+        }
+        start.countDown();
+
+        for (int i = 1; i <= REQUESTS; i++) {
+            long id = i;
+            MockHttpServletResponse response = responses.get(i - 1).get(30, TimeUnit.SECONDS);
+            JsonNode body = objectMapper.readTree(response.getContentAsString());
+            boolean create = id % 2 == 0;
+
+            if (id % 5 == 0) {
+                assertEquals(500, response.getStatus());
+                assertEquals(VarList.Internal_Server_Error, body.get("code").asInt());
+                assertEquals("Error: " + (create ? "create" : "lookup") + " failed " + id,
+                        body.get("message").asText());
+                assertTrue(body.get("data").isNull());
+            } else {
+                assertEquals(create ? 201 : 200, response.getStatus());
+                assertEquals(create ? VarList.Created : VarList.OK, body.get("code").asInt());
+                assertEquals(create ? "Area created successfully" : "Area retrieved successfully",
+                        body.get("message").asText());
+                assertEquals(id, body.get("data").get("id").asLong());
+                assertEquals("Area " + id, body.get("data").get("name").asText());
+            }
+        }
+    }
+
+    private MockHttpServletResponse create(long id) throws Exception {
+        AreaDTO requested = area(id);
+        requested.setId(null);
+        return mockMvc.perform(post("/api/admin/areas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requested)))
+                .andReturn()
+                .getResponse();
+    }
+
+    private MockHttpServletResponse fetch(long id) throws Exception {
+        return mockMvc.perform(get("/api/public/areas/{id}", id).accept(MediaType.APPLICATION_JSON))
+                .andReturn()
+                .getResponse();
+    }
+
+    private static AreaDTO area(long id) {
+        return AreaDTO.builder()
+                .id(id)
+                .name("Area " + id)
+                .district("District " + id)
+                .province("Province " + id)
+                .build();
+    }
+}
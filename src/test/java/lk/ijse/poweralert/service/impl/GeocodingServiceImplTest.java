@@ -0,0 +1,146 @@
+package lk.ijse.poweralert.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lk.ijse.poweralert.entity.Area;
+import lk.ijse.poweralert.entity.GeocodeCacheEntry;
+import lk.ijse.poweralert.repository.AreaRepository;
+import lk.ijse.poweralert.repository.GeocodeCacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Exercises the two-tier geocoding cache against the local, areas-table provider
+ */
+class GeocodingServiceImplTest {
+
+    private AreaRepository areaRepository;
+    private GeocodeCacheRepository geocodeCacheRepository;
+    private final Map<String, GeocodeCacheEntry> storedEntries = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        areaRepository = mock(AreaRepository.class);
+        when(areaRepository.findAll()).thenReturn(List.of(
+                area(1L, "Colombo", "Colombo", 6.9271, 79.8612),
+                area(2L, "Colombo 07", "Colombo", 6.9106, 79.8649),
+                area(3L, "Kandy", "Kandy", 7.2906, 80.6337)));
+
+        // Backed by a map so entries written by one service instance are read by the next
+        geocodeCacheRepository = mock(GeocodeCacheRepository.class);
+        when(geocodeCacheRepository.findByCacheKey(anyString()))
+                .thenAnswer(call -> Optional.ofNullable(storedEntries.get(call.<String>getArgument(0))));
+        when(geocodeCacheRepository.save(any(GeocodeCacheEntry.class))).thenAnswer(call -> {
+            GeocodeCacheEntry entry = call.getArgument(0);
+            storedEntries.put(entry.getCacheKey(), entry);
+            return entry;
+        });
+    }
+
+    @Test
+    void repeatedAddressIsServedFromMemory() {
+        GeocodingServiceImpl service = newService();
+
+        Map<String, Double> first = service.geocode("12 Galle Road, Colombo 07");
+        Map<String, Double> second = service.geocode("  12 galle road   colombo 07 ");
+
+        assertNotNull(first);
+        assertEquals(6.9106, first.get("latitude"), 1e-9);
+        assertEquals(first, second);
+        verify(areaRepository, times(1)).findAll();
+        verify(geocodeCacheRepository, times(1)).save(any(GeocodeCacheEntry.class));
+        assertEquals(1L, service.getStats().get("misses"));
+        assertEquals(1L, service.getStats().get("memoryHits"));
+    }
+
+    @Test
+    void storedResultIsServedAfterRestart() {
+        newService().geocode("Temple Street, Kandy");
+
+        GeocodingServiceImpl restarted = newService();
+        Map<String, Double> coordinates = restarted.geocode("Temple Street, Kandy");
+
+        assertNotNull(coordinates);
+        assertEquals(80.6337, coordinates.get("longitude"), 1e-9);
+        verify(areaRepository, times(1)).findAll();
+        assertEquals(1L, restarted.getStats().get("storeHits"));
+        assertEquals(0L, restarted.getStats().get("misses"));
+    }
+
+    @Test
+    void unknownAddressIsCachedAsNotFound() {
+        GeocodingServiceImpl service = newService();
+
+        assertNull(service.geocode("1 Main Street, Jaffna"));
+        assertNull(service.geocode("1 Main Street, Jaffna"));
+
+        verify(areaRepository, times(1)).findAll();
+        assertEquals(false, storedEntries.values().iterator().next().isFound());
+    }
+
+    @Test
+    void providerFailureIsNotCached() {
+        when(areaRepository.findAll())
+                .thenThrow(new IllegalStateException("database unavailable"))
+                .thenReturn(List.of(area(3L, "Kandy", "Kandy", 7.2906, 80.6337)));
+        GeocodingServiceImpl service = newService();
+
+        assertNull(service.geocode("Kandy"));
+        assertNotNull(service.geocode("Kandy"));
+
+        assertEquals(1L, service.getStats().get("failures"));
+        assertEquals(2L, service.getStats().get("misses"));
+        verify(geocodeCacheRepository, times(1)).save(any(GeocodeCacheEntry.class));
+    }
+
+    @Test
+    void nearbyPointsShareOneReverseLookup() {
+        GeocodingServiceImpl service = newService();
+
+        String first = service.reverseGeocode(7.29061, 80.63371);
+        String second = service.reverseGeocode(7.29059, 80.63369);
+
+        assertEquals("Kandy", first);
+        assertEquals(first, second);
+        verify(areaRepository, times(1)).findAll();
+    }
+
+    @Test
+    void blankAddressSkipsTheProvider() {
+        assertNull(newService().geocode("  ,  "));
+
+        verify(areaRepository, never()).findAll();
+    }
+
+    private GeocodingServiceImpl newService() {
+        return new GeocodingServiceImpl(new LocalGeocodingProvider(areaRepository, 25.0), geocodeCacheRepository,
+                new SimpleMeterRegistry(), 100, 30, 6);
+    }
+
+    private static Area area(Long id, String name, String city, double latitude, double longitude) {
+        Area area = new Area();
+        area.setId(id);
+        area.setName(name);
+        area.setCity(city);
+        area.setDistrict(city);
+        area.setProvince("Western");
+        area.setLatitude(latitude);
+        area.setLongitude(longitude);
+        return area;
+    }
+}
@@ -0,0 +1,160 @@
+package lk.ijse.poweralert.service.impl;
+
+import jakarta.persistence.EntityManagerFactory;
+import lk.ijse.poweralert.config.ModelMapperConfig;
+import lk.ijse.poweralert.dto.CursorPageDTO;
+import lk.ijse.poweralert.dto.OutageDTO;
+import lk.ijse.poweralert.entity.Area;
+import lk.ijse.poweralert.entity.Outage;
+import lk.ijse.poweralert.entity.OutageUpdate;
+import lk.ijse.poweralert.entity.UtilityProvider;
+import lk.ijse.poweralert.enums.AppEnums.OutageStatus;
+import lk.ijse.poweralert.enums.AppEnums.OutageType;
+import lk.ijse.poweralert.enums.AppEnums.UtilityType;
+import lk.ijse.poweralert.repository.OutageRepository;
+import lk.ijse.poweralert.repository.OutageUpdateRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that listing active outages, and a page of all outages, costs the same number of
+ * statements however many outages there are, i.e. that DTO mapping never walks a lazy association
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true",
+        "spring.jpa.show-sql=false"
+})
+class OutageServiceImplQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private OutageRepository outageRepository;
+
+    @Autowired
+    private OutageUpdateRepository outageUpdateRepository;
+
+    private OutageServiceImpl outageService;
+    private Statistics statistics;
+    private Area area;
+    private UtilityProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        outageService = new OutageServiceImpl(outageRepository, outageUpdateRepository, null, null, null,
+                null, null, new ModelMapperConfig().modelMapper());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        area = new Area();
+        area.setName("Colombo 07");
+        area.setDistrict("Colombo");
+        area.setProvince("Western");
+        entityManager.persist(area);
+
+        // Both sides of the provider-area link are populated, so mapping them would cost a query
+        provider = new UtilityProvider();
+        provider.setName("CEB");
+        provider.setType(UtilityType.ELECTRICITY);
+        provider.setServiceAreas(new ArrayList<>(List.of(area)));
+        entityManager.persist(provider);
+    }
+
+    @Test
+    void activeOutagesUseConstantStatements() {
+        long forOne = statementsForActiveOutages(1);
+        assertEquals(forOne, statementsForActiveOutages(10));
+        assertEquals(forOne, statementsForActiveOutages(100));
+        // The outages with their area and provider, then the updates of all of them
+        assertEquals(2, forOne);
+    }
+
+    @Test
+    void outagePagesUseConstantStatements() {
+        long forOne = statementsForOutagePage(1);
+        assertEquals(forOne, statementsForOutagePage(10));
+        assertEquals(forOne, statementsForOutagePage(100));
+        // The page with its area and provider, then the updates of the outages on it
+        assertEquals(2, forOne);
+    }
+
+    @Test
+    void lazyCollectionsAreNotMapped() {
+        addOutages(1);
+        entityManager.clear();
+
+        List<OutageDTO> outages = outageService.getAllActiveOutages();
+
+        assertEquals(1, outages.size());
+        OutageDTO outage = outages.get(0);
+        assertEquals(1, outage.getUpdates().size());
+        assertNotNull(outage.getAffectedArea());
+        assertNull(outage.getAffectedArea().getUtilityProviders());
+        assertNotNull(outage.getUtilityProvider());
+        assertNull(outage.getUtilityProvider().getServiceAreas());
+    }
+
+    private long statementsForActiveOutages(int total) {
+        addOutages(total - (int) outageRepository.count());
+        entityManager.clear();
+        statistics.clear();
+
+        List<OutageDTO> outages = outageService.getAllActiveOutages();
+
+        assertEquals(total, outages.size());
+        assertEquals(0, statistics.getCollectionFetchCount());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private long statementsForOutagePage(int total) {
+        addOutages(total - (int) outageRepository.count());
+        entityManager.clear();
+        statistics.clear();
+
+        CursorPageDTO<OutageDTO> page = outageService.getAllOutages(null, CursorPageDTO.MAX_LIMIT);
+
+        assertEquals(total, page.getItems().size());
+        assertEquals(0, statistics.getCollectionFetchCount());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addOutages(int count) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < count; i++) {
+            Outage outage = new Outage();
+            outage.setType(OutageType.ELECTRICITY);
+            outage.setStatus(OutageStatus.ONGOING);
+            outage.setStartTime(now.minusHours(1));
+            outage.setAffectedArea(area);
+            outage.setUtilityProvider(provider);
+            outage.setCreatedAt(now);
+            outage.setUpdatedAt(now);
+            entityManager.persist(outage);
+
+            OutageUpdate update = new OutageUpdate();
+            update.setOutage(outage);
+            update.setUpdateInfo("Crews on site");
+            update.setCreatedAt(now);
+            entityManager.persist(update);
+        }
+        entityManager.flush();
+    }
+}